@@ -1,18 +1,35 @@
-package com.teamx.fitness;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-/**
- * Main application class for the Personal Fitness Management Service.
- * This service provides comprehensive fitness tracking and management capabilities
- * for individual users and research analysts.
- */
+package com.teamx.fitness;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+
+/**
+ * Main application class for the Personal Fitness Management Service.
+ * This service provides comprehensive fitness tracking and management capabilities
+ * for individual users and research analysts.
+ *
+ * <p>R2DBC auto-configuration is excluded: the reactive endpoints own a private connection pool,
+ * and a second (reactive) transaction manager would make {@code @Transactional} ambiguous.</p>
+ *
+ * <p>Startup steps are buffered so that {@code StartupTimingReporter} can break boot time down
+ * once the application is ready.</p>
+ */
 @SuppressWarnings({"checkstyle:HideUtilityClassConstructor", "PMD.UseUtilityClass"})
-@SpringBootApplication
+@SpringBootApplication(exclude = {
+    R2dbcAutoConfiguration.class,
+    R2dbcTransactionManagerAutoConfiguration.class
+})
 public class FitnessManagementApplication {
 
+    /** Startup steps buffered for the startup report; beyond this they are dropped. */
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(FitnessManagementApplication.class, args);
+        SpringApplication application = new SpringApplication(FitnessManagementApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
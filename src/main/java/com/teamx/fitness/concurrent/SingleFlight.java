@@ -0,0 +1,121 @@
+package com.teamx.fitness.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations: while one caller (the leader) computes the
+ * value for a key, callers asking for the same key wait for it and receive the same result or
+ * the same exception, instead of repeating the work. Nothing is cached; once the computation
+ * finishes the next call for the key starts a new one.
+ *
+ * <p>The leader computes on its own thread. If it fails because that thread was interrupted
+ * (its request was cancelled), waiting callers are not handed the interruption; one of them
+ * takes over as the new leader. A waiting caller that is itself interrupted stops waiting
+ * without affecting the others.</p>
+ *
+ * <p>Publishes {@code fitness.singleflight.calls} tagged with the flight name and
+ * {@code role=leader|follower}; followers over total calls is the coalescing ratio.</p>
+ *
+ * @param <K> key identifying identical computations
+ * @param <V> computed value
+ */
+public final class SingleFlight<K, V> {
+
+  /** Computations in progress, by key. */
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /** Calls that ran the computation. */
+  private final Counter leaders;
+
+  /** Calls that shared another call's computation. */
+  private final Counter followers;
+
+  /**
+   * Creates a flight group.
+   *
+   * @param name metric tag identifying the coalesced query
+   * @param meterRegistry registry for the coalescing metrics
+   */
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.leaders = Counter.builder("fitness.singleflight.calls")
+        .description("Calls to coalesced computations")
+        .tag("flight", name)
+        .tag("role", "leader")
+        .register(meterRegistry);
+    this.followers = Counter.builder("fitness.singleflight.calls")
+        .description("Calls to coalesced computations")
+        .tag("flight", name)
+        .tag("role", "follower")
+        .register(meterRegistry);
+    Gauge.builder("fitness.singleflight.inflight", inFlight, Map::size)
+        .description("Coalesced computations currently running")
+        .tag("flight", name)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the value for {@code key}, joining a computation already in progress for it or
+   * running {@code computation} on the calling thread.
+   *
+   * @param key identifies the computation
+   * @param computation produces the value; its unchecked exceptions reach every waiting caller
+   * @return the computed value
+   * @throws CancellationException when the calling thread is interrupted while waiting
+   */
+  public V execute(K key, Supplier<V> computation) {
+    while (true) {
+      CompletableFuture<V> mine = new CompletableFuture<>();
+      CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+      if (existing == null) {
+        leaders.increment();
+        return lead(key, mine, computation);
+      }
+      followers.increment();
+      try {
+        return existing.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new CancellationException("Interrupted while waiting for a shared computation");
+      } catch (CancellationException ex) {
+        // The leader was cancelled; retry, possibly as the new leader.
+      } catch (ExecutionException ex) {
+        throw rethrow(ex.getCause());
+      }
+    }
+  }
+
+  private V lead(K key, CompletableFuture<V> mine, Supplier<V> computation) {
+    try {
+      V value = computation.get();
+      mine.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      if (Thread.currentThread().isInterrupted()) {
+        mine.cancel(false);
+      } else {
+        mine.completeExceptionally(ex);
+      }
+      throw ex;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(cause);
+  }
+}
@@ -0,0 +1,38 @@
+package com.teamx.fitness.config;
+
+import com.teamx.fitness.controller.FieldSelection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} query parameter to JSON responses of the servlet controllers; see
+ * {@link FieldSelection}.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FieldSelectionResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+  @Override
+  protected void beforeBodyWriteInternal(
+      MappingJacksonValue bodyContainer,
+      MediaType contentType,
+      MethodParameter returnType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+      return;
+    }
+    FieldSelection selection =
+        FieldSelection.parse(servletRequest.getServletRequest().getParameter(FieldSelection.PARAM));
+    if (!selection.isAll()) {
+      bodyContainer.setFilters(selection.filters());
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -92,4 +93,20 @@ public class GlobalExceptionHandler {
     body.put("message", "Invalid date format. Use YYYY-MM-DD");
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
   }
+
+  /**
+   * Handles a profile write that lost a race with another write to the same profile.
+   *
+   * @param ex optimistic locking failure raised when the stored version moved on
+   * @return 409 Conflict asking the client to retry
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(
+      OptimisticLockingFailureException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("status", HttpStatus.CONFLICT.value());
+    body.put("error", "Conflict");
+    body.put("message", "The profile was modified concurrently. Retry the request.");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+  }
 }
@@ -0,0 +1,38 @@
+package com.teamx.fitness.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.teamx.fitness.controller.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson customisation picked up by Spring Boot's auto-configured {@code ObjectMapper}.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Replaces reflective getter and constructor calls in bean serializers and deserializers with
+   * generated lambdas. Serializers are built once per response type and cached by the mapper, so
+   * typed response bodies pay the generation cost only on first use.
+   *
+   * @return the Blackbird module
+   */
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+
+  /**
+   * Writes every property of the response types that support {@code ?fields=} unless a request
+   * installs its own {@link FieldSelection} filters.
+   *
+   * @return customizer registering the default filters
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer fieldSelectionDefaults() {
+    return builder -> builder.filters(FieldSelection.allFields());
+  }
+}
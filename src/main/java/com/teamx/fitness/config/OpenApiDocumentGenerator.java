@@ -0,0 +1,66 @@
+package com.teamx.fitness.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamx.fitness.FitnessManagementApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Build-time generator of the OpenAPI document, run by the Maven build in
+ * {@code prepare-package} so the jar ships {@code openapi/openapi.json}.
+ *
+ * <p>Starts the application on a random port with the {@code dev} profile (runtime springdoc
+ * scanning) and the {@code memory} profile (no database), downloads the document, drops the
+ * {@code servers} entry pointing at the temporary port, and writes it pretty-printed. Production
+ * then serves the file through {@code ApiDocsController} without scanning the controllers.</p>
+ */
+public final class OpenApiDocumentGenerator {
+
+  private OpenApiDocumentGenerator() {
+  }
+
+  /**
+   * Generates the document.
+   *
+   * @param args output file path
+   * @throws IOException when the document cannot be fetched or written
+   * @throws InterruptedException when interrupted while fetching the document
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: OpenApiDocumentGenerator <output-file>");
+    }
+    Path output = Path.of(args[0]);
+
+    SpringApplication application = new SpringApplication(FitnessManagementApplication.class);
+    application.setAdditionalProfiles("dev", "memory");
+    try (ConfigurableApplicationContext context =
+        application.run("--server.port=0", "--app.fitness.memory.snapshot-file=")) {
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      String path = context.getEnvironment().getProperty("springdoc.api-docs.path", "/v3/api-docs");
+      HttpResponse<String> response = HttpClient.newHttpClient().send(
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+          HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IOException("GET " + path + " answered " + response.statusCode());
+      }
+
+      ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+      ObjectNode document = (ObjectNode) mapper.readTree(response.body());
+      // Relative to whichever host serves the file.
+      document.remove("servers");
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      mapper.writeValue(output.toFile(), document);
+    }
+  }
+}
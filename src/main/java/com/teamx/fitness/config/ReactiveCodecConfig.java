@@ -0,0 +1,76 @@
+package com.teamx.fitness.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.teamx.fitness.controller.FieldSelection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux codec configuration: JSON responses honour the {@code fields} query parameter like
+ * {@link FieldSelectionResponseAdvice} does for the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCodecConfig implements WebFluxConfigurer {
+
+  /** Boot's shared mapper, carrying the Jackson customisations. */
+  private final ObjectMapper objectMapper;
+
+  public ReactiveCodecConfig(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+    configurer.defaultCodecs().jackson2JsonEncoder(new FieldSelectionJsonEncoder(objectMapper));
+  }
+
+  /** JSON encoder that installs the request's {@link FieldSelection} filters on the writer. */
+  private static final class FieldSelectionJsonEncoder extends Jackson2JsonEncoder {
+
+    /** Encode hint carrying the parsed selection. */
+    private static final String SELECTION_HINT = FieldSelection.class.getName();
+
+    FieldSelectionJsonEncoder(ObjectMapper objectMapper) {
+      super(objectMapper);
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(
+        ResolvableType actualType,
+        ResolvableType elementType,
+        MediaType mediaType,
+        ServerHttpRequest request,
+        ServerHttpResponse response) {
+      Map<String, Object> hints =
+          super.getEncodeHints(actualType, elementType, mediaType, request, response);
+      FieldSelection selection =
+          FieldSelection.parse(request.getQueryParams().getFirst(FieldSelection.PARAM));
+      if (selection.isAll()) {
+        return hints;
+      }
+      Map<String, Object> withSelection = new HashMap<>(hints);
+      withSelection.put(SELECTION_HINT, selection);
+      return withSelection;
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(
+        ObjectWriter writer, MimeType mimeType, ResolvableType elementType, Map<String, Object> hints) {
+      ObjectWriter customized = super.customizeWriter(writer, mimeType, elementType, hints);
+      Object selection = hints != null ? hints.get(SELECTION_HINT) : null;
+      return selection instanceof FieldSelection fields ? customized.with(fields.filters()) : customized;
+    }
+  }
+}
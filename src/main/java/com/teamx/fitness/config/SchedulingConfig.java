@@ -0,0 +1,12 @@
+package com.teamx.fitness.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} housekeeping jobs such as weight log partition maintenance.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,27 @@
+package com.teamx.fitness.config;
+
+import com.teamx.fitness.security.ClientContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} service work and carries the request's client ID onto the
+ * application task executor, which Spring Boot backs with platform threads by default and
+ * with virtual threads under the {@code virtual-threads} profile.
+ */
+@Configuration
+@EnableAsync
+public class TaskExecutionConfig {
+
+  /**
+   * Decorator applied by Spring Boot to the application task executor.
+   *
+   * @return a decorator that binds the submitting request's client ID for the task
+   */
+  @Bean
+  public TaskDecorator clientContextTaskDecorator() {
+    return ClientContext::wrap;
+  }
+}
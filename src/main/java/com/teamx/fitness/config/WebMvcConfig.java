@@ -1,8 +1,12 @@
 package com.teamx.fitness.config;
 
 import com.teamx.fitness.logging.ApiLoggingInterceptor;
+import com.teamx.fitness.metrics.ApiMetricsInterceptor;
 import com.teamx.fitness.security.ClientIdInterceptor;
+import com.teamx.fitness.security.RateLimitInterceptor;
+import com.teamx.fitness.security.ResearchConcurrencyLimiter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,6 +16,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Web MVC configuration for CORS and request interceptors.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebMvcConfig implements WebMvcConfigurer {
 
   /** Cache max age for CORS preflight responses. */
@@ -23,31 +28,55 @@ public class WebMvcConfig implements WebMvcConfigurer {
   /** API logging interceptor. */
   private final ApiLoggingInterceptor apiLoggingInterceptor;
 
+  /** API latency metrics interceptor. */
+  private final ApiMetricsInterceptor apiMetricsInterceptor;
+
+  /** Per-client rate limiting interceptor. */
+  private final RateLimitInterceptor rateLimitInterceptor;
+
+  /** Adaptive concurrency limit on research requests. */
+  private final ResearchConcurrencyLimiter researchConcurrencyLimiter;
+
   /**
    * Creates the MVC configuration with required interceptors.
    *
    * @param clientIdInterceptor validates the X-Client-ID header
    * @param apiLoggingInterceptor logs API invocations for auditing
+   * @param apiMetricsInterceptor records API latency histograms
+   * @param rateLimitInterceptor enforces per-client request rates
+   * @param researchConcurrencyLimiter caps research requests in flight while mobile latency degrades
    */
   @Autowired
   public WebMvcConfig(
       ClientIdInterceptor clientIdInterceptor,
-      ApiLoggingInterceptor apiLoggingInterceptor) {
+      ApiLoggingInterceptor apiLoggingInterceptor,
+      ApiMetricsInterceptor apiMetricsInterceptor,
+      RateLimitInterceptor rateLimitInterceptor,
+      ResearchConcurrencyLimiter researchConcurrencyLimiter) {
     this.clientIdInterceptor = clientIdInterceptor;
     this.apiLoggingInterceptor = apiLoggingInterceptor;
+    this.apiMetricsInterceptor = apiMetricsInterceptor;
+    this.rateLimitInterceptor = rateLimitInterceptor;
+    this.researchConcurrencyLimiter = researchConcurrencyLimiter;
   }
 
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
+    // First, so requests rejected by the client ID check are timed as well.
+    registry.addInterceptor(apiMetricsInterceptor).addPathPatterns("/api/**");
     registry.addInterceptor(clientIdInterceptor).addPathPatterns("/api/**");
     registry.addInterceptor(apiLoggingInterceptor).addPathPatterns("/api/**");
+    // After the client ID is bound; after logging so that 429 responses are still logged.
+    registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    // Last, so requests rejected earlier never occupy a research slot.
+    registry.addInterceptor(researchConcurrencyLimiter).addPathPatterns("/api/**");
   }
 
   @Override
   public void addCorsMappings(CorsRegistry registry) {
     registry.addMapping("/api/**")
         .allowedOrigins("*")
-        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         .allowedHeaders("*")
         .exposedHeaders("X-Client-ID")
         .maxAge(CORS_MAX_AGE_SECONDS);
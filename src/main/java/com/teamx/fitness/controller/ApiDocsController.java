@@ -0,0 +1,105 @@
+package com.teamx.fitness.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves the API documentation generated at build time when runtime springdoc scanning is off
+ * ({@code springdoc.api-docs.enabled=false}, the default outside the {@code dev} profile).
+ *
+ * <p>{@code /api-docs} returns the document written by {@code OpenApiDocumentGenerator}, and
+ * {@code /swagger-ui.html} a Swagger UI page from the bundled webjar that loads it, so both
+ * keep the URLs they have with springdoc.</p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "false")
+public class ApiDocsController {
+
+  /** Maven metadata of the Swagger UI webjar, giving its versioned resource path. */
+  private static final String SWAGGER_UI_POM = "META-INF/maven/org.webjars/swagger-ui/pom.properties";
+
+  /** The generated OpenAPI document. */
+  private final Resource document;
+
+  /** Swagger UI page pointing at the document; {@code null} without the webjar. */
+  private final String swaggerUiPage;
+
+  public ApiDocsController(
+      @Value("${app.fitness.openapi.document:classpath:openapi/openapi.json}") Resource document,
+      @Value("${springdoc.api-docs.path:/v3/api-docs}") String documentPath) {
+    this.document = document;
+    this.swaggerUiPage = swaggerUiPage(swaggerUiVersion(), documentPath);
+  }
+
+  @GetMapping(value = "${springdoc.api-docs.path:/v3/api-docs}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Resource> apiDocs() {
+    if (!document.exists()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+          "OpenAPI document was not generated; build with Maven or enable the dev profile");
+    }
+    return ResponseEntity.ok(document);
+  }
+
+  @GetMapping(value = "${springdoc.swagger-ui.path:/swagger-ui.html}", produces = MediaType.TEXT_HTML_VALUE)
+  public String swaggerUi() {
+    if (swaggerUiPage == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Swagger UI is not available");
+    }
+    return swaggerUiPage;
+  }
+
+  /**
+   * Swagger UI page loading the document.
+   *
+   * @param version Swagger UI webjar version, or {@code null} without the webjar
+   * @param documentPath path the document is served at
+   * @return the page, or {@code null} without the webjar
+   */
+  static String swaggerUiPage(String version, String documentPath) {
+    if (version == null) {
+      return null;
+    }
+    String base = "/webjars/swagger-ui/" + version + "/";
+    return "<!DOCTYPE html>\n"
+        + "<html lang=\"en\">\n"
+        + "<head>\n"
+        + "  <meta charset=\"UTF-8\">\n"
+        + "  <title>Fitness Management Service API</title>\n"
+        + "  <link rel=\"stylesheet\" href=\"" + base + "swagger-ui.css\">\n"
+        + "</head>\n"
+        + "<body>\n"
+        + "  <div id=\"swagger-ui\"></div>\n"
+        + "  <script src=\"" + base + "swagger-ui-bundle.js\"></script>\n"
+        + "  <script>window.ui = SwaggerUIBundle({url: '" + documentPath
+        + "', dom_id: '#swagger-ui'});</script>\n"
+        + "</body>\n"
+        + "</html>\n";
+  }
+
+  private static String swaggerUiVersion() {
+    ClassPathResource pom = new ClassPathResource(SWAGGER_UI_POM);
+    if (!pom.exists()) {
+      return null;
+    }
+    try (InputStream in = pom.getInputStream()) {
+      Properties properties = new Properties();
+      properties.load(in);
+      return properties.getProperty("version");
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.teamx.fitness.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-side cache of the computed profile responses ({@code /bmi}, {@code /calories},
+ * {@code /recommendation}, {@code /dashboard}), shared by the servlet and reactive endpoints.
+ *
+ * <p>Holds at most one body per endpoint and client, tagged with the ETag it was computed for
+ * (see {@link PersonEndpointSupport#computedETag}). A lookup with a different ETag is a miss, so
+ * entries go stale as soon as the profile version changes and are replaced by the next
+ * computation. The least recently used entries are dropped beyond
+ * {@code app.fitness.computed-cache.max-entries}.</p>
+ *
+ * <p>Publishes {@code fitness.computed.cache.requests{result=hit|miss}} and
+ * {@code fitness.computed.cache.size}.</p>
+ */
+@Component
+public class ComputedResponseCache {
+
+  /** Endpoint name for {@code GET /api/persons/bmi}. */
+  public static final String BMI = "bmi";
+
+  /** Endpoint name for {@code GET /api/persons/calories}. */
+  public static final String CALORIES = "calories";
+
+  /** Endpoint name for {@code GET /api/persons/recommendation}. */
+  public static final String RECOMMENDATION = "recommendation";
+
+  /** Endpoint name for {@code GET /api/persons/dashboard}. */
+  public static final String DASHBOARD = "dashboard";
+
+  /** Entries in access order, evicting the eldest beyond the bound. */
+  private final Map<Key, Entry> entries;
+
+  /** Lookups answered from the cache. */
+  private final Counter hits;
+
+  /** Lookups that required a computation. */
+  private final Counter misses;
+
+  public ComputedResponseCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.computed-cache.max-entries:10000}") int maxEntries) {
+    int bound = Math.max(1, maxEntries);
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > bound;
+      }
+    });
+    this.hits = Counter.builder("fitness.computed.cache.requests")
+        .description("Computed profile response lookups")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("fitness.computed.cache.requests")
+        .description("Computed profile response lookups")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("fitness.computed.cache.size", entries, Map::size)
+        .description("Computed profile responses currently cached")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached body for a client if it was computed for {@code etag}, otherwise
+   * computes, caches and returns it. Exceptions from {@code compute} are not cached.
+   *
+   * @param endpoint endpoint name, e.g. {@code "bmi"}
+   * @param clientId client the body belongs to
+   * @param etag current ETag of the body; {@code null} bypasses the cache
+   * @param compute builds the body on a miss
+   * @param <T> body type, fixed per endpoint
+   * @return the current body
+   */
+  public <T> T get(String endpoint, String clientId, String etag, Supplier<T> compute) {
+    if (etag == null) {
+      return compute.get();
+    }
+    T cached = lookup(endpoint, clientId, etag);
+    if (cached != null) {
+      return cached;
+    }
+    T body = compute.get();
+    store(endpoint, clientId, etag, body);
+    return body;
+  }
+
+  /**
+   * Returns the cached body for a client if it was computed for {@code etag}. Counts a hit or a
+   * miss.
+   *
+   * @param endpoint endpoint name
+   * @param clientId client the body belongs to
+   * @param etag current ETag of the body
+   * @param <T> body type, fixed per endpoint
+   * @return the cached body, or {@code null} on a miss
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T lookup(String endpoint, String clientId, String etag) {
+    Entry entry = entries.get(new Key(endpoint, clientId));
+    if (entry != null && entry.etag().equals(etag)) {
+      hits.increment();
+      return (T) entry.body();
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Caches a freshly computed body, replacing any older one for the endpoint and client.
+   *
+   * @param endpoint endpoint name
+   * @param clientId client the body belongs to
+   * @param etag ETag the body was computed for
+   * @param body the body
+   */
+  public void store(String endpoint, String clientId, String etag, Object body) {
+    entries.put(new Key(endpoint, clientId), new Entry(etag, body));
+  }
+
+  /**
+   * Number of cached bodies.
+   *
+   * @return cached entry count
+   */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Cache key.
+   *
+   * @param endpoint endpoint name
+   * @param clientId client ID
+   */
+  private record Key(String endpoint, String clientId) {
+  }
+
+  /**
+   * Cached body with its validator.
+   *
+   * @param etag ETag the body was computed for
+   * @param body the body
+   */
+  private record Entry(String etag, Object body) {
+  }
+}
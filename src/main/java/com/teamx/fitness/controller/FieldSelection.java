@@ -0,0 +1,163 @@
+package com.teamx.fitness.controller;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset requested with the {@code fields} query parameter: a comma-separated list of
+ * top-level response properties, e.g. {@code ?fields=bmi,bmiCategory}.
+ *
+ * <p>Controllers consult it to skip computing parts nobody asked for (cohort percentiles, plan
+ * texts, dashboard sections). The JSON writers then drop every unrequested property from
+ * response types annotated with {@code @JsonFilter(FieldSelection.FILTER_ID)}. Only the
+ * outermost annotated object is trimmed: dashboard sections keep all their properties, while
+ * each item of a research profile page is trimmed. Unknown names are ignored.</p>
+ */
+public final class FieldSelection {
+
+  /** Query parameter carrying the selection. */
+  public static final String PARAM = "fields";
+
+  /** Jackson filter id of the response types that support sparse fieldsets. */
+  public static final String FILTER_ID = "fieldSelection";
+
+  /** Selection used when the parameter is absent or blank. */
+  private static final FieldSelection ALL = new FieldSelection(null);
+
+  /** Filters that write every property, the default for all serialization. */
+  private static final FilterProvider ALL_FIELDS =
+      new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+  /** Requested property names; {@code null} selects everything. */
+  private final Set<String> fields;
+
+  private FieldSelection(Set<String> fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * Selection of every property.
+   *
+   * @return the unrestricted selection
+   */
+  public static FieldSelection all() {
+    return ALL;
+  }
+
+  /**
+   * Parses the {@code fields} parameter.
+   *
+   * @param fields comma-separated property names, or {@code null}
+   * @return the selection; everything when the parameter is absent or names no field
+   */
+  public static FieldSelection parse(String fields) {
+    if (fields == null) {
+      return ALL;
+    }
+    Set<String> names = Arrays.stream(fields.split(","))
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .collect(Collectors.toUnmodifiableSet());
+    return names.isEmpty() ? ALL : new FieldSelection(names);
+  }
+
+  /**
+   * Whether every property is selected.
+   *
+   * @return true when no {@code fields} parameter restricts the response
+   */
+  public boolean isAll() {
+    return fields == null;
+  }
+
+  /**
+   * Whether a property is selected.
+   *
+   * @param field top-level property name
+   * @return true when the property should be computed and written
+   */
+  public boolean includes(String field) {
+    return fields == null || fields.contains(field);
+  }
+
+  /**
+   * Whether at least one of several properties is selected.
+   *
+   * @param candidates top-level property names
+   * @return true when any of them should be computed and written
+   */
+  public boolean includesAny(String... candidates) {
+    for (String candidate : candidates) {
+      if (includes(candidate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Jackson filters that write only the selected properties.
+   *
+   * @return filters for the writer serializing the response
+   */
+  public FilterProvider filters() {
+    if (fields == null) {
+      return ALL_FIELDS;
+    }
+    return new SimpleFilterProvider().addFilter(FILTER_ID, new OutermostPropertyFilter(fields));
+  }
+
+  /**
+   * Filters that write every property, to be installed on every {@code ObjectMapper} that
+   * serializes the annotated response types.
+   *
+   * @return the default filters
+   */
+  public static FilterProvider allFields() {
+    return ALL_FIELDS;
+  }
+
+  /** Keeps the selected properties of the outermost filtered object and everything below it. */
+  private static final class OutermostPropertyFilter extends SimpleBeanPropertyFilter {
+
+    /** Properties to keep. */
+    private final Set<String> fields;
+
+    OutermostPropertyFilter(Set<String> fields) {
+      this.fields = fields;
+    }
+
+    @Override
+    public void serializeAsField(
+        Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+        throws Exception {
+      if (fields.contains(writer.getName()) || insideFilteredObject(gen)) {
+        writer.serializeAsField(pojo, gen, provider);
+      } else if (!gen.canOmitFields()) {
+        writer.serializeAsOmittedField(pojo, gen, provider);
+      }
+    }
+
+    private static boolean insideFilteredObject(JsonGenerator gen) {
+      // The current context belongs to the object being written; look at its enclosing values.
+      for (JsonStreamContext context = gen.getOutputContext().getParent();
+          context != null;
+          context = context.getParent()) {
+        Object value = context.getCurrentValue();
+        if (value != null && value.getClass().isAnnotationPresent(JsonFilter.class)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
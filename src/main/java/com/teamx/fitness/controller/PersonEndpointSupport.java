@@ -0,0 +1,852 @@
+package com.teamx.fitness.controller;
+
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.CaloriesResponse;
+import com.teamx.fitness.controller.dto.DashboardResponse;
+import com.teamx.fitness.controller.dto.GoalPlanRequest;
+import com.teamx.fitness.controller.dto.PersonCreateRequest;
+import com.teamx.fitness.controller.dto.PersonPatchRequest;
+import com.teamx.fitness.controller.dto.PersonProfileResponse;
+import com.teamx.fitness.controller.dto.RecommendationResponse;
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.model.TargetWeightLimits;
+import com.teamx.fitness.service.HealthInsightResult;
+import com.teamx.fitness.service.PersonService;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Validation and response building shared by the servlet {@link PersonController} and the
+ * reactive persons endpoints, so both stacks return identical bodies and errors.
+ *
+ * <p>Everything here works on an already loaded profile and never touches storage.</p>
+ */
+public final class PersonEndpointSupport {
+
+  /**
+   * Version of the BMI, calorie and recommendation calculations, part of every computed-response
+   * ETag. Increment it whenever a formula or one of those bodies changes, so clients and
+   * {@link ComputedResponseCache} stop reusing old results.
+   */
+  public static final int FORMULA_VERSION = 1;
+
+  /** BMI threshold for underweight classification. */
+  private static final double BMI_UNDERWEIGHT = 18.5;
+
+  /** BMI threshold for normal weight classification. */
+  private static final double BMI_NORMAL = 25.0;
+
+  /** BMI threshold for overweight classification. */
+  private static final double BMI_OVERWEIGHT = 30.0;
+
+  /** Rough calories required per kg of body weight change. */
+  private static final double CALORIES_PER_KG = 7700.0;
+
+  /** Number of days per week used when averaging calorie adjustments. */
+  private static final double DAYS_PER_WEEK = 7.0;
+
+  /** Default calorie adjustment when plan metrics are missing. */
+  private static final double DEFAULT_PLAN_ADJUSTMENT = 300.0;
+
+  /** Rounding step used for diet suggestions. */
+  private static final double CALORIE_ROUNDING_STEP = 10.0;
+
+  /** Maximum reasonable daily calorie deficit (kcal/day). */
+  private static final double MAX_DAILY_CALORIE_DEFICIT = 1500.0;
+
+  /** Maximum reasonable daily calorie surplus (kcal/day). */
+  private static final double MAX_DAILY_CALORIE_SURPLUS = 1000.0;
+
+  /** Default workouts per week when plan data is absent. */
+  private static final int DEFAULT_WEEKLY_WORKOUTS = 4;
+
+  /** Minimum workouts allowed per week. */
+  private static final int MIN_WEEKLY_WORKOUTS = 1;
+
+  /** Explanation attached to recommendations whose plan alignment is 0. */
+  private static final String PLAN_ALIGNMENT_WARNING =
+      "Plan Alignment of 0 means your goal plan is unrealistic. "
+          + "This could be due to: goal contradiction (e.g., BULK goal with weight loss target), "
+          + "extremely aggressive weight change rates, unrealistic timeline, "
+          + "insufficient training frequency, or mismatched plan strategy. "
+          + "Please review and adjust your plan configuration to create a realistic plan.";
+
+  private PersonEndpointSupport() { }
+
+  /**
+   * Validates a registration request beyond its bean constraints.
+   *
+   * @param request the registration request
+   * @param personService calculator used to validate weight and height
+   * @throws ResponseStatusException 400 for implausible metrics, a future birth date or no gender
+   */
+  public static void validateNewProfile(PersonCreateRequest request, PersonService personService) {
+    personService.calculateBMI(request.getWeight(), request.getHeight());
+
+    if (!request.getBirthDate().isBefore(LocalDate.now())) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "birthDate must be before today");
+    }
+    if (request.getGender() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "gender must be either MALE or FEMALE");
+    }
+  }
+
+  /**
+   * Creates the unsaved profile for a validated registration request.
+   *
+   * @param request the registration request
+   * @param clientId the client ID assigned to the new profile
+   * @return the new profile
+   */
+  public static PersonSimple newProfile(PersonCreateRequest request, String clientId) {
+    PersonSimple person = new PersonSimple();
+    person.setName(request.getName().trim());
+    person.setWeight(request.getWeight());
+    person.setHeight(request.getHeight());
+    person.setBirthDate(request.getBirthDate());
+    person.setGender(request.getGender());
+    person.setGoal(request.getGoal());
+    person.setClientId(clientId);
+    return person;
+  }
+
+  /**
+   * Validates a plan and copies it onto the profile.
+   *
+   * @param person the stored profile
+   * @param request the submitted plan
+   * @throws ResponseStatusException 400 when the plan is incomplete or unsafe
+   */
+  public static void applyPlan(PersonSimple person, GoalPlanRequest request) {
+    validatePlanRequest(person.getGoal(), request);
+    validateTargetWeight(person, request.getTargetChangeKg());
+
+    person.setTargetChangeKg(request.getTargetChangeKg());
+    person.setTargetDurationWeeks(request.getDurationWeeks());
+    person.setTrainingFrequencyPerWeek(request.getTrainingFrequencyPerWeek());
+    person.setPlanStrategy(request.getPlanStrategy());
+  }
+
+  /**
+   * Validates a full profile replacement and copies it onto the stored profile.
+   *
+   * @param existing the stored profile, updated in place
+   * @param updatedPerson the submitted profile
+   * @param personService calculator used to validate weight and height
+   * @throws ResponseStatusException 400 when the submitted profile is invalid
+   */
+  public static void applyUpdate(
+      PersonSimple existing, PersonSimple updatedPerson, PersonService personService) {
+    validateProfile(updatedPerson, personService);
+
+    String trimmedName = updatedPerson.getName() != null ? updatedPerson.getName().trim() : existing.getName();
+    existing.setName(trimmedName);
+    existing.setWeight(updatedPerson.getWeight());
+    existing.setHeight(updatedPerson.getHeight());
+    existing.setBirthDate(updatedPerson.getBirthDate());
+    existing.setGender(updatedPerson.getGender());
+    existing.setGoal(updatedPerson.getGoal());
+    existing.setTargetChangeKg(updatedPerson.getTargetChangeKg());
+    existing.setTargetDurationWeeks(updatedPerson.getTargetDurationWeeks());
+    existing.setTrainingFrequencyPerWeek(updatedPerson.getTrainingFrequencyPerWeek());
+    existing.setPlanStrategy(updatedPerson.getPlanStrategy());
+  }
+
+  /**
+   * Explains a partial update that the targeted UPDATE rejected, by applying it to a copy of
+   * the stored profile and checking the result as {@link #applyUpdate} checks a full
+   * replacement. Only called after the update matched no row, so the common case never loads
+   * the profile. The stored profile is left unchanged.
+   *
+   * @param existing the stored profile
+   * @param patch the supplied fields
+   * @param personService calculator used to validate weight and height
+   * @throws ResponseStatusException 400 when the patched profile is invalid
+   */
+  public static void validatePatch(
+      PersonSimple existing, PersonPatchRequest patch, PersonService personService) {
+    PersonSimple patched = new PersonSimple(
+        existing.getName(),
+        existing.getWeight(),
+        existing.getHeight(),
+        existing.getBirthDate(),
+        existing.getGender(),
+        existing.getGoal(),
+        existing.getTargetChangeKg(),
+        existing.getTargetDurationWeeks(),
+        existing.getTrainingFrequencyPerWeek(),
+        existing.getPlanStrategy(),
+        existing.getClientId());
+    patch.applyTo(patched);
+    validateProfile(patched, personService);
+  }
+
+  private static void validateProfile(PersonSimple profile, PersonService personService) {
+    personService.calculateBMI(profile.getWeight(), profile.getHeight());
+
+    if (!profile.getBirthDate().isBefore(LocalDate.now())) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "birthDate must be before today");
+    }
+    if (profile.getGender() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "gender is required");
+    }
+
+    // Validate target weight if target change is being set
+    if (profile.getTargetChangeKg() != null && profile.getWeight() != null) {
+      validateTargetWeight(profile, profile.getTargetChangeKg());
+    }
+  }
+
+  /**
+   * Body of {@code DELETE /api/persons/me}.
+   *
+   * @param clientId the client ID from the request
+   * @param deleted whether a profile was found and deleted
+   * @return message and client ID
+   */
+  public static Map<String, String> deletionBody(String clientId, boolean deleted) {
+    Map<String, String> body = new HashMap<>();
+    body.put("message", deleted ? "Profile deleted successfully" : "No profile found for supplied client ID");
+    body.put("clientId", clientId);
+    return body;
+  }
+
+  /**
+   * ETag of a body computed from the profile alone ({@code /bmi}, {@code /calories}, see also
+   * {@link #withAge}). Profile
+   * ids are never reused, so a recreated profile with the same client ID gets a different tag.
+   *
+   * @param person the stored profile
+   * @return the tag (unquoted), or {@code null} when the profile has not been persisted
+   */
+  public static String computedETag(PersonSimple person) {
+    if (person.getId() == null || person.getVersion() == null) {
+      return null;
+    }
+    return person.getId() + "-" + person.getVersion() + "-f" + FORMULA_VERSION;
+  }
+
+  /**
+   * ETag of a body that also depends on the cohort ({@code /recommendation}).
+   *
+   * @param person the stored profile
+   * @param cohort current cohort fingerprint
+   * @return the tag (unquoted), or {@code null} when the profile has not been persisted
+   */
+  public static String computedETag(PersonSimple person, CohortStamp cohort) {
+    String profileTag = computedETag(person);
+    return profileTag != null ? profileTag + "-c" + cohort.token() : null;
+  }
+
+  /**
+   * Adds the profile's current age to the ETag of a body derived from the BMR
+   * ({@code /calories}, {@code /dashboard}). Age follows the calendar rather than the stored
+   * row, so without it a birthday would leave the tag, the cached body and clients' {@code 304}s
+   * on the previous age.
+   *
+   * @param etag tag from {@link #computedETag}, or {@code null}
+   * @param person the stored profile
+   * @param personService age calculator
+   * @return the tag with the age appended; {@code etag} unchanged when it is {@code null} or the
+   *     profile has no birth date
+   */
+  public static String withAge(String etag, PersonSimple person, PersonService personService) {
+    if (etag == null) {
+      return null;
+    }
+    Integer age = personService.calculateAge(person.getBirthDate());
+    return age != null ? etag + "-a" + age : etag;
+  }
+
+  /**
+   * Response for a computed body. With an ETag, clients must revalidate on every use and a
+   * matching {@code If-None-Match} is answered with {@code 304} and no body by the framework.
+   *
+   * @param body the computed body
+   * @param etag its ETag, or {@code null} to send the body without validators
+   * @param <T> body type
+   * @return {@code 200} response carrying the body
+   */
+  public static <T> ResponseEntity<T> computedResponse(T body, String etag) {
+    if (etag == null) {
+      return ResponseEntity.ok(body);
+    }
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .eTag(etag)
+        .body(body);
+  }
+
+  /**
+   * Body of {@code GET /api/persons/bmi}.
+   *
+   * @param person the stored profile
+   * @param personService BMI calculator
+   * @return client ID, weight, height, BMI and category
+   */
+  public static BmiResponse bmiBody(PersonSimple person, PersonService personService) {
+    return bmiBody(person, personService.calculateBMI(person.getWeight(), person.getHeight()));
+  }
+
+  /**
+   * Body of {@code GET /api/persons/bmi} for an already computed BMI.
+   *
+   * @param person the stored profile
+   * @param bmi the profile's BMI
+   * @return client ID, weight, height, BMI and category
+   */
+  public static BmiResponse bmiBody(PersonSimple person, Double bmi) {
+    return new BmiResponse(
+        person.getClientId(), person.getWeight(), person.getHeight(), bmi, bmiCategory(bmi));
+  }
+
+  /**
+   * Body of {@code GET /api/persons/calories}.
+   *
+   * @param person the stored profile
+   * @param personService age, BMR and calorie calculator
+   * @return maintenance and recommended calories plus the plan details
+   * @throws ResponseStatusException 400 when the plan or profile is incomplete
+   */
+  public static CaloriesResponse caloriesBody(PersonSimple person, PersonService personService) {
+    return caloriesBody(person, personService, FieldSelection.all());
+  }
+
+  /**
+   * Body of {@code GET /api/persons/calories}, building the plan texts only when selected.
+   *
+   * @param person the stored profile
+   * @param personService age, BMR and calorie calculator
+   * @param fields requested properties
+   * @return maintenance and recommended calories plus the selected plan details
+   * @throws ResponseStatusException 400 when the plan or profile is incomplete
+   */
+  public static CaloriesResponse caloriesBody(
+      PersonSimple person, PersonService personService, FieldSelection fields) {
+    if (person.getTrainingFrequencyPerWeek() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Set a training frequency via /api/persons/plan before requesting calories");
+    }
+
+    if (person.getPlanStrategy() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Select a planStrategy via /api/persons/plan");
+    }
+
+    if (person.getTargetChangeKg() == null || person.getTargetDurationWeeks() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "targetChangeKg and targetDurationWeeks are required");
+    }
+    if (person.getTargetDurationWeeks() <= 0) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "targetDurationWeeks must be greater than 0");
+    }
+
+    double bmr = requireBmr(person, personService);
+    Double dailyCalories =
+        personService.calculateDailyCalorieNeeds(bmr, person.getTrainingFrequencyPerWeek());
+    if (dailyCalories == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Unable to compute calorie needs with the stored plan");
+    }
+
+    Double targetWeight = person.getTargetChangeKg();
+    if (targetWeight == null || person.getWeight() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "weight and targetChangeKg (target weight) are required");
+    }
+
+    boolean isCut = FitnessGoal.CUT.equals(person.getGoal());
+    double dailyAdjustmentCalories =
+        dailyCalorieAdjustment(isCut, person.getWeight(), targetWeight, person.getTargetDurationWeeks());
+
+    double recommendedCalories = isCut
+        ? Math.max(0, dailyCalories - dailyAdjustmentCalories)
+        : dailyCalories + dailyAdjustmentCalories;
+
+    PlanDetails planDetails = selectedPlanDetails(person, null, fields);
+    return new CaloriesResponse(
+        person.getGoal(),
+        person.getPlanStrategy(),
+        person.getTargetChangeKg(),
+        person.getTargetDurationWeeks(),
+        person.getTrainingFrequencyPerWeek(),
+        bmr,
+        dailyCalories,
+        isCut ? -dailyAdjustmentCalories : dailyAdjustmentCalories,
+        recommendedCalories,
+        planDetails.dietPlan(),
+        planDetails.workoutPlan());
+  }
+
+  /**
+   * Basal metabolic rate of the stored profile.
+   *
+   * @param person the stored profile
+   * @param personService age and BMR calculator
+   * @return the BMR
+   * @throws ResponseStatusException 400 when the birth date or body metrics are missing
+   */
+  static double requireBmr(PersonSimple person, PersonService personService) {
+    Integer age = personService.calculateAge(person.getBirthDate());
+    if (age == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "birthDate is required to compute calorie targets");
+    }
+
+    boolean isMale = Gender.MALE.equals(person.getGender());
+    Double bmr = personService.calculateBMR(person.getWeight(), person.getHeight(), age, isMale);
+    if (bmr == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Unable to compute BMR with the stored profile data");
+    }
+    return bmr;
+  }
+
+  /**
+   * Daily calorie deficit or surplus needed to reach the target weight in time, capped at the
+   * largest reasonable deficit or surplus.
+   *
+   * @param isCut whether the goal is {@link FitnessGoal#CUT}
+   * @param currentWeight current weight in kilograms
+   * @param targetWeight target weight in kilograms
+   * @param durationWeeks plan duration, greater than 0
+   * @return magnitude of the daily adjustment in kcal
+   */
+  static double dailyCalorieAdjustment(boolean isCut, double currentWeight, double targetWeight, int durationWeeks) {
+    double plannedDeltaKg = targetWeight - currentWeight;
+    double dailyAdjustmentCalories =
+        Math.abs(plannedDeltaKg) * CALORIES_PER_KG
+            / durationWeeks
+            / DAYS_PER_WEEK;
+
+    // Apply boundary checks for calorie adjustments
+    if (isCut && dailyAdjustmentCalories > MAX_DAILY_CALORIE_DEFICIT) {
+      dailyAdjustmentCalories = MAX_DAILY_CALORIE_DEFICIT;
+    } else if (!isCut && dailyAdjustmentCalories > MAX_DAILY_CALORIE_SURPLUS) {
+      dailyAdjustmentCalories = MAX_DAILY_CALORIE_SURPLUS;
+    }
+    return dailyAdjustmentCalories;
+  }
+
+  /**
+   * Rejects recommendation requests for profiles without a complete goal plan.
+   *
+   * @param person the stored profile
+   * @throws ResponseStatusException 400 when any plan field is missing
+   */
+  public static void requirePlanConfigured(PersonSimple person) {
+    if (!isPlanConfigured(person)) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Cannot provide recommendation. All goal plan fields must be configured: "
+              + "targetChangeKg, targetDurationWeeks, trainingFrequencyPerWeek, and planStrategy. "
+              + "Please configure your goal plan first.");
+    }
+  }
+
+  /**
+   * Whether every goal plan field is present, i.e. a recommendation can be given.
+   *
+   * @param person the stored profile
+   * @return true when target change, duration, training frequency and strategy are all set
+   */
+  public static boolean isPlanConfigured(PersonSimple person) {
+    return person.getTargetChangeKg() != null
+        && person.getTargetDurationWeeks() != null
+        && person.getTrainingFrequencyPerWeek() != null
+        && person.getPlanStrategy() != null;
+  }
+
+  /**
+   * Whether a recommendation with this selection needs the cohort, which only the percentile
+   * and its warning do.
+   *
+   * @param fields requested recommendation properties
+   * @return true when the cohort must be loaded and covered by the ETag
+   */
+  public static boolean needsCohort(FieldSelection fields) {
+    return fields.includesAny("percentile", "cohortWarning");
+  }
+
+  /**
+   * Whether a dashboard with this selection has a recommendation section to compute.
+   *
+   * @param person the stored profile
+   * @param fields requested dashboard sections
+   * @return true when the plan is configured and the recommendation is selected
+   */
+  public static boolean needsInsights(PersonSimple person, FieldSelection fields) {
+    return isPlanConfigured(person) && fields.includes("recommendation");
+  }
+
+  /**
+   * Body of {@code GET /api/persons/dashboard}, assembled from one loaded profile and one BMI
+   * computation. Parts the profile cannot support yet are left out instead of failing the
+   * whole response.
+   *
+   * @param person the stored profile
+   * @param bmi the profile's BMI, also used for {@code insight}
+   * @param insight insights for the profile, or {@code null} when the plan is not configured
+   * @param personService age, BMR and calorie calculator
+   * @return profile, BMI, and calorie targets and recommendation where available
+   */
+  public static DashboardResponse dashboardBody(
+      PersonSimple person, Double bmi, HealthInsightResult insight, PersonService personService) {
+    return dashboardBody(person, bmi, insight, personService, FieldSelection.all());
+  }
+
+  /**
+   * Body of {@code GET /api/persons/dashboard} with only the selected sections.
+   *
+   * @param person the stored profile
+   * @param bmi the profile's BMI, also used for {@code insight}
+   * @param insight insights for the profile, or {@code null} when the plan is not configured or
+   *     the recommendation is not selected
+   * @param personService age, BMR and calorie calculator
+   * @param fields requested sections
+   * @return the selected sections that are available
+   */
+  public static DashboardResponse dashboardBody(
+      PersonSimple person,
+      Double bmi,
+      HealthInsightResult insight,
+      PersonService personService,
+      FieldSelection fields) {
+    CaloriesResponse calories = null;
+    if (fields.includes("calories")) {
+      try {
+        calories = caloriesBody(person, personService);
+      } catch (ResponseStatusException ex) {
+        // Same 400 cases as /calories: the app prompts for the missing plan data instead.
+        calories = null;
+      }
+    }
+    return new DashboardResponse(
+        fields.includes("profile") ? PersonProfileResponse.fromEntity(person) : null,
+        fields.includes("bmi") ? bmiBody(person, bmi) : null,
+        calories,
+        insight != null && fields.includes("recommendation") ? recommendationBody(person, insight) : null);
+  }
+
+  /**
+   * Body of {@code GET /api/persons/recommendation}.
+   *
+   * @param person the stored profile
+   * @param insight insights computed for the profile
+   * @return recommendation message, scores and plan details
+   */
+  public static RecommendationResponse recommendationBody(PersonSimple person, HealthInsightResult insight) {
+    return recommendationBody(person, insight, FieldSelection.all());
+  }
+
+  /**
+   * Body of {@code GET /api/persons/recommendation}, building the plan texts only when selected.
+   *
+   * @param person the stored profile
+   * @param insight insights computed for the profile
+   * @param fields requested properties
+   * @return recommendation message, scores and the selected plan details
+   */
+  public static RecommendationResponse recommendationBody(
+      PersonSimple person, HealthInsightResult insight, FieldSelection fields) {
+    // Add warning when plan alignment is 0
+    String planAlignmentWarning = null;
+    if (insight.planAlignmentIndex() != null && insight.planAlignmentIndex() == 0.0) {
+      planAlignmentWarning = PLAN_ALIGNMENT_WARNING;
+    }
+    PlanDetails planDetails = selectedPlanDetails(person, insight.planAlignmentIndex(), fields);
+    return new RecommendationResponse(
+        person.getGoal(),
+        insight.recommendation(),
+        insight.bmi(),
+        insight.bmiCategory(),
+        insight.healthIndex(),
+        insight.planAlignmentIndex(),
+        insight.overallScore(),
+        insight.percentile(),
+        insight.cohortWarning(),
+        planAlignmentWarning,
+        person.getPlanStrategy(),
+        person.getTargetChangeKg(),
+        person.getTargetDurationWeeks(),
+        person.getTrainingFrequencyPerWeek(),
+        planDetails.dietPlan(),
+        planDetails.workoutPlan());
+  }
+
+  /**
+   * Checks that a goal is selected and every plan field is supplied.
+   *
+   * @param goal the profile's current goal
+   * @param request the submitted plan
+   * @throws ResponseStatusException 400 when the plan cannot be stored
+   */
+  public static void validatePlanRequest(FitnessGoal goal, GoalPlanRequest request) {
+    if (goal == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "A goal must be selected before configuring a plan");
+    }
+    if (request.getTargetChangeKg() == null || request.getDurationWeeks() == null
+        || request.getTrainingFrequencyPerWeek() == null || request.getPlanStrategy() == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "All plan fields are required");
+    }
+  }
+
+  /**
+   * Validates that the target weight is within reasonable bounds.
+   *
+   * <p>The {@code targetChangeKg} field stored on {@link PersonSimple} represents the <em>final
+   * target weight</em> in kilograms (not the delta). This method derives the implied change from
+   * the current weight and ensures the resulting target weight and BMI stay within safe ranges.
+   *
+   * @param person The person entity with current weight, height, and goal
+   * @param targetWeightKg The desired final target weight in kg
+   * @throws ResponseStatusException if target weight is unreasonable
+   */
+  public static void validateTargetWeight(PersonSimple person, Double targetWeightKg) {
+    if (person.getWeight() == null || targetWeightKg == null || person.getGoal() == null) {
+      return; // Skip validation if required fields are missing
+    }
+
+    double currentWeight = person.getWeight();
+    double targetWeight = targetWeightKg;
+    double changeMagnitude = Math.abs(targetWeight - currentWeight);
+    
+    if (person.getGoal() == FitnessGoal.CUT) {
+      // Check minimum weight
+      if (targetWeight < TargetWeightLimits.MIN_HEALTHY_WEIGHT_KG) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST,
+            String.format(
+                "Target weight (%.1f kg) is below the minimum healthy weight (%.1f kg). "
+                    + "Losing %.1f kg from your current weight of %.1f kg would be unsafe. "
+                    + "Please set a more realistic target weight.",
+                targetWeight, TargetWeightLimits.MIN_HEALTHY_WEIGHT_KG, changeMagnitude, currentWeight));
+      }
+      
+      // Check BMI if height is available
+      if (person.getHeight() != null && person.getHeight() > 0) {
+        double targetBmi = targetWeight / Math.pow(person.getHeight() / 100.0, 2);
+        if (targetBmi < TargetWeightLimits.MIN_HEALTHY_BMI) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST,
+              String.format(
+                  "Target BMI (%.1f) would be below the minimum healthy BMI (%.1f). "
+                      + "Losing %.1f kg from your current weight of %.1f kg would result in an unsafe BMI. "
+                      + "Please set a more realistic target weight.",
+                  targetBmi, TargetWeightLimits.MIN_HEALTHY_BMI, changeMagnitude, currentWeight));
+        }
+      }
+    } else if (person.getGoal() == FitnessGoal.BULK) {
+      // Check maximum weight
+      if (targetWeight > TargetWeightLimits.MAX_REASONABLE_WEIGHT_KG) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST,
+            String.format(
+                "Target weight (%.1f kg) exceeds the maximum reasonable weight (%.1f kg). "
+                    + "Gaining %.1f kg from your current weight of %.1f kg would be excessive. "
+                    + "Please set a more realistic target weight.",
+                targetWeight, TargetWeightLimits.MAX_REASONABLE_WEIGHT_KG, changeMagnitude, currentWeight));
+      }
+      
+      // Check BMI if height is available
+      if (person.getHeight() != null && person.getHeight() > 0) {
+        double targetBmi = targetWeight / Math.pow(person.getHeight() / 100.0, 2);
+        if (targetBmi > TargetWeightLimits.MAX_REASONABLE_BMI) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST,
+              String.format(
+                  "Target BMI (%.1f) would exceed the maximum reasonable BMI (%.1f). "
+                      + "Gaining %.1f kg from your current weight of %.1f kg would result in an unsafe BMI. "
+                      + "Please set a more realistic target weight.",
+                  targetBmi, TargetWeightLimits.MAX_REASONABLE_BMI, changeMagnitude, currentWeight));
+        }
+      }
+    }
+  }
+
+  /**
+   * Plan texts for a body, or none when the request selects neither of them.
+   *
+   * @param person the stored profile
+   * @param planAlignmentIndex plan alignment score, if computed
+   * @param fields requested properties
+   * @return the plan details, possibly both {@code null}
+   */
+  private static PlanDetails selectedPlanDetails(
+      PersonSimple person, Double planAlignmentIndex, FieldSelection fields) {
+    return fields.includesAny("dietPlan", "workoutPlan")
+        ? buildPlanDetails(person, planAlignmentIndex)
+        : new PlanDetails(null, null);
+  }
+
+  /**
+   * Builds the diet and/or workout suggestions for the profile's plan strategy.
+   *
+   * @param person the profile
+   * @param planAlignmentIndex plan alignment score, or {@code null} when not computed
+   * @return diet and workout suggestions, each null unless the strategy includes it
+   */
+  public static PlanDetails buildPlanDetails(PersonSimple person, Double planAlignmentIndex) {
+    PlanStrategy strategy = person.getPlanStrategy();
+    if (strategy == null) {
+      return new PlanDetails(null, null);
+    }
+
+    String dietPlan = strategy == PlanStrategy.DIET || strategy == PlanStrategy.BOTH
+        ? defaultDietPlan(person, planAlignmentIndex)
+        : null;
+    String workoutPlan = strategy == PlanStrategy.WORKOUT || strategy == PlanStrategy.BOTH
+        ? defaultWorkoutPlan(person, planAlignmentIndex)
+        : null;
+    return new PlanDetails(dietPlan, workoutPlan);
+  }
+
+  /**
+   * Diet and workout suggestions for a plan.
+   *
+   * @param dietPlan diet suggestion, null unless the strategy includes diet
+   * @param workoutPlan workout suggestion, null unless the strategy includes workouts
+   */
+  public record PlanDetails(String dietPlan, String workoutPlan) { }
+
+  private static String defaultDietPlan(PersonSimple person, Double planAlignmentIndex) {
+    // If plan alignment is 0, provide a warning message instead of specific diet plan
+    if (planAlignmentIndex != null && planAlignmentIndex == 0.0) {
+      return "Cannot provide a diet plan because your goal plan is unrealistic (Plan Alignment = 0). "
+          + "Please review and adjust your plan configuration (target change, duration, training frequency, strategy) "
+          + "to create a realistic plan before generating a diet plan.";
+    }
+
+    FitnessGoal goal = person.getGoal();
+    double adjustment = DEFAULT_PLAN_ADJUSTMENT;
+    Double targetWeight = person.getTargetChangeKg();
+    Double currentWeight = person.getWeight();
+    Integer durationWeeks = person.getTargetDurationWeeks();
+    if (targetWeight != null && currentWeight != null && durationWeeks != null && durationWeeks > 0) {
+      double deltaKg = targetWeight - currentWeight;
+      adjustment =
+          Math.abs(deltaKg * CALORIES_PER_KG / durationWeeks / DAYS_PER_WEEK);
+    }
+    
+    // Apply boundary checks for calorie adjustments
+    if (goal == FitnessGoal.CUT && adjustment > MAX_DAILY_CALORIE_DEFICIT) {
+      adjustment = MAX_DAILY_CALORIE_DEFICIT;
+    } else if (goal == FitnessGoal.BULK && adjustment > MAX_DAILY_CALORIE_SURPLUS) {
+      adjustment = MAX_DAILY_CALORIE_SURPLUS;
+    }
+    
+    adjustment = Math.round(adjustment / CALORIE_ROUNDING_STEP) * CALORIE_ROUNDING_STEP;
+
+    if (goal == null) {
+      return "Maintain a balanced meal plan with lean protein, whole grains, and plenty of vegetables.";
+    }
+
+    if (goal == FitnessGoal.CUT) {
+      // Check if the adjustment was capped
+      double uncappedAdjustment =
+          targetWeight != null && currentWeight != null && durationWeeks != null && durationWeeks > 0
+              ? Math.abs((targetWeight - currentWeight) * CALORIES_PER_KG / durationWeeks / DAYS_PER_WEEK)
+              : DEFAULT_PLAN_ADJUSTMENT;
+      
+      if (uncappedAdjustment > MAX_DAILY_CALORIE_DEFICIT) {
+        return String.format(
+            "Aim for about %.0f kcal deficit per day (capped at maximum safe deficit) "
+                + "with high-protein, veggie-rich meals and adequate hydration. "
+                + "Your original plan would require %.0f kcal/day deficit, which is unsafe. "
+                + "Consider extending your duration or reducing your target change.",
+            adjustment, Math.round(uncappedAdjustment / CALORIE_ROUNDING_STEP) * CALORIE_ROUNDING_STEP);
+      }
+      return String.format(
+          "Aim for about %.0f kcal deficit per day with high-protein, veggie-rich meals and adequate hydration.",
+          adjustment);
+    }
+    
+    // Check if surplus was capped
+    double uncappedSurplus =
+        targetWeight != null && currentWeight != null && durationWeeks != null && durationWeeks > 0
+            ? Math.abs((targetWeight - currentWeight) * CALORIES_PER_KG / durationWeeks / DAYS_PER_WEEK)
+            : DEFAULT_PLAN_ADJUSTMENT;
+    
+    if (uncappedSurplus > MAX_DAILY_CALORIE_SURPLUS) {
+      return String.format(
+          "Target roughly %.0f kcal surplus daily (capped at maximum safe surplus) "
+              + "using lean proteins, complex carbs, and healthy fats spread across meals. "
+              + "Your original plan would require %.0f kcal/day surplus, which may lead to excessive fat gain. "
+              + "Consider extending your duration or reducing your target change.",
+          adjustment, Math.round(uncappedSurplus / CALORIE_ROUNDING_STEP) * CALORIE_ROUNDING_STEP);
+    }
+    
+    return String.format(
+        "Target roughly %.0f kcal surplus daily using lean proteins, complex carbs, "
+            + "and healthy fats spread across meals.",
+        adjustment);
+  }
+
+  private static String defaultWorkoutPlan(PersonSimple person, Double planAlignmentIndex) {
+    // If plan alignment is 0, provide a warning message instead of specific workout plan
+    if (planAlignmentIndex != null && planAlignmentIndex == 0.0) {
+      return "Cannot provide a workout plan because your goal plan is unrealistic (Plan Alignment = 0). "
+          + "Please review and adjust your plan configuration (target change, duration, training frequency, strategy) "
+          + "to create a realistic plan before generating a workout plan.";
+    }
+
+    int frequency = person.getTrainingFrequencyPerWeek() != null
+        ? person.getTrainingFrequencyPerWeek()
+        : DEFAULT_WEEKLY_WORKOUTS;
+    if (frequency < MIN_WEEKLY_WORKOUTS) {
+      frequency = MIN_WEEKLY_WORKOUTS;
+    }
+    FitnessGoal goal = person.getGoal();
+    if (goal == null) {
+      return String.format(
+          "Schedule %d total-body sessions each week combining strength, mobility, and light cardio.",
+          frequency);
+    }
+
+    if (goal == FitnessGoal.CUT) {
+      return String.format(
+          "Schedule %d weekly sessions mixing strength and cardio (e.g., 3 strength, %d cardio) to support fat loss.",
+          frequency,
+          Math.max(1, frequency / 2));
+    }
+    return String.format(
+        "Plan %d strength-focused sessions emphasising progressive overload, plus mobility work for recovery.",
+        frequency);
+  }
+
+  /**
+   * Maps a BMI value to its WHO category label.
+   *
+   * @param bmi the BMI, may be {@code null}
+   * @return the category, or {@code Unknown} for {@code null}
+   */
+  public static String bmiCategory(Double bmi) {
+    if (bmi == null) {
+      return "Unknown";
+    }
+    if (bmi < BMI_UNDERWEIGHT) {
+      return "Underweight";
+    } else if (bmi < BMI_NORMAL) {
+      return "Normal weight";
+    } else if (bmi < BMI_OVERWEIGHT) {
+      return "Overweight";
+    } else {
+      return "Obese";
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.teamx.fitness.controller;
+
+import com.teamx.fitness.controller.dto.PlanScenarioResponse;
+import com.teamx.fitness.controller.dto.PlanSimulationRequest;
+import com.teamx.fitness.controller.dto.PlanSimulationResponse;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.service.HealthInsightService;
+import com.teamx.fitness.service.PersonService;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * What-if evaluation behind {@code POST /api/persons/plan/simulate}, shared by the servlet and
+ * reactive controllers.
+ *
+ * <p>Every combination of the requested target weights, durations, training frequencies and
+ * strategies is scored as if it were the profile's configured plan, giving the same plan
+ * alignment index and overall score as {@code /recommendation} and the same calorie targets as
+ * {@code /calories}. The profile-only inputs (BMI, BMR, maintenance calories per frequency) are
+ * computed once; each combination then goes through the primitive scoring methods of
+ * {@link HealthInsightService}, in parallel across the grid. Nothing is stored.</p>
+ */
+public final class PlanSimulation {
+
+  /** Largest number of combinations evaluated in one request. */
+  public static final int MAX_COMBINATIONS = 10_000;
+
+  /** Step used when a range omits it. */
+  private static final int DEFAULT_STEP = 1;
+
+  /** Highest weekly training frequency a plan may use, as in {@code GoalPlanRequest}. */
+  private static final int MAX_TRAINING_FREQUENCY = 14;
+
+  /** Slack so a decimal range still reaches {@code max} despite rounding in the step count. */
+  private static final double RANGE_EPSILON = 1e-9;
+
+  private PlanSimulation() {
+  }
+
+  /**
+   * Scores every combination of the requested plan ranges for a profile.
+   *
+   * @param person the stored profile, left unchanged
+   * @param request ranges of the plan fields
+   * @param personService BMI, BMR and calorie calculator
+   * @param healthInsightService plan scoring
+   * @return scores and calorie targets per combination
+   * @throws ResponseStatusException 400 when a range is invalid, the grid exceeds
+   *     {@link #MAX_COMBINATIONS}, a target weight is unsafe, or the profile lacks the data
+   *     needed for scores and calorie targets
+   */
+  public static PlanSimulationResponse simulate(
+      PersonSimple person,
+      PlanSimulationRequest request,
+      PersonService personService,
+      HealthInsightService healthInsightService) {
+    FitnessGoal goal = person.getGoal();
+    if (goal == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "A goal must be selected before configuring a plan");
+    }
+    PlanSimulationRequest.DecimalRange targetRange = request.getTargetChangeKg();
+    PlanSimulationRequest.WholeRange durationRange = request.getDurationWeeks();
+    PlanSimulationRequest.WholeRange frequencyRange = request.getTrainingFrequencyPerWeek();
+    if (frequencyRange.getMax() > MAX_TRAINING_FREQUENCY) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "trainingFrequencyPerWeek must not exceed " + MAX_TRAINING_FREQUENCY);
+    }
+    PlanStrategy[] strategies = strategies(request.getPlanStrategies());
+
+    // Check the grid size before allocating anything proportional to it.
+    // Each count is at most MAX_COMBINATIONS + 1, so the product cannot overflow a long.
+    long targetCount = count("targetChangeKg", targetRange);
+    long durationCount = count("durationWeeks", durationRange);
+    long frequencyCount = count("trainingFrequencyPerWeek", frequencyRange);
+    long combinations = targetCount * durationCount * frequencyCount * strategies.length;
+    if (combinations > MAX_COMBINATIONS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Simulation exceeds the limit of " + MAX_COMBINATIONS + " plan combinations");
+    }
+
+    double[] targets = values(targetRange, (int) targetCount);
+    int[] durations = values(durationRange, (int) durationCount);
+    int[] frequencies = values(frequencyRange, (int) frequencyCount);
+    PersonEndpointSupport.validateTargetWeight(person, targets[0]);
+    PersonEndpointSupport.validateTargetWeight(person, targets[targets.length - 1]);
+
+    double bmi = personService.calculateBMI(person.getWeight(), person.getHeight());
+    double bmr = PersonEndpointSupport.requireBmr(person, personService);
+    double weight = person.getWeight();
+    double[] maintenance = new double[frequencies.length];
+    for (int f = 0; f < frequencies.length; f++) {
+      Double dailyCalories = personService.calculateDailyCalorieNeeds(bmr, frequencies[f]);
+      if (dailyCalories == null) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "Unable to compute calorie needs with the stored plan");
+      }
+      maintenance[f] = dailyCalories;
+    }
+
+    boolean isCut = goal == FitnessGoal.CUT;
+    PlanScenarioResponse[] scenarios = new PlanScenarioResponse[(int) combinations];
+    // Index order is target, duration, frequency, strategy, with strategy varying fastest.
+    IntStream.range(0, scenarios.length).parallel().forEach(i -> {
+      int s = i % strategies.length;
+      int f = i / strategies.length % frequencies.length;
+      int d = i / strategies.length / frequencies.length % durations.length;
+      int t = i / strategies.length / frequencies.length / durations.length;
+      double alignment = healthInsightService.planAlignmentIndex(
+          goal, weight, targets[t], durations[d], frequencies[f], strategies[s]);
+      double overall = healthInsightService.overallScore(
+          bmi, goal, frequencies[f], strategies[s], alignment);
+      double adjustment = PersonEndpointSupport.dailyCalorieAdjustment(
+          isCut, weight, targets[t], durations[d]);
+      double recommended = isCut
+          ? Math.max(0, maintenance[f] - adjustment)
+          : maintenance[f] + adjustment;
+      scenarios[i] = new PlanScenarioResponse(
+          targets[t],
+          durations[d],
+          frequencies[f],
+          strategies[s],
+          alignment,
+          overall,
+          maintenance[f],
+          isCut ? -adjustment : adjustment,
+          recommended);
+    });
+    return new PlanSimulationResponse(goal, bmr, List.of(scenarios));
+  }
+
+  private static PlanStrategy[] strategies(List<PlanStrategy> requested) {
+    if (requested == null || requested.isEmpty()) {
+      return PlanStrategy.values();
+    }
+    if (requested.stream().anyMatch(Objects::isNull)) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "planStrategies must not contain null");
+    }
+    return requested.stream().distinct().toArray(PlanStrategy[]::new);
+  }
+
+  private static long count(String field, PlanSimulationRequest.DecimalRange range) {
+    if (range.getMax() < range.getMin()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, field + ".max must not be less than " + field + ".min");
+    }
+    double steps = Math.floor((range.getMax() - range.getMin()) / step(range) + RANGE_EPSILON);
+    return (long) Math.min(steps, MAX_COMBINATIONS) + 1;
+  }
+
+  private static long count(String field, PlanSimulationRequest.WholeRange range) {
+    if (range.getMax() < range.getMin()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, field + ".max must not be less than " + field + ".min");
+    }
+    return Math.min((range.getMax() - range.getMin()) / step(range), MAX_COMBINATIONS) + 1L;
+  }
+
+  private static double[] values(PlanSimulationRequest.DecimalRange range, int count) {
+    double[] values = new double[count];
+    for (int k = 0; k < values.length; k++) {
+      values[k] = range.getMin() + k * step(range);
+    }
+    return values;
+  }
+
+  private static int[] values(PlanSimulationRequest.WholeRange range, int count) {
+    int[] values = new int[count];
+    for (int k = 0; k < values.length; k++) {
+      values[k] = range.getMin() + k * step(range);
+    }
+    return values;
+  }
+
+  private static double step(PlanSimulationRequest.DecimalRange range) {
+    return range.getStep() != null ? range.getStep() : DEFAULT_STEP;
+  }
+
+  private static int step(PlanSimulationRequest.WholeRange range) {
+    return range.getStep() != null ? range.getStep() : DEFAULT_STEP;
+  }
+}
@@ -0,0 +1,117 @@
+package com.teamx.fitness.controller;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque cursors of {@code GET /api/research/profiles}.
+ *
+ * <p>The listing pages by profile id, but the id must not reach researchers, so the cursor is
+ * the id and a format tag encrypted as a single AES block. Without the key a cursor reveals
+ * nothing about the row; a forged or altered cursor decrypts to a wrong tag and is rejected.
+ * The key comes from {@code app.fitness.research.cursor-key} (Base64, 16, 24 or 32 bytes); when
+ * unset a random key is generated, so cursors stop working after a restart and are not
+ * accepted by other instances.</p>
+ */
+@Component
+public class ProfileCursorCodec {
+
+  /** Block cipher used for the single cursor block. */
+  private static final String ALGORITHM = "AES";
+
+  /** One block, no chaining or padding: the plaintext is exactly one block and never repeats. */
+  private static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
+  /** Format tag in the first half of the block ("p1cursor"), so tokens can change format later. */
+  private static final long FORMAT_TAG = 0x7031637572736f72L;
+
+  /** AES block size in bytes. */
+  private static final int BLOCK_BYTES = 16;
+
+  /** Cursor encryption key. */
+  private final SecretKey key;
+
+  public ProfileCursorCodec(@Value("${app.fitness.research.cursor-key:}") String configuredKey) {
+    this.key = new SecretKeySpec(
+        configuredKey == null || configuredKey.isBlank() ? randomKey() : decodeKey(configuredKey),
+        ALGORITHM);
+  }
+
+  /**
+   * Cursor pointing after a profile.
+   *
+   * @param lastId id of the last profile on the page
+   * @return URL-safe cursor token
+   */
+  public String encode(long lastId) {
+    byte[] block = ByteBuffer.allocate(BLOCK_BYTES).putLong(FORMAT_TAG).putLong(lastId).array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(apply(Cipher.ENCRYPT_MODE, block));
+  }
+
+  /**
+   * Profile id a cursor points after.
+   *
+   * @param cursor token from {@link #encode}
+   * @return id of the last profile on the previous page
+   * @throws ResponseStatusException 400 when the token was not issued with this key
+   */
+  public long decode(String cursor) {
+    byte[] block;
+    try {
+      block = Base64.getUrlDecoder().decode(cursor);
+    } catch (IllegalArgumentException ex) {
+      throw invalid();
+    }
+    if (block.length != BLOCK_BYTES) {
+      throw invalid();
+    }
+    ByteBuffer plain = ByteBuffer.wrap(apply(Cipher.DECRYPT_MODE, block));
+    if (plain.getLong() != FORMAT_TAG) {
+      throw invalid();
+    }
+    long lastId = plain.getLong();
+    if (lastId < 0) {
+      throw invalid();
+    }
+    return lastId;
+  }
+
+  private byte[] apply(int mode, byte[] block) {
+    try {
+      // Cipher instances are not thread-safe; one block does not justify pooling them.
+      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(mode, key);
+      return cipher.doFinal(block);
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Cursor cipher unavailable", ex);
+    }
+  }
+
+  private static ResponseStatusException invalid() {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+  }
+
+  private static byte[] randomKey() {
+    byte[] key = new byte[BLOCK_BYTES];
+    new SecureRandom().nextBytes(key);
+    return key;
+  }
+
+  private static byte[] decodeKey(String configuredKey) {
+    byte[] key = Base64.getDecoder().decode(configuredKey.trim());
+    if (key.length != 16 && key.length != 24 && key.length != 32) {
+      throw new IllegalArgumentException(
+          "app.fitness.research.cursor-key must be 16, 24 or 32 Base64-encoded bytes");
+    }
+    return key;
+  }
+}
@@ -1,14 +1,23 @@
 package com.teamx.fitness.controller;
 
+import com.teamx.fitness.concurrent.SingleFlight;
+import com.teamx.fitness.controller.dto.DemographicsResponse;
+import com.teamx.fitness.controller.dto.PopulationHealthResponse;
+import com.teamx.fitness.controller.dto.ResearchProfilePageResponse;
+import com.teamx.fitness.controller.dto.ResearchProfileResponse;
 import com.teamx.fitness.controller.dto.ResearcherCreateRequest;
 import com.teamx.fitness.controller.dto.ResearcherCreatedResponse;
 import com.teamx.fitness.model.FitnessGoal;
-import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
 import com.teamx.fitness.model.Researcher;
 import com.teamx.fitness.repository.PersonRepository;
 import com.teamx.fitness.repository.ResearcherRepository;
 import com.teamx.fitness.security.ClientContext;
+import com.teamx.fitness.service.BatchHealthCalculator;
+import com.teamx.fitness.service.BatchResult;
 import com.teamx.fitness.service.PersonService;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -19,6 +28,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +37,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -33,13 +45,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Research Controller - Aggregated views backed by persisted person profiles.
+ *
+ * <p>The aggregate views scan every profile, computing only the sections selected with
+ * {@code fields}. Concurrent identical requests (dashboards refreshing together) share one
+ * computation through a {@link SingleFlight} per view and selection, after each caller's own
+ * access check.</p>
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/research")
 @CrossOrigin(origins = "*")
 @Tag(
@@ -57,18 +76,59 @@ public class ResearchController {
   /** Repository for researcher data persistence. */
   private final ResearcherRepository researcherRepository;
 
+  /** Column-wise BMI for whole cohorts. */
+  private final BatchHealthCalculator batchHealthCalculator;
+
+  /** Opaque cursors of the profile listing. */
+  private final ProfileCursorCodec profileCursorCodec;
+
+  /** Coalesces concurrent demographics computations. */
+  private final SingleFlight<String, DemographicsResponse> demographicsFlight;
+
+  /** Coalesces concurrent population health computations. */
+  private final SingleFlight<String, PopulationHealthResponse> populationHealthFlight;
+
   public ResearchController(
       PersonRepository personRepository,
       PersonService personService,
-      ResearcherRepository researcherRepository) {
+      ResearcherRepository researcherRepository,
+      BatchHealthCalculator batchHealthCalculator,
+      ProfileCursorCodec profileCursorCodec,
+      MeterRegistry meterRegistry) {
     this.personRepository = personRepository;
     this.personService = personService;
     this.researcherRepository = researcherRepository;
+    this.batchHealthCalculator = batchHealthCalculator;
+    this.profileCursorCodec = profileCursorCodec;
+    this.demographicsFlight = new SingleFlight<>("demographics", meterRegistry);
+    this.populationHealthFlight = new SingleFlight<>("population-health", meterRegistry);
   }
 
   /** Minimum sample size required for research metrics. */
   private static final int MIN_SAMPLE_SIZE = 3;
 
+  /** Default page size for the profile listing. */
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
+  /** Maximum page size for the profile listing. */
+  private static final int MAX_PAGE_SIZE = 200;
+
+  /** Description of the {@code fields} query parameter. */
+  private static final String FIELDS_DESCRIPTION =
+      "Comma-separated top-level properties to compute and return, e.g. `sampleSize,genderDistribution`";
+
+  /** Demographics section with the age summary. */
+  private static final String AGE_DISTRIBUTION = "ageDistribution";
+
+  /** Demographics section with the gender summary. */
+  private static final String GENDER_DISTRIBUTION = "genderDistribution";
+
+  /** Demographics section with the weight and height summary. */
+  private static final String PHYSICAL_CHARACTERISTICS = "physicalCharacteristics";
+
+  /** Population health section with the per-goal metrics. */
+  private static final String GOAL_SEGMENTS = "goalSegments";
+
   @PostMapping
   @Operation(
       summary = "Register a new researcher profile",
@@ -128,8 +188,8 @@ public class ResearchController {
     }
   }
 
-  private List<PersonSimple> loadPeople() {
-    List<PersonSimple> persons = personRepository.findAll();
+  private List<PersonMetrics> loadPeople() {
+    List<PersonMetrics> persons = personRepository.findAllMetrics();
     if (persons.isEmpty()) {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST,
@@ -139,6 +199,26 @@ public class ResearchController {
     return persons;
   }
 
+  /** Profile count for responses that need nothing but the count. */
+  private int countPeople() {
+    long count = personRepository.count();
+    if (count == 0) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Not enough data to compute research metrics yet."
+              + " Create some person profiles first.");
+    }
+    return Math.toIntExact(count);
+  }
+
+  /**
+   * Coalescing key of an aggregate view: the sections the selection computes, so requests for
+   * different sections never share a partial result.
+   */
+  private static String flightKey(FieldSelection selection, String... sections) {
+    return Arrays.stream(sections).filter(selection::includes).collect(Collectors.joining(","));
+  }
+
   private double safeAverageInt(List<Integer> values) {
     return values.stream()
         .filter(Objects::nonNull)
@@ -177,7 +257,7 @@ public class ResearchController {
       @ApiResponse(
           responseCode = "200",
           description = "Demographic analysis computed",
-          content = @Content(schema = @Schema(implementation = Map.class),
+          content = @Content(schema = @Schema(implementation = DemographicsResponse.class),
               examples = @ExampleObject("""
                   {
                     "sampleSize": 4,
@@ -206,62 +286,75 @@ public class ResearchController {
       @ApiResponse(responseCode = "400", description = "Not enough data to compute metrics"),
       @ApiResponse(responseCode = "403", description = "Forbidden for mobile clients")
   })
-  public ResponseEntity<Map<String, Object>> demographics() {
+  public ResponseEntity<DemographicsResponse> demographics(
+      @Parameter(description = FIELDS_DESCRIPTION)
+      @RequestParam(required = false) String fields) {
     validateResearchAccess();
-    List<PersonSimple> persons = loadPeople();
+    FieldSelection selection = FieldSelection.parse(fields);
+    return ResponseEntity.ok(demographicsFlight.execute(
+        flightKey(selection, AGE_DISTRIBUTION, GENDER_DISTRIBUTION, PHYSICAL_CHARACTERISTICS),
+        () -> computeDemographics(selection)));
+  }
+
+  private DemographicsResponse computeDemographics(FieldSelection selection) {
+    boolean withAges = selection.includes(AGE_DISTRIBUTION);
+    boolean withGenders = selection.includes(GENDER_DISTRIBUTION);
+    boolean withPhysical = selection.includes(PHYSICAL_CHARACTERISTICS);
+    boolean sectionsRequested = withAges || withGenders || withPhysical;
 
-    if (persons.size() < MIN_SAMPLE_SIZE) {
+    // The sample size alone only needs the count, not the profiles.
+    List<PersonMetrics> persons = sectionsRequested ? loadPeople() : List.of();
+    int sampleSize = sectionsRequested ? persons.size() : countPeople();
+
+    if (sampleSize < MIN_SAMPLE_SIZE) {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST,
           "Not enough data to compute metrics yet."
               + " Create at least " + MIN_SAMPLE_SIZE + " profiles.");
     }
 
-    List<Double> weights = persons.stream()
-        .map(PersonSimple::getWeight)
+    List<Double> weights = !withPhysical ? List.of() : persons.stream()
+        .map(PersonMetrics::weight)
         .filter(Objects::nonNull)
         .toList();
-    List<Double> heights = persons.stream()
-        .map(PersonSimple::getHeight)
+    List<Double> heights = !withPhysical ? List.of() : persons.stream()
+        .map(PersonMetrics::height)
         .filter(Objects::nonNull)
         .toList();
-    List<Integer> ages = persons.stream()
-        .map(PersonSimple::getBirthDate)
+    List<Integer> ages = !withAges ? List.of() : persons.stream()
+        .map(PersonMetrics::birthDate)
         .filter(Objects::nonNull)
         .map(personService::calculateAge)
         .filter(Objects::nonNull)
         .toList();
 
-    if (weights.isEmpty() || heights.isEmpty() || ages.isEmpty()) {
+    if ((withPhysical && (weights.isEmpty() || heights.isEmpty())) || (withAges && ages.isEmpty())) {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST,
           "Not enough complete data to compute demographics."
               + " Ensure weight, height, and birthDate are provided.");
     }
 
+    return new DemographicsResponse(
+        sampleSize,
+        withAges ? ageDistribution(ages) : null,
+        withGenders ? genderDistribution(persons) : null,
+        withPhysical ? physicalCharacteristics(weights, heights) : null);
+  }
+
+  private DemographicsResponse.AgeDistribution ageDistribution(List<Integer> ages) {
     // Age distribution by ranges
     Map<String, Long> ageRanges = ages.stream()
-        .collect(Collectors.groupingBy(age -> {
-          if (age < 26) {
-            return "18-25";
-          }
-          if (age < 36) {
-            return "26-35";
-          }
-          if (age < 46) {
-            return "36-45";
-          }
-          return "46+";
-        }, Collectors.counting()));
+        .collect(Collectors.groupingBy(ResearchController::ageBand, Collectors.counting()));
 
-    Map<String, Object> ageDistribution = new HashMap<>();
-    ageDistribution.put("averageAge", round(safeAverageInt(ages)));
-    ageDistribution.put("ageRanges", ageRanges);
+    return new DemographicsResponse.AgeDistribution(round(safeAverageInt(ages)), ageRanges);
+  }
 
+  private DemographicsResponse.GenderDistribution genderDistribution(List<PersonMetrics> persons) {
     // Gender distribution with percentages
     Map<String, Long> genderCounts = persons.stream()
-        .filter(p -> p.getGender() != null)
-        .collect(Collectors.groupingBy(p -> p.getGender().name(), Collectors.counting()));
+        .filter(p -> p.gender() != null)
+        .collect(Collectors.groupingBy(p -> p.gender().name(), Collectors.counting()));
     
     long totalWithGender = genderCounts.values().stream().mapToLong(Long::longValue).sum();
     Map<String, Double> genderPercentages = new HashMap<>();
@@ -269,10 +362,11 @@ public class ResearchController {
       genderPercentages.put(gender, round((count * 100.0) / totalWithGender));
     });
 
-    Map<String, Object> genderDistribution = new HashMap<>();
-    genderDistribution.putAll(genderCounts);
-    genderDistribution.put("percentage", genderPercentages);
+    return new DemographicsResponse.GenderDistribution(genderCounts, genderPercentages);
+  }
 
+  private DemographicsResponse.PhysicalCharacteristics physicalCharacteristics(
+      List<Double> weights, List<Double> heights) {
     // Physical characteristics with ranges
     DoubleSummaryStatistics weightStats = weights.stream()
         .mapToDouble(Double::doubleValue)
@@ -281,25 +375,11 @@ public class ResearchController {
         .mapToDouble(Double::doubleValue)
         .summaryStatistics();
 
-    Map<String, Object> physicalCharacteristics = new HashMap<>();
-    physicalCharacteristics.put("averageWeight", round(weightStats.getAverage()));
-    physicalCharacteristics.put("averageHeight", round(heightStats.getAverage()));
-    Map<String, Double> weightRange = new HashMap<>();
-    weightRange.put("min", round(weightStats.getMin()));
-    weightRange.put("max", round(weightStats.getMax()));
-    physicalCharacteristics.put("weightRange", weightRange);
-    Map<String, Double> heightRange = new HashMap<>();
-    heightRange.put("min", round(heightStats.getMin()));
-    heightRange.put("max", round(heightStats.getMax()));
-    physicalCharacteristics.put("heightRange", heightRange);
-
-    Map<String, Object> response = new HashMap<>();
-    response.put("sampleSize", persons.size());
-    response.put("ageDistribution", ageDistribution);
-    response.put("genderDistribution", genderDistribution);
-    response.put("physicalCharacteristics", physicalCharacteristics);
-
-    return ResponseEntity.ok(response);
+    return new DemographicsResponse.PhysicalCharacteristics(
+        round(weightStats.getAverage()),
+        round(heightStats.getAverage()),
+        new DemographicsResponse.Range(round(weightStats.getMin()), round(weightStats.getMax())),
+        new DemographicsResponse.Range(round(heightStats.getMin()), round(heightStats.getMax())));
   }
 
   @GetMapping("/population-health")
@@ -319,7 +399,7 @@ public class ResearchController {
       @ApiResponse(
           responseCode = "200",
           description = "Population health metrics computed",
-          content = @Content(schema = @Schema(implementation = Map.class),
+          content = @Content(schema = @Schema(implementation = PopulationHealthResponse.class),
               examples = @ExampleObject("""
                   {
                     "totalProfiles": 4,
@@ -366,16 +446,28 @@ public class ResearchController {
       @ApiResponse(responseCode = "400", description = "Not enough data to compute metrics"),
       @ApiResponse(responseCode = "403", description = "Forbidden for mobile clients")
   })
-  public ResponseEntity<Map<String, Object>> populationHealth() {
+  public ResponseEntity<PopulationHealthResponse> populationHealth(
+      @Parameter(description = FIELDS_DESCRIPTION)
+      @RequestParam(required = false) String fields) {
     validateResearchAccess();
-    List<PersonSimple> persons = loadPeople();
+    FieldSelection selection = FieldSelection.parse(fields);
+    return ResponseEntity.ok(populationHealthFlight.execute(
+        flightKey(selection, GOAL_SEGMENTS), () -> computePopulationHealth(selection)));
+  }
+
+  private PopulationHealthResponse computePopulationHealth(FieldSelection selection) {
+    if (!selection.includes(GOAL_SEGMENTS)) {
+      // The total alone needs neither the profiles nor the per-goal BMI pass.
+      return new PopulationHealthResponse(countPeople(), null);
+    }
+    List<PersonMetrics> persons = loadPeople();
 
-    Map<FitnessGoal, List<PersonSimple>> byGoal = persons.stream()
-        .filter(p -> p.getGoal() != null)
-        .collect(Collectors.groupingBy(PersonSimple::getGoal));
+    Map<FitnessGoal, List<PersonMetrics>> byGoal = persons.stream()
+        .filter(p -> p.goal() != null)
+        .collect(Collectors.groupingBy(PersonMetrics::goal));
 
-    List<PersonSimple> cutters = byGoal.get(FitnessGoal.CUT);
-    List<PersonSimple> bulkers = byGoal.get(FitnessGoal.BULK);
+    List<PersonMetrics> cutters = byGoal.get(FitnessGoal.CUT);
+    List<PersonMetrics> bulkers = byGoal.get(FitnessGoal.BULK);
 
     if (cutters == null || cutters.isEmpty() || bulkers == null || bulkers.isEmpty()) {
       throw new ResponseStatusException(
@@ -384,24 +476,29 @@ public class ResearchController {
               + " Create more person profiles with both goals.");
     }
 
-    Map<String, Object> response = new HashMap<>();
-    response.put("totalProfiles", persons.size());
-
-    Map<String, Object> goalSegments = new HashMap<>();
-    goalSegments.put("CUT", goalHealthMetrics(cutters));
-    goalSegments.put("BULK", goalHealthMetrics(bulkers));
-
-    response.put("goalSegments", goalSegments);
-    return ResponseEntity.ok(response);
+    return new PopulationHealthResponse(
+        persons.size(),
+        new PopulationHealthResponse.GoalSegments(
+            goalHealthMetrics(cutters), goalHealthMetrics(bulkers)));
   }
 
-  private Map<String, Object> goalHealthMetrics(List<PersonSimple> people) {
-    // Health metrics (BMI and distribution)
-    List<Double> bmis = people.stream()
-        .filter(p -> p.getWeight() != null && p.getHeight() != null)
-        .map(p -> personService.calculateBMI(p.getWeight(), p.getHeight()))
-        .filter(Objects::nonNull)
-        .toList();
+  private PopulationHealthResponse.GoalSegment goalHealthMetrics(List<PersonMetrics> people) {
+    // Health metrics (BMI and distribution), computed for the whole segment in one column pass.
+    // Rows without usable weight and height are left out.
+    double[] weights = new double[people.size()];
+    double[] heights = new double[people.size()];
+    for (int i = 0; i < people.size(); i++) {
+      PersonMetrics person = people.get(i);
+      weights[i] = person.weight() != null ? person.weight() : Double.NaN;
+      heights[i] = person.height() != null ? person.height() : Double.NaN;
+    }
+    BatchResult bmiColumn = batchHealthCalculator.bmi(weights, heights);
+    List<Double> bmis = new ArrayList<>(bmiColumn.validCount());
+    for (int i = 0; i < bmiColumn.length(); i++) {
+      if (bmiColumn.isValid(i)) {
+        bmis.add(bmiColumn.values()[i]);
+      }
+    }
 
     if (bmis.isEmpty()) {
       throw new ResponseStatusException(
@@ -423,50 +520,134 @@ public class ResearchController {
           return "obese";
         }, Collectors.counting()));
 
-    Map<String, Object> healthMetrics = new HashMap<>();
-    healthMetrics.put("averageBMI",
-        round(bmis.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN)));
-    healthMetrics.put("bmiDistribution", bmiDistribution);
+    PopulationHealthResponse.HealthMetrics healthMetrics = new PopulationHealthResponse.HealthMetrics(
+        round(bmis.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN)),
+        bmiDistribution);
 
     // Plan metrics (what users are planning to do)
     List<Double> targetChanges = people.stream()
-        .map(PersonSimple::getTargetChangeKg)
+        .map(PersonMetrics::targetChangeKg)
         .filter(Objects::nonNull)
         .toList();
     List<Integer> durations = people.stream()
-        .map(PersonSimple::getTargetDurationWeeks)
+        .map(PersonMetrics::targetDurationWeeks)
         .filter(Objects::nonNull)
         .toList();
     List<Integer> trainingFreqs = people.stream()
-        .map(PersonSimple::getTrainingFrequencyPerWeek)
+        .map(PersonMetrics::trainingFrequencyPerWeek)
         .filter(Objects::nonNull)
         .toList();
     Map<String, Long> planStrategies = people.stream()
-        .filter(p -> p.getPlanStrategy() != null)
-        .collect(Collectors.groupingBy(p -> p.getPlanStrategy().name(), Collectors.counting()));
+        .filter(p -> p.planStrategy() != null)
+        .collect(Collectors.groupingBy(p -> p.planStrategy().name(), Collectors.counting()));
+
+    PopulationHealthResponse.PlanMetrics planMetrics = new PopulationHealthResponse.PlanMetrics(
+        targetChanges.isEmpty() ? null
+            : round(targetChanges.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN)),
+        durations.isEmpty() ? null
+            : round(durations.stream().mapToInt(Integer::intValue).average().orElse(Double.NaN)),
+        trainingFreqs.isEmpty() ? null
+            : round(trainingFreqs.stream().mapToInt(Integer::intValue).average().orElse(Double.NaN)),
+        planStrategies.isEmpty() ? null : planStrategies);
+
+    return new PopulationHealthResponse.GoalSegment(people.size(), healthMetrics, planMetrics);
+  }
 
-    Map<String, Object> planMetrics = new HashMap<>();
-    if (!targetChanges.isEmpty()) {
-      planMetrics.put("averageTargetChange",
-          round(targetChanges.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN)));
+  @GetMapping("/profiles")
+  @Operation(
+      summary = "Page through de-identified profiles",
+      description = "Returns profiles without names, client identifiers, or birth dates, in a stable "
+          + "order. Pass `nextCursor` from one page as `cursor` to fetch the next; every page costs "
+          + "the same regardless of depth. `goal` and `gender` narrow the listing.",
+      parameters = {
+          @Parameter(
+              name = "X-Client-ID",
+              in = ParameterIn.HEADER,
+              required = true,
+              description = "Research client identifier",
+              example = "research-tool1")
+      })
+  @ApiResponses({
+      @ApiResponse(
+          responseCode = "200",
+          description = "Page of de-identified profiles",
+          content = @Content(
+              schema = @Schema(implementation = ResearchProfilePageResponse.class),
+              examples = @ExampleObject("""
+                  {
+                    "items": [
+                      {
+                        "ageBand": "26-35",
+                        "gender": "FEMALE",
+                        "goal": "CUT",
+                        "weightKg": 68,
+                        "heightCm": 165,
+                        "bmi": 24.98,
+                        "targetDurationWeeks": 12,
+                        "trainingFrequencyPerWeek": 3,
+                        "planStrategy": "BOTH"
+                      }
+                    ],
+                    "nextCursor": "VI1xZm_SxG-sPa6B6aKPrA"
+                  }
+                  """))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+      @ApiResponse(responseCode = "403", description = "Forbidden for mobile clients")
+  })
+  public ResponseEntity<ResearchProfilePageResponse> profiles(
+      @Parameter(description = "Cursor returned as `nextCursor` by the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Only profiles with this goal")
+      @RequestParam(required = false) FitnessGoal goal,
+      @Parameter(description = "Only profiles with this gender")
+      @RequestParam(required = false) Gender gender,
+      @Parameter(description = "Page size (1-200, default 50)")
+      @RequestParam(required = false) Integer limit) {
+    validateResearchAccess();
+    int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
     }
-    if (!durations.isEmpty()) {
-      planMetrics.put("averageDurationWeeks",
-          round(durations.stream().mapToInt(Integer::intValue).average().orElse(Double.NaN)));
+    long afterId = cursor == null || cursor.isBlank() ? 0L : profileCursorCodec.decode(cursor);
+
+    // One extra row tells us whether another page exists without a COUNT query.
+    List<PersonMetrics> rows = personRepository.findProfilePage(afterId, goal, gender, pageSize + 1);
+    boolean hasMore = rows.size() > pageSize;
+    List<PersonMetrics> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    List<ResearchProfileResponse> items = page.stream().map(this::deIdentify).toList();
+    String nextCursor = hasMore ? profileCursorCodec.encode(page.get(page.size() - 1).id()) : null;
+    return ResponseEntity.ok(new ResearchProfilePageResponse(items, nextCursor));
+  }
+
+  private ResearchProfileResponse deIdentify(PersonMetrics person) {
+    Integer age = personService.calculateAge(person.birthDate());
+    Double bmi = person.weight() != null && person.height() != null
+        ? round(personService.calculateBMI(person.weight(), person.height()))
+        : null;
+    return new ResearchProfileResponse(
+        age != null ? ageBand(age) : null,
+        person.gender(),
+        person.goal(),
+        person.weight() != null ? Math.round(person.weight()) : null,
+        person.height() != null ? Math.round(person.height()) : null,
+        bmi,
+        person.targetDurationWeeks(),
+        person.trainingFrequencyPerWeek(),
+        person.planStrategy());
+  }
+
+  private static String ageBand(int age) {
+    if (age < 26) {
+      return "18-25";
     }
-    if (!trainingFreqs.isEmpty()) {
-      planMetrics.put("averageTrainingFrequency",
-          round(trainingFreqs.stream().mapToInt(Integer::intValue).average().orElse(Double.NaN)));
+    if (age < 36) {
+      return "26-35";
     }
-    if (!planStrategies.isEmpty()) {
-      planMetrics.put("planStrategies", planStrategies);
+    if (age < 46) {
+      return "36-45";
     }
-
-    Map<String, Object> metrics = new HashMap<>();
-    metrics.put("count", people.size());
-    metrics.put("healthMetrics", healthMetrics);
-    metrics.put("planMetrics", planMetrics);
-
-    return metrics;
+    return "46+";
   }
 }
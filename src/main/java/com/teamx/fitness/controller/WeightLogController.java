@@ -0,0 +1,203 @@
+package com.teamx.fitness.controller;
+
+import com.teamx.fitness.controller.dto.WeightLogAppendRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryResponse;
+import com.teamx.fitness.model.WeightLogEntry;
+import com.teamx.fitness.repository.PersonRepository;
+import com.teamx.fitness.repository.WeightLogRepository;
+import com.teamx.fitness.security.ClientContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Weight Log Controller - Append-only measurement history for the current person.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/persons/weight-log")
+@CrossOrigin(origins = "*")
+@Tag(
+    name = "Weight Log Controller",
+    description = "Append and query the measurement history of the authenticated user.")
+public class WeightLogController {
+
+  /** PostgreSQL error text for a row whose month has no {@code weight_log} partition. */
+  private static final String NO_PARTITION_MESSAGE = "no partition of relation";
+
+  /** Default look-back window when no lower bound is supplied. */
+  private static final Duration DEFAULT_RANGE = Duration.ofDays(90);
+
+  /** Default number of entries returned by a range query. */
+  private static final int DEFAULT_LIMIT = 1000;
+
+  /** Maximum number of entries returned by a range query. */
+  private static final int MAX_LIMIT = 5000;
+
+  /** Repository for person data persistence. */
+  private final PersonRepository personRepository;
+
+  /** Repository for the partitioned weight log. */
+  private final WeightLogRepository weightLogRepository;
+
+  /** How far back entries may be recorded; older months have no partition. */
+  private final Duration retention;
+
+  public WeightLogController(
+      PersonRepository personRepository,
+      WeightLogRepository weightLogRepository,
+      @Value("${app.fitness.research.data-retention-days:365}") int retentionDays) {
+    this.personRepository = personRepository;
+    this.weightLogRepository = weightLogRepository;
+    this.retention = Duration.ofDays(Math.max(1, retentionDays));
+  }
+
+  @PostMapping
+  @Operation(
+      summary = "Append measurements to the weight log",
+      description = "Appends up to 500 measurements in one batched insert. Entries without "
+          + "`recordedAt` are stamped with the time the request is received; entries older than "
+          + "the data retention period are rejected.",
+      parameters = {
+          @Parameter(
+              name = "X-Client-ID",
+              in = ParameterIn.HEADER,
+              required = true,
+              description = "Client identifier returned by POST /api/persons",
+              example = "mobile-id1")
+      })
+  @ApiResponses({
+      @ApiResponse(responseCode = "201", description = "Entries appended"),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Empty, oversized, or invalid batch, or an entry older than the retention period"),
+      @ApiResponse(responseCode = "404", description = "Profile not found"),
+      @ApiResponse(
+          responseCode = "503",
+          description = "The weight log partition for an entry's month is not available yet")
+  })
+  public ResponseEntity<Map<String, Object>> appendEntries(
+      @Valid @RequestBody WeightLogAppendRequest request) {
+    Long personId = requirePersonId();
+    Instant receivedAt = Instant.now();
+
+    List<WeightLogEntry> entries = request.getEntries().stream()
+        .map(entry -> toEntry(personId, entry, receivedAt))
+        .toList();
+    int appended;
+    try {
+      appended = weightLogRepository.appendBatch(personId, entries);
+    } catch (DataIntegrityViolationException ex) {
+      String cause = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+      if (cause == null || !cause.contains(NO_PARTITION_MESSAGE)) {
+        throw ex;
+      }
+      // The month exists in the accepted window but its partition has not been created;
+      // the batch was rolled back and can be retried once partition maintenance catches up.
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Weight log storage for this month is not available yet");
+    }
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("appended", appended);
+    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Query the weight log",
+      description = "Returns entries with `from <= recordedAt < to`, oldest first. `to` defaults "
+          + "to now and `from` to 90 days before `to`. Only the monthly partitions overlapping "
+          + "the range are read.",
+      parameters = {
+          @Parameter(
+              name = "X-Client-ID",
+              in = ParameterIn.HEADER,
+              required = true,
+              description = "Client identifier returned by POST /api/persons",
+              example = "mobile-id1")
+      })
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Entries in the requested range"),
+      @ApiResponse(responseCode = "400", description = "Invalid range or limit"),
+      @ApiResponse(responseCode = "404", description = "Profile not found")
+  })
+  public ResponseEntity<List<WeightLogEntryResponse>> getEntries(
+      @Parameter(description = "Inclusive lower bound (ISO-8601 instant)")
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      Instant from,
+      @Parameter(description = "Exclusive upper bound (ISO-8601 instant)")
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      Instant to,
+      @Parameter(description = "Maximum number of entries to return (1-5000)")
+      @RequestParam(required = false) Integer limit) {
+    Instant upper = to != null ? to : Instant.now();
+    Instant lower = from != null ? from : upper.minus(DEFAULT_RANGE);
+    if (!lower.isBefore(upper)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+    int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+    if (pageSize < 1 || pageSize > MAX_LIMIT) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+    }
+
+    Long personId = requirePersonId();
+    List<WeightLogEntryResponse> entries = weightLogRepository
+        .findRange(personId, lower, upper, PageRequest.of(0, pageSize))
+        .stream()
+        .map(WeightLogEntryResponse::fromEntity)
+        .toList();
+    return ResponseEntity.ok(entries);
+  }
+
+  private WeightLogEntry toEntry(Long personId, WeightLogEntryRequest request, Instant receivedAt) {
+    Instant recordedAt = request.getRecordedAt() != null ? request.getRecordedAt() : receivedAt;
+    if (recordedAt.isBefore(receivedAt.minus(retention))) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "recordedAt must be within the last " + retention.toDays() + " days");
+    }
+    return new WeightLogEntry(
+        personId, recordedAt, request.getWeightKg(), request.getBodyFatPercent());
+  }
+
+  private Long requirePersonId() {
+    String clientId = ClientContext.getClientId();
+    if (clientId == null || clientId.isBlank()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "X-Client-ID header is required");
+    }
+    return personRepository
+        .findIdByClientId(clientId)
+        .orElseThrow(
+            () ->
+                new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "No person profile found for supplied clientId"));
+  }
+}
@@ -0,0 +1,21 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.teamx.fitness.controller.FieldSelection;
+
+/**
+ * Body of {@code GET /api/persons/bmi}.
+ *
+ * @param clientId the profile's client ID
+ * @param weight stored weight in kilograms
+ * @param height stored height in centimeters
+ * @param bmi body mass index, null when it cannot be computed
+ * @param category textual BMI category
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record BmiResponse(
+    String clientId,
+    Double weight,
+    Double height,
+    Double bmi,
+    String category) { }
@@ -0,0 +1,36 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teamx.fitness.controller.FieldSelection;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PlanStrategy;
+
+/**
+ * Body of {@code GET /api/persons/calories}.
+ *
+ * @param goal the profile's goal
+ * @param planStrategy configured plan strategy
+ * @param targetChangeKg target weight in kilograms
+ * @param targetDurationWeeks plan duration in weeks
+ * @param trainingFrequencyPerWeek weekly training sessions
+ * @param bmr basal metabolic rate
+ * @param maintenanceCalories calories needed to keep the current weight
+ * @param calorieAdjustmentPerDay daily deficit (negative) or surplus
+ * @param recommendedDailyCalories maintenance calories plus the adjustment
+ * @param dietPlan diet suggestion, omitted unless the strategy includes diet
+ * @param workoutPlan workout suggestion, omitted unless the strategy includes workouts
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record CaloriesResponse(
+    FitnessGoal goal,
+    PlanStrategy planStrategy,
+    Double targetChangeKg,
+    Integer targetDurationWeeks,
+    Integer trainingFrequencyPerWeek,
+    double bmr,
+    double maintenanceCalories,
+    double calorieAdjustmentPerDay,
+    double recommendedDailyCalories,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String dietPlan,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String workoutPlan) { }
@@ -0,0 +1,23 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teamx.fitness.controller.FieldSelection;
+
+/**
+ * Body of {@code GET /api/persons/dashboard}: everything the mobile app shows on open, computed
+ * from a single profile load.
+ *
+ * @param profile same as {@code GET /api/persons/me}
+ * @param bmi same as {@code GET /api/persons/bmi}
+ * @param calories same as {@code GET /api/persons/calories}, omitted while the plan or profile is
+ *     too incomplete for calorie targets
+ * @param recommendation same as {@code GET /api/persons/recommendation}, omitted until every plan
+ *     field is configured
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record DashboardResponse(
+    PersonProfileResponse profile,
+    BmiResponse bmi,
+    @JsonInclude(JsonInclude.Include.NON_NULL) CaloriesResponse calories,
+    @JsonInclude(JsonInclude.Include.NON_NULL) RecommendationResponse recommendation) { }
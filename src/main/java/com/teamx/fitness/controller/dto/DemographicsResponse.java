@@ -0,0 +1,79 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.teamx.fitness.controller.FieldSelection;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/research/demographics}.
+ *
+ * @param sampleSize number of profiles considered
+ * @param ageDistribution average age and counts per age band
+ * @param genderDistribution counts and percentages per gender
+ * @param physicalCharacteristics weight and height averages and ranges
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record DemographicsResponse(
+    int sampleSize,
+    AgeDistribution ageDistribution,
+    GenderDistribution genderDistribution,
+    PhysicalCharacteristics physicalCharacteristics) {
+
+  /**
+   * Age summary.
+   *
+   * @param averageAge mean age in years
+   * @param ageRanges profile count per age band, only bands with at least one profile
+   */
+  public record AgeDistribution(double averageAge, Map<String, Long> ageRanges) { }
+
+  /**
+   * Gender summary, serialized with one count property per gender next to {@code percentage}.
+   */
+  public static final class GenderDistribution {
+
+    /** Profile count per gender name. */
+    private final Map<String, Long> counts;
+    /** Share of profiles per gender name, in percent. */
+    private final Map<String, Double> percentage;
+
+    public GenderDistribution(Map<String, Long> counts, Map<String, Double> percentage) {
+      this.counts = counts;
+      this.percentage = percentage;
+    }
+
+    /**
+     * Profile count per gender name, written as top-level properties.
+     *
+     * @return counts keyed by gender name
+     */
+    @JsonAnyGetter
+    public Map<String, Long> getCounts() {
+      return counts;
+    }
+
+    public Map<String, Double> getPercentage() {
+      return percentage;
+    }
+  }
+
+  /**
+   * Body measurement summary.
+   *
+   * @param averageWeight mean weight in kilograms
+   * @param averageHeight mean height in centimeters
+   * @param weightRange lightest and heaviest weight
+   * @param heightRange shortest and tallest height
+   */
+  public record PhysicalCharacteristics(
+      double averageWeight, double averageHeight, Range weightRange, Range heightRange) { }
+
+  /**
+   * Observed range of a measurement.
+   *
+   * @param min smallest value
+   * @param max largest value
+   */
+  public record Range(double min, double max) { }
+}
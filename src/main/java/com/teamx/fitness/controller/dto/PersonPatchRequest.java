@@ -0,0 +1,214 @@
+package com.teamx.fitness.controller.dto;
+
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Partial update payload for the current profile.
+ *
+ * <p>Every field is optional. Omitted (or null) fields keep their stored value. The supplied
+ * fields are checked here; the profile they produce is checked like a full update, and only the
+ * supplied fields are written back.</p>
+ */
+public class PersonPatchRequest {
+
+  /** Updated display name. */
+  @Pattern(regexp = ".*\\S.*", message = "name must not be blank")
+  @Size(max = 255, message = "name must not exceed 255 characters")
+  private String name;
+
+  /** Updated body weight in kilograms. */
+  @Positive(message = "weight must be greater than 0")
+  @DecimalMax(value = "635.0", message = "weight value is unreasonably large")
+  private Double weight;
+
+  /** Updated height in centimeters. */
+  @Positive(message = "height must be greater than 0")
+  @DecimalMax(value = "272.0", message = "height value is unreasonably large")
+  private Double height;
+
+  /** Updated date of birth. */
+  @Past(message = "birthDate must be before today")
+  private LocalDate birthDate;
+
+  /** Updated gender. */
+  private Gender gender;
+
+  /** Updated goal. */
+  private FitnessGoal goal;
+
+  /** Updated target weight in kilograms. */
+  @Positive(message = "targetChangeKg must be greater than 0")
+  @DecimalMax(value = "635.0", message = "targetChangeKg value is unreasonably large")
+  private Double targetChangeKg;
+
+  /** Updated plan duration in weeks. */
+  @Positive(message = "targetDurationWeeks must be greater than 0")
+  private Integer targetDurationWeeks;
+
+  /** Updated weekly training frequency. */
+  @Min(value = 1, message = "trainingFrequencyPerWeek must be at least 1")
+  @Max(value = 14, message = "trainingFrequencyPerWeek must not exceed 14")
+  private Integer trainingFrequencyPerWeek;
+
+  /** Updated plan strategy. */
+  private PlanStrategy planStrategy;
+
+  /**
+   * Collects the supplied fields keyed by {@code PersonSimple} attribute name.
+   *
+   * @return changed attributes in declaration order; empty when nothing was supplied
+   */
+  public Map<String, Object> toChanges() {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    if (name != null) {
+      changes.put("name", name.trim());
+    }
+    putIfPresent(changes, "weight", weight);
+    putIfPresent(changes, "height", height);
+    putIfPresent(changes, "birthDate", birthDate);
+    putIfPresent(changes, "gender", gender);
+    putIfPresent(changes, "goal", goal);
+    putIfPresent(changes, "targetChangeKg", targetChangeKg);
+    putIfPresent(changes, "targetDurationWeeks", targetDurationWeeks);
+    putIfPresent(changes, "trainingFrequencyPerWeek", trainingFrequencyPerWeek);
+    putIfPresent(changes, "planStrategy", planStrategy);
+    return changes;
+  }
+
+  /**
+   * Copies the supplied fields onto a profile, leaving the others unchanged.
+   *
+   * @param person the profile to update in place
+   */
+  public void applyTo(PersonSimple person) {
+    if (name != null) {
+      person.setName(name.trim());
+    }
+    if (weight != null) {
+      person.setWeight(weight);
+    }
+    if (height != null) {
+      person.setHeight(height);
+    }
+    if (birthDate != null) {
+      person.setBirthDate(birthDate);
+    }
+    if (gender != null) {
+      person.setGender(gender);
+    }
+    if (goal != null) {
+      person.setGoal(goal);
+    }
+    if (targetChangeKg != null) {
+      person.setTargetChangeKg(targetChangeKg);
+    }
+    if (targetDurationWeeks != null) {
+      person.setTargetDurationWeeks(targetDurationWeeks);
+    }
+    if (trainingFrequencyPerWeek != null) {
+      person.setTrainingFrequencyPerWeek(trainingFrequencyPerWeek);
+    }
+    if (planStrategy != null) {
+      person.setPlanStrategy(planStrategy);
+    }
+  }
+
+  private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+    if (value != null) {
+      changes.put(attribute, value);
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Double getWeight() {
+    return weight;
+  }
+
+  public void setWeight(Double weight) {
+    this.weight = weight;
+  }
+
+  public Double getHeight() {
+    return height;
+  }
+
+  public void setHeight(Double height) {
+    this.height = height;
+  }
+
+  public LocalDate getBirthDate() {
+    return birthDate;
+  }
+
+  public void setBirthDate(LocalDate birthDate) {
+    this.birthDate = birthDate;
+  }
+
+  public Gender getGender() {
+    return gender;
+  }
+
+  public void setGender(Gender gender) {
+    this.gender = gender;
+  }
+
+  public FitnessGoal getGoal() {
+    return goal;
+  }
+
+  public void setGoal(FitnessGoal goal) {
+    this.goal = goal;
+  }
+
+  public Double getTargetChangeKg() {
+    return targetChangeKg;
+  }
+
+  public void setTargetChangeKg(Double targetChangeKg) {
+    this.targetChangeKg = targetChangeKg;
+  }
+
+  public Integer getTargetDurationWeeks() {
+    return targetDurationWeeks;
+  }
+
+  public void setTargetDurationWeeks(Integer targetDurationWeeks) {
+    this.targetDurationWeeks = targetDurationWeeks;
+  }
+
+  public Integer getTrainingFrequencyPerWeek() {
+    return trainingFrequencyPerWeek;
+  }
+
+  public void setTrainingFrequencyPerWeek(Integer trainingFrequencyPerWeek) {
+    this.trainingFrequencyPerWeek = trainingFrequencyPerWeek;
+  }
+
+  public PlanStrategy getPlanStrategy() {
+    return planStrategy;
+  }
+
+  public void setPlanStrategy(PlanStrategy planStrategy) {
+    this.planStrategy = planStrategy;
+  }
+}
@@ -1,5 +1,7 @@
 package com.teamx.fitness.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.teamx.fitness.controller.FieldSelection;
 import com.teamx.fitness.model.FitnessGoal;
 import com.teamx.fitness.model.Gender;
 import com.teamx.fitness.model.PersonSimple;
@@ -9,6 +11,7 @@ import java.time.LocalDate;
 /**
  * Person profile payload tailored for API responses.
  */
+@JsonFilter(FieldSelection.FILTER_ID)
 public class PersonProfileResponse {
 
   /** Client ID associated with the profile. */
@@ -0,0 +1,29 @@
+package com.teamx.fitness.controller.dto;
+
+import com.teamx.fitness.model.PlanStrategy;
+
+/**
+ * One simulated plan of {@code POST /api/persons/plan/simulate}: the scores and calorie targets
+ * the profile would get from {@code GET /api/persons/recommendation} and
+ * {@code GET /api/persons/calories} with this plan.
+ *
+ * @param targetChangeKg target weight in kilograms
+ * @param durationWeeks plan duration in weeks
+ * @param trainingFrequencyPerWeek weekly training sessions
+ * @param planStrategy plan strategy
+ * @param planAlignmentIndex plan alignment index
+ * @param overallScore overall score
+ * @param maintenanceCalories calories needed to keep the current weight
+ * @param calorieAdjustmentPerDay daily deficit (negative) or surplus
+ * @param recommendedDailyCalories maintenance calories plus the adjustment
+ */
+public record PlanScenarioResponse(
+    double targetChangeKg,
+    int durationWeeks,
+    int trainingFrequencyPerWeek,
+    PlanStrategy planStrategy,
+    double planAlignmentIndex,
+    double overallScore,
+    double maintenanceCalories,
+    double calorieAdjustmentPerDay,
+    double recommendedDailyCalories) { }
@@ -0,0 +1,167 @@
+package com.teamx.fitness.controller.dto;
+
+import com.teamx.fitness.model.PlanStrategy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.List;
+
+/**
+ * Request payload for {@code POST /api/persons/plan/simulate}: ranges of the goal plan fields to
+ * score in every combination. Each range runs from {@code min} to {@code max} inclusive in
+ * {@code step} increments; {@code min == max} pins a field to one value.
+ */
+public class PlanSimulationRequest {
+
+  /** Target weights in kilograms. */
+  @NotNull(message = "targetChangeKg is required")
+  @Valid
+  private DecimalRange targetChangeKg;
+
+  /** Plan durations in weeks. */
+  @NotNull(message = "durationWeeks is required")
+  @Valid
+  private WholeRange durationWeeks;
+
+  /** Weekly training sessions. */
+  @NotNull(message = "trainingFrequencyPerWeek is required")
+  @Valid
+  private WholeRange trainingFrequencyPerWeek;
+
+  /** Strategies to compare; every strategy when omitted or empty. */
+  private List<PlanStrategy> planStrategies;
+
+  public DecimalRange getTargetChangeKg() {
+    return targetChangeKg;
+  }
+
+  public void setTargetChangeKg(DecimalRange targetChangeKg) {
+    this.targetChangeKg = targetChangeKg;
+  }
+
+  public WholeRange getDurationWeeks() {
+    return durationWeeks;
+  }
+
+  public void setDurationWeeks(WholeRange durationWeeks) {
+    this.durationWeeks = durationWeeks;
+  }
+
+  public WholeRange getTrainingFrequencyPerWeek() {
+    return trainingFrequencyPerWeek;
+  }
+
+  public void setTrainingFrequencyPerWeek(WholeRange trainingFrequencyPerWeek) {
+    this.trainingFrequencyPerWeek = trainingFrequencyPerWeek;
+  }
+
+  public List<PlanStrategy> getPlanStrategies() {
+    return planStrategies;
+  }
+
+  public void setPlanStrategies(List<PlanStrategy> planStrategies) {
+    this.planStrategies = planStrategies;
+  }
+
+  /** Range of decimal values; {@code step} defaults to 1. */
+  public static class DecimalRange {
+
+    /** First value. */
+    @NotNull(message = "min is required")
+    @Positive(message = "min must be greater than 0")
+    private Double min;
+
+    /** Last value, included when a whole number of steps away from {@code min}. */
+    @NotNull(message = "max is required")
+    @Positive(message = "max must be greater than 0")
+    private Double max;
+
+    /** Increment between values. */
+    @Positive(message = "step must be greater than 0")
+    private Double step;
+
+    public DecimalRange() {
+    }
+
+    public DecimalRange(Double min, Double max, Double step) {
+      this.min = min;
+      this.max = max;
+      this.step = step;
+    }
+
+    public Double getMin() {
+      return min;
+    }
+
+    public void setMin(Double min) {
+      this.min = min;
+    }
+
+    public Double getMax() {
+      return max;
+    }
+
+    public void setMax(Double max) {
+      this.max = max;
+    }
+
+    public Double getStep() {
+      return step;
+    }
+
+    public void setStep(Double step) {
+      this.step = step;
+    }
+  }
+
+  /** Range of whole numbers; {@code step} defaults to 1. */
+  public static class WholeRange {
+
+    /** First value. */
+    @NotNull(message = "min is required")
+    @Positive(message = "min must be greater than 0")
+    private Integer min;
+
+    /** Last value, included when a whole number of steps away from {@code min}. */
+    @NotNull(message = "max is required")
+    @Positive(message = "max must be greater than 0")
+    private Integer max;
+
+    /** Increment between values. */
+    @Positive(message = "step must be greater than 0")
+    private Integer step;
+
+    public WholeRange() {
+    }
+
+    public WholeRange(Integer min, Integer max, Integer step) {
+      this.min = min;
+      this.max = max;
+      this.step = step;
+    }
+
+    public Integer getMin() {
+      return min;
+    }
+
+    public void setMin(Integer min) {
+      this.min = min;
+    }
+
+    public Integer getMax() {
+      return max;
+    }
+
+    public void setMax(Integer max) {
+      this.max = max;
+    }
+
+    public Integer getStep() {
+      return step;
+    }
+
+    public void setStep(Integer step) {
+      this.step = step;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.teamx.fitness.controller.dto;
+
+import com.teamx.fitness.model.FitnessGoal;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/persons/plan/simulate}.
+ *
+ * @param goal the profile's goal the plans were scored for
+ * @param bmr basal metabolic rate of the profile
+ * @param scenarios every combination of the requested ranges, ordered by target weight, then
+ *     duration, then training frequency, then strategy
+ */
+public record PlanSimulationResponse(
+    FitnessGoal goal,
+    double bmr,
+    List<PlanScenarioResponse> scenarios) { }
@@ -0,0 +1,61 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.teamx.fitness.controller.FieldSelection;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/research/population-health}.
+ *
+ * @param totalProfiles number of profiles considered
+ * @param goalSegments metrics per fitness goal
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record PopulationHealthResponse(int totalProfiles, GoalSegments goalSegments) {
+
+  /**
+   * Metrics for each goal.
+   *
+   * @param cut profiles with the CUT goal
+   * @param bulk profiles with the BULK goal
+   */
+  public record GoalSegments(
+      @JsonProperty("CUT") GoalSegment cut,
+      @JsonProperty("BULK") GoalSegment bulk) { }
+
+  /**
+   * Metrics for the profiles sharing one goal.
+   *
+   * @param count number of profiles
+   * @param healthMetrics BMI summary
+   * @param planMetrics plan configuration summary
+   */
+  public record GoalSegment(int count, HealthMetrics healthMetrics, PlanMetrics planMetrics) { }
+
+  /**
+   * BMI summary.
+   *
+   * @param averageBmi mean BMI
+   * @param bmiDistribution profile count per BMI category, only categories with profiles
+   */
+  public record HealthMetrics(
+      @JsonProperty("averageBMI") double averageBmi,
+      Map<String, Long> bmiDistribution) { }
+
+  /**
+   * Plan configuration summary; each value is omitted when no profile has it configured.
+   *
+   * @param averageTargetChange mean target weight in kilograms
+   * @param averageDurationWeeks mean plan duration in weeks
+   * @param averageTrainingFrequency mean weekly training sessions
+   * @param planStrategies profile count per plan strategy
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record PlanMetrics(
+      Double averageTargetChange,
+      Double averageDurationWeeks,
+      Double averageTrainingFrequency,
+      Map<String, Long> planStrategies) { }
+}
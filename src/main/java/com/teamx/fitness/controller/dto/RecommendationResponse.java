@@ -0,0 +1,46 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teamx.fitness.controller.FieldSelection;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PlanStrategy;
+
+/**
+ * Body of {@code GET /api/persons/recommendation}.
+ *
+ * @param goal the profile's goal
+ * @param message tailored recommendation
+ * @param bmi body mass index, null when it cannot be computed
+ * @param bmiCategory textual BMI category
+ * @param healthIndex BMI-oriented score (0-100)
+ * @param planAlignmentIndex plan alignment score (0-100), null when not computed
+ * @param overallScore combined score
+ * @param percentile percentile within the cohort, null when the cohort is too small
+ * @param cohortWarning why the percentile is missing, omitted otherwise
+ * @param planAlignmentWarning explanation of a zero plan alignment, omitted otherwise
+ * @param planStrategy configured plan strategy
+ * @param targetChangeKg target weight in kilograms
+ * @param targetDurationWeeks plan duration in weeks
+ * @param trainingFrequencyPerWeek weekly training sessions
+ * @param dietPlan diet suggestion, omitted unless the strategy includes diet
+ * @param workoutPlan workout suggestion, omitted unless the strategy includes workouts
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public record RecommendationResponse(
+    FitnessGoal goal,
+    String message,
+    Double bmi,
+    String bmiCategory,
+    double healthIndex,
+    Double planAlignmentIndex,
+    double overallScore,
+    Double percentile,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String cohortWarning,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String planAlignmentWarning,
+    PlanStrategy planStrategy,
+    Double targetChangeKg,
+    Integer targetDurationWeeks,
+    Integer trainingFrequencyPerWeek,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String dietPlan,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String workoutPlan) { }
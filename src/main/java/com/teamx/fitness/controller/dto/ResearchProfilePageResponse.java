@@ -0,0 +1,27 @@
+package com.teamx.fitness.controller.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of de-identified profiles.
+ */
+public class ResearchProfilePageResponse {
+
+  /** Profiles on this page, in a stable order. */
+  private final List<ResearchProfileResponse> items;
+  /** Opaque token for the next page; {@code null} on the last page. */
+  private final String nextCursor;
+
+  public ResearchProfilePageResponse(List<ResearchProfileResponse> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<ResearchProfileResponse> getItems() {
+    return items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
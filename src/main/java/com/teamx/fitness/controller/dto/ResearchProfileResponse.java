@@ -0,0 +1,94 @@
+package com.teamx.fitness.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.teamx.fitness.controller.FieldSelection;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PlanStrategy;
+
+/**
+ * De-identified profile row returned to research clients.
+ *
+ * <p>Carries no name, client ID, database id, or birth date. Age is reduced to a band and body
+ * measurements are rounded to whole units.</p>
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
+public class ResearchProfileResponse {
+
+  /** Age band, e.g. {@code 26-35}. */
+  private final String ageBand;
+  /** Gender. */
+  private final Gender gender;
+  /** Active goal. */
+  private final FitnessGoal goal;
+  /** Weight rounded to the nearest kilogram. */
+  private final Long weightKg;
+  /** Height rounded to the nearest centimeter. */
+  private final Long heightCm;
+  /** BMI rounded to two decimals. */
+  private final Double bmi;
+  /** Plan duration in weeks, if configured. */
+  private final Integer targetDurationWeeks;
+  /** Weekly training frequency, if configured. */
+  private final Integer trainingFrequencyPerWeek;
+  /** Plan strategy, if configured. */
+  private final PlanStrategy planStrategy;
+
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  public ResearchProfileResponse(
+      String ageBand,
+      Gender gender,
+      FitnessGoal goal,
+      Long weightKg,
+      Long heightCm,
+      Double bmi,
+      Integer targetDurationWeeks,
+      Integer trainingFrequencyPerWeek,
+      PlanStrategy planStrategy) {
+    this.ageBand = ageBand;
+    this.gender = gender;
+    this.goal = goal;
+    this.weightKg = weightKg;
+    this.heightCm = heightCm;
+    this.bmi = bmi;
+    this.targetDurationWeeks = targetDurationWeeks;
+    this.trainingFrequencyPerWeek = trainingFrequencyPerWeek;
+    this.planStrategy = planStrategy;
+  }
+
+  public String getAgeBand() {
+    return ageBand;
+  }
+
+  public Gender getGender() {
+    return gender;
+  }
+
+  public FitnessGoal getGoal() {
+    return goal;
+  }
+
+  public Long getWeightKg() {
+    return weightKg;
+  }
+
+  public Long getHeightCm() {
+    return heightCm;
+  }
+
+  public Double getBmi() {
+    return bmi;
+  }
+
+  public Integer getTargetDurationWeeks() {
+    return targetDurationWeeks;
+  }
+
+  public Integer getTrainingFrequencyPerWeek() {
+    return trainingFrequencyPerWeek;
+  }
+
+  public PlanStrategy getPlanStrategy() {
+    return planStrategy;
+  }
+}
@@ -0,0 +1,31 @@
+package com.teamx.fitness.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Batch of measurements appended to the weight log in one request.
+ *
+ * <p>Mobile clients are expected to buffer readings (e.g. from a smart scale) and sync them
+ * together rather than sending one request per reading.</p>
+ */
+public class WeightLogAppendRequest {
+
+  /** Largest batch accepted in one request. */
+  public static final int MAX_ENTRIES = 500;
+
+  /** Measurements to append. */
+  @NotEmpty(message = "entries must not be empty")
+  @Size(max = MAX_ENTRIES, message = "at most 500 entries can be appended per request")
+  private List<@Valid WeightLogEntryRequest> entries;
+
+  public List<WeightLogEntryRequest> getEntries() {
+    return entries;
+  }
+
+  public void setEntries(List<WeightLogEntryRequest> entries) {
+    this.entries = entries;
+  }
+}
@@ -0,0 +1,52 @@
+package com.teamx.fitness.controller.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import java.time.Instant;
+
+/**
+ * One measurement submitted to the weight log.
+ */
+public class WeightLogEntryRequest {
+
+  /** Moment the measurement was taken; defaults to the time the request is received. */
+  @PastOrPresent(message = "recordedAt must not be in the future")
+  private Instant recordedAt;
+
+  /** Measured body weight in kilograms. */
+  @NotNull(message = "weightKg is required")
+  @Positive(message = "weightKg must be greater than 0")
+  @DecimalMax(value = "635.0", message = "weightKg value is unreasonably large")
+  private Double weightKg;
+
+  /** Optional measured body fat percentage. */
+  @Positive(message = "bodyFatPercent must be greater than 0")
+  @DecimalMax(value = "99.9", message = "bodyFatPercent must be below 100")
+  private Double bodyFatPercent;
+
+  public Instant getRecordedAt() {
+    return recordedAt;
+  }
+
+  public void setRecordedAt(Instant recordedAt) {
+    this.recordedAt = recordedAt;
+  }
+
+  public Double getWeightKg() {
+    return weightKg;
+  }
+
+  public void setWeightKg(Double weightKg) {
+    this.weightKg = weightKg;
+  }
+
+  public Double getBodyFatPercent() {
+    return bodyFatPercent;
+  }
+
+  public void setBodyFatPercent(Double bodyFatPercent) {
+    this.bodyFatPercent = bodyFatPercent;
+  }
+}
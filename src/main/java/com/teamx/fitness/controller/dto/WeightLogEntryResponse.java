@@ -0,0 +1,40 @@
+package com.teamx.fitness.controller.dto;
+
+import com.teamx.fitness.model.WeightLogEntry;
+import java.time.Instant;
+
+/**
+ * Weight log entry payload tailored for API responses.
+ */
+public class WeightLogEntryResponse {
+
+  /** Moment the measurement was taken. */
+  private final Instant recordedAt;
+  /** Measured body weight in kilograms. */
+  private final Double weightKg;
+  /** Measured body fat percentage, if recorded. */
+  private final Double bodyFatPercent;
+
+  public WeightLogEntryResponse(Instant recordedAt, Double weightKg, Double bodyFatPercent) {
+    this.recordedAt = recordedAt;
+    this.weightKg = weightKg;
+    this.bodyFatPercent = bodyFatPercent;
+  }
+
+  public static WeightLogEntryResponse fromEntity(WeightLogEntry entry) {
+    return new WeightLogEntryResponse(
+        entry.getRecordedAt(), entry.getWeightKg(), entry.getBodyFatPercent());
+  }
+
+  public Instant getRecordedAt() {
+    return recordedAt;
+  }
+
+  public Double getWeightKg() {
+    return weightKg;
+  }
+
+  public Double getBodyFatPercent() {
+    return bodyFatPercent;
+  }
+}
@@ -0,0 +1,152 @@
+package com.teamx.fitness.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes {@link AccessLogEntry} values as single-line JSON into a reusable UTF-8 byte buffer.
+ *
+ * <p>Strings are escaped per RFC 8259 (quotes, backslashes and all control characters) and
+ * numbers are written digit by digit, so the only allocation per line is the final
+ * {@code String}. Instances are not thread-safe; each writer thread owns one.</p>
+ */
+final class AccessLogEncoder {
+
+  /** Initial buffer size; grows on demand and is then kept. */
+  private static final int INITIAL_CAPACITY = 512;
+
+  /** Lower-case hex digits for {@code \\u00XX} escapes. */
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  /** Literal written for absent values. */
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+  /** Encoded bytes of the current line. */
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+  /** Number of valid bytes in {@link #buffer}. */
+  private int length;
+
+  /**
+   * Encodes one entry.
+   *
+   * @param entry the captured request
+   * @return the JSON line
+   */
+  String encode(AccessLogEntry entry) {
+    length = 0;
+    writeAscii("{\"clientId\":");
+    writeStringOrNull(entry.clientId());
+    writeAscii(",\"method\":");
+    writeStringOrNull(entry.method());
+    writeAscii(",\"path\":");
+    writeStringOrNull(entry.path());
+    writeAscii(",\"status\":");
+    writeLong(entry.status());
+    writeAscii(",\"durationMs\":");
+    writeLong(entry.durationMs());
+    writeAscii(",\"ip\":");
+    writeStringOrNull(entry.ip());
+    writeAscii(",\"ua\":");
+    writeStringOrNull(entry.userAgent());
+    if (entry.error() != null) {
+      writeAscii(",\"error\":");
+      writeStringOrNull(entry.error());
+    }
+    writeByte('}');
+    return new String(buffer, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private void writeStringOrNull(String value) {
+    if (value == null) {
+      ensureCapacity(NULL.length);
+      System.arraycopy(NULL, 0, buffer, length, NULL.length);
+      length += NULL.length;
+      return;
+    }
+    writeByte('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        writeByte('\\');
+        writeByte(c);
+      } else if (c < 0x20) {
+        writeControl(c);
+      } else if (c < 0x80) {
+        writeByte(c);
+      } else if (c < 0x800) {
+        writeByte(0xC0 | (c >> 6));
+        writeByte(0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        writeByte(0xF0 | (codePoint >> 18));
+        writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+        writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+        writeByte(0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        writeByte('?');
+      } else {
+        writeByte(0xE0 | (c >> 12));
+        writeByte(0x80 | ((c >> 6) & 0x3F));
+        writeByte(0x80 | (c & 0x3F));
+      }
+    }
+    writeByte('"');
+  }
+
+  private void writeControl(char c) {
+    writeByte('\\');
+    switch (c) {
+      case '\n' -> writeByte('n');
+      case '\r' -> writeByte('r');
+      case '\t' -> writeByte('t');
+      case '\b' -> writeByte('b');
+      case '\f' -> writeByte('f');
+      default -> {
+        writeAscii("u00");
+        writeByte(HEX[c >> 4]);
+        writeByte(HEX[c & 0xF]);
+      }
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      writeByte('-');
+      value = -value;
+    }
+    int digits = 1;
+    for (long rest = value / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    ensureCapacity(digits);
+    for (int pos = length + digits - 1; pos >= length; pos--) {
+      buffer[pos] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    length += digits;
+  }
+
+  private void writeAscii(String ascii) {
+    ensureCapacity(ascii.length());
+    for (int i = 0; i < ascii.length(); i++) {
+      buffer[length++] = (byte) ascii.charAt(i);
+    }
+  }
+
+  private void writeByte(int b) {
+    ensureCapacity(1);
+    buffer[length++] = (byte) b;
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+  }
+}
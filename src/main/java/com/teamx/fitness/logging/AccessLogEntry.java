@@ -0,0 +1,23 @@
+package com.teamx.fitness.logging;
+
+/**
+ * Fields of one API access log line, captured on the request thread and encoded later.
+ *
+ * @param clientId client ID bound to the request, or {@code null}
+ * @param method HTTP method
+ * @param path request URI
+ * @param status response status code
+ * @param durationMs handling time in milliseconds, {@code -1} when unknown
+ * @param ip client address (first {@code X-Forwarded-For} hop when present)
+ * @param userAgent user agent, trimmed, or {@code null}
+ * @param error message of the exception that ended the request, or {@code null}
+ */
+public record AccessLogEntry(
+    String clientId,
+    String method,
+    String path,
+    int status,
+    long durationMs,
+    String ip,
+    String userAgent,
+    String error) { }
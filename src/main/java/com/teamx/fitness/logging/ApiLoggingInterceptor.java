@@ -1,82 +1,104 @@
-package com.teamx.fitness.logging;
-
-import com.teamx.fitness.security.ClientContext;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-
-/**
- * Interceptor that logs basic API call information to the application log file.
- * Captures: timestamp (via logger pattern), clientId, method, path, status, duration, ip, userAgent.
- */
-@Component
-public class ApiLoggingInterceptor implements HandlerInterceptor {
-
-  /** Logger used for structured API request logging. */
-  private static final Logger LOG = LoggerFactory.getLogger("API_LOG");
-
-  /** Request attribute key storing the request start timestamp in milliseconds. */
-  private static final String START_TIME_ATTR = "apiLogStartTime";
-
-  @Override
-  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
-      throws Exception {
-    request.setAttribute(START_TIME_ATTR, System.currentTimeMillis());
-    return true;
-  }
-
-  @Override
-  public void afterCompletion(
-      HttpServletRequest request,
-      HttpServletResponse response,
-      Object handler,
-      Exception ex) throws Exception {
-
-    Long start = (Long) request.getAttribute(START_TIME_ATTR);
-    long duration = start != null ? System.currentTimeMillis() - start : -1L;
-
-    String path = request.getRequestURI();
-    String method = request.getMethod();
-    int status = response.getStatus();
-    String clientId = ClientContext.getClientId();
-    String ip = getClientIp(request);
-    String ua = trimUserAgent(request.getHeader("User-Agent"));
-    String err = ex != null ? ex.getMessage() : null;
-
-    // JSON-ish single-line log for easy parsing
-    String msg = String.format(
-        "{\"clientId\":%s,\"method\":\"%s\",\"path\":\"%s\",\"status\":%d,\"durationMs\":%d,\"ip\":%s,\"ua\":%s%s}",
-        jsonQuoteOrNull(clientId), method, path, status, duration,
-        jsonQuoteOrNull(ip), jsonQuoteOrNull(ua),
-        err != null ? ",\"error\":" + jsonQuote(err) : "");
-
-    LOG.info(msg);
-  }
-
-  private static String getClientIp(HttpServletRequest request) {
-    String xff = request.getHeader("X-Forwarded-For");
-    if (xff != null && !xff.isBlank()) {
-      int comma = xff.indexOf(',');
-      return comma > 0 ? xff.substring(0, comma).trim() : xff.trim();
-    }
-    return request.getRemoteAddr();
-  }
-
-  private static String trimUserAgent(String ua) {
-    if (ua == null) {
-      return null;
-    }
-    return ua.length() > 200 ? ua.substring(0, 200) : ua;
-  }
-
-  private static String jsonQuote(String s) {
-    return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
-  }
-
-  private static String jsonQuoteOrNull(String s) {
-    return s == null ? "null" : jsonQuote(s);
-  }
-}
+package com.teamx.fitness.logging;
+
+import com.teamx.fitness.security.ClientContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor that logs basic API call information to the application log file.
+ * Captures: timestamp (via logger pattern), clientId, method, path, status, duration, ip, userAgent.
+ *
+ * <p>The request thread only captures an {@link AccessLogEntry}; encoding and output happen on
+ * the {@link AsyncAccessLogWriter} thread when that bean is enabled, and inline otherwise.</p>
+ */
+@Component
+public class ApiLoggingInterceptor implements HandlerInterceptor {
+
+  /** Logger used for structured API request logging. */
+  private static final Logger LOG = LoggerFactory.getLogger("API_LOG");
+
+  /** Request attribute key storing the request start timestamp from {@link System#nanoTime()}. */
+  private static final String START_TIME_ATTR = "apiLogStartTime";
+
+  /** Maximum logged user-agent length. */
+  private static final int UA_MAX_LENGTH = 200;
+
+  /** Per-thread encoder for the synchronous path. */
+  private static final ThreadLocal<AccessLogEncoder> ENCODER =
+      ThreadLocal.withInitial(AccessLogEncoder::new);
+
+  /** Background writer, or null to log on the request thread. */
+  private final AsyncAccessLogWriter writer;
+
+  /** Creates an interceptor that logs on the request thread. */
+  public ApiLoggingInterceptor() {
+    this.writer = null;
+  }
+
+  @Autowired
+  public ApiLoggingInterceptor(Optional<AsyncAccessLogWriter> writer) {
+    this.writer = writer.orElse(null);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    request.setAttribute(START_TIME_ATTR, System.nanoTime());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler,
+      Exception ex) throws Exception {
+    if (!LOG.isInfoEnabled()) {
+      return;
+    }
+
+    Long start = (Long) request.getAttribute(START_TIME_ATTR);
+    long duration = start != null
+        ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        : -1L;
+
+    AccessLogEntry entry = new AccessLogEntry(
+        ClientContext.getClientId(),
+        request.getMethod(),
+        request.getRequestURI(),
+        response.getStatus(),
+        duration,
+        getClientIp(request),
+        trimUserAgent(request.getHeader("User-Agent")),
+        ex != null ? ex.getMessage() : null);
+
+    if (writer != null) {
+      writer.submit(entry);
+    } else {
+      LOG.info(ENCODER.get().encode(entry));
+    }
+  }
+
+  private static String getClientIp(HttpServletRequest request) {
+    String xff = request.getHeader("X-Forwarded-For");
+    if (xff != null && !xff.isBlank()) {
+      int comma = xff.indexOf(',');
+      return comma > 0 ? xff.substring(0, comma).trim() : xff.trim();
+    }
+    return request.getRemoteAddr();
+  }
+
+  private static String trimUserAgent(String ua) {
+    if (ua == null) {
+      return null;
+    }
+    return ua.length() > UA_MAX_LENGTH ? ua.substring(0, UA_MAX_LENGTH) : ua;
+  }
+}
@@ -0,0 +1,177 @@
+package com.teamx.fitness.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves API access log encoding and output off the request thread.
+ *
+ * <p>Request threads only enqueue an {@link AccessLogEntry} into a bounded ring buffer. A single
+ * background thread drains it in batches, encodes each entry with its own
+ * {@link AccessLogEncoder} and writes it to the {@code API_LOG} logger. When the buffer is full
+ * the configured {@link OverflowPolicy} either drops the entry (counted in
+ * {@code api.access.log.dropped}) or makes the request thread wait for space. Entries still
+ * queued at shutdown are flushed.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.fitness.access-log", name = "async", matchIfMissing = true)
+public class AsyncAccessLogWriter implements DisposableBean {
+
+  /** What a request thread does when the buffer is full. */
+  public enum OverflowPolicy {
+    /** Discard the entry and count it; request latency is never affected. */
+    DROP,
+    /** Wait for space; no entry is lost, but a stalled log sink slows requests down. */
+    BLOCK
+  }
+
+  /** Destination logger, shared with the synchronous path of {@link ApiLoggingInterceptor}. */
+  private static final Logger LOG = LoggerFactory.getLogger("API_LOG");
+
+  /** Logger for the writer's own problems. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAccessLogWriter.class);
+
+  /** Largest batch taken from the buffer at once. */
+  private static final int MAX_BATCH = 256;
+
+  /** How long the writer waits for an entry before re-checking for shutdown. */
+  private static final long POLL_MILLIS = 200L;
+
+  /** How long shutdown waits for the writer thread to finish. */
+  private static final long SHUTDOWN_WAIT_MILLIS = 5_000L;
+
+  /** Bounded ring buffer between request threads and the writer. */
+  private final BlockingQueue<AccessLogEntry> buffer;
+
+  /** Behaviour when {@link #buffer} is full. */
+  private final OverflowPolicy overflowPolicy;
+
+  /** Encoder owned by whichever thread is currently writing. */
+  private final AccessLogEncoder encoder = new AccessLogEncoder();
+
+  /** Entries discarded because the buffer was full or the writer had stopped. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /** Background writer thread. */
+  private final Thread writerThread;
+
+  /** Cleared at shutdown. */
+  private volatile boolean running = true;
+
+  @Autowired
+  public AsyncAccessLogWriter(
+      @Value("${app.fitness.access-log.buffer-capacity:8192}") int capacity,
+      @Value("${app.fitness.access-log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+      MeterRegistry meterRegistry) {
+    this(capacity, overflowPolicy, meterRegistry, true);
+  }
+
+  /**
+   * Creates the writer, optionally without starting its thread (for tests, which then rely on
+   * {@link #destroy()} to flush).
+   */
+  AsyncAccessLogWriter(
+      int capacity, OverflowPolicy overflowPolicy, MeterRegistry meterRegistry, boolean start) {
+    this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.overflowPolicy = overflowPolicy;
+    Gauge.builder("api.access.log.buffered", buffer, BlockingQueue::size)
+        .description("Access log entries waiting to be written")
+        .register(meterRegistry);
+    FunctionCounter.builder("api.access.log.dropped", dropped, AtomicLong::get)
+        .description("Access log entries discarded because the buffer was full")
+        .register(meterRegistry);
+    this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+    this.writerThread.setDaemon(true);
+    if (start) {
+      writerThread.start();
+    }
+  }
+
+  /**
+   * Hands an entry to the writer.
+   *
+   * @param entry the captured request
+   */
+  public void submit(AccessLogEntry entry) {
+    if (!running) {
+      dropped.incrementAndGet();
+      return;
+    }
+    if (overflowPolicy == OverflowPolicy.BLOCK) {
+      try {
+        buffer.put(entry);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        dropped.incrementAndGet();
+      }
+    } else if (!buffer.offer(entry)) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  /**
+   * Number of entries discarded so far.
+   *
+   * @return dropped entry count
+   */
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    if (writerThread.isAlive()) {
+      writerThread.interrupt();
+      writerThread.join(SHUTDOWN_WAIT_MILLIS);
+    }
+    if (!writerThread.isAlive()) {
+      // The writer is gone, so this thread may use the encoder.
+      List<AccessLogEntry> rest = new ArrayList<>(buffer.size());
+      buffer.drainTo(rest);
+      rest.forEach(this::write);
+    }
+  }
+
+  private void drainLoop() {
+    List<AccessLogEntry> batch = new ArrayList<>(MAX_BATCH);
+    while (running) {
+      try {
+        AccessLogEntry first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        buffer.drainTo(batch, MAX_BATCH - 1);
+        batch.forEach(this::write);
+        batch.clear();
+      } catch (InterruptedException ex) {
+        // Shutdown: destroy() flushes what is left once this thread has exited.
+        batch.forEach(this::write);
+        return;
+      }
+    }
+  }
+
+  private void write(AccessLogEntry entry) {
+    try {
+      LOG.info(encoder.encode(entry));
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Could not write access log entry: {}", ex.toString());
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.teamx.fitness.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enforces {@code app.fitness.research.data-retention-days} on the weight log, the measurement
+ * history research data is drawn from. Profiles themselves are never purged; they are user
+ * accounts and are removed only through {@code DELETE /api/persons/me}.
+ *
+ * <p>Whole monthly partitions past the cutoff are detached with
+ * {@code DETACH PARTITION ... CONCURRENTLY}, so readers and writers of {@code weight_log} are not
+ * blocked, and then dropped. A detach interrupted by a previous run is finalized, and a
+ * partition detached but not yet dropped is dropped. The remaining expired rows are deleted in
+ * small batches, each its own short auto-committed statement, with a pause in between so the
+ * purge never holds long locks or produces one large burst of dead tuples.</p>
+ *
+ * <p>Runs while {@code app.fitness.retention.enabled} is {@code true}, as shipped. With
+ * {@code app.fitness.retention.dry-run}, the default of the {@code dev} profile, a run only
+ * counts what it would remove and publishes the counts as the pending gauge.</p>
+ */
+@Component
+@Profile("!memory")
+@ConditionalOnProperty(prefix = "app.fitness.retention", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class RetentionPurger {
+
+  /** Logger for retention runs. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RetentionPurger.class);
+
+  /** Counts weight log rows recorded before the cutoff. */
+  static final String COUNT_EXPIRED_WEIGHT_LOG_SQL =
+      "SELECT count(*) FROM weight_log WHERE recorded_at < ?";
+
+  /** Deletes one batch of expired weight log rows, located through the BRIN index. */
+  static final String DELETE_EXPIRED_WEIGHT_LOG_SQL =
+      "DELETE FROM weight_log WHERE (id, recorded_at) IN ("
+          + "SELECT id, recorded_at FROM weight_log WHERE recorded_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+  /**
+   * Lists the monthly partition tables of {@code weight_log}, including ones whose detach is
+   * pending or that are detached but not yet dropped.
+   */
+  static final String LIST_PARTITIONS_SQL =
+      "SELECT c.relname, i.inhrelid IS NOT NULL AS attached, "
+          + "coalesce(i.inhdetachpending, false) AS detach_pending "
+          + "FROM pg_class c "
+          + "JOIN pg_namespace n ON n.oid = c.relnamespace AND n.nspname = current_schema() "
+          + "LEFT JOIN pg_inherits i ON i.inhrelid = c.oid "
+          + "WHERE c.relkind = 'r' AND c.relname LIKE 'weight_log_y%'";
+
+  /** Monthly partition names created by {@link WeightLogPartitionMaintainer}. */
+  private static final DateTimeFormatter PARTITION_NAME =
+      DateTimeFormatter.ofPattern("'weight_log_y'yyyy'm'MM");
+
+  /** Metric tag value for weight log rows. */
+  private static final String WEIGHT_LOG = "weight_log";
+
+  /** JDBC access bound to the application data source. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Retention period in days. */
+  private final int retentionDays;
+
+  /** Maximum rows removed per statement. */
+  private final int batchSize;
+
+  /** Pause between batches in milliseconds. */
+  private final long pauseMillis;
+
+  /** Upper bound on batches per run, so one run cannot go on indefinitely. */
+  private final int maxBatches;
+
+  /** Whether runs only count candidates instead of deleting them. */
+  private final boolean dryRun;
+
+  /** Guards against overlapping runs. */
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /** Weight log rows still eligible for deletion in the current or last run. */
+  private final AtomicLong pendingWeightLogRows = new AtomicLong();
+
+  /** Epoch second at which the last run finished, 0 before the first run. */
+  private final AtomicLong lastCompletedEpochSecond = new AtomicLong();
+
+  /** Weight log rows deleted by batch (rows in dropped partitions are not counted). */
+  private final Counter deletedWeightLogRows;
+
+  /** Expired monthly partitions dropped. */
+  private final Counter droppedPartitions;
+
+  /** DELETE statements issued. */
+  private final Counter batches;
+
+  /** Duration of complete runs. */
+  private final Timer runTimer;
+
+  public RetentionPurger(
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.research.data-retention-days:365}") int retentionDays,
+      @Value("${app.fitness.retention.batch-size:500}") int batchSize,
+      @Value("${app.fitness.retention.pause-ms:250}") long pauseMillis,
+      @Value("${app.fitness.retention.max-batches-per-run:2000}") int maxBatches,
+      @Value("${app.fitness.retention.dry-run:false}") boolean dryRun) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retentionDays = Math.max(1, retentionDays);
+    this.batchSize = Math.max(1, batchSize);
+    this.pauseMillis = Math.max(0, pauseMillis);
+    this.maxBatches = Math.max(1, maxBatches);
+    this.dryRun = dryRun;
+
+    this.deletedWeightLogRows = Counter.builder("fitness.retention.deleted")
+        .description("Rows removed by the retention purger")
+        .tag("table", WEIGHT_LOG)
+        .register(meterRegistry);
+    this.droppedPartitions = Counter.builder("fitness.retention.partitions.dropped")
+        .description("Expired weight_log partitions dropped")
+        .register(meterRegistry);
+    this.batches = Counter.builder("fitness.retention.batches")
+        .description("Batched DELETE statements issued")
+        .register(meterRegistry);
+    this.runTimer = Timer.builder("fitness.retention.run")
+        .description("Duration of retention runs")
+        .tag("mode", dryRun ? "dry-run" : "delete")
+        .register(meterRegistry);
+    Gauge.builder("fitness.retention.pending", pendingWeightLogRows, AtomicLong::get)
+        .description("Rows still eligible for deletion")
+        .tag("table", WEIGHT_LOG)
+        .register(meterRegistry);
+    Gauge.builder("fitness.retention.last.completed", lastCompletedEpochSecond, AtomicLong::get)
+        .description("Epoch second at which the last retention run finished")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  /** Nightly run against the cutoff {@code now - data-retention-days}. */
+  @Scheduled(cron = "${app.fitness.retention.cron:0 30 3 * * *}", zone = "UTC")
+  public void purge() {
+    if (!running.compareAndSet(false, true)) {
+      LOGGER.info("Retention run already in progress; skipping");
+      return;
+    }
+    try {
+      OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusDays(retentionDays);
+      RetentionReport report = runTimer.record(() -> purgeOnce(cutoff));
+      LOGGER.info("Retention run finished: {}", report);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * Removes (or, in dry-run mode, counts) the weight log recorded before the cutoff.
+   *
+   * @param cutoff log rows recorded before this instant are expired
+   * @return what was removed or, in dry-run mode, what would be
+   */
+  RetentionReport purgeOnce(OffsetDateTime cutoff) {
+    List<Partition> expiredPartitions = expiredPartitions(cutoff);
+    int dropped = dryRun
+        ? expiredPartitions.size()
+        : (int) expiredPartitions.stream().filter(this::dropPartition).count();
+
+    pendingWeightLogRows.set(count(COUNT_EXPIRED_WEIGHT_LOG_SQL, cutoff));
+    if (dryRun) {
+      lastCompletedEpochSecond.set(OffsetDateTime.now(ZoneOffset.UTC).toEpochSecond());
+      return new RetentionReport(true, cutoff, pendingWeightLogRows.get(), dropped);
+    }
+
+    long logRows = deleteInBatches(DELETE_EXPIRED_WEIGHT_LOG_SQL, cutoff, deletedWeightLogRows,
+        pendingWeightLogRows);
+    lastCompletedEpochSecond.set(OffsetDateTime.now(ZoneOffset.UTC).toEpochSecond());
+    return new RetentionReport(false, cutoff, logRows, dropped);
+  }
+
+  private long deleteInBatches(
+      String sql, OffsetDateTime cutoff, Counter deleted, AtomicLong pending) {
+    long total = 0;
+    for (int batch = 0; batch < maxBatches; batch++) {
+      int rows = jdbcTemplate.update(sql, cutoff, batchSize);
+      batches.increment();
+      if (rows > 0) {
+        total += rows;
+        deleted.increment(rows);
+        pending.updateAndGet(value -> Math.max(0, value - rows));
+      }
+      if (rows < batchSize || !pause()) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  private boolean pause() {
+    if (pauseMillis == 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(pauseMillis);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Retention run interrupted; remaining rows are left for the next run");
+      return false;
+    }
+  }
+
+  private long count(String sql, OffsetDateTime cutoff) {
+    Long count = jdbcTemplate.queryForObject(sql, Long.class, cutoff);
+    return count == null ? 0 : count;
+  }
+
+  /** Monthly partitions whose upper bound is at or before the cutoff. */
+  private List<Partition> expiredPartitions(OffsetDateTime cutoff) {
+    List<Partition> expired = new ArrayList<>();
+    List<Partition> partitions = jdbcTemplate.query(LIST_PARTITIONS_SQL, (row, rowNum) -> new Partition(
+        row.getString("relname"), row.getBoolean("attached"), row.getBoolean("detach_pending")));
+    for (Partition partition : partitions) {
+      YearMonth month;
+      try {
+        month = YearMonth.parse(partition.name(), PARTITION_NAME);
+      } catch (DateTimeParseException ex) {
+        continue;
+      }
+      OffsetDateTime upperBound = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+      if (!upperBound.isAfter(cutoff)) {
+        expired.add(partition);
+      }
+    }
+    return expired;
+  }
+
+  private boolean dropPartition(Partition partition) {
+    // The name came from pg_class and matched PARTITION_NAME, so it is safe to inline.
+    String name = partition.name();
+    try {
+      if (partition.detachPending()) {
+        jdbcTemplate.execute("ALTER TABLE weight_log DETACH PARTITION " + name + " FINALIZE");
+      } else if (partition.attached()) {
+        // Runs outside a transaction: CONCURRENTLY takes only SHARE UPDATE EXCLUSIVE on weight_log.
+        jdbcTemplate.execute("ALTER TABLE weight_log DETACH PARTITION " + name + " CONCURRENTLY");
+      }
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+    } catch (DataAccessException ex) {
+      // Its rows are still removed by the batched delete; the next run retries the detach.
+      LOGGER.warn("Could not detach and drop weight_log partition {}: {}", name, ex.getMessage());
+      return false;
+    }
+    droppedPartitions.increment();
+    LOGGER.info("Dropped expired weight_log partition {}", name);
+    return true;
+  }
+
+  /**
+   * A monthly partition table and its attachment state.
+   *
+   * @param name table name
+   * @param attached whether it is still a partition of {@code weight_log}
+   * @param detachPending whether a concurrent detach of it was interrupted
+   */
+  record Partition(String name, boolean attached, boolean detachPending) {
+  }
+
+  /**
+   * Outcome of one retention run.
+   *
+   * @param dryRun whether the counts are candidates rather than deletions
+   * @param cutoff expiry instant used by the run
+   * @param weightLogRows weight log rows deleted by batch (or eligible)
+   * @param partitions monthly partitions dropped (or eligible)
+   */
+  public record RetentionReport(
+      boolean dryRun, OffsetDateTime cutoff, long weightLogRows, int partitions) {
+  }
+}
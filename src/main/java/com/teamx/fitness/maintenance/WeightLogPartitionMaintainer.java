@@ -0,0 +1,111 @@
+package com.teamx.fitness.maintenance;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a monthly {@code weight_log} partition for every month an entry may be appended to.
+ *
+ * <p>Runs once at startup and then daily, creating the partitions from the month of the
+ * retention cutoff ({@code app.fitness.research.data-retention-days} ago, the oldest time the
+ * append endpoint accepts) through the configured number of months after the current one.
+ * There is no default partition, so back-filled entries land in their own month and are
+ * pruned and dropped like any other. Partition bounds are UTC month boundaries.</p>
+ *
+ * <p>The startup run happens once all singletons (including the Flyway migration) are
+ * initialised and before the web server starts, and a partition that cannot be created fails
+ * startup. The daily run only logs failures and retries them the next day.</p>
+ */
+@Component
+@Profile("!memory")
+public class WeightLogPartitionMaintainer implements SmartInitializingSingleton {
+
+  /** Logger for partition maintenance. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(WeightLogPartitionMaintainer.class);
+
+  /** Partition name suffix, e.g. {@code weight_log_y2025m03}. */
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+  /** JDBC access bound to the application data source. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Number of past days appends are accepted for. */
+  private final int retentionDays;
+
+  /**
+   * Number of future months to keep partitions for, in addition to the current month. At least
+   * one, so the next month exists before the daily run that follows midnight on the 1st.
+   */
+  private final int monthsAhead;
+
+  public WeightLogPartitionMaintainer(
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.fitness.research.data-retention-days:365}") int retentionDays,
+      @Value("${app.fitness.weight-log.partition-months-ahead:2}") int monthsAhead) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retentionDays = Math.max(1, retentionDays);
+    this.monthsAhead = Math.max(1, monthsAhead);
+  }
+
+  /**
+   * Creates the partitions before the application accepts requests.
+   *
+   * @throws IllegalStateException if any partition could not be created
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    List<YearMonth> failed = ensurePartitions(LocalDate.now(ZoneOffset.UTC));
+    if (!failed.isEmpty()) {
+      throw new IllegalStateException("Could not create weight_log partitions for " + failed);
+    }
+  }
+
+  /** Daily top-up so a new month always has its partition before it starts. */
+  @Scheduled(cron = "${app.fitness.weight-log.partition-cron:0 15 0 * * *}", zone = "UTC")
+  public void ensurePartitions() {
+    ensurePartitions(LocalDate.now(ZoneOffset.UTC));
+  }
+
+  List<YearMonth> ensurePartitions(LocalDate today) {
+    List<YearMonth> failed = new ArrayList<>();
+    YearMonth last = YearMonth.from(today).plusMonths(monthsAhead);
+    for (YearMonth month = YearMonth.from(today.minusDays(retentionDays));
+        !month.isAfter(last);
+        month = month.plusMonths(1)) {
+      if (!createPartition(month)) {
+        failed.add(month);
+      }
+    }
+    return failed;
+  }
+
+  private boolean createPartition(YearMonth month) {
+    LocalDate start = month.atDay(1);
+    LocalDate end = month.plusMonths(1).atDay(1);
+    String sql = String.format(
+        "CREATE TABLE IF NOT EXISTS weight_log_%s PARTITION OF weight_log "
+            + "FOR VALUES FROM ('%s 00:00:00+00') TO ('%s 00:00:00+00')",
+        SUFFIX.format(month), start, end);
+    try {
+      jdbcTemplate.execute(sql);
+      return true;
+    } catch (DataAccessException ex) {
+      // Appends for this month fail until a later run succeeds; keep going for the others.
+      LOGGER.warn("Could not create weight_log partition for {}: {}", month, ex.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.teamx.fitness.metrics;
+
+import com.teamx.fitness.security.ClientContext;
+import com.teamx.fitness.security.ClientIdInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the latency of every {@code /api/**} request in the {@code api.requests} timer.
+ *
+ * <p>The timer publishes a percentile histogram, so p95/p99 can be computed per series by the
+ * Prometheus scrape ({@code /actuator/prometheus}). Series are tagged with the HTTP method, the
+ * route template (never the raw path, to keep cardinality bounded), the response status and
+ * the client class ({@code mobile}, {@code research} or {@code none}).</p>
+ *
+ * <p>This interceptor is registered ahead of {@link ClientIdInterceptor} so that requests it
+ * rejects are timed too; the client class is therefore read from the header rather than from
+ * {@link ClientContext}, which is already cleared when this interceptor completes.</p>
+ */
+@Component
+public class ApiMetricsInterceptor implements HandlerInterceptor {
+
+  /** Timer name. */
+  static final String TIMER_NAME = "api.requests";
+
+  /** Route tag for requests that matched no handler mapping. */
+  static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+  /** Request attribute key storing the start timestamp from {@link System#nanoTime()}. */
+  private static final String START_TIME_ATTR = "apiMetricsStartTime";
+
+  /** Smallest latency the histogram buckets resolve. */
+  private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+
+  /** Largest latency the histogram buckets resolve. */
+  private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+  /** Registry timers are published to. */
+  private final MeterRegistry meterRegistry;
+
+  /** Timers already registered, so a request does not rebuild its meter ID. */
+  private final Map<SeriesKey, Timer> timers = new ConcurrentHashMap<>();
+
+  public ApiMetricsInterceptor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    request.setAttribute(START_TIME_ATTR, System.nanoTime());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler,
+      Exception ex) throws Exception {
+    Long start = (Long) request.getAttribute(START_TIME_ATTR);
+    if (start == null) {
+      return;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    int status = response.getStatus();
+    if (ex != null && status < HttpServletResponse.SC_BAD_REQUEST) {
+      // The exception escaped to the container, which will answer 500.
+      status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    }
+    SeriesKey key = new SeriesKey(
+        request.getMethod(),
+        pattern != null ? pattern.toString() : UNMATCHED_ROUTE,
+        status,
+        clientClass(request.getHeader(ClientIdInterceptor.CLIENT_ID_HEADER)));
+    timers.computeIfAbsent(key, this::register).record(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer register(SeriesKey key) {
+    return Timer.builder(TIMER_NAME)
+        .description("Latency of /api requests")
+        .tag("method", key.method())
+        .tag("route", key.route())
+        .tag("status", Integer.toString(key.status()))
+        .tag("clientClass", key.clientClass())
+        .publishPercentileHistogram()
+        .minimumExpectedValue(MIN_EXPECTED)
+        .maximumExpectedValue(MAX_EXPECTED)
+        .register(meterRegistry);
+  }
+
+  private static String clientClass(String clientId) {
+    if (ClientContext.isMobileClient(clientId)) {
+      return "mobile";
+    }
+    if (ClientContext.isResearchClient(clientId)) {
+      return "research";
+    }
+    return "none";
+  }
+
+  /**
+   * Tag values identifying one timer series.
+   *
+   * @param method HTTP method
+   * @param route matched route template
+   * @param status response status code
+   * @param clientClass mobile, research or none
+   */
+  private record SeriesKey(String method, String route, int status, String clientClass) {
+  }
+}
@@ -0,0 +1,161 @@
+package com.teamx.fitness.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the execution time of JDBC statements timed by {@link QueryTimingDataSource}.
+ *
+ * <p>Every statement is recorded in the {@code db.queries} timer, tagged with its shape: the SQL
+ * with literals replaced by {@code ?}, parameter lists collapsed and whitespace normalized, so
+ * each distinct query gets one percentile histogram. Statements slower than the threshold are
+ * logged at WARN and counted in {@code db.queries.slow}; a configurable sample of the others is
+ * logged at INFO. Only the shape is logged, never bind values.</p>
+ *
+ * <p>Shapes beyond {@code maxShapes} share the {@link #OTHER_SHAPE} series, which keeps the
+ * number of series bounded when statements carry inline literals.</p>
+ */
+public class QueryRecorder {
+
+  /** Timer name. */
+  static final String TIMER_NAME = "db.queries";
+
+  /** Counter of statements slower than the threshold. */
+  static final String SLOW_COUNTER_NAME = "db.queries.slow";
+
+  /** Shape tag for statements recorded after the shape bound was reached. */
+  static final String OTHER_SHAPE = "other";
+
+  /** Longest shape kept as a tag value and in log lines. */
+  static final int MAX_SHAPE_LENGTH = 200;
+
+  /** Logger for slow and sampled statements. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryRecorder.class);
+
+  /** Single-quoted string literals, including doubled quotes inside them. */
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+  /** Numeric literals that are not part of an identifier such as {@code p1_0}. */
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+  /** Parenthesized lists of placeholders, e.g. {@code IN (?, ?, ?)}. */
+  private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+  /** Runs of whitespace. */
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /** Smallest latency the histogram buckets resolve. */
+  private static final Duration MIN_EXPECTED = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(100));
+
+  /** Largest latency the histogram buckets resolve. */
+  private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+  /** Registry timers are published to. */
+  private final MeterRegistry meterRegistry;
+
+  /** Statements slower than this are logged. */
+  private final long slowThresholdNanos;
+
+  /** Share of the other statements that is logged, between 0 and 1. */
+  private final double sampleRate;
+
+  /** Upper bound on distinct shape series. */
+  private final int maxShapes;
+
+  /** Timers by shape. */
+  private final Map<String, Timer> timersByShape = new ConcurrentHashMap<>();
+
+  /** Timers by raw SQL, so repeated prepared statements skip normalization. */
+  private final Map<String, Timer> timersBySql = new ConcurrentHashMap<>();
+
+  /** Statements slower than the threshold. */
+  private final Counter slow;
+
+  /**
+   * Creates a recorder.
+   *
+   * @param meterRegistry registry the timers are published to
+   * @param slowThresholdMs statements slower than this are logged at WARN
+   * @param sampleRate share of the remaining statements logged at INFO, between 0 and 1
+   * @param maxShapes upper bound on distinct shape series
+   */
+  public QueryRecorder(MeterRegistry meterRegistry, long slowThresholdMs, double sampleRate, int maxShapes) {
+    this.meterRegistry = meterRegistry;
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowThresholdMs));
+    this.sampleRate = Math.min(Math.max(sampleRate, 0.0), 1.0);
+    this.maxShapes = Math.max(1, maxShapes);
+    this.slow = Counter.builder(SLOW_COUNTER_NAME)
+        .description("JDBC statements slower than the slow query threshold")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Records one executed statement.
+   *
+   * @param sql statement text as passed to the driver; {@code null} for unnamed batches
+   * @param elapsedNanos execution time
+   */
+  public void record(String sql, long elapsedNanos) {
+    String text = sql != null ? sql : "batch";
+    Timer timer = timersBySql.get(text);
+    if (timer == null) {
+      timer = timerFor(shape(text));
+      if (timersBySql.size() < maxShapes * 4) {
+        timersBySql.putIfAbsent(text, timer);
+      }
+    }
+    timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    if (elapsedNanos > slowThresholdNanos) {
+      slow.increment();
+      LOGGER.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shape(text));
+    } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      LOGGER.info("Sampled query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shape(text));
+    }
+  }
+
+  /**
+   * Normalizes a statement to its shape.
+   *
+   * @param sql statement text
+   * @return the statement with literals replaced by {@code ?}, truncated to
+   *     {@link #MAX_SHAPE_LENGTH} characters
+   */
+  static String shape(String sql) {
+    String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?)");
+    return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+  }
+
+  private Timer timerFor(String shape) {
+    Timer timer = timersByShape.get(shape);
+    if (timer != null) {
+      return timer;
+    }
+    if (timersByShape.size() >= maxShapes) {
+      return timersByShape.computeIfAbsent(OTHER_SHAPE, this::register);
+    }
+    return timersByShape.computeIfAbsent(shape, this::register);
+  }
+
+  private Timer register(String shape) {
+    return Timer.builder(TIMER_NAME)
+        .description("Execution time of JDBC statements by query shape")
+        .tag("shape", shape)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(MIN_EXPECTED)
+        .maximumExpectedValue(MAX_EXPECTED)
+        .register(meterRegistry);
+  }
+}
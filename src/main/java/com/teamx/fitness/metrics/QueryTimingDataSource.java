@@ -0,0 +1,127 @@
+package com.teamx.fitness.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} wrapper that times every JDBC statement execution and hands it to a
+ * {@link QueryRecorder}.
+ *
+ * <p>Connections and statements are wrapped in JDK proxies; only the {@code execute*} calls do
+ * any work beyond delegation (two {@link System#nanoTime()} reads and the recorder call). The
+ * SQL of prepared and callable statements is taken from the {@code prepare*} call, that of
+ * plain statements from the {@code execute*} argument.</p>
+ */
+public class QueryTimingDataSource extends DelegatingDataSource {
+
+  /** Receives the timings. */
+  private final QueryRecorder recorder;
+
+  /**
+   * Wraps a data source.
+   *
+   * @param target data source to delegate to
+   * @param recorder receives every statement timing
+   */
+  public QueryTimingDataSource(DataSource target, QueryRecorder recorder) {
+    super(target);
+    this.recorder = recorder;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private Connection wrap(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+        QueryTimingDataSource.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        new ConnectionHandler(connection));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  /** Wraps the statements a connection creates. */
+  private final class ConnectionHandler implements InvocationHandler {
+
+    /** Real connection. */
+    private final Connection target;
+
+    ConnectionHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result = QueryTimingDataSource.invoke(target, method, args);
+      String name = method.getName();
+      if (result instanceof CallableStatement statement && "prepareCall".equals(name)) {
+        return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+      }
+      if (result instanceof PreparedStatement statement && "prepareStatement".equals(name)) {
+        return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+      }
+      if (result instanceof Statement statement && "createStatement".equals(name)) {
+        return wrapStatement(statement, Statement.class, null);
+      }
+      return result;
+    }
+
+    private Object wrapStatement(Statement statement, Class<? extends Statement> type, String sql) {
+      return Proxy.newProxyInstance(
+          QueryTimingDataSource.class.getClassLoader(),
+          new Class<?>[] {type},
+          new StatementHandler(statement, sql));
+    }
+  }
+
+  /** Times the {@code execute*} calls of a statement. */
+  private final class StatementHandler implements InvocationHandler {
+
+    /** Real statement. */
+    private final Statement target;
+
+    /** SQL the statement was prepared with; {@code null} for plain statements. */
+    private final String preparedSql;
+
+    StatementHandler(Statement target, String preparedSql) {
+      this.target = target;
+      this.preparedSql = preparedSql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (!method.getName().startsWith("execute")) {
+        return QueryTimingDataSource.invoke(target, method, args);
+      }
+      String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+      long start = System.nanoTime();
+      try {
+        return QueryTimingDataSource.invoke(target, method, args);
+      } finally {
+        recorder.record(sql, System.nanoTime() - start);
+      }
+    }
+  }
+}
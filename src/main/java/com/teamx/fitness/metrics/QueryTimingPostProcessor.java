@@ -0,0 +1,63 @@
+package com.teamx.fitness.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every JDBC {@link DataSource} bean in a {@link QueryTimingDataSource} when
+ * {@code app.fitness.sql-timing.enabled} is set, replacing Hibernate's statement logging with
+ * per-shape latency histograms, slow query logging and sampled logging.
+ */
+@Component
+public class QueryTimingPostProcessor implements BeanPostProcessor {
+
+  /** Whether data sources are wrapped. */
+  private final boolean enabled;
+
+  /** Registry for the recorder, resolved when the first data source is wrapped. */
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  /** Slow query threshold. */
+  private final long slowThresholdMs;
+
+  /** Share of the other statements that is logged. */
+  private final double sampleRate;
+
+  /** Upper bound on distinct shape series. */
+  private final int maxShapes;
+
+  /** Recorder shared by all wrapped data sources. */
+  private QueryRecorder recorder;
+
+  public QueryTimingPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${app.fitness.sql-timing.enabled:true}") boolean enabled,
+      @Value("${app.fitness.sql-timing.slow-threshold-ms:250}") long slowThresholdMs,
+      @Value("${app.fitness.sql-timing.sample-rate:0.0}") double sampleRate,
+      @Value("${app.fitness.sql-timing.max-shapes:200}") int maxShapes) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.slowThresholdMs = slowThresholdMs;
+    this.sampleRate = sampleRate;
+    this.maxShapes = maxShapes;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof QueryTimingDataSource) {
+      return bean;
+    }
+    return new QueryTimingDataSource(dataSource, recorder());
+  }
+
+  private synchronized QueryRecorder recorder() {
+    if (recorder == null) {
+      recorder = new QueryRecorder(meterRegistry.getObject(), slowThresholdMs, sampleRate, maxShapes);
+    }
+    return recorder;
+  }
+}
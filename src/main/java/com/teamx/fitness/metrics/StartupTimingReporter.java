@@ -0,0 +1,167 @@
+package com.teamx.fitness.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+/**
+ * Logs where boot time went, to compare start-up options such as the {@code cds} and
+ * {@code aot} build profiles.
+ *
+ * <p>When the application is ready it logs the phases since JVM start (JVM and class loading
+ * up to {@code main}, context refresh, runners) and the startup steps with the most self time,
+ * taken from the {@link BufferingApplicationStartup} installed in {@code main}; the buffer is
+ * drained afterwards. The first handled request is logged with its time since JVM start and
+ * published as the {@code application.first.request.time} gauge.</p>
+ */
+@Component
+public class StartupTimingReporter {
+
+  /** Logger for the report. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimingReporter.class);
+
+  /** Gauge holding the time from JVM start to the first handled request. */
+  static final String FIRST_REQUEST_GAUGE = "application.first.request.time";
+
+  /** Application whose startup is reported. */
+  private final ConfigurableApplicationContext context;
+
+  /** Registry for the first-request gauge. */
+  private final MeterRegistry meterRegistry;
+
+  /** Number of slowest steps listed. */
+  private final int topSteps;
+
+  /** JVM start, epoch milliseconds. */
+  private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+  /** When the root context finished refreshing, epoch milliseconds. */
+  private volatile long refreshedMillis;
+
+  /** When the application was started, epoch milliseconds. */
+  private volatile long startedMillis;
+
+  /** Whether the first request has been reported. */
+  private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+  public StartupTimingReporter(
+      ConfigurableApplicationContext context,
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.startup-report.top-steps:10}") int topSteps) {
+    this.context = context;
+    this.meterRegistry = meterRegistry;
+    this.topSteps = Math.max(0, topSteps);
+  }
+
+  @EventListener
+  public void onRefreshed(ContextRefreshedEvent event) {
+    if (event.getApplicationContext() == context) {
+      refreshedMillis = event.getTimestamp();
+    }
+  }
+
+  @EventListener
+  public void onStarted(ApplicationStartedEvent event) {
+    startedMillis = event.getTimestamp();
+  }
+
+  @EventListener
+  public void onReady(ApplicationReadyEvent event) {
+    long readyMillis = event.getTimestamp();
+    StartupTimeline timeline = context.getApplicationStartup() instanceof BufferingApplicationStartup buffering
+        ? buffering.drainBufferedTimeline()
+        : null;
+    long mainMillis = timeline != null ? timeline.getStartTime().toEpochMilli() : jvmStartMillis;
+
+    LOGGER.info("Startup took {} ms since JVM start: jvm to main {} ms, context refresh {} ms, "
+            + "started {} ms, runners {} ms",
+        readyMillis - jvmStartMillis,
+        mainMillis - jvmStartMillis,
+        refreshedMillis - mainMillis,
+        startedMillis - refreshedMillis,
+        readyMillis - startedMillis);
+    if (timeline != null && topSteps > 0) {
+      LOGGER.info("Slowest startup steps (self time): {}", slowestSteps(timeline.getEvents(), topSteps)
+          .stream()
+          .map(step -> step.name() + " " + step.selfTime().toMillis() + " ms")
+          .collect(Collectors.joining(", ")));
+    }
+  }
+
+  @EventListener
+  public void onRequestHandled(ServletRequestHandledEvent event) {
+    if (!firstRequestSeen.compareAndSet(false, true)) {
+      return;
+    }
+    long sinceJvmStart = event.getTimestamp() - jvmStartMillis;
+    TimeGauge.builder(FIRST_REQUEST_GAUGE, () -> sinceJvmStart, TimeUnit.MILLISECONDS)
+        .description("Time from JVM start until the first request was handled")
+        .register(meterRegistry);
+    LOGGER.info("First request handled {} ms after JVM start ({} {})",
+        sinceJvmStart, event.getMethod(), event.getRequestUrl());
+  }
+
+  /**
+   * Ranks startup steps by self time: their duration minus that of their direct children.
+   *
+   * @param events buffered startup steps
+   * @param limit number of steps returned
+   * @return the steps with the most self time, slowest first
+   */
+  static List<StepTime> slowestSteps(List<StartupTimeline.TimelineEvent> events, int limit) {
+    Map<Long, Duration> selfTimes = new HashMap<>();
+    for (StartupTimeline.TimelineEvent event : events) {
+      selfTimes.merge(event.getStartupStep().getId(), event.getDuration(), Duration::plus);
+      Long parentId = event.getStartupStep().getParentId();
+      if (parentId != null) {
+        selfTimes.merge(parentId, event.getDuration().negated(), Duration::plus);
+      }
+    }
+    List<StepTime> steps = new ArrayList<>();
+    for (StartupTimeline.TimelineEvent event : events) {
+      steps.add(new StepTime(label(event.getStartupStep()), selfTimes.get(event.getStartupStep().getId())));
+    }
+    steps.sort(Comparator.comparing(StepTime::selfTime).reversed());
+    return steps.subList(0, Math.min(limit, steps.size()));
+  }
+
+  private static String label(StartupStep step) {
+    for (StartupStep.Tag tag : step.getTags()) {
+      if ("beanName".equals(tag.getKey())) {
+        return step.getName() + "[" + tag.getValue() + "]";
+      }
+    }
+    return step.getName();
+  }
+
+  /**
+   * One ranked startup step.
+   *
+   * @param name step name, with the bean name for bean instantiation steps
+   * @param selfTime time spent in the step outside its child steps
+   */
+  record StepTime(String name, Duration selfTime) {
+  }
+}
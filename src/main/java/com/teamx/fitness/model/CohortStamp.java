@@ -0,0 +1,33 @@
+package com.teamx.fitness.model;
+
+/**
+ * Cheap fingerprint of the whole {@code persons_simple} table, read with one aggregate query
+ * instead of loading every row.
+ *
+ * <p>It changes whenever the cohort changes: updates raise the version sum, deletes lower the
+ * profile count, and an insert always raises the highest id because identity values are never
+ * reused. Used to validate cached responses that depend on the cohort, such as recommendation
+ * percentiles.</p>
+ *
+ * @param profiles number of profiles
+ * @param maxId highest profile id ({@code 0} when empty)
+ * @param versionSum sum of all profile versions
+ */
+public record CohortStamp(long profiles, long maxId, long versionSum) {
+
+  /** Multiplier of the 64-bit mix in {@link #token()}. */
+  private static final long MIX = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Opaque form for use inside an ETag, so the cohort size is not disclosed to clients.
+   *
+   * @return hexadecimal token derived from all three components
+   */
+  public String token() {
+    long hash = profiles;
+    hash = (hash ^ (hash >>> 31)) * MIX + maxId;
+    hash = (hash ^ (hash >>> 31)) * MIX + versionSum;
+    hash = (hash ^ (hash >>> 29)) * MIX;
+    return Long.toHexString(hash ^ (hash >>> 32));
+  }
+}
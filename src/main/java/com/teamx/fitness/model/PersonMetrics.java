@@ -0,0 +1,54 @@
+package com.teamx.fitness.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the numeric and enum columns of {@link PersonSimple}.
+ *
+ * <p>Research aggregates and cohort scoring only need these columns. Selecting them into a
+ * record skips the name and client ID, and the rows are never registered in the persistence
+ * context, so there is no dirty checking or snapshot copy per row.</p>
+ *
+ * @param id primary key (used for keyset pagination, never exposed to clients)
+ * @param weight weight in kilograms
+ * @param height height in centimeters
+ * @param birthDate birth date
+ * @param gender gender
+ * @param goal active fitness goal
+ * @param targetChangeKg target weight or change in kilograms
+ * @param targetDurationWeeks plan duration in weeks
+ * @param trainingFrequencyPerWeek weekly training frequency
+ * @param planStrategy plan strategy
+ */
+public record PersonMetrics(
+    Long id,
+    Double weight,
+    Double height,
+    LocalDate birthDate,
+    Gender gender,
+    FitnessGoal goal,
+    Double targetChangeKg,
+    Integer targetDurationWeeks,
+    Integer trainingFrequencyPerWeek,
+    PlanStrategy planStrategy) {
+
+  /**
+   * Copies the projected columns out of a loaded entity.
+   *
+   * @param person loaded profile
+   * @return projection with the same metric values
+   */
+  public static PersonMetrics from(PersonSimple person) {
+    return new PersonMetrics(
+        person.getId(),
+        person.getWeight(),
+        person.getHeight(),
+        person.getBirthDate(),
+        person.getGender(),
+        person.getGoal(),
+        person.getTargetChangeKg(),
+        person.getTargetDurationWeeks(),
+        person.getTrainingFrequencyPerWeek(),
+        person.getPlanStrategy());
+  }
+}
@@ -12,6 +12,7 @@
 
 package com.teamx.fitness.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -20,6 +21,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -88,6 +90,15 @@ public class PersonSimple {
   @Column(name = "client_id", nullable = false, unique = true, length = 96)
   private String clientId;
 
+  /**
+   * Row version, incremented by every write; used for optimistic locking and ETags. Not part of
+   * the JSON representation: clients see it only through the ETag.
+   */
+  @JsonIgnore
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   /** Default constructor required by JPA. */
   public PersonSimple() {
     // Required by JPA
@@ -225,4 +236,12 @@ public class PersonSimple {
   public void setClientId(String clientId) {
     this.clientId = clientId;
   }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -0,0 +1,56 @@
+package com.teamx.fitness.model;
+
+import java.util.Set;
+
+/**
+ * Safe range for a profile's target weight ({@code targetChangeKg}), depending on its goal.
+ *
+ * <p>A cutting target must stay at or above {@link #MIN_HEALTHY_WEIGHT_KG} and a BMI of
+ * {@link #MIN_HEALTHY_BMI}; a bulking target at or below {@link #MAX_REASONABLE_WEIGHT_KG} and
+ * a BMI of {@link #MAX_REASONABLE_BMI}. The storage engines evaluate the same rule inside
+ * targeted {@code PATCH} updates, so it is checked against the row being written rather than
+ * against a copy read beforehand.</p>
+ */
+public final class TargetWeightLimits {
+
+  /** Minimum healthy weight in kg (for adults). */
+  public static final double MIN_HEALTHY_WEIGHT_KG = 30.0;
+
+  /** Maximum reasonable weight in kg. */
+  public static final double MAX_REASONABLE_WEIGHT_KG = 200.0;
+
+  /** Minimum healthy BMI. */
+  public static final double MIN_HEALTHY_BMI = 15.0;
+
+  /** Maximum reasonable BMI. */
+  public static final double MAX_REASONABLE_BMI = 50.0;
+
+  /** Square centimetres per square metre, to compare BMI without dividing by the height. */
+  public static final double CM2_PER_M2 = 10_000.0;
+
+  /** {@code PersonSimple} attributes the rule depends on (the stored weight does not matter). */
+  public static final Set<String> ATTRIBUTES = Set.of("goal", "height", "targetChangeKg");
+
+  private TargetWeightLimits() {
+  }
+
+  /**
+   * Whether a target weight is within the safe range for a goal and height.
+   *
+   * @param goal the profile goal
+   * @param heightCm the profile height, if known
+   * @param targetWeightKg the target weight, if any
+   * @return {@code true} when there is nothing to check or the target is within range
+   */
+  public static boolean allows(FitnessGoal goal, Double heightCm, Double targetWeightKg) {
+    if (goal == null || targetWeightKg == null) {
+      return true;
+    }
+    boolean hasHeight = heightCm != null && heightCm > 0;
+    double targetBmi = hasHeight ? targetWeightKg * CM2_PER_M2 / (heightCm * heightCm) : Double.NaN;
+    return switch (goal) {
+      case CUT -> targetWeightKg >= MIN_HEALTHY_WEIGHT_KG && (!hasHeight || targetBmi >= MIN_HEALTHY_BMI);
+      case BULK -> targetWeightKg <= MAX_REASONABLE_WEIGHT_KG && (!hasHeight || targetBmi <= MAX_REASONABLE_BMI);
+    };
+  }
+}
@@ -0,0 +1,132 @@
+package com.teamx.fitness.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One entry of a person's append-only weight/measurement history.
+ *
+ * <p>The {@code weight_log} table is range-partitioned by month on {@code recorded_at}, so the
+ * primary key is {@code (id, recorded_at)}. Entries are written in batches through
+ * {@code WeightLogRepositoryCustom#appendBatch} and are read-only as far as JPA is concerned.</p>
+ */
+@Entity
+@Immutable
+@IdClass(WeightLogEntry.Key.class)
+@Table(name = "weight_log")
+public class WeightLogEntry {
+
+  /** Sequence-generated identifier, unique across all partitions. */
+  @Id
+  @Column(name = "id", nullable = false)
+  private Long id;
+
+  /** Moment the measurement was taken; also the partition key. */
+  @Id
+  @Column(name = "recorded_at", nullable = false)
+  private Instant recordedAt;
+
+  /** Owning person ({@code persons_simple.id}). */
+  @Column(name = "person_id", nullable = false)
+  private Long personId;
+
+  /** Measured body weight in kilograms. */
+  @Column(name = "weight_kg", nullable = false)
+  private Double weightKg;
+
+  /** Optional measured body fat percentage. */
+  @Column(name = "body_fat_percent")
+  private Double bodyFatPercent;
+
+  /** Default constructor required by JPA. */
+  public WeightLogEntry() {
+    // Required by JPA
+  }
+
+  public WeightLogEntry(Long personId, Instant recordedAt, Double weightKg, Double bodyFatPercent) {
+    this(null, personId, recordedAt, weightKg, bodyFatPercent);
+  }
+
+  public WeightLogEntry(
+      Long id, Long personId, Instant recordedAt, Double weightKg, Double bodyFatPercent) {
+    this.id = id;
+    this.personId = personId;
+    this.recordedAt = recordedAt;
+    this.weightKg = weightKg;
+    this.bodyFatPercent = bodyFatPercent;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Instant getRecordedAt() {
+    return recordedAt;
+  }
+
+  public Long getPersonId() {
+    return personId;
+  }
+
+  public Double getWeightKg() {
+    return weightKg;
+  }
+
+  public Double getBodyFatPercent() {
+    return bodyFatPercent;
+  }
+
+  /** Composite primary key of {@link WeightLogEntry}. */
+  public static class Key implements Serializable {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** Entry identifier. */
+    private Long id;
+
+    /** Partition key. */
+    private Instant recordedAt;
+
+    /** Default constructor required by JPA. */
+    public Key() {
+      // Required by JPA
+    }
+
+    public Key(Long id, Instant recordedAt) {
+      this.id = id;
+      this.recordedAt = recordedAt;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public Instant getRecordedAt() {
+      return recordedAt;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key)) {
+        return false;
+      }
+      return Objects.equals(id, key.id) && Objects.equals(recordedAt, key.recordedAt);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id, recordedAt);
+    }
+  }
+}
@@ -0,0 +1,304 @@
+package com.teamx.fitness.reactive;
+
+import com.teamx.fitness.controller.ComputedResponseCache;
+import com.teamx.fitness.controller.FieldSelection;
+import com.teamx.fitness.controller.PersonController;
+import com.teamx.fitness.controller.PersonEndpointSupport;
+import com.teamx.fitness.controller.PlanSimulation;
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.CaloriesResponse;
+import com.teamx.fitness.controller.dto.DashboardResponse;
+import com.teamx.fitness.controller.dto.GoalPlanRequest;
+import com.teamx.fitness.controller.dto.PersonCreateRequest;
+import com.teamx.fitness.controller.dto.PersonCreatedResponse;
+import com.teamx.fitness.controller.dto.PersonPatchRequest;
+import com.teamx.fitness.controller.dto.PersonProfileResponse;
+import com.teamx.fitness.controller.dto.PlanSimulationRequest;
+import com.teamx.fitness.controller.dto.PlanSimulationResponse;
+import com.teamx.fitness.controller.dto.RecommendationResponse;
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.security.ClientContext;
+import com.teamx.fitness.security.ReactiveClientContext;
+import com.teamx.fitness.service.HealthInsightResult;
+import com.teamx.fitness.service.HealthInsightService;
+import com.teamx.fitness.service.InsightRequest;
+import com.teamx.fitness.service.PersonService;
+import jakarta.validation.Valid;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux implementation of the {@code /api/persons} profile, plan, BMI, calorie,
+ * recommendation and dashboard endpoints, active when the application runs as a reactive web
+ * application (the {@code reactive} profile).
+ *
+ * <p>Requests, responses and errors match {@link PersonController}, which documents the API;
+ * both delegate validation and response building to {@link PersonEndpointSupport}. Storage goes
+ * through {@link ReactivePersonStore}, and the client ID comes from the Reactor context bound
+ * by {@code ReactiveClientIdFilter}.</p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/persons")
+@CrossOrigin(origins = "*")
+public class ReactivePersonController {
+
+  /** Upper bound on sequential client ID candidates, as in {@link PersonController}. */
+  private static final int MAX_CLIENT_ID_ATTEMPTS = 1000;
+
+  /** Non-blocking profile storage. */
+  private final ReactivePersonStore store;
+
+  /** BMI, BMR and calorie calculator. */
+  private final PersonService personService;
+
+  /** Derived health metrics and recommendations. */
+  private final HealthInsightService healthInsightService;
+
+  /** Computed BMI, calorie and recommendation bodies by client and ETag. */
+  private final ComputedResponseCache computedResponseCache;
+
+  public ReactivePersonController(
+      ReactivePersonStore store,
+      PersonService personService,
+      HealthInsightService healthInsightService,
+      ComputedResponseCache computedResponseCache) {
+    this.store = store;
+    this.personService = personService;
+    this.healthInsightService = healthInsightService;
+    this.computedResponseCache = computedResponseCache;
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<PersonCreatedResponse>> createPerson(
+      @Valid @RequestBody PersonCreateRequest request) {
+    PersonEndpointSupport.validateNewProfile(request, personService);
+    return generateClientId()
+        .map(clientId -> PersonEndpointSupport.newProfile(request, clientId))
+        .flatMap(store::insert)
+        .map(saved -> ResponseEntity.status(HttpStatus.CREATED)
+            .body(new PersonCreatedResponse(saved.getClientId())));
+  }
+
+  @GetMapping("/me")
+  public Mono<ResponseEntity<PersonProfileResponse>> getProfile() {
+    return requirePerson().map(person -> ResponseEntity.ok(PersonProfileResponse.fromEntity(person)));
+  }
+
+  @PostMapping("/plan")
+  public Mono<ResponseEntity<PersonProfileResponse>> configureGoalPlan(
+      @Valid @RequestBody GoalPlanRequest request) {
+    return requirePerson()
+        .flatMap(person -> {
+          PersonEndpointSupport.applyPlan(person, request);
+          return store.update(person);
+        })
+        .map(saved -> ResponseEntity.ok(PersonProfileResponse.fromEntity(saved)));
+  }
+
+  @PostMapping("/plan/simulate")
+  public Mono<ResponseEntity<PlanSimulationResponse>> simulateGoalPlans(
+      @Valid @RequestBody PlanSimulationRequest request) {
+    return requirePerson()
+        // The grid is CPU work; keep it off the event loop.
+        .publishOn(Schedulers.parallel())
+        .map(person -> ResponseEntity.ok(
+            PlanSimulation.simulate(person, request, personService, healthInsightService)));
+  }
+
+  @PutMapping("/me")
+  public Mono<ResponseEntity<PersonSimple>> updatePerson(
+      @Valid @RequestBody PersonSimple updatedPerson) {
+    return requirePerson()
+        .flatMap(existing -> {
+          PersonEndpointSupport.applyUpdate(existing, updatedPerson, personService);
+          return store.update(existing);
+        })
+        .map(ResponseEntity::ok);
+  }
+
+  @PatchMapping("/me")
+  public Mono<ResponseEntity<Void>> patchPerson(@Valid @RequestBody PersonPatchRequest patch) {
+    Map<String, Object> changes = patch.toChanges();
+    if (changes.isEmpty()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "At least one profile field must be supplied");
+    }
+    return ReactiveClientContext.clientId()
+        .flatMap(clientId -> store.patchByClientId(clientId, changes)
+            .flatMap(updated -> updated > 0
+                ? Mono.just(ResponseEntity.noContent().<Void>build())
+                // Only a rejected patch reads the profile, to tell a missing profile from an unsafe target.
+                : requirePerson().flatMap(existing -> {
+                  PersonEndpointSupport.validatePatch(existing, patch, personService);
+                  return Mono.error(new OptimisticLockingFailureException(
+                      "Profile for " + clientId + " was modified concurrently"));
+                })));
+  }
+
+  @DeleteMapping("/me")
+  public Mono<ResponseEntity<Map<String, String>>> deletePerson() {
+    return ReactiveClientContext.clientId()
+        .flatMap(clientId -> store.deleteByClientId(clientId)
+            .map(deleted -> deleted > 0
+                ? ResponseEntity.ok(PersonEndpointSupport.deletionBody(clientId, true))
+                : ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(PersonEndpointSupport.deletionBody(clientId, false))));
+  }
+
+  @GetMapping("/calories")
+  public Mono<ResponseEntity<CaloriesResponse>> calculateDailyCalories(
+      @RequestParam(required = false) String fields) {
+    FieldSelection selection = FieldSelection.parse(fields);
+    return requirePerson()
+        .flatMap(person -> computed(ComputedResponseCache.CALORIES, person,
+            PersonEndpointSupport.withAge(etag(person, null), person, personService), selection,
+            Mono.fromSupplier(() -> PersonEndpointSupport.caloriesBody(person, personService, selection))));
+  }
+
+  @GetMapping("/bmi")
+  public Mono<ResponseEntity<BmiResponse>> calculateBMI() {
+    return requirePerson()
+        .map(person -> {
+          String etag = PersonEndpointSupport.computedETag(person);
+          BmiResponse body = computedResponseCache.get(
+              ComputedResponseCache.BMI, person.getClientId(), etag,
+              () -> PersonEndpointSupport.bmiBody(person, personService));
+          return PersonEndpointSupport.computedResponse(body, etag);
+        });
+  }
+
+  @GetMapping("/recommendation")
+  public Mono<ResponseEntity<RecommendationResponse>> provideRecommendation(
+      @RequestParam(required = false) String fields) {
+    FieldSelection selection = FieldSelection.parse(fields);
+    return requirePerson()
+        .flatMap(person -> {
+          PersonEndpointSupport.requirePlanConfigured(person);
+          return cohortStamp(PersonEndpointSupport.needsCohort(selection))
+              .flatMap(cohort -> computed(ComputedResponseCache.RECOMMENDATION, person,
+                  etag(person, cohort.orElse(null)), selection, recommend(person, cohort.orElse(null), selection)));
+        });
+  }
+
+  @GetMapping("/dashboard")
+  public Mono<ResponseEntity<DashboardResponse>> dashboard(
+      @RequestParam(required = false) String fields) {
+    FieldSelection selection = FieldSelection.parse(fields);
+    return requirePerson()
+        .flatMap(person -> cohortStamp(PersonEndpointSupport.needsInsights(person, selection))
+            .flatMap(cohort -> computed(ComputedResponseCache.DASHBOARD, person,
+                PersonEndpointSupport.withAge(etag(person, cohort.orElse(null)), person, personService), selection,
+                dashboard(person, cohort.orElse(null), selection))));
+  }
+
+  /**
+   * Serves a computed body, reusing the cached one while its ETag is unchanged. Bodies without a
+   * tag (unsaved profiles) and partial bodies requested with {@code fields} bypass the cache.
+   */
+  private <T> Mono<ResponseEntity<T>> computed(
+      String endpoint, PersonSimple person, String etag, FieldSelection selection, Mono<T> compute) {
+    String cacheTag = selection.isAll() ? etag : null;
+    if (cacheTag == null) {
+      return compute.map(value -> PersonEndpointSupport.computedResponse(value, etag));
+    }
+    T cached = computedResponseCache.lookup(endpoint, person.getClientId(), cacheTag);
+    Mono<T> body = cached != null
+        ? Mono.just(cached)
+        : compute.doOnNext(value -> computedResponseCache.store(endpoint, person.getClientId(), cacheTag, value));
+    return body.map(value -> PersonEndpointSupport.computedResponse(value, cacheTag));
+  }
+
+  /**
+   * Cohort fingerprint for bodies that depend on the cohort, read once per request and shared by
+   * the ETag and the insight memo; empty when the body does not need it.
+   */
+  private Mono<Optional<CohortStamp>> cohortStamp(boolean withCohort) {
+    return withCohort ? store.findCohortStamp().map(Optional::of) : Mono.just(Optional.empty());
+  }
+
+  /** ETag of a computed body, covering the cohort when one is given; {@code null} when unsaved. */
+  private static String etag(PersonSimple person, CohortStamp cohort) {
+    return cohort != null
+        ? PersonEndpointSupport.computedETag(person, cohort)
+        : PersonEndpointSupport.computedETag(person);
+  }
+
+  private Mono<RecommendationResponse> recommend(
+      PersonSimple person, CohortStamp cohort, FieldSelection selection) {
+    return Mono.fromSupplier(() -> personService.calculateBMI(person.getWeight(), person.getHeight()))
+        .flatMap(bmi -> insights(person, bmi, cohort))
+        .map(insight -> PersonEndpointSupport.recommendationBody(person, insight, selection));
+  }
+
+  private Mono<DashboardResponse> dashboard(
+      PersonSimple person, CohortStamp cohort, FieldSelection selection) {
+    return Mono.defer(() -> {
+      Double bmi = personService.calculateBMI(person.getWeight(), person.getHeight());
+      if (cohort == null) {
+        return Mono.just(PersonEndpointSupport.dashboardBody(person, bmi, null, personService, selection));
+      }
+      return insights(person, bmi, cohort)
+          .map(insight -> PersonEndpointSupport.dashboardBody(person, bmi, insight, personService, selection));
+    });
+  }
+
+  /**
+   * Insights memoized per profile version and cohort fingerprint, loading the cohort only on a
+   * miss. Without a fingerprint the result carries no percentile.
+   */
+  private Mono<HealthInsightResult> insights(PersonSimple person, double bmi, CohortStamp cohort) {
+    InsightRequest request = cohort != null
+        ? InsightRequest.againstCohort(person, bmi, cohort)
+        : InsightRequest.withoutCohort(person, bmi);
+    HealthInsightResult cached = healthInsightService.cachedInsights(request);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+    if (!request.ranksAgainstCohort()) {
+      return Mono.fromSupplier(() -> healthInsightService.buildInsights(request));
+    }
+    return store.findAllMetrics()
+        .collectList()
+        // Cohort scoring is CPU work; keep it off the event loop.
+        .publishOn(Schedulers.parallel())
+        .map(loaded -> healthInsightService.buildInsights(request.withCohort(loaded)));
+  }
+
+  private Mono<PersonSimple> requirePerson() {
+    return ReactiveClientContext.clientId()
+        .flatMap(store::findByClientId)
+        .switchIfEmpty(Mono.error(new ResponseStatusException(
+            HttpStatus.NOT_FOUND, "No person profile found for supplied clientId")));
+  }
+
+  private Mono<String> generateClientId() {
+    return Flux.range(1, MAX_CLIENT_ID_ATTEMPTS)
+        .map(suffix -> ClientContext.MOBILE_PREFIX + "id" + suffix)
+        .concatMap(candidate -> store.existsByClientId(candidate)
+            .filter(taken -> !taken)
+            .map(free -> candidate))
+        .next()
+        .switchIfEmpty(Mono.error(new ResponseStatusException(
+            HttpStatus.INTERNAL_SERVER_ERROR, "Unable to generate a unique client identifier")));
+  }
+}
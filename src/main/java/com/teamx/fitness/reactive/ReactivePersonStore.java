@@ -0,0 +1,339 @@
+package com.teamx.fitness.reactive;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.model.TargetWeightLimits;
+import com.teamx.fitness.repository.RecentCohortStamp;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to {@code persons_simple} over R2DBC, used by the reactive persons
+ * endpoints.
+ *
+ * <p>The connection pool is private to this store rather than a Spring bean, so it does not
+ * interfere with the JDBC data source and JPA transaction manager that the rest of the
+ * application (migrations, maintenance jobs, other endpoints) keeps using.</p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePersonStore implements DisposableBean {
+
+  /** Columns mapped onto {@link PersonSimple}, in {@link #toPerson(Row)} order. */
+  private static final String COLUMNS =
+      "id, name, weight, height, birth_date, gender, goal, target_change_kg, "
+          + "target_duration_weeks, training_frequency_per_week, plan_strategy, client_id, version";
+
+  /** Columns read by {@link #findAllMetrics()}, matching the JPA projection. */
+  private static final String METRIC_COLUMNS =
+      "id, weight, height, birth_date, gender, goal, target_change_kg, "
+          + "target_duration_weeks, training_frequency_per_week, plan_strategy";
+
+  /** Column for each attribute accepted by {@link #patchByClientId(String, Map)}. */
+  private static final Map<String, String> PATCHABLE_COLUMNS = Map.of(
+      "name", "name",
+      "weight", "weight",
+      "height", "height",
+      "birthDate", "birth_date",
+      "gender", "gender",
+      "goal", "goal",
+      "targetChangeKg", "target_change_kg",
+      "targetDurationWeeks", "target_duration_weeks",
+      "trainingFrequencyPerWeek", "training_frequency_per_week",
+      "planStrategy", "plan_strategy");
+
+  /** Connections released after this long idle. */
+  private static final Duration MAX_IDLE_TIME = Duration.ofMinutes(30);
+
+  /** R2DBC connection pool owned by this store. */
+  private final ConnectionPool pool;
+
+  /** SQL client over {@link #pool}. */
+  private final DatabaseClient client;
+
+  /** Cohort fingerprint reused across requests for a short time. */
+  private final RecentCohortStamp recentCohortStamp;
+
+  public ReactivePersonStore(
+      @Value("${app.fitness.reactive.r2dbc.url:r2dbc:postgresql://localhost:5432/fitnessdb}") String url,
+      @Value("${spring.datasource.username:postgres}") String username,
+      @Value("${spring.datasource.password:postgres}") String password,
+      @Value("${app.fitness.reactive.r2dbc.initial-size:4}") int initialSize,
+      @Value("${app.fitness.reactive.r2dbc.max-size:20}") int maxSize,
+      @Value("${app.fitness.insight-cache.cohort-stamp-ttl-ms:1000}") long cohortStampTtlMillis) {
+    ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .build();
+    this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+        .initialSize(initialSize)
+        .maxSize(maxSize)
+        .maxIdleTime(MAX_IDLE_TIME)
+        .build());
+    this.client = DatabaseClient.create(pool);
+    this.recentCohortStamp = new RecentCohortStamp(cohortStampTtlMillis);
+  }
+
+  /**
+   * Finds the profile owned by a client.
+   *
+   * @param clientId the client ID
+   * @return the profile, or empty
+   */
+  public Mono<PersonSimple> findByClientId(String clientId) {
+    return client.sql("SELECT " + COLUMNS + " FROM persons_simple WHERE client_id = :clientId")
+        .bind("clientId", clientId)
+        .map((row, metadata) -> toPerson(row))
+        .one();
+  }
+
+  /**
+   * Checks whether a client ID is taken.
+   *
+   * @param clientId the client ID
+   * @return true when a profile uses it
+   */
+  public Mono<Boolean> existsByClientId(String clientId) {
+    return client.sql("SELECT 1 FROM persons_simple WHERE client_id = :clientId")
+        .bind("clientId", clientId)
+        .map((row, metadata) -> Boolean.TRUE)
+        .first()
+        .defaultIfEmpty(Boolean.FALSE);
+  }
+
+  /**
+   * Inserts a new profile and assigns its generated id.
+   *
+   * @param person the unsaved profile
+   * @return the same instance with its id set
+   */
+  public Mono<PersonSimple> insert(PersonSimple person) {
+    DatabaseClient.GenericExecuteSpec spec = client.sql(
+        "INSERT INTO persons_simple (name, weight, height, birth_date, gender, goal, "
+            + "target_change_kg, target_duration_weeks, training_frequency_per_week, plan_strategy, "
+            + "client_id) VALUES (:name, :weight, :height, :birthDate, :gender, :goal, "
+            + ":targetChangeKg, :targetDurationWeeks, :trainingFrequencyPerWeek, :planStrategy, "
+            + ":clientId) RETURNING id, version");
+    return bindProfile(spec, person)
+        .map((row, metadata) -> {
+          person.setId(row.get("id", Long.class));
+          person.setVersion(row.get("version", Long.class));
+          return person;
+        })
+        .one();
+  }
+
+  /**
+   * Writes every column of an existing profile and increments its version, only if the stored
+   * version still matches, like the JPA {@code @Version} check of the servlet stack.
+   *
+   * @param person the profile, with its id and the version it was loaded with
+   * @return the same instance, with its new version; fails with
+   *     {@link OptimisticLockingFailureException} (409) when the profile was changed or deleted
+   *     since it was loaded
+   */
+  public Mono<PersonSimple> update(PersonSimple person) {
+    DatabaseClient.GenericExecuteSpec spec = client.sql(
+        "UPDATE persons_simple SET name = :name, weight = :weight, height = :height, "
+            + "birth_date = :birthDate, gender = :gender, goal = :goal, "
+            + "target_change_kg = :targetChangeKg, target_duration_weeks = :targetDurationWeeks, "
+            + "training_frequency_per_week = :trainingFrequencyPerWeek, plan_strategy = :planStrategy, "
+            + "client_id = :clientId, version = version + 1 WHERE id = :id AND version = :version "
+            + "RETURNING version");
+    return bindProfile(spec, person)
+        .bind("id", person.getId())
+        .bind("version", person.getVersion())
+        .map((row, metadata) -> {
+          person.setVersion(row.get("version", Long.class));
+          return person;
+        })
+        .one()
+        .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+            "Profile " + person.getId() + " was modified or deleted concurrently")));
+  }
+
+  /**
+   * Updates only the supplied attributes of the profile owned by a client, in a single
+   * statement that also increments the version and, when the goal, height or target weight
+   * changes, requires the written row to satisfy {@link TargetWeightLimits}.
+   *
+   * @param clientId the client ID owning the profile
+   * @param changes new non-null values keyed by {@code PersonSimple} attribute name
+   * @return number of rows updated (0 when no profile exists for the client or the patched
+   *     target weight would be outside the safe range)
+   */
+  public Mono<Long> patchByClientId(String clientId, Map<String, Object> changes) {
+    if (changes.isEmpty()) {
+      return Mono.just(0L);
+    }
+    List<String> assignments = new ArrayList<>(changes.size());
+    changes.keySet().forEach(attribute -> {
+      String column = PATCHABLE_COLUMNS.get(attribute);
+      if (column == null) {
+        throw new IllegalArgumentException("Attribute is not patchable: " + attribute);
+      }
+      assignments.add(column + " = :" + attribute);
+    });
+    assignments.add("version = version + 1");
+    String where = "client_id = :clientId";
+    if (TargetWeightLimits.ATTRIBUTES.stream().anyMatch(changes::containsKey)) {
+      where += " AND " + targetWithinLimits(changes);
+    }
+    DatabaseClient.GenericExecuteSpec spec = client.sql(
+        "UPDATE persons_simple SET " + String.join(", ", assignments) + " WHERE " + where)
+        .bind("clientId", clientId);
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      Object value = change.getValue();
+      spec = spec.bind(change.getKey(), value instanceof Enum<?> constant ? constant.name() : value);
+    }
+    return spec.fetch().rowsUpdated();
+  }
+
+  /** {@link TargetWeightLimits} over the row as written: supplied values, else stored ones. */
+  private static String targetWithinLimits(Map<String, Object> changes) {
+    String target = patchedValue(changes, "targetChangeKg");
+    String height = patchedValue(changes, "height");
+    String cut = String.format(Locale.ROOT, "(%1$s >= %3$s AND %1$s * %4$s >= %5$s * %2$s * %2$s)",
+        target, height, TargetWeightLimits.MIN_HEALTHY_WEIGHT_KG, TargetWeightLimits.CM2_PER_M2,
+        TargetWeightLimits.MIN_HEALTHY_BMI);
+    String bulk = String.format(Locale.ROOT, "(%1$s <= %3$s AND %1$s * %4$s <= %5$s * %2$s * %2$s)",
+        target, height, TargetWeightLimits.MAX_REASONABLE_WEIGHT_KG, TargetWeightLimits.CM2_PER_M2,
+        TargetWeightLimits.MAX_REASONABLE_BMI);
+    FitnessGoal goal = (FitnessGoal) changes.get("goal");
+    String allowed = goal != null
+        ? (goal == FitnessGoal.CUT ? cut : bulk)
+        : "((goal = 'CUT' AND " + cut + ") OR (goal = 'BULK' AND " + bulk + "))";
+    return changes.containsKey("targetChangeKg") ? allowed : "(" + target + " IS NULL OR " + allowed + ")";
+  }
+
+  private static String patchedValue(Map<String, Object> changes, String attribute) {
+    return changes.containsKey(attribute) ? ":" + attribute : PATCHABLE_COLUMNS.get(attribute);
+  }
+
+  /**
+   * Deletes the profile owned by a client; its weight log follows by FK cascade.
+   *
+   * @param clientId the client ID
+   * @return number of rows deleted
+   */
+  public Mono<Long> deleteByClientId(String clientId) {
+    return client.sql("DELETE FROM persons_simple WHERE client_id = :clientId")
+        .bind("clientId", clientId)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /**
+   * Streams the metric projection of every profile, for cohort percentiles.
+   *
+   * @return one projection per profile
+   */
+  public Flux<PersonMetrics> findAllMetrics() {
+    return client.sql("SELECT " + METRIC_COLUMNS + " FROM persons_simple")
+        .map((row, metadata) -> new PersonMetrics(
+            row.get("id", Long.class),
+            row.get("weight", Double.class),
+            row.get("height", Double.class),
+            row.get("birth_date", LocalDate.class),
+            toEnum(Gender.class, row.get("gender", String.class)),
+            toEnum(FitnessGoal.class, row.get("goal", String.class)),
+            row.get("target_change_kg", Double.class),
+            row.get("target_duration_weeks", Integer.class),
+            row.get("training_frequency_per_week", Integer.class),
+            toEnum(PlanStrategy.class, row.get("plan_strategy", String.class))))
+        .all();
+  }
+
+  /**
+   * Reads the cohort fingerprint with one aggregate query, reusing the last one read for a
+   * short time, like {@code PersonRepository#findCohortStamp()}.
+   *
+   * @return current fingerprint of all profiles
+   */
+  public Mono<CohortStamp> findCohortStamp() {
+    return Mono.defer(() -> {
+      CohortStamp recent = recentCohortStamp.get();
+      if (recent != null) {
+        return Mono.just(recent);
+      }
+      return client.sql("SELECT count(*) AS profiles, coalesce(max(id), 0) AS max_id, "
+              + "coalesce(sum(version), 0)::bigint AS version_sum FROM persons_simple")
+          .map((row, metadata) -> new CohortStamp(
+              row.get("profiles", Long.class),
+              row.get("max_id", Long.class),
+              row.get("version_sum", Long.class)))
+          .one()
+          .doOnNext(recentCohortStamp::remember);
+    });
+  }
+
+  @Override
+  public void destroy() {
+    pool.dispose();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindProfile(
+      DatabaseClient.GenericExecuteSpec spec, PersonSimple person) {
+    spec = spec.bind("name", person.getName())
+        .bind("weight", person.getWeight())
+        .bind("height", person.getHeight())
+        .bind("birthDate", person.getBirthDate())
+        .bind("gender", person.getGender().name())
+        .bind("goal", person.getGoal().name())
+        .bind("clientId", person.getClientId());
+    spec = bindNullable(spec, "targetChangeKg", person.getTargetChangeKg(), Double.class);
+    spec = bindNullable(spec, "targetDurationWeeks", person.getTargetDurationWeeks(), Integer.class);
+    spec = bindNullable(
+        spec, "trainingFrequencyPerWeek", person.getTrainingFrequencyPerWeek(), Integer.class);
+    PlanStrategy strategy = person.getPlanStrategy();
+    return bindNullable(spec, "planStrategy", strategy != null ? strategy.name() : null, String.class);
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindNullable(
+      DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+    return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+  }
+
+  private static PersonSimple toPerson(Row row) {
+    PersonSimple person = new PersonSimple();
+    person.setId(row.get("id", Long.class));
+    person.setName(row.get("name", String.class));
+    person.setWeight(row.get("weight", Double.class));
+    person.setHeight(row.get("height", Double.class));
+    person.setBirthDate(row.get("birth_date", LocalDate.class));
+    person.setGender(toEnum(Gender.class, row.get("gender", String.class)));
+    person.setGoal(toEnum(FitnessGoal.class, row.get("goal", String.class)));
+    person.setTargetChangeKg(row.get("target_change_kg", Double.class));
+    person.setTargetDurationWeeks(row.get("target_duration_weeks", Integer.class));
+    person.setTrainingFrequencyPerWeek(row.get("training_frequency_per_week", Integer.class));
+    person.setPlanStrategy(toEnum(PlanStrategy.class, row.get("plan_strategy", String.class)));
+    person.setClientId(row.get("client_id", String.class));
+    person.setVersion(row.get("version", Long.class));
+    return person;
+  }
+
+  private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+    return value != null ? Enum.valueOf(type, value) : null;
+  }
+}
@@ -10,13 +10,18 @@
 
 package com.teamx.fitness.repository;
 
+import com.teamx.fitness.model.PersonMetrics;
 import com.teamx.fitness.model.PersonSimple;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PersonRepository extends JpaRepository<PersonSimple, Long> {
+public interface PersonRepository
+    extends JpaRepository<PersonSimple, Long>, PersonRepositoryCustom {
 
   /**
    * Finds a person by unique client identifier.
@@ -34,4 +39,24 @@ public interface PersonRepository extends JpaRepository<PersonSimple, Long> {
    */
   long countByClientId(String clientId);
 
+  /**
+   * Resolves the primary key of the profile owned by a client without loading the entity.
+   *
+   * @param clientId the client ID
+   * @return optional person identifier
+   */
+  @Query("select p.id from PersonSimple p where p.clientId = :clientId")
+  Optional<Long> findIdByClientId(@Param("clientId") String clientId);
+
+  /**
+   * Loads the metric columns of every profile as read-only projections, without hydrating
+   * entities. Used by research aggregates and cohort scoring.
+   *
+   * @return metric projections of all profiles
+   */
+  @Query("select new com.teamx.fitness.model.PersonMetrics(p.id, p.weight, p.height, "
+      + "p.birthDate, p.gender, p.goal, p.targetChangeKg, p.targetDurationWeeks, "
+      + "p.trainingFrequencyPerWeek, p.planStrategy) from PersonSimple p")
+  List<PersonMetrics> findAllMetrics();
+
 }
@@ -0,0 +1,52 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written query methods for {@code PersonSimple} that Spring Data cannot derive.
+ */
+public interface PersonRepositoryCustom {
+
+  /**
+   * Updates only the supplied attributes of the profile owned by a client, in a single
+   * {@code UPDATE ... WHERE client_id = ?} statement, without loading the profile first.
+   * Increments the profile version like any other write.
+   *
+   * <p>When the goal, height or target weight changes, the statement also requires the row as
+   * written to satisfy {@link com.teamx.fitness.model.TargetWeightLimits}, combining the
+   * supplied values with the stored ones, so a patch cannot produce an unsafe target.</p>
+   *
+   * @param clientId the client ID owning the profile
+   * @param changes new non-null values keyed by {@code PersonSimple} attribute name
+   * @return number of rows updated (0 when no profile exists for the client or the patched
+   *     target weight would be outside the safe range)
+   */
+  int patchByClientId(String clientId, Map<String, Object> changes);
+
+  /**
+   * Loads one keyset page of metric projections: rows with {@code id > afterId}, optionally
+   * narrowed by goal and gender, in id order. The cost depends on the page size, not on how
+   * far into the table the page starts.
+   *
+   * @param afterId id of the last row of the previous page ({@code 0} for the first page)
+   * @param goal optional goal filter
+   * @param gender optional gender filter
+   * @param limit maximum number of rows
+   * @return at most {@code limit} projections in ascending id order
+   */
+  List<PersonMetrics> findProfilePage(long afterId, FitnessGoal goal, Gender gender, int limit);
+
+  /**
+   * Reads the cohort fingerprint (profile count, highest id, version sum) with one aggregate
+   * query, reusing the last one read for up to
+   * {@code app.fitness.insight-cache.cohort-stamp-ttl-ms} (see {@link RecentCohortStamp}).
+   *
+   * @return current fingerprint of all profiles
+   */
+  CohortStamp findCohortStamp();
+}
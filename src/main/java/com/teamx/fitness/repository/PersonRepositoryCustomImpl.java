@@ -0,0 +1,151 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.TargetWeightLimits;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JPA Criteria implementation of {@link PersonRepositoryCustom}.
+ */
+public class PersonRepositoryCustomImpl implements PersonRepositoryCustom {
+
+  /** Entity manager bound to the current persistence context. */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /** Cohort fingerprint reused across requests for a short time. */
+  private final RecentCohortStamp recentCohortStamp;
+
+  public PersonRepositoryCustomImpl(
+      @Value("${app.fitness.insight-cache.cohort-stamp-ttl-ms:1000}") long cohortStampTtlMillis) {
+    this.recentCohortStamp = new RecentCohortStamp(cohortStampTtlMillis);
+  }
+
+  @Override
+  @Transactional
+  public int patchByClientId(String clientId, Map<String, Object> changes) {
+    if (changes.isEmpty()) {
+      return 0;
+    }
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaUpdate<PersonSimple> update = builder.createCriteriaUpdate(PersonSimple.class);
+    Root<PersonSimple> root = update.from(PersonSimple.class);
+    changes.forEach(update::set);
+    // Bulk updates bypass @Version, so bump it explicitly; ETags depend on it.
+    Path<Long> version = root.get("version");
+    update.set(version, builder.sum(version, 1L));
+
+    Predicate owner = builder.equal(root.get("clientId"), clientId);
+    if (TargetWeightLimits.ATTRIBUTES.stream().anyMatch(changes::containsKey)) {
+      update.where(owner, targetWithinLimits(builder, root, changes));
+    } else {
+      update.where(owner);
+    }
+    return entityManager.createQuery(update).executeUpdate();
+  }
+
+  /** {@link TargetWeightLimits} over the row as written: supplied values, else stored ones. */
+  private static Predicate targetWithinLimits(
+      CriteriaBuilder builder, Root<PersonSimple> root, Map<String, Object> changes) {
+    Expression<Double> target = patchedValue(builder, root, changes, "targetChangeKg");
+    Expression<Double> height = patchedValue(builder, root, changes, "height");
+    Expression<Double> scaledTarget = builder.prod(target, TargetWeightLimits.CM2_PER_M2);
+    Expression<Double> heightSquared = builder.prod(height, height);
+
+    Predicate cutAllowed = builder.and(
+        builder.ge(target, TargetWeightLimits.MIN_HEALTHY_WEIGHT_KG),
+        builder.ge(scaledTarget, builder.prod(heightSquared, TargetWeightLimits.MIN_HEALTHY_BMI)));
+    Predicate bulkAllowed = builder.and(
+        builder.le(target, TargetWeightLimits.MAX_REASONABLE_WEIGHT_KG),
+        builder.le(scaledTarget, builder.prod(heightSquared, TargetWeightLimits.MAX_REASONABLE_BMI)));
+
+    Predicate goalAllowed;
+    FitnessGoal patchedGoal = (FitnessGoal) changes.get("goal");
+    if (patchedGoal != null) {
+      goalAllowed = patchedGoal == FitnessGoal.CUT ? cutAllowed : bulkAllowed;
+    } else {
+      Path<FitnessGoal> goal = root.get("goal");
+      goalAllowed = builder.or(
+          builder.and(builder.equal(goal, FitnessGoal.CUT), cutAllowed),
+          builder.and(builder.equal(goal, FitnessGoal.BULK), bulkAllowed));
+    }
+    return changes.containsKey("targetChangeKg") ? goalAllowed : builder.or(builder.isNull(target), goalAllowed);
+  }
+
+  private static Expression<Double> patchedValue(
+      CriteriaBuilder builder, Root<PersonSimple> root, Map<String, Object> changes, String attribute) {
+    Object value = changes.get(attribute);
+    return value != null ? builder.literal((Double) value) : root.get(attribute);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<PersonMetrics> findProfilePage(
+      long afterId, FitnessGoal goal, Gender gender, int limit) {
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<PersonMetrics> query = builder.createQuery(PersonMetrics.class);
+    Root<PersonSimple> root = query.from(PersonSimple.class);
+    query.select(builder.construct(PersonMetrics.class,
+        root.get("id"),
+        root.get("weight"),
+        root.get("height"),
+        root.get("birthDate"),
+        root.get("gender"),
+        root.get("goal"),
+        root.get("targetChangeKg"),
+        root.get("targetDurationWeeks"),
+        root.get("trainingFrequencyPerWeek"),
+        root.get("planStrategy")));
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(builder.greaterThan(root.get("id"), afterId));
+    if (goal != null) {
+      predicates.add(builder.equal(root.get("goal"), goal));
+    }
+    if (gender != null) {
+      predicates.add(builder.equal(root.get("gender"), gender));
+    }
+    query.where(predicates.toArray(new Predicate[0]));
+    query.orderBy(builder.asc(root.get("id")));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CohortStamp findCohortStamp() {
+    CohortStamp recent = recentCohortStamp.get();
+    if (recent != null) {
+      return recent;
+    }
+    CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = builder.createTupleQuery();
+    Root<PersonSimple> root = query.from(PersonSimple.class);
+    query.multiselect(
+        builder.count(root),
+        builder.coalesce(builder.max(root.<Long>get("id")), 0L),
+        builder.coalesce(builder.sum(root.<Long>get("version")), 0L));
+
+    Tuple row = entityManager.createQuery(query).getSingleResult();
+    return recentCohortStamp.remember(new CohortStamp(
+        row.get(0, Long.class), row.get(1, Long.class), row.get(2, Long.class)));
+  }
+}
@@ -0,0 +1,60 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.CohortStamp;
+
+/**
+ * Last {@link CohortStamp} read from the database, reused for a short time so that busy
+ * recommendation and dashboard traffic does not run the fingerprint aggregate on every request.
+ *
+ * <p>A reused stamp can be up to {@code app.fitness.insight-cache.cohort-stamp-ttl-ms} old, so
+ * cohort percentiles and their ETags may lag changes to other profiles by that long. Changes to
+ * the caller's own profile are never delayed, since its version is part of both. A TTL of
+ * {@code 0} reads the stamp on every request.</p>
+ */
+public final class RecentCohortStamp {
+
+  /** How long a stamp is reused, in nanoseconds. */
+  private final long ttlNanos;
+
+  /** Latest stamp and when it was read; {@code null} before the first read. */
+  private volatile Reading latest;
+
+  /**
+   * Creates an empty holder.
+   *
+   * @param ttlMillis how long a stamp is reused, in milliseconds
+   */
+  public RecentCohortStamp(long ttlMillis) {
+    this.ttlNanos = Math.max(0L, ttlMillis) * 1_000_000L;
+  }
+
+  /**
+   * Stamp read within the TTL.
+   *
+   * @return the stamp, or {@code null} when it must be read again
+   */
+  public CohortStamp get() {
+    Reading reading = latest;
+    return reading != null && System.nanoTime() - reading.readAt() < ttlNanos ? reading.stamp() : null;
+  }
+
+  /**
+   * Records a freshly read stamp.
+   *
+   * @param stamp the stamp just read
+   * @return {@code stamp}
+   */
+  public CohortStamp remember(CohortStamp stamp) {
+    latest = new Reading(stamp, System.nanoTime());
+    return stamp;
+  }
+
+  /**
+   * A stamp with its read time.
+   *
+   * @param stamp the stamp
+   * @param readAt {@link System#nanoTime()} when it was read
+   */
+  private record Reading(CohortStamp stamp, long readAt) {
+  }
+}
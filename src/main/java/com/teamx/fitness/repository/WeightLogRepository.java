@@ -0,0 +1,36 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.WeightLogEntry;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the partitioned {@code weight_log} table.
+ */
+@Repository
+public interface WeightLogRepository
+    extends JpaRepository<WeightLogEntry, WeightLogEntry.Key>, WeightLogRepositoryCustom {
+
+  /**
+   * Loads one person's entries in a half-open time range, oldest first. The bounds are plain
+   * comparisons on the partition key, so PostgreSQL prunes every month outside the range.
+   *
+   * @param personId owning person ({@code persons_simple.id})
+   * @param from inclusive lower bound
+   * @param to exclusive upper bound
+   * @param page caps the number of rows returned
+   * @return entries in the range
+   */
+  @Query("select w from WeightLogEntry w where w.personId = :personId "
+      + "and w.recordedAt >= :from and w.recordedAt < :to order by w.recordedAt")
+  List<WeightLogEntry> findRange(
+      @Param("personId") Long personId,
+      @Param("from") Instant from,
+      @Param("to") Instant to,
+      Pageable page);
+}
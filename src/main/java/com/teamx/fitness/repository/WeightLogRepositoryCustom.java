@@ -0,0 +1,20 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.WeightLogEntry;
+import java.util.List;
+
+/**
+ * Write path for the weight log that bypasses the JPA persistence context.
+ */
+public interface WeightLogRepositoryCustom {
+
+  /**
+   * Appends entries for one person as a single JDBC batch. Identifiers are assigned by the
+   * database sequence; the {@code personId} of the supplied entries is ignored.
+   *
+   * @param personId owning person ({@code persons_simple.id})
+   * @param entries entries to append
+   * @return number of rows appended
+   */
+  int appendBatch(long personId, List<WeightLogEntry> entries);
+}
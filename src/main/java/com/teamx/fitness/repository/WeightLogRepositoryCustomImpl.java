@@ -0,0 +1,62 @@
+package com.teamx.fitness.repository;
+
+import com.teamx.fitness.model.WeightLogEntry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link JdbcTemplate} implementation of {@link WeightLogRepositoryCustom}.
+ *
+ * <p>With {@code reWriteBatchedInserts} enabled on the PostgreSQL driver the batch is sent as
+ * multi-row {@code INSERT} statements, so a sync of several hundred entries is one round trip
+ * per few hundred rows instead of one per entry.</p>
+ */
+public class WeightLogRepositoryCustomImpl implements WeightLogRepositoryCustom {
+
+  /** Insert statement; id comes from {@code weight_log_id_seq}. */
+  private static final String INSERT_SQL =
+      "INSERT INTO weight_log (person_id, recorded_at, weight_kg, body_fat_percent) "
+          + "VALUES (?, ?, ?, ?)";
+
+  /** JDBC access bound to the application data source. */
+  private final JdbcTemplate jdbcTemplate;
+
+  public WeightLogRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  @Transactional
+  public int appendBatch(long personId, List<WeightLogEntry> entries) {
+    if (entries.isEmpty()) {
+      return 0;
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+      @Override
+      public void setValues(PreparedStatement ps, int i) throws SQLException {
+        WeightLogEntry entry = entries.get(i);
+        ps.setLong(1, personId);
+        ps.setObject(2, OffsetDateTime.ofInstant(entry.getRecordedAt(), ZoneOffset.UTC));
+        ps.setDouble(3, entry.getWeightKg());
+        if (entry.getBodyFatPercent() == null) {
+          ps.setNull(4, Types.DOUBLE);
+        } else {
+          ps.setDouble(4, entry.getBodyFatPercent());
+        }
+      }
+
+      @Override
+      public int getBatchSize() {
+        return entries.size();
+      }
+    });
+    return entries.size();
+  }
+}
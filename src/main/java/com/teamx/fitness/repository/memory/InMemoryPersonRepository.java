@@ -0,0 +1,335 @@
+package com.teamx.fitness.repository.memory;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.model.TargetWeightLimits;
+import com.teamx.fitness.repository.PersonRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link PersonRepository} backed by concurrent maps, active under the {@code memory} profile.
+ *
+ * <p>Profiles are indexed by id and by client ID, with secondary id sets per goal and per
+ * gender. Stored instances are never mutated: every write stores a fresh copy and every read
+ * returns a copy, so reads run lock-free against the concurrent maps while writes are
+ * serialized to keep the indexes consistent with each other.</p>
+ */
+@Repository
+@Profile("memory")
+public class InMemoryPersonRepository extends InMemoryRepositorySupport<PersonSimple, Long>
+    implements PersonRepository {
+
+  /** Profiles by primary key, in id order. */
+  private final ConcurrentSkipListMap<Long, PersonSimple> byId = new ConcurrentSkipListMap<>();
+
+  /** Profiles by client ID (unique, like {@code uk_persons_simple_client_id}). */
+  private final Map<String, PersonSimple> byClientId = new ConcurrentHashMap<>();
+
+  /** Profile ids per goal. */
+  private final Map<FitnessGoal, Set<Long>> idsByGoal = new EnumMap<>(FitnessGoal.class);
+
+  /** Profile ids per gender. */
+  private final Map<Gender, Set<Long>> idsByGender = new EnumMap<>(Gender.class);
+
+  /** Identity sequence. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /** Callbacks run with the id of each deleted profile (emulates ON DELETE CASCADE). */
+  private final List<LongConsumer> deletionListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Serializes writers; readers never take it. A lock rather than a monitor, so a writer
+   * waiting on a virtual thread unmounts instead of pinning its carrier thread.
+   */
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  public InMemoryPersonRepository() {
+    for (FitnessGoal goal : FitnessGoal.values()) {
+      idsByGoal.put(goal, ConcurrentHashMap.newKeySet());
+    }
+    for (Gender gender : Gender.values()) {
+      idsByGender.put(gender, ConcurrentHashMap.newKeySet());
+    }
+  }
+
+  /**
+   * Registers a callback invoked with the id of every deleted profile.
+   *
+   * @param listener callback receiving the deleted profile id
+   */
+  public void addDeletionListener(LongConsumer listener) {
+    deletionListeners.add(listener);
+  }
+
+  /**
+   * Ids of the profiles with the given goal, from the secondary index.
+   *
+   * @param goal goal to match
+   * @return unmodifiable live view of the matching ids
+   */
+  public Set<Long> idsWithGoal(FitnessGoal goal) {
+    return Collections.unmodifiableSet(idsByGoal.get(goal));
+  }
+
+  /**
+   * Ids of the profiles with the given gender, from the secondary index.
+   *
+   * @param gender gender to match
+   * @return unmodifiable live view of the matching ids
+   */
+  public Set<Long> idsWithGender(Gender gender) {
+    return Collections.unmodifiableSet(idsByGender.get(gender));
+  }
+
+  @Override
+  protected Long idOf(PersonSimple entity) {
+    return entity.getId();
+  }
+
+  @Override
+  public <S extends PersonSimple> S save(S entity) {
+    if (entity.getClientId() == null) {
+      throw new DataIntegrityViolationException("client_id must not be null");
+    }
+    writeLock.lock();
+    try {
+      PersonSimple existingForClient = byClientId.get(entity.getClientId());
+      if (existingForClient != null && !existingForClient.getId().equals(entity.getId())) {
+        throw new DataIntegrityViolationException(
+            "Duplicate client_id for persons_simple: " + entity.getClientId());
+      }
+      if (entity.getId() == null) {
+        entity.setId(sequence.incrementAndGet());
+      } else {
+        sequence.accumulateAndGet(entity.getId(), Math::max);
+      }
+      // Like @Version: an update must carry the stored version and increments it. A new row
+      // keeps a supplied version (snapshot restore), so ETags handed out before a restart are
+      // never reissued for other data.
+      PersonSimple previous = byId.get(entity.getId());
+      if (previous != null) {
+        if (!Objects.equals(entity.getVersion(), previous.getVersion())) {
+          throw new OptimisticLockingFailureException("Profile " + entity.getId()
+              + " was updated concurrently (version " + entity.getVersion() + ", stored "
+              + previous.getVersion() + ")");
+        }
+        entity.setVersion(previous.getVersion() + 1);
+      } else if (entity.getVersion() == null) {
+        entity.setVersion(0L);
+      }
+      store(copy(entity));
+      return entity;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<PersonSimple> findById(Long id) {
+    return Optional.ofNullable(byId.get(id)).map(InMemoryPersonRepository::copy);
+  }
+
+  @Override
+  public List<PersonSimple> findAll() {
+    List<PersonSimple> all = new ArrayList<>(byId.size());
+    for (PersonSimple person : byId.values()) {
+      all.add(copy(person));
+    }
+    return all;
+  }
+
+  @Override
+  public long count() {
+    return byId.size();
+  }
+
+  @Override
+  public void deleteById(Long id) {
+    writeLock.lock();
+    try {
+      PersonSimple removed = byId.remove(id);
+      if (removed == null) {
+        return;
+      }
+      byClientId.remove(removed.getClientId());
+      unindex(removed);
+    } finally {
+      writeLock.unlock();
+    }
+    deletionListeners.forEach(listener -> listener.accept(id));
+  }
+
+  @Override
+  public Optional<PersonSimple> findByClientId(String clientId) {
+    return Optional.ofNullable(byClientId.get(clientId)).map(InMemoryPersonRepository::copy);
+  }
+
+  @Override
+  public long countByClientId(String clientId) {
+    return byClientId.containsKey(clientId) ? 1 : 0;
+  }
+
+  @Override
+  public Optional<Long> findIdByClientId(String clientId) {
+    return Optional.ofNullable(byClientId.get(clientId)).map(PersonSimple::getId);
+  }
+
+  @Override
+  public List<PersonMetrics> findAllMetrics() {
+    List<PersonMetrics> metrics = new ArrayList<>(byId.size());
+    for (PersonSimple person : byId.values()) {
+      metrics.add(PersonMetrics.from(person));
+    }
+    return metrics;
+  }
+
+  @Override
+  public CohortStamp findCohortStamp() {
+    long profiles = 0;
+    long versionSum = 0;
+    for (PersonSimple person : byId.values()) {
+      profiles++;
+      versionSum += person.getVersion();
+    }
+    Map.Entry<Long, PersonSimple> last = byId.lastEntry();
+    return new CohortStamp(profiles, last != null ? last.getKey() : 0L, versionSum);
+  }
+
+  @Override
+  public List<PersonMetrics> findProfilePage(
+      long afterId, FitnessGoal goal, Gender gender, int limit) {
+    Set<Long> goalIds = goal != null ? idsByGoal.get(goal) : null;
+    Set<Long> genderIds = gender != null ? idsByGender.get(gender) : null;
+    List<PersonMetrics> page = new ArrayList<>(limit);
+    for (PersonSimple person : byId.tailMap(afterId, false).values()) {
+      if (page.size() >= limit) {
+        break;
+      }
+      if ((goalIds == null || goalIds.contains(person.getId()))
+          && (genderIds == null || genderIds.contains(person.getId()))) {
+        page.add(PersonMetrics.from(person));
+      }
+    }
+    return page;
+  }
+
+  @Override
+  public int patchByClientId(String clientId, Map<String, Object> changes) {
+    if (changes.isEmpty()) {
+      return 0;
+    }
+    writeLock.lock();
+    try {
+      PersonSimple current = byClientId.get(clientId);
+      if (current == null) {
+        return 0;
+      }
+      PersonSimple updated = copy(current);
+      changes.forEach((attribute, value) -> apply(updated, attribute, value));
+      if (TargetWeightLimits.ATTRIBUTES.stream().anyMatch(changes::containsKey)
+          && !TargetWeightLimits.allows(updated.getGoal(), updated.getHeight(), updated.getTargetChangeKg())) {
+        return 0;
+      }
+      updated.setVersion(current.getVersion() + 1);
+      store(updated);
+      return 1;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Must be called with the write lock held. The new copy replaces the old one under each key
+   * in place, and keys the profile no longer has are removed only afterwards, so a lock-free
+   * reader always finds either the old or the new copy.
+   */
+  private void store(PersonSimple person) {
+    Long id = person.getId();
+    PersonSimple previous = byId.put(id, person);
+    byClientId.put(person.getClientId(), person);
+    if (person.getGoal() != null) {
+      idsByGoal.get(person.getGoal()).add(id);
+    }
+    if (person.getGender() != null) {
+      idsByGender.get(person.getGender()).add(id);
+    }
+    if (previous == null) {
+      return;
+    }
+    if (!previous.getClientId().equals(person.getClientId())) {
+      byClientId.remove(previous.getClientId(), previous);
+    }
+    if (previous.getGoal() != null && previous.getGoal() != person.getGoal()) {
+      idsByGoal.get(previous.getGoal()).remove(id);
+    }
+    if (previous.getGender() != null && previous.getGender() != person.getGender()) {
+      idsByGender.get(previous.getGender()).remove(id);
+    }
+  }
+
+  /** Must be called with the write lock held. */
+  private void unindex(PersonSimple person) {
+    if (person.getGoal() != null) {
+      idsByGoal.get(person.getGoal()).remove(person.getId());
+    }
+    if (person.getGender() != null) {
+      idsByGender.get(person.getGender()).remove(person.getId());
+    }
+  }
+
+  private static void apply(PersonSimple person, String attribute, Object value) {
+    switch (attribute) {
+      case "name" -> person.setName((String) value);
+      case "weight" -> person.setWeight((Double) value);
+      case "height" -> person.setHeight((Double) value);
+      case "birthDate" -> person.setBirthDate((LocalDate) value);
+      case "gender" -> person.setGender((Gender) value);
+      case "goal" -> person.setGoal((FitnessGoal) value);
+      case "targetChangeKg" -> person.setTargetChangeKg((Double) value);
+      case "targetDurationWeeks" -> person.setTargetDurationWeeks((Integer) value);
+      case "trainingFrequencyPerWeek" -> person.setTrainingFrequencyPerWeek((Integer) value);
+      case "planStrategy" -> person.setPlanStrategy((PlanStrategy) value);
+      default -> throw new IllegalArgumentException("Unknown PersonSimple attribute: " + attribute);
+    }
+  }
+
+  private static PersonSimple copy(PersonSimple source) {
+    PersonSimple copy = new PersonSimple(
+        source.getName(),
+        source.getWeight(),
+        source.getHeight(),
+        source.getBirthDate(),
+        source.getGender(),
+        source.getGoal(),
+        source.getTargetChangeKg(),
+        source.getTargetDurationWeeks(),
+        source.getTrainingFrequencyPerWeek(),
+        source.getPlanStrategy(),
+        source.getClientId());
+    copy.setId(source.getId());
+    copy.setVersion(source.getVersion());
+    return copy;
+  }
+}
@@ -0,0 +1,415 @@
+package com.teamx.fitness.repository.memory;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Maps the generic {@link JpaRepository} contract onto a handful of primitives so in-memory
+ * engines only implement storage and their own query methods.
+ *
+ * <p>Flush and batch variants collapse onto the plain operations. Sorting, paging and
+ * query-by-example run over {@link #findAll()} and read entity fields directly, as the JPA
+ * mappings do. Sort properties may be nested paths; examples match top-level fields.</p>
+ *
+ * @param <T> entity type
+ * @param <I> identifier type
+ */
+public abstract class InMemoryRepositorySupport<T, I> implements JpaRepository<T, I> {
+
+  /**
+   * Extracts the identifier of a stored or to-be-stored entity.
+   *
+   * @param entity entity
+   * @return identifier, or {@code null} when not yet assigned
+   */
+  protected abstract I idOf(T entity);
+
+  @Override
+  public <S extends T> List<S> saveAll(Iterable<S> entities) {
+    List<S> saved = new ArrayList<>();
+    for (S entity : entities) {
+      saved.add(save(entity));
+    }
+    return saved;
+  }
+
+  @Override
+  public List<T> findAllById(Iterable<I> ids) {
+    List<T> found = new ArrayList<>();
+    for (I id : ids) {
+      findById(id).ifPresent(found::add);
+    }
+    return found;
+  }
+
+  @Override
+  public boolean existsById(I id) {
+    return findById(id).isPresent();
+  }
+
+  @Override
+  public void delete(T entity) {
+    I id = idOf(entity);
+    if (id != null) {
+      deleteById(id);
+    }
+  }
+
+  @Override
+  public void deleteAllById(Iterable<? extends I> ids) {
+    for (I id : ids) {
+      deleteById(id);
+    }
+  }
+
+  @Override
+  public void deleteAll(Iterable<? extends T> entities) {
+    for (T entity : entities) {
+      delete(entity);
+    }
+  }
+
+  @Override
+  public void deleteAll() {
+    deleteAll(findAll());
+  }
+
+  @Override
+  public void flush() {
+    // Nothing is buffered.
+  }
+
+  @Override
+  public <S extends T> S saveAndFlush(S entity) {
+    return save(entity);
+  }
+
+  @Override
+  public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+    return saveAll(entities);
+  }
+
+  @Override
+  public void deleteAllInBatch(Iterable<T> entities) {
+    deleteAll(entities);
+  }
+
+  @Override
+  public void deleteAllByIdInBatch(Iterable<I> ids) {
+    deleteAllById(ids);
+  }
+
+  @Override
+  public void deleteAllInBatch() {
+    deleteAll();
+  }
+
+  @Override
+  @Deprecated
+  public T getOne(I id) {
+    return getReferenceById(id);
+  }
+
+  @Override
+  @Deprecated
+  public T getById(I id) {
+    return getReferenceById(id);
+  }
+
+  @Override
+  public T getReferenceById(I id) {
+    return findById(id).orElseThrow(() -> new EntityNotFoundException("No entity with id " + id));
+  }
+
+  @Override
+  public List<T> findAll(Sort sort) {
+    return sorted(findAll(), sort);
+  }
+
+  @Override
+  public Page<T> findAll(Pageable pageable) {
+    return page(findAll(), pageable);
+  }
+
+  @Override
+  public <S extends T> Optional<S> findOne(Example<S> example) {
+    List<S> matches = findAll(example);
+    if (matches.size() > 1) {
+      throw new IncorrectResultSizeDataAccessException(1, matches.size());
+    }
+    return matches.stream().findFirst();
+  }
+
+  @Override
+  public <S extends T> List<S> findAll(Example<S> example) {
+    List<S> matches = new ArrayList<>();
+    for (T entity : findAll()) {
+      if (matches(example, entity)) {
+        matches.add(example.getProbeType().cast(entity));
+      }
+    }
+    return matches;
+  }
+
+  @Override
+  public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+    return sorted(findAll(example), sort);
+  }
+
+  @Override
+  public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+    return page(findAll(example), pageable);
+  }
+
+  @Override
+  public <S extends T> long count(Example<S> example) {
+    return findAll(example).size();
+  }
+
+  @Override
+  public <S extends T> boolean exists(Example<S> example) {
+    return !findAll(example).isEmpty();
+  }
+
+  @Override
+  public <S extends T, R> R findBy(
+      Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+    return queryFunction.apply(
+        new ExampleQuery<>(findAll(example), Sort.unsorted(), 0, example.getProbeType()));
+  }
+
+  private static <S> List<S> sorted(List<S> entities, Sort sort) {
+    if (sort.isUnsorted()) {
+      return entities;
+    }
+    Comparator<S> comparator = null;
+    for (Sort.Order order : sort) {
+      Comparator<S> next = Comparator.comparing(
+          entity -> sortKey(entity, order), nullsPlaced(order, orderedBy(order)));
+      comparator = comparator == null ? next : comparator.thenComparing(next);
+    }
+    List<S> sorted = new ArrayList<>(entities);
+    sorted.sort(comparator);
+    return sorted;
+  }
+
+  private static Comparable<Object> sortKey(Object entity, Sort.Order order) {
+    Object value = new DirectFieldAccessor(entity).getPropertyValue(order.getProperty());
+    if (value instanceof String text && order.isIgnoreCase()) {
+      value = text.toLowerCase();
+    }
+    if (value != null && !(value instanceof Comparable)) {
+      throw new IllegalArgumentException("Cannot sort by non-comparable property " + order.getProperty());
+    }
+    @SuppressWarnings("unchecked")
+    Comparable<Object> key = (Comparable<Object>) value;
+    return key;
+  }
+
+  private static Comparator<Comparable<Object>> orderedBy(Sort.Order order) {
+    Comparator<Comparable<Object>> natural = Comparator.naturalOrder();
+    return order.isAscending() ? natural : natural.reversed();
+  }
+
+  /** PostgreSQL's default: nulls sort as larger than any value. */
+  private static Comparator<Comparable<Object>> nullsPlaced(
+      Sort.Order order, Comparator<Comparable<Object>> values) {
+    return switch (order.getNullHandling()) {
+      case NULLS_FIRST -> Comparator.nullsFirst(values);
+      case NULLS_LAST -> Comparator.nullsLast(values);
+      case NATIVE -> order.isAscending() ? Comparator.nullsLast(values) : Comparator.nullsFirst(values);
+    };
+  }
+
+  private static <S> Page<S> page(List<S> entities, Pageable pageable) {
+    List<S> sorted = sorted(entities, pageable.getSort());
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(sorted, pageable, sorted.size());
+    }
+    int from = (int) Math.min(pageable.getOffset(), sorted.size());
+    int to = Math.min(from + pageable.getPageSize(), sorted.size());
+    return new PageImpl<>(new ArrayList<>(sorted.subList(from, to)), pageable, sorted.size());
+  }
+
+  private static boolean matches(Example<?> example, Object entity) {
+    if (!example.getProbeType().isInstance(entity)) {
+      return false;
+    }
+    ExampleMatcher matcher = example.getMatcher();
+    DirectFieldAccessor probe = new DirectFieldAccessor(example.getProbe());
+    DirectFieldAccessor candidate = new DirectFieldAccessor(entity);
+    List<Boolean> results = new ArrayList<>();
+    ReflectionUtils.doWithFields(example.getProbeType(), field -> {
+      String path = field.getName();
+      if (matcher.isIgnoredPath(path)) {
+        return;
+      }
+      ExampleMatcher.PropertySpecifier specifier = matcher.getPropertySpecifiers().getForPath(path);
+      Object expected = probe.getPropertyValue(path);
+      if (specifier != null) {
+        expected = specifier.getPropertyValueTransformer().apply(Optional.ofNullable(expected)).orElse(null);
+      }
+      if (expected == null && matcher.getNullHandler() == ExampleMatcher.NullHandler.IGNORE) {
+        return;
+      }
+      results.add(valueMatches(matcher, specifier, expected, candidate.getPropertyValue(path)));
+    }, field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()));
+    return matcher.isAllMatching()
+        ? !results.contains(Boolean.FALSE)
+        : results.isEmpty() || results.contains(Boolean.TRUE);
+  }
+
+  private static boolean valueMatches(
+      ExampleMatcher matcher, ExampleMatcher.PropertySpecifier specifier, Object expected, Object actual) {
+    if (!(expected instanceof String pattern) || !(actual instanceof String text)) {
+      return Objects.equals(expected, actual);
+    }
+    boolean ignoreCase = specifier != null && specifier.getIgnoreCase() != null
+        ? specifier.getIgnoreCase()
+        : matcher.isIgnoreCaseEnabled();
+    if (ignoreCase) {
+      pattern = pattern.toLowerCase();
+      text = text.toLowerCase();
+    }
+    ExampleMatcher.StringMatcher stringMatcher = specifier != null && specifier.getStringMatcher() != null
+        ? specifier.getStringMatcher()
+        : matcher.getDefaultStringMatcher();
+    return switch (stringMatcher) {
+      case DEFAULT, EXACT -> text.equals(pattern);
+      case STARTING -> text.startsWith(pattern);
+      case ENDING -> text.endsWith(pattern);
+      case CONTAINING -> text.contains(pattern);
+      case REGEX -> text.matches(pattern);
+    };
+  }
+
+  /**
+   * {@link FluentQuery.FetchableFluentQuery} over matches that are already loaded.
+   *
+   * @param <S> matched entity type
+   * @param <R> result type
+   */
+  private static final class ExampleQuery<S, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+    /** Builds interface projections, as Spring Data does for JPA repositories. */
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    /** Entities matching the example. */
+    private final List<S> matches;
+
+    /** Requested order. */
+    private final Sort sort;
+
+    /** Maximum number of results, or {@code 0} for no limit. */
+    private final int limit;
+
+    /** Result type: the entity type, a supertype, or a projection interface. */
+    private final Class<R> resultType;
+
+    ExampleQuery(List<S> matches, Sort sort, int limit, Class<R> resultType) {
+      this.matches = matches;
+      this.sort = sort;
+      this.limit = limit;
+      this.resultType = resultType;
+    }
+
+    @Override
+    public FluentQuery.FetchableFluentQuery<R> sortBy(Sort additional) {
+      return new ExampleQuery<>(matches, sort.and(additional), limit, resultType);
+    }
+
+    @Override
+    public FluentQuery.FetchableFluentQuery<R> limit(int maxResults) {
+      if (maxResults < 0) {
+        throw new IllegalArgumentException("Limit must not be negative");
+      }
+      return new ExampleQuery<>(matches, sort, maxResults, resultType);
+    }
+
+    @Override
+    public <N> FluentQuery.FetchableFluentQuery<N> as(Class<N> type) {
+      if (!type.isInterface() && !matches.stream().allMatch(type::isInstance)) {
+        throw new UnsupportedOperationException("Class-based projections are not supported: " + type.getName());
+      }
+      return new ExampleQuery<>(matches, sort, limit, type);
+    }
+
+    @Override
+    public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+      // Entities are already loaded in full; the property list is only a fetch hint.
+      return this;
+    }
+
+    @Override
+    public R oneValue() {
+      List<R> results = all();
+      if (results.size() > 1) {
+        throw new IncorrectResultSizeDataAccessException(1, results.size());
+      }
+      return results.isEmpty() ? null : results.get(0);
+    }
+
+    @Override
+    public R firstValue() {
+      List<R> results = all();
+      return results.isEmpty() ? null : results.get(0);
+    }
+
+    @Override
+    public List<R> all() {
+      List<S> sorted = sorted(matches, sort);
+      if (limit > 0 && sorted.size() > limit) {
+        sorted = sorted.subList(0, limit);
+      }
+      return sorted.stream().map(this::convert).toList();
+    }
+
+    @Override
+    public Page<R> page(Pageable pageable) {
+      // The sort is stable, so the query order breaks ties in the page order.
+      return InMemoryRepositorySupport.page(sorted(matches, sort), pageable).map(this::convert);
+    }
+
+    @Override
+    public Stream<R> stream() {
+      return all().stream();
+    }
+
+    @Override
+    public long count() {
+      return matches.size();
+    }
+
+    @Override
+    public boolean exists() {
+      return !matches.isEmpty();
+    }
+
+    private R convert(S entity) {
+      return resultType.isInstance(entity)
+          ? resultType.cast(entity)
+          : PROJECTIONS.createProjection(resultType, entity);
+    }
+  }
+}
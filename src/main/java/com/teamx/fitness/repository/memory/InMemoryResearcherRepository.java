@@ -0,0 +1,130 @@
+package com.teamx.fitness.repository.memory;
+
+import com.teamx.fitness.model.Researcher;
+import com.teamx.fitness.repository.ResearcherRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link ResearcherRepository} backed by concurrent maps, active under the {@code memory} profile.
+ *
+ * <p>Same copy-on-read/copy-on-write scheme as {@link InMemoryPersonRepository}.</p>
+ */
+@Repository
+@Profile("memory")
+public class InMemoryResearcherRepository extends InMemoryRepositorySupport<Researcher, Long>
+    implements ResearcherRepository {
+
+  /** Researchers by primary key, in id order. */
+  private final ConcurrentSkipListMap<Long, Researcher> byId = new ConcurrentSkipListMap<>();
+
+  /** Researchers by client ID (unique). */
+  private final Map<String, Researcher> byClientId = new ConcurrentHashMap<>();
+
+  /** Researchers by email (unique). */
+  private final Map<String, Researcher> byEmail = new ConcurrentHashMap<>();
+
+  /** Identity sequence. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /** Serializes writers; readers never take it. */
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  @Override
+  protected Long idOf(Researcher entity) {
+    return entity.getId();
+  }
+
+  @Override
+  public <S extends Researcher> S save(S entity) {
+    if (entity.getClientId() == null || entity.getEmail() == null) {
+      throw new DataIntegrityViolationException("client_id and email must not be null");
+    }
+    writeLock.lock();
+    try {
+      requireUnique(byClientId.get(entity.getClientId()), entity, "client_id");
+      requireUnique(byEmail.get(entity.getEmail()), entity, "email");
+      if (entity.getId() == null) {
+        entity.setId(sequence.incrementAndGet());
+      } else {
+        sequence.accumulateAndGet(entity.getId(), Math::max);
+      }
+      Researcher stored = copy(entity);
+      Researcher previous = byId.put(stored.getId(), stored);
+      if (previous != null) {
+        byClientId.remove(previous.getClientId());
+        byEmail.remove(previous.getEmail());
+      }
+      byClientId.put(stored.getClientId(), stored);
+      byEmail.put(stored.getEmail(), stored);
+      return entity;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<Researcher> findById(Long id) {
+    return Optional.ofNullable(byId.get(id)).map(InMemoryResearcherRepository::copy);
+  }
+
+  @Override
+  public List<Researcher> findAll() {
+    List<Researcher> all = new ArrayList<>(byId.size());
+    for (Researcher researcher : byId.values()) {
+      all.add(copy(researcher));
+    }
+    return all;
+  }
+
+  @Override
+  public long count() {
+    return byId.size();
+  }
+
+  @Override
+  public void deleteById(Long id) {
+    writeLock.lock();
+    try {
+      Researcher removed = byId.remove(id);
+      if (removed != null) {
+        byClientId.remove(removed.getClientId());
+        byEmail.remove(removed.getEmail());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<Researcher> findByClientId(String clientId) {
+    return Optional.ofNullable(byClientId.get(clientId)).map(InMemoryResearcherRepository::copy);
+  }
+
+  @Override
+  public boolean existsByEmail(String email) {
+    return byEmail.containsKey(email);
+  }
+
+  private static void requireUnique(Researcher existing, Researcher candidate, String column) {
+    if (existing != null && !Objects.equals(existing.getId(), candidate.getId())) {
+      throw new DataIntegrityViolationException("Duplicate " + column + " for researchers");
+    }
+  }
+
+  private static Researcher copy(Researcher source) {
+    Researcher copy = new Researcher(source.getName(), source.getEmail(), source.getClientId());
+    copy.setId(source.getId());
+    return copy;
+  }
+}
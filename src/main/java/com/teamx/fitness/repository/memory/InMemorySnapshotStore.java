@@ -0,0 +1,165 @@
+package com.teamx.fitness.repository.memory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.Researcher;
+import com.teamx.fitness.model.WeightLogEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional JSON snapshot of the in-memory repositories, so a {@code memory} deployment keeps
+ * its data across restarts.
+ *
+ * <p>Enabled by setting {@code app.fitness.memory.snapshot-file}. The file is loaded at
+ * startup and rewritten at shutdown through a temporary file and an atomic rename, so a crash
+ * mid-write leaves the previous snapshot intact. Writes after the last clean shutdown are lost
+ * on a crash.</p>
+ */
+@Component
+@Profile("memory")
+public class InMemorySnapshotStore {
+
+  /** Logger for snapshot load/save. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemorySnapshotStore.class);
+
+  /** Current snapshot layout. */
+  private static final int FORMAT_VERSION = 1;
+
+  /** Person storage. */
+  private final InMemoryPersonRepository personRepository;
+
+  /** Researcher storage. */
+  private final InMemoryResearcherRepository researcherRepository;
+
+  /** Weight log storage. */
+  private final InMemoryWeightLogRepository weightLogRepository;
+
+  /** JSON codec (the application's configured mapper, keeping the profile row version). */
+  private final ObjectMapper objectMapper;
+
+  /** Snapshot location; {@code null} when snapshots are disabled. */
+  private final Path snapshotFile;
+
+  public InMemorySnapshotStore(
+      InMemoryPersonRepository personRepository,
+      InMemoryResearcherRepository researcherRepository,
+      InMemoryWeightLogRepository weightLogRepository,
+      ObjectMapper objectMapper,
+      @Value("${app.fitness.memory.snapshot-file:}") String snapshotFile) {
+    this.personRepository = personRepository;
+    this.researcherRepository = researcherRepository;
+    this.weightLogRepository = weightLogRepository;
+    this.objectMapper = objectMapper.copy().addMixIn(PersonSimple.class, PersonSnapshotMixin.class);
+    this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+  }
+
+  /** Restores the repositories from the snapshot file, if one is configured and present. */
+  @PostConstruct
+  public void load() {
+    if (snapshotFile == null || !Files.exists(snapshotFile)) {
+      return;
+    }
+    try {
+      Snapshot snapshot = objectMapper.readValue(snapshotFile.toFile(), Snapshot.class);
+      if (snapshot.formatVersion() != FORMAT_VERSION) {
+        throw new IllegalStateException("Unsupported snapshot format " + snapshot.formatVersion()
+            + " in " + snapshotFile);
+      }
+      personRepository.saveAll(snapshot.persons());
+      researcherRepository.saveAll(snapshot.researchers());
+      snapshot.weightLog().forEach(row -> weightLogRepository.save(row.toEntry()));
+      LOGGER.info("Loaded in-memory snapshot from {}: {} persons, {} researchers, {} weight entries",
+          snapshotFile, snapshot.persons().size(), snapshot.researchers().size(),
+          snapshot.weightLog().size());
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not read snapshot " + snapshotFile, ex);
+    }
+  }
+
+  /** Writes the current contents to the snapshot file, if one is configured. */
+  @PreDestroy
+  public void save() {
+    if (snapshotFile == null) {
+      return;
+    }
+    Snapshot snapshot = new Snapshot(
+        FORMAT_VERSION,
+        personRepository.findAll(),
+        researcherRepository.findAll(),
+        weightLogRepository.findAll().stream().map(WeightLogRow::from).toList());
+    try {
+      Path directory = snapshotFile.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+      objectMapper.writeValue(temp.toFile(), snapshot);
+      Files.move(temp, snapshotFile,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      LOGGER.info("Wrote in-memory snapshot to {}", snapshotFile);
+    } catch (IOException ex) {
+      LOGGER.error("Could not write snapshot {}", snapshotFile, ex);
+    }
+  }
+
+  /**
+   * File layout.
+   *
+   * @param formatVersion layout version
+   * @param persons person profiles
+   * @param researchers researcher profiles
+   * @param weightLog weight log entries
+   */
+  record Snapshot(
+      int formatVersion,
+      List<PersonSimple> persons,
+      List<Researcher> researchers,
+      List<WeightLogRow> weightLog) { }
+
+  /**
+   * Writes the profile row version the API representation leaves out, so ETags issued before a
+   * restart stay valid and are never reissued for other data.
+   */
+  abstract static class PersonSnapshotMixin {
+
+    /** Row version. */
+    @JsonIgnore(false)
+    @JsonProperty
+    private Long version;
+  }
+
+  /**
+   * Serialized weight log entry (the entity itself has no setters).
+   *
+   * @param id entry id
+   * @param personId owning person
+   * @param recordedAt measurement time
+   * @param weightKg weight in kilograms
+   * @param bodyFatPercent body fat percentage, if any
+   */
+  record WeightLogRow(
+      Long id, Long personId, Instant recordedAt, Double weightKg, Double bodyFatPercent) {
+
+    static WeightLogRow from(WeightLogEntry entry) {
+      return new WeightLogRow(entry.getId(), entry.getPersonId(), entry.getRecordedAt(),
+          entry.getWeightKg(), entry.getBodyFatPercent());
+    }
+
+    WeightLogEntry toEntry() {
+      return new WeightLogEntry(id, personId, recordedAt, weightKg, bodyFatPercent);
+    }
+  }
+}
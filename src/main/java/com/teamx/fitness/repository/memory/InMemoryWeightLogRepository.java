@@ -0,0 +1,131 @@
+package com.teamx.fitness.repository.memory;
+
+import com.teamx.fitness.model.WeightLogEntry;
+import com.teamx.fitness.repository.WeightLogRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link WeightLogRepository} backed by one time-ordered skip list per person, active under the
+ * {@code memory} profile.
+ *
+ * <p>Entries are immutable, so they are shared rather than copied. A person's entries are
+ * dropped when the profile is deleted from {@link InMemoryPersonRepository}.</p>
+ */
+@Repository
+@Profile("memory")
+public class InMemoryWeightLogRepository
+    extends InMemoryRepositorySupport<WeightLogEntry, WeightLogEntry.Key>
+    implements WeightLogRepository {
+
+  /** Entries per person, ordered by time then id. */
+  private final Map<Long, ConcurrentSkipListMap<Slot, WeightLogEntry>> byPerson =
+      new ConcurrentHashMap<>();
+
+  /** Emulates {@code weight_log_id_seq}. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  public InMemoryWeightLogRepository(InMemoryPersonRepository personRepository) {
+    personRepository.addDeletionListener(byPerson::remove);
+  }
+
+  @Override
+  protected WeightLogEntry.Key idOf(WeightLogEntry entity) {
+    return new WeightLogEntry.Key(entity.getId(), entity.getRecordedAt());
+  }
+
+  @Override
+  public int appendBatch(long personId, List<WeightLogEntry> entries) {
+    NavigableMap<Slot, WeightLogEntry> log = logFor(personId);
+    for (WeightLogEntry entry : entries) {
+      WeightLogEntry stored = new WeightLogEntry(sequence.incrementAndGet(), personId,
+          entry.getRecordedAt(), entry.getWeightKg(), entry.getBodyFatPercent());
+      log.put(new Slot(stored.getRecordedAt(), stored.getId()), stored);
+    }
+    return entries.size();
+  }
+
+  @Override
+  public List<WeightLogEntry> findRange(Long personId, Instant from, Instant to, Pageable page) {
+    NavigableMap<Slot, WeightLogEntry> log = byPerson.get(personId);
+    if (log == null) {
+      return List.of();
+    }
+    return log.subMap(new Slot(from, Long.MIN_VALUE), true, new Slot(to, Long.MIN_VALUE), false)
+        .values()
+        .stream()
+        .skip(page.getOffset())
+        .limit(page.getPageSize())
+        .toList();
+  }
+
+  @Override
+  public <S extends WeightLogEntry> S save(S entity) {
+    Long id = entity.getId();
+    if (id == null) {
+      throw new IllegalArgumentException("Weight log entries are appended through appendBatch");
+    }
+    sequence.accumulateAndGet(id, Math::max);
+    logFor(entity.getPersonId()).put(new Slot(entity.getRecordedAt(), id), entity);
+    return entity;
+  }
+
+  @Override
+  public Optional<WeightLogEntry> findById(WeightLogEntry.Key key) {
+    Slot slot = new Slot(key.getRecordedAt(), key.getId());
+    for (NavigableMap<Slot, WeightLogEntry> log : byPerson.values()) {
+      WeightLogEntry entry = log.get(slot);
+      if (entry != null) {
+        return Optional.of(entry);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<WeightLogEntry> findAll() {
+    List<WeightLogEntry> all = new ArrayList<>();
+    byPerson.values().forEach(log -> all.addAll(log.values()));
+    return all;
+  }
+
+  @Override
+  public long count() {
+    return byPerson.values().stream().mapToLong(Map::size).sum();
+  }
+
+  @Override
+  public void deleteById(WeightLogEntry.Key key) {
+    Slot slot = new Slot(key.getRecordedAt(), key.getId());
+    byPerson.values().forEach(log -> log.remove(slot));
+  }
+
+  private NavigableMap<Slot, WeightLogEntry> logFor(long personId) {
+    return byPerson.computeIfAbsent(personId, id -> new ConcurrentSkipListMap<>());
+  }
+
+  /**
+   * Ordering key within a person's log: time first, then id for equal timestamps.
+   *
+   * @param recordedAt measurement time
+   * @param id entry id
+   */
+  private record Slot(Instant recordedAt, long id) implements Comparable<Slot> {
+
+    @Override
+    public int compareTo(Slot other) {
+      int byTime = recordedAt.compareTo(other.recordedAt);
+      return byTime != 0 ? byTime : Long.compare(id, other.id);
+    }
+  }
+}
@@ -15,6 +15,11 @@ package com.teamx.fitness.security;
 /**
  * Thread-local storage for client authentication context.
  * Stores and validates client IDs for the current request thread.
+ *
+ * <p>Each request runs start to finish on one thread, platform or virtual, so a plain
+ * (non-inheritable) {@link ThreadLocal} is bound per request and cleared at completion. Work
+ * handed to another thread does not see it; such tasks must be wrapped with
+ * {@link #wrap(Runnable)}, which the application task executor does for every task.</p>
  */
 public final class ClientContext {
 
@@ -56,6 +61,33 @@ public final class ClientContext {
     CLIENT_ID_HOLDER.remove();
   }
 
+  /**
+   * Captures the current client ID and returns a task that runs {@code task} with it bound,
+   * restoring whatever the executing thread had bound before.
+   *
+   * @param task the task to hand to another thread
+   * @return the wrapped task, or {@code task} itself when no client ID is bound
+   */
+  public static Runnable wrap(Runnable task) {
+    String captured = CLIENT_ID_HOLDER.get();
+    if (captured == null) {
+      return task;
+    }
+    return () -> {
+      String previous = CLIENT_ID_HOLDER.get();
+      CLIENT_ID_HOLDER.set(captured);
+      try {
+        task.run();
+      } finally {
+        if (previous == null) {
+          CLIENT_ID_HOLDER.remove();
+        } else {
+          CLIENT_ID_HOLDER.set(previous);
+        }
+      }
+    };
+  }
+
   /**
    * Validates if a client ID is in the correct format.
    * Valid formats: "mobile-*" or "research-*"
@@ -27,31 +27,52 @@ public class ClientIdInterceptor implements HandlerInterceptor {
    */
   public static final String CLIENT_ID_HEADER = "X-Client-ID";
 
-  @Override
-  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
-      throws Exception {
+  /** Error body for a missing header. */
+  public static final String MISSING_CLIENT_ID_BODY =
+      "{\"error\":\"Bad Request\",\"message\":\"X-Client-ID header is required\","
+          + "\"status\":400}";
+
+  /** Error body for a header without a known prefix. */
+  public static final String INVALID_CLIENT_ID_BODY =
+      "{\"error\":\"Bad Request\",\"message\":\"Invalid client ID format. Must start with"
+          + " 'mobile-' or 'research-'\",\"status\":400}";
+
+  /**
+   * Decides whether a request must carry a valid client ID. Shared with the reactive filter so
+   * both web stacks exempt the same paths.
+   *
+   * @param method HTTP method
+   * @param requestUri request path
+   * @return false for CORS preflight, docs, health, actuator and the open registration endpoints
+   */
+  public static boolean requiresClientId(String method, String requestUri) {
     // Allow OPTIONS requests for CORS preflight
-    if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
-      return true;
+    if ("OPTIONS".equalsIgnoreCase(method)) {
+      return false;
     }
-    
+
     // Skip validation for health check, Swagger UI, actuator endpoints, and open person creation
-    String requestUri = request.getRequestURI();
     if (requestUri.startsWith("/swagger-ui")
         || requestUri.startsWith("/v3/api-docs")
         || requestUri.startsWith("/actuator")
         || "/health".equals(requestUri)
         || "/".equals(requestUri)) {
-      return true;
+      return false;
     }
 
-    if ("POST".equalsIgnoreCase(request.getMethod())
+    if ("POST".equalsIgnoreCase(method)
         && ("/api/persons".equals(requestUri) || "/api/persons/".equals(requestUri))) {
-      return true;
+      return false;
     }
 
-    if ("POST".equalsIgnoreCase(request.getMethod())
-        && ("/api/research".equals(requestUri) || "/api/research/".equals(requestUri))) {
+    return !("POST".equalsIgnoreCase(method)
+        && ("/api/research".equals(requestUri) || "/api/research/".equals(requestUri)));
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!requiresClientId(request.getMethod(), request.getRequestURI())) {
       return true;
     }
 
@@ -60,22 +81,14 @@ public class ClientIdInterceptor implements HandlerInterceptor {
     if (clientId == null || clientId.isBlank()) {
       response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
       response.setContentType("application/json");
-      response
-          .getWriter()
-          .write(
-              "{\"error\":\"Bad Request\",\"message\":\"X-Client-ID header is required\","
-                  + "\"status\":400}");
+      response.getWriter().write(MISSING_CLIENT_ID_BODY);
       return false;
     }
 
     if (!ClientContext.isValidClientId(clientId)) {
       response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
       response.setContentType("application/json");
-      response
-          .getWriter()
-          .write(
-              "{\"error\":\"Bad Request\",\"message\":\"Invalid client ID format. Must start with"
-                  + " 'mobile-' or 'research-'\",\"status\":400}");
+      response.getWriter().write(INVALID_CLIENT_ID_BODY);
       return false;
     }
 
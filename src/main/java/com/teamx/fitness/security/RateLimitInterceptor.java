@@ -0,0 +1,259 @@
+package com.teamx.fitness.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@code app.fitness.rate-limiting}: one token bucket per client ID, holding a minute's
+ * worth of requests and refilled continuously.
+ *
+ * <p>Mobile clients get {@code requests-per-minute} and research clients
+ * {@code research-requests-per-minute}. Requests without a client ID (open registration) are
+ * limited per remote address at the mobile rate. Rejected requests get {@code 429} with a
+ * {@code Retry-After} header.</p>
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it would be full again
+ * (the generic cell rate algorithm), so taking a token is one compare-and-set with no lock.
+ * Buckets live in a {@link ConcurrentHashMap} bounded by {@code max-clients}. Buckets that have
+ * refilled completely are evicted by a background sweep every {@code eviction-interval-ms}, since
+ * a new bucket behaves identically; requests never scan the map. Tracked buckets are never
+ * evicted to make room: while the map is at its bound, clients without a bucket share one
+ * overflow bucket per client class until the next sweep frees space, so a flood of fresh client
+ * IDs can only exhaust that shared allowance and cannot reset anyone else's limit.</p>
+ *
+ * <p>Must be registered after {@link ClientIdInterceptor}, which binds the client ID. The
+ * reactive stack applies the same buckets through {@link ReactiveRateLimitFilter}.</p>
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  /** Error body for a rejected request. */
+  public static final String TOO_MANY_REQUESTS_BODY =
+      "{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded\",\"status\":429}";
+
+  /** HTTP status for rejected requests. */
+  private static final int SC_TOO_MANY_REQUESTS = 429;
+
+  /** Window the configured limits refer to. */
+  private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  /** Key prefix for requests limited by remote address. */
+  private static final String IP_KEY_PREFIX = "ip:";
+
+  /** Whether limits are enforced at all. */
+  private final boolean enabled;
+
+  /** Upper bound on tracked buckets. */
+  private final int maxClients;
+
+  /** Limit for mobile clients and anonymous requests. */
+  private final Limit mobileLimit;
+
+  /** Limit for research clients. */
+  private final Limit researchLimit;
+
+  /** Buckets keyed by client ID or {@code ip:<address>}. */
+  private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+  /** Shared bucket of mobile and anonymous clients admitted while the map is at its bound. */
+  private final AtomicLong mobileOverflow = new AtomicLong(System.nanoTime());
+
+  /** Shared bucket of research clients admitted while the map is at its bound. */
+  private final AtomicLong researchOverflow = new AtomicLong(System.nanoTime());
+
+  /** Prevents concurrent eviction sweeps. */
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+
+  /** Rejected mobile and anonymous requests. */
+  private final Counter mobileRejected;
+
+  /** Rejected research requests. */
+  private final Counter researchRejected;
+
+  /** Idle buckets removed by eviction sweeps. */
+  private final Counter evicted;
+
+  /** Requests limited by an overflow bucket because the map was at its bound. */
+  private final Counter overflowed;
+
+  @Autowired
+  public RateLimitInterceptor(
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.rate-limiting.enabled:true}") boolean enabled,
+      @Value("${app.fitness.rate-limiting.requests-per-minute:60}") int requestsPerMinute,
+      @Value("${app.fitness.rate-limiting.research-requests-per-minute:30}") int researchRequestsPerMinute,
+      @Value("${app.fitness.rate-limiting.max-clients:10000}") int maxClients) {
+    this.enabled = enabled;
+    this.maxClients = Math.max(1, maxClients);
+    this.mobileLimit = new Limit(requestsPerMinute);
+    this.researchLimit = new Limit(researchRequestsPerMinute);
+
+    this.mobileRejected = Counter.builder("fitness.ratelimit.rejected")
+        .description("Requests rejected with 429")
+        .tag("clientClass", "mobile")
+        .register(meterRegistry);
+    this.researchRejected = Counter.builder("fitness.ratelimit.rejected")
+        .description("Requests rejected with 429")
+        .tag("clientClass", "research")
+        .register(meterRegistry);
+    this.evicted = Counter.builder("fitness.ratelimit.evicted")
+        .description("Idle client buckets evicted")
+        .register(meterRegistry);
+    this.overflowed = Counter.builder("fitness.ratelimit.overflow")
+        .description("Requests from untracked clients limited by the shared overflow bucket")
+        .register(meterRegistry);
+    Gauge.builder("fitness.ratelimit.clients", buckets, Map::size)
+        .description("Client buckets currently tracked")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+      return true;
+    }
+
+    long waitNanos = acquire(ClientContext.getClientId(), request.getRemoteAddr());
+    if (waitNanos == 0) {
+      return true;
+    }
+
+    response.setStatus(SC_TOO_MANY_REQUESTS);
+    response.setHeader("Retry-After", Long.toString(retryAfterSeconds(waitNanos)));
+    response.setContentType("application/json");
+    response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+    return false;
+  }
+
+  /**
+   * Takes a token from the caller's bucket, counting the request as rejected when none is left.
+   *
+   * @param clientId validated client ID, or {@code null} for requests that carry none
+   * @param remoteAddress remote address anonymous requests are limited by
+   * @return 0 when the request may proceed, otherwise how long until a token is available
+   */
+  long acquire(String clientId, String remoteAddress) {
+    if (!enabled) {
+      return 0;
+    }
+    boolean research = ClientContext.isResearchClient(clientId);
+    Limit limit = research ? researchLimit : mobileLimit;
+    String key = clientId != null ? clientId : IP_KEY_PREFIX + remoteAddress;
+    long now = System.nanoTime();
+
+    long waitNanos = limit.tryAcquire(bucket(key, research, now), now);
+    if (waitNanos != 0) {
+      (research ? researchRejected : mobileRejected).increment();
+    }
+    return waitNanos;
+  }
+
+  /**
+   * Value of the {@code Retry-After} header for a rejected request.
+   *
+   * @param waitNanos time until a token is available
+   * @return whole seconds, at least 1
+   */
+  static long retryAfterSeconds(long waitNanos) {
+    long second = TimeUnit.SECONDS.toNanos(1);
+    return Math.max(1, (waitNanos + second - 1) / second);
+  }
+
+  /** Drops buckets that have refilled completely. */
+  @Scheduled(fixedDelayString = "${app.fitness.rate-limiting.eviction-interval-ms:60000}")
+  public void evictIdle() {
+    evictIdle(System.nanoTime());
+  }
+
+  /**
+   * Number of buckets currently tracked.
+   *
+   * @return tracked bucket count
+   */
+  int trackedClients() {
+    return buckets.size();
+  }
+
+  void evictIdle(long now) {
+    if (!sweeping.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      // A full bucket is indistinguishable from a new one. A request racing with its removal
+      // may take a token from the detached bucket; that costs at most one extra request.
+      buckets.entrySet().removeIf(entry -> {
+        boolean idle = entry.getValue().get() - now <= 0;
+        if (idle) {
+          evicted.increment();
+        }
+        return idle;
+      });
+    } finally {
+      sweeping.set(false);
+    }
+  }
+
+  private AtomicLong bucket(String key, boolean research, long now) {
+    AtomicLong bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    // Concurrent first requests may overshoot the bound by a few buckets; it only has to keep
+    // the map from growing without limit.
+    if (buckets.size() >= maxClients) {
+      overflowed.increment();
+      return research ? researchOverflow : mobileOverflow;
+    }
+    return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+  }
+
+  /** A requests-per-minute limit expressed as GCRA parameters. */
+  private static final class Limit {
+
+    /** Time for one token to refill. */
+    private final long intervalNanos;
+
+    /** How far ahead of now the full-again time may run: the bucket capacity. */
+    private final long capacityNanos;
+
+    Limit(int requestsPerMinute) {
+      int perMinute = Math.max(1, requestsPerMinute);
+      this.intervalNanos = WINDOW_NANOS / perMinute;
+      this.capacityNanos = intervalNanos * perMinute;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when granted, otherwise how long until a token is available
+     */
+    long tryAcquire(AtomicLong fullAt, long now) {
+      while (true) {
+        long current = fullAt.get();
+        long base = current - now > 0 ? current : now;
+        long next = base + intervalNanos;
+        long excess = next - now - capacityNanos;
+        if (excess > 0) {
+          return excess;
+        }
+        if (fullAt.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+  }
+}
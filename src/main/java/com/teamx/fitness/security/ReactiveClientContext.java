@@ -0,0 +1,43 @@
+package com.teamx.fitness.security;
+
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of {@link ClientContext}: the client ID travels in the Reactor
+ * {@link Context} of the request's pipeline instead of a thread-local, so it stays attached
+ * however often the pipeline hops between event-loop and worker threads.
+ */
+public final class ReactiveClientContext {
+
+  /** Context key holding the validated client ID. */
+  private static final Class<ReactiveClientContext> CLIENT_ID_KEY = ReactiveClientContext.class;
+
+  private ReactiveClientContext() { }
+
+  /**
+   * Returns the context modification that binds a client ID, for use with
+   * {@code Mono.contextWrite}.
+   *
+   * @param clientId the validated client ID
+   * @return function adding the client ID to a context
+   */
+  public static Function<Context, Context> withClientId(String clientId) {
+    return context -> context.put(CLIENT_ID_KEY, clientId);
+  }
+
+  /**
+   * Reads the client ID bound to the subscribing pipeline.
+   *
+   * @return the client ID, or a 400 error when none is bound
+   */
+  public static Mono<String> clientId() {
+    return Mono.deferContextual(context -> context.<String>getOrEmpty(CLIENT_ID_KEY)
+        .map(Mono::just)
+        .orElseGet(() -> Mono.error(new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "X-Client-ID header is required"))));
+  }
+}
@@ -0,0 +1,50 @@
+package com.teamx.fitness.security;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux equivalent of {@link ClientIdInterceptor}. Applies the same exemptions and error
+ * bodies, and binds the validated client ID into the Reactor context of the downstream chain
+ * (see {@link ReactiveClientContext}).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientIdFilter implements WebFilter {
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    if (!ClientIdInterceptor.requiresClientId(request.getMethod().name(), request.getPath().value())) {
+      return chain.filter(exchange);
+    }
+
+    String clientId = request.getHeaders().getFirst(ClientIdInterceptor.CLIENT_ID_HEADER);
+    if (clientId == null || clientId.isBlank()) {
+      return reject(exchange, ClientIdInterceptor.MISSING_CLIENT_ID_BODY);
+    }
+    if (!ClientContext.isValidClientId(clientId)) {
+      return reject(exchange, ClientIdInterceptor.INVALID_CLIENT_ID_BODY);
+    }
+
+    return chain.filter(exchange).contextWrite(ReactiveClientContext.withClientId(clientId));
+  }
+
+  private Mono<Void> reject(ServerWebExchange exchange, String body) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.BAD_REQUEST);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+    return response.writeWith(Mono.just(buffer));
+  }
+}
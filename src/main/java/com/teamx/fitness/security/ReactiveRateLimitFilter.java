@@ -0,0 +1,85 @@
+package com.teamx.fitness.security;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux equivalent of registering {@link RateLimitInterceptor} for {@code /api/**}. Takes
+ * tokens from the same buckets and answers with the same {@code 429} body and
+ * {@code Retry-After} header.
+ *
+ * <p>The client ID is read from the header rather than the Reactor context, so the result does
+ * not depend on the order relative to {@link ReactiveClientIdFilter}: a request whose header
+ * that filter rejects is limited by remote address, like open registration.</p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRateLimitFilter implements WebFilter {
+
+  /** Path prefix the limits apply to. */
+  private static final String API_PREFIX = "/api/";
+
+  /** Bucket store shared with the servlet interceptor. */
+  private final RateLimitInterceptor rateLimiter;
+
+  /**
+   * Creates the filter.
+   *
+   * @param rateLimiter per-client token buckets
+   */
+  @Autowired
+  public ReactiveRateLimitFilter(RateLimitInterceptor rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    String method = request.getMethod().name();
+    String path = request.getPath().value();
+    if (!path.startsWith(API_PREFIX) || "OPTIONS".equalsIgnoreCase(method)) {
+      return chain.filter(exchange);
+    }
+
+    long waitNanos = rateLimiter.acquire(clientId(request, method, path), remoteAddress(request));
+    if (waitNanos == 0) {
+      return chain.filter(exchange);
+    }
+
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.getHeaders().set("Retry-After", Long.toString(RateLimitInterceptor.retryAfterSeconds(waitNanos)));
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    DataBuffer buffer = response.bufferFactory()
+        .wrap(RateLimitInterceptor.TOO_MANY_REQUESTS_BODY.getBytes(StandardCharsets.UTF_8));
+    return response.writeWith(Mono.just(buffer));
+  }
+
+  private static String clientId(ServerHttpRequest request, String method, String path) {
+    if (!ClientIdInterceptor.requiresClientId(method, path)) {
+      return null;
+    }
+    String clientId = request.getHeaders().getFirst(ClientIdInterceptor.CLIENT_ID_HEADER);
+    return ClientContext.isValidClientId(clientId) ? clientId : null;
+  }
+
+  private static String remoteAddress(ServerHttpRequest request) {
+    InetSocketAddress address = request.getRemoteAddress();
+    if (address == null) {
+      return "unknown";
+    }
+    return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+  }
+}
@@ -0,0 +1,255 @@
+package com.teamx.fitness.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@code app.fitness.research-limiter}: an adaptive cap on the number of
+ * {@code /api/research} requests in flight, so heavy research scans cannot push up mobile
+ * latency.
+ *
+ * <p>Every {@code /api/persons} request is timed. Once per {@code window-ms} the limiter checks
+ * the share of mobile requests slower than {@code mobile-latency-target-ms}: above one percent
+ * (mobile p99 over target) the research limit is multiplied by {@code backoff-ratio}, down to
+ * {@code min-limit}; otherwise, if research requests used the whole limit during the window, it
+ * grows by one, up to {@code max-limit} (additive increase, multiplicative decrease). Research
+ * requests beyond the limit get {@code 429} with {@code Retry-After: 1}.</p>
+ *
+ * <p>Admission is a compare-and-set on the in-flight count. The current state is published as
+ * {@code fitness.research.limiter.*} metrics and the {@code researchlimiter} actuator
+ * endpoint.</p>
+ */
+@Component
+public class ResearchConcurrencyLimiter implements HandlerInterceptor {
+
+  /** Error body for a rejected research request. */
+  public static final String OVERLOADED_BODY =
+      "{\"error\":\"Too Many Requests\",\"message\":\"Research capacity exhausted, retry shortly\","
+          + "\"status\":429}";
+
+  /** Path prefix of the limited endpoints. */
+  static final String RESEARCH_PREFIX = "/api/research";
+
+  /** Path prefix of the latency-sensitive endpoints. */
+  static final String MOBILE_PREFIX = "/api/persons";
+
+  /** Largest share of slow mobile requests in a window that still counts as healthy. */
+  static final double SLOW_FRACTION_TOLERANCE = 0.01;
+
+  /** HTTP status for rejected requests. */
+  private static final int SC_TOO_MANY_REQUESTS = 429;
+
+  /** Request attribute marking an admitted research request. */
+  private static final String ADMITTED_ATTRIBUTE = ResearchConcurrencyLimiter.class.getName() + ".admitted";
+
+  /** Request attribute holding the start time of a mobile request. */
+  private static final String STARTED_ATTRIBUTE = ResearchConcurrencyLimiter.class.getName() + ".started";
+
+  /** Whether the limit is enforced at all. */
+  private final boolean enabled;
+
+  /** Lowest limit the backoff may reach. */
+  private final int minLimit;
+
+  /** Highest limit the increase may reach. */
+  private final int maxLimit;
+
+  /** Factor applied to the limit when mobile latency degrades. */
+  private final double backoffRatio;
+
+  /** Mobile latency target in nanoseconds. */
+  private final long targetNanos;
+
+  /** Research requests currently admitted. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /** Current research concurrency limit. */
+  private volatile int limit;
+
+  /** Mobile requests completed in the current window. */
+  private final LongAdder mobileRequests = new LongAdder();
+
+  /** Mobile requests in the current window slower than the target. */
+  private final LongAdder slowMobileRequests = new LongAdder();
+
+  /** Whether research demand reached the limit in the current window. */
+  private final AtomicBoolean saturated = new AtomicBoolean();
+
+  /** Research requests rejected with 429. */
+  private final Counter rejected;
+
+  /** Limit decreases caused by slow mobile requests. */
+  private final Counter backoffs;
+
+  @Autowired
+  public ResearchConcurrencyLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.research-limiter.enabled:true}") boolean enabled,
+      @Value("${app.fitness.research-limiter.initial-limit:8}") int initialLimit,
+      @Value("${app.fitness.research-limiter.min-limit:1}") int minLimit,
+      @Value("${app.fitness.research-limiter.max-limit:32}") int maxLimit,
+      @Value("${app.fitness.research-limiter.backoff-ratio:0.5}") double backoffRatio,
+      @Value("${app.fitness.research-limiter.mobile-latency-target-ms:200}") long mobileLatencyTargetMs) {
+    this.enabled = enabled;
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.backoffRatio = Math.min(Math.max(backoffRatio, 0.0), 1.0);
+    this.targetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, mobileLatencyTargetMs));
+    this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+
+    this.rejected = Counter.builder("fitness.research.limiter.rejected")
+        .description("Research requests rejected by the adaptive concurrency limit")
+        .register(meterRegistry);
+    this.backoffs = Counter.builder("fitness.research.limiter.backoffs")
+        .description("Research limit decreases caused by slow mobile requests")
+        .register(meterRegistry);
+    Gauge.builder("fitness.research.limiter.limit", this, ResearchConcurrencyLimiter::limit)
+        .description("Research requests allowed in flight")
+        .register(meterRegistry);
+    Gauge.builder("fitness.research.limiter.inflight", inFlight, AtomicInteger::get)
+        .description("Research requests currently in flight")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!enabled || "OPTIONS".equalsIgnoreCase(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI();
+    if (path.startsWith(MOBILE_PREFIX)) {
+      request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+      return true;
+    }
+    if (!path.startsWith(RESEARCH_PREFIX)) {
+      return true;
+    }
+    if (tryAcquire()) {
+      request.setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+      return true;
+    }
+
+    rejected.increment();
+    response.setStatus(SC_TOO_MANY_REQUESTS);
+    response.setHeader("Retry-After", "1");
+    response.setContentType("application/json");
+    response.getWriter().write(OVERLOADED_BODY);
+    return false;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+      request.removeAttribute(ADMITTED_ATTRIBUTE);
+      inFlight.decrementAndGet();
+      return;
+    }
+    Object started = request.getAttribute(STARTED_ATTRIBUTE);
+    if (started instanceof Long startNanos) {
+      recordMobileLatency(System.nanoTime() - startNanos);
+    }
+  }
+
+  /** Adjusts the limit from the mobile latency seen since the previous window. */
+  @Scheduled(fixedDelayString = "${app.fitness.research-limiter.window-ms:1000}")
+  public void adjustLimit() {
+    long total = mobileRequests.sumThenReset();
+    long slow = slowMobileRequests.sumThenReset();
+    boolean demandAtLimit = saturated.getAndSet(false);
+    int current = limit;
+    if (total > 0 && slow > total * SLOW_FRACTION_TOLERANCE) {
+      int reduced = Math.max(minLimit, (int) (current * backoffRatio));
+      if (reduced < current) {
+        backoffs.increment();
+      }
+      limit = reduced;
+    } else if (demandAtLimit && current < maxLimit) {
+      limit = current + 1;
+    }
+  }
+
+  /**
+   * Current research concurrency limit.
+   *
+   * @return research requests allowed in flight
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * Research requests currently admitted.
+   *
+   * @return in-flight research request count
+   */
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * State of the limiter for the actuator endpoint.
+   *
+   * @return limit bounds, current limit and in-flight count
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(enabled, limit, inFlight.get(), minLimit, maxLimit,
+        TimeUnit.NANOSECONDS.toMillis(targetNanos), (long) rejected.count());
+  }
+
+  void recordMobileLatency(long nanos) {
+    mobileRequests.increment();
+    if (nanos > targetNanos) {
+      slowMobileRequests.increment();
+    }
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        saturated.set(true);
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        if (current + 1 >= limit) {
+          saturated.set(true);
+        }
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Limiter state exposed through {@code /actuator/researchlimiter}.
+   *
+   * @param enabled whether the limit is enforced
+   * @param limit research requests currently allowed in flight
+   * @param inFlight research requests currently admitted
+   * @param minLimit lowest limit the backoff may reach
+   * @param maxLimit highest limit the increase may reach
+   * @param mobileLatencyTargetMs mobile latency target driving the backoff
+   * @param rejected research requests rejected since startup
+   */
+  public record Snapshot(
+      boolean enabled,
+      int limit,
+      int inFlight,
+      int minLimit,
+      int maxLimit,
+      long mobileLatencyTargetMs,
+      long rejected) { }
+}
@@ -0,0 +1,31 @@
+package com.teamx.fitness.security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/researchlimiter} showing the state of
+ * {@link ResearchConcurrencyLimiter}.
+ */
+@Component
+@Endpoint(id = "researchlimiter")
+public class ResearchLimiterEndpoint {
+
+  /** Limiter whose state is reported. */
+  private final ResearchConcurrencyLimiter limiter;
+
+  public ResearchLimiterEndpoint(ResearchConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  /**
+   * Current limiter state.
+   *
+   * @return limit, in-flight count and configuration
+   */
+  @ReadOperation
+  public ResearchConcurrencyLimiter.Snapshot state() {
+    return limiter.snapshot();
+  }
+}
@@ -0,0 +1,109 @@
+package com.teamx.fitness.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Column-at-a-time BMI, BMR and daily calorie (TDEE) calculations for research and batch paths.
+ *
+ * <p>Where {@link PersonService} takes one boxed value at a time and throws on invalid input,
+ * this calculator takes primitive arrays (missing weights or heights as {@code NaN}) and
+ * returns a {@link BatchResult} whose validity bitmap marks the rows that could be computed.
+ * Values match {@link PersonService} for every valid row.</p>
+ *
+ * <p>Uses the JDK Vector API when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, otherwise a scalar loop; both produce identical
+ * results.</p>
+ */
+@Service
+public class BatchHealthCalculator {
+
+  /** Logger for the kernel choice. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchHealthCalculator.class);
+
+  /** Module providing the Vector API. */
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  /** Kernel used by the application. */
+  private final HealthKernel kernel;
+
+  public BatchHealthCalculator() {
+    this(vectorAvailable());
+  }
+
+  /**
+   * Creates a calculator with a fixed kernel.
+   *
+   * @param vectorized whether to use the Vector API kernel; must only be true when
+   *     {@link #vectorAvailable()} is
+   */
+  BatchHealthCalculator(boolean vectorized) {
+    this.kernel = vectorized ? new VectorHealthKernel() : new ScalarHealthKernel();
+    LOGGER.debug("Batch health calculator uses the {} kernel", vectorized ? "vector" : "scalar");
+  }
+
+  /**
+   * Whether the Vector API module is available in this JVM.
+   *
+   * @return true when {@code jdk.incubator.vector} is in the boot layer
+   */
+  public static boolean vectorAvailable() {
+    return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+  }
+
+  /**
+   * BMI for every row.
+   *
+   * @param weightKg weights in kilograms, {@code NaN} when missing
+   * @param heightCm heights in centimeters, {@code NaN} when missing
+   * @return BMI per row; rows with missing, non-positive or implausible values are invalid
+   */
+  public BatchResult bmi(double[] weightKg, double[] heightCm) {
+    int length = sameLength(weightKg.length, heightCm.length);
+    BatchResult result = newResult(length);
+    kernel.bmi(weightKg, heightCm, result.values(), result.valid(), length);
+    return result;
+  }
+
+  /**
+   * Harris-Benedict BMR for every row.
+   *
+   * @param weightKg weights in kilograms, {@code NaN} when missing
+   * @param heightCm heights in centimeters, {@code NaN} when missing
+   * @param ageYears ages in years, negative when missing
+   * @param male true for rows using the male equation
+   * @return BMR per row; rows invalid for BMI or with a negative age are invalid
+   */
+  public BatchResult bmr(double[] weightKg, double[] heightCm, int[] ageYears, boolean[] male) {
+    int length = sameLength(sameLength(weightKg.length, heightCm.length), sameLength(ageYears.length, male.length));
+    BatchResult result = newResult(length);
+    kernel.bmr(new BodyColumns(weightKg, heightCm, ageYears, male), result.values(), result.valid(), length);
+    return result;
+  }
+
+  /**
+   * Daily calorie needs (BMR times the activity factor) for every row.
+   *
+   * @param bmr BMR column from {@link #bmr}
+   * @param weeklyTrainingFreq training sessions per week, negative when missing
+   * @return calorie needs per row; rows with an invalid BMR or a negative frequency are invalid
+   */
+  public BatchResult dailyCalories(BatchResult bmr, int[] weeklyTrainingFreq) {
+    int length = sameLength(bmr.length(), weeklyTrainingFreq.length);
+    BatchResult result = newResult(length);
+    kernel.dailyCalories(bmr.values(), bmr.valid(), weeklyTrainingFreq, result.values(), result.valid(), length);
+    return result;
+  }
+
+  private static BatchResult newResult(int length) {
+    return new BatchResult(new double[length], new long[BatchResult.words(length)], length);
+  }
+
+  private static int sameLength(int first, int second) {
+    if (first != second) {
+      throw new IllegalArgumentException("Input columns differ in length: " + first + " and " + second);
+    }
+    return first;
+  }
+}
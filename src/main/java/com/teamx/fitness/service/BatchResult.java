@@ -0,0 +1,45 @@
+package com.teamx.fitness.service;
+
+/**
+ * One computed column of {@link BatchHealthCalculator}.
+ *
+ * @param values computed value per row; {@code NaN} where the row is invalid
+ * @param valid validity bitmap: bit {@code i % 64} of word {@code i / 64} is set when row
+ *     {@code i} had valid inputs
+ * @param length number of rows
+ */
+public record BatchResult(double[] values, long[] valid, int length) {
+
+  /**
+   * Bitmap words needed for a number of rows.
+   *
+   * @param length number of rows
+   * @return bitmap length in longs
+   */
+  static int words(int length) {
+    return (length + Long.SIZE - 1) >>> 6;
+  }
+
+  /**
+   * Whether a row had valid inputs.
+   *
+   * @param row row index
+   * @return true when {@code values[row]} holds a computed value
+   */
+  public boolean isValid(int row) {
+    return (valid[row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * Number of rows with valid inputs.
+   *
+   * @return count of set bits in the bitmap
+   */
+  public int validCount() {
+    int count = 0;
+    for (long word : valid) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+}
@@ -0,0 +1,12 @@
+package com.teamx.fitness.service;
+
+/**
+ * Input columns of the BMR kernels, one entry per row.
+ *
+ * @param weight weights in kilograms, {@code NaN} when missing
+ * @param height heights in centimeters, {@code NaN} when missing
+ * @param age ages in years, negative when missing
+ * @param male true for rows using the male equation
+ */
+record BodyColumns(double[] weight, double[] height, int[] age, boolean[] male) {
+}
@@ -0,0 +1,130 @@
+package com.teamx.fitness.service;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.PersonSimple;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memoized {@link HealthInsightResult}s, so repeated insight requests for an unchanged profile
+ * and cohort skip the cohort load and scoring.
+ *
+ * <p>Holds at most two results per profile: one scored against the cohort and one without it.
+ * Each is valid only for the profile version and the {@link CohortStamp} it was computed for,
+ * so any profile update or cohort change makes the next lookup a miss that replaces it. Profile
+ * ids are never reused, so results of deleted profiles are never returned again and age out.
+ * The least recently used entries are dropped beyond
+ * {@code app.fitness.insight-cache.max-entries}.</p>
+ *
+ * <p>Publishes {@code fitness.insight.cache.requests{result=hit|miss}} and
+ * {@code fitness.insight.cache.size}.</p>
+ */
+@Component
+public class HealthInsightCache {
+
+  /** Entries in access order, evicting the eldest beyond the bound. */
+  private final Map<Key, Entry> entries;
+
+  /** Lookups answered from the cache. */
+  private final Counter hits;
+
+  /** Lookups that required a computation. */
+  private final Counter misses;
+
+  public HealthInsightCache(
+      MeterRegistry meterRegistry,
+      @Value("${app.fitness.insight-cache.max-entries:10000}") int maxEntries) {
+    int bound = Math.max(1, maxEntries);
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > bound;
+      }
+    });
+    this.hits = Counter.builder("fitness.insight.cache.requests")
+        .description("Health insight lookups")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("fitness.insight.cache.requests")
+        .description("Health insight lookups")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("fitness.insight.cache.size", entries, Map::size)
+        .description("Health insights currently cached")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the result computed for the profile's current version and the given cohort. Counts
+   * a hit or a miss; profiles that have not been persisted are never cached and not counted.
+   *
+   * @param person the stored profile
+   * @param cohort fingerprint of the cohort the result must be scored against, or {@code null}
+   *     for a result without cohort percentile
+   * @return the cached result, or {@code null} on a miss
+   */
+  public HealthInsightResult lookup(PersonSimple person, CohortStamp cohort) {
+    if (!cacheable(person)) {
+      return null;
+    }
+    Entry entry = entries.get(new Key(person.getId(), cohort != null));
+    if (entry != null && entry.version() == person.getVersion() && Objects.equals(entry.cohort(), cohort)) {
+      hits.increment();
+      return entry.result();
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Caches a freshly computed result, replacing the older one of the profile.
+   *
+   * @param person the stored profile the result was computed for
+   * @param cohort fingerprint of the cohort it was scored against, or {@code null} without one
+   * @param result the result
+   */
+  public void store(PersonSimple person, CohortStamp cohort, HealthInsightResult result) {
+    if (cacheable(person)) {
+      entries.put(new Key(person.getId(), cohort != null), new Entry(person.getVersion(), cohort, result));
+    }
+  }
+
+  /**
+   * Number of cached results.
+   *
+   * @return cached entry count
+   */
+  int size() {
+    return entries.size();
+  }
+
+  private static boolean cacheable(PersonSimple person) {
+    return person.getId() != null && person.getVersion() != null;
+  }
+
+  /**
+   * Cache key.
+   *
+   * @param personId profile id
+   * @param withCohort whether the result carries a cohort percentile
+   */
+  private record Key(long personId, boolean withCohort) {
+  }
+
+  /**
+   * Cached result with the inputs it is valid for.
+   *
+   * @param version profile version it was computed from
+   * @param cohort cohort fingerprint it was scored against, or {@code null}
+   * @param result the result
+   */
+  private record Entry(long version, CohortStamp cohort, HealthInsightResult result) {
+  }
+}
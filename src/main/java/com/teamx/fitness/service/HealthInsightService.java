@@ -1,12 +1,14 @@
 package com.teamx.fitness.service;
 
 import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PersonMetrics;
 import com.teamx.fitness.model.PersonSimple;
 import com.teamx.fitness.model.PlanStrategy;
 import com.teamx.fitness.repository.PersonRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -17,12 +19,8 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class HealthInsightService {
 
-  /** BMI threshold below which a user is deemed underweight. */
-  private static final double BMI_UNDERWEIGHT = 18.5;
-  /** BMI threshold marking the start of the normal weight range. */
-  private static final double BMI_NORMAL = 25.0;
-  /** BMI threshold separating overweight from obese categories. */
-  private static final double BMI_OVERWEIGHT = 30.0;
+  /** BMI category names by {@link HealthScoreTables#bmiCategory(double)} index. */
+  private static final String[] BMI_CATEGORY_LABELS = {"Underweight", "Normal weight", "Overweight", "Obese"};
   /** Maximum score returned to clients. */
   private static final double MAX_OVERALL_SCORE = 100.0;
   /** Weight given to the health index contribution. */
@@ -45,46 +43,6 @@ public class HealthInsightService {
   private static final double WEEKLY_PENALTY_FACTOR = 30.0;
   /** Penalty factor per additional percent of bodyweight shift. */
   private static final double RELATIVE_PENALTY_FACTOR = 120.0;
-  /** Bonus when training frequency is excellent for the active goal. */
-  private static final double TRAINING_BONUS_HIGH = 8.0;
-  /** Bonus when training frequency is solid for the active goal. */
-  private static final double TRAINING_BONUS_MEDIUM = 4.0;
-  /** Neutral bonus for acceptable training frequency. */
-  private static final double TRAINING_BONUS_LIGHT = 2.0;
-  /** Penalty when training commitment is very low. */
-  private static final double TRAINING_PENALTY_LOW = -6.0;
-  /** Penalty when training info is not provided. */
-  private static final double TRAINING_PENALTY_MISSING = -4.0;
-  /** Bonus when plan strategy perfectly complements the goal. */
-  private static final double STRATEGY_BONUS_MATCH = 6.0;
-  /** Bonus when plan strategy moderately supports the goal. */
-  private static final double STRATEGY_BONUS_SUPPORT = 3.0;
-  /** Penalty when plan strategy contradicts the goal. */
-  private static final double STRATEGY_PENALTY_MISMATCH = -4.0;
-  /** Penalty when no plan strategy is specified. */
-  private static final double STRATEGY_PENALTY_MISSING = -5.0;
-
-  /** Baseline score used when BMI is categorised as underweight. */
-  private static final double BMI_SCORE_UNDERWEIGHT_VALUE = 45.0;
-  /** Baseline score used when BMI falls in the normal range. */
-  private static final double BMI_SCORE_NORMAL_VALUE = 70.0;
-  /** Baseline score used when BMI indicates overweight. */
-  private static final double BMI_SCORE_OVERWEIGHT_VALUE = 55.0;
-  /** Baseline score used when BMI indicates obesity. */
-  private static final double BMI_SCORE_OBESE_VALUE = 35.0;
-
-  /** Maximum number of bonus points granted for training frequency. */
-  private static final double TRAINING_SCORE_MAX = 20.0;
-  /** Points awarded per weekly training session. */
-  private static final double TRAINING_SCORE_STEP = 4.0;
-  /** Bonus when no plan strategy is specified. */
-  private static final double STRATEGY_SCORE_NONE = 5.0;
-  /** Bonus when both diet and workout strategies are combined. */
-  private static final double STRATEGY_SCORE_BOTH = 10.0;
-  /** Bonus when the plan strategy matches the active goal. */
-  private static final double STRATEGY_SCORE_MATCH = 8.0;
-  /** Bonus when the plan strategy mismatches the goal. */
-  private static final double STRATEGY_SCORE_MISMATCH = 5.0;
 
   /** Weekly change threshold warning for aggressive cutting plans. */
   private static final double CUT_RATE_WARNING = 0.9;
@@ -103,37 +61,75 @@ public class HealthInsightService {
   private final PersonRepository personRepository;
   /** Minimum cohort size required before percentiles are emitted. */
   private final int minCohortSize;
+  /** Results memoized per profile version and cohort; {@code null} recomputes every time. */
+  private final HealthInsightCache insightCache;
 
   public HealthInsightService(
       PersonService personService,
       PersonRepository personRepository,
-      @Value("${app.fitness.research.min-cohort-size:10}") int minCohortSize) {
+      int minCohortSize) {
+    this(personService, personRepository, minCohortSize, null);
+  }
+
+  @Autowired
+  public HealthInsightService(
+      PersonService personService,
+      PersonRepository personRepository,
+      @Value("${app.fitness.research.min-cohort-size:10}") int minCohortSize,
+      HealthInsightCache insightCache) {
     this.personService = personService;
     this.personRepository = personRepository;
     this.minCohortSize = minCohortSize;
+    this.insightCache = insightCache;
   }
 
   /**
-   * Builds derived metrics for the supplied person.
+   * Returns the memoized metrics for the request's profile version and cohort fingerprint, so
+   * callers only build (and load the cohort) on a miss.
    *
-   * @param person persisted profile
+   * @param request profile, BMI and cohort fingerprint
+   * @return the memoized metrics, or {@code null} when they must be built
+   */
+  public HealthInsightResult cachedInsights(InsightRequest request) {
+    return insightCache != null ? insightCache.lookup(request.person(), request.cohortStamp()) : null;
+  }
+
+  /**
+   * Builds derived metrics and memoizes them under the request's profile version and cohort
+   * fingerprint. A request against the cohort uses the cohort attached by the caller, or loads
+   * it when none is attached. The fingerprint is read before the cohort is loaded, so should
+   * the cohort change in between, the next request sees a newer fingerprint and rebuilds.
+   *
+   * @param request profile, BMI and cohort fingerprint
    * @return computed insight metrics
    */
-  public HealthInsightResult buildInsights(PersonSimple person) {
-    Double bmi = personService.calculateBMI(person.getWeight(), person.getHeight());
+  public HealthInsightResult buildInsights(InsightRequest request) {
+    List<PersonMetrics> cohort = request.cohort();
+    if (request.ranksAgainstCohort() && cohort == null) {
+      cohort = personRepository.findAllMetrics();
+    }
+    HealthInsightResult result = computeInsights(request.person(), cohort, request.bmi());
+    if (insightCache != null) {
+      insightCache.store(request.person(), request.cohortStamp(), result);
+    }
+    return result;
+  }
+
+  private HealthInsightResult computeInsights(PersonSimple person, List<PersonMetrics> cohort, double bmi) {
+    PersonMetrics profile = PersonMetrics.from(person);
     String bmiCategory = categorizeBmi(bmi);
 
-    double healthIndex = calculateHealthIndex(person, bmi);
-    boolean hasPlanInputs = hasPlanInputs(person);
-    Double planAlignmentIndex = hasPlanInputs ? calculatePlanAlignmentIndex(person) : null;
-    double overallScore = planAlignmentIndex != null
-        ? roundToOne(clamp(healthIndex * HEALTH_WEIGHT + planAlignmentIndex * PLAN_WEIGHT, 0, MAX_OVERALL_SCORE))
-        : healthIndex;
+    double healthIndex = calculateHealthIndex(profile, bmi);
+    boolean hasPlanInputs = hasPlanInputs(profile);
+    Double planAlignmentIndex = hasPlanInputs ? calculatePlanAlignmentIndex(profile) : null;
+    double overallScore = planAlignmentIndex != null ? overallScore(healthIndex, planAlignmentIndex) : healthIndex;
 
-    CohortSnapshot cohortSnapshot = buildCohortSnapshot(overallScore);
+    CohortSnapshot cohortSnapshot = cohort != null
+        ? buildCohortSnapshot(cohort, overallScore)
+        : new CohortSnapshot(null, null);
 
     String recommendation =
-        buildRecommendation(person, bmi, bmiCategory, planAlignmentIndex, overallScore);
+        buildRecommendation(profile, bmi, bmiCategory, planAlignmentIndex, overallScore);
 
     return new HealthInsightResult(
         roundToOne(bmi),
@@ -146,9 +142,49 @@ public class HealthInsightService {
         recommendation);
   }
 
-  private CohortSnapshot buildCohortSnapshot(double personScore) {
+  /**
+   * Plan alignment index of a hypothetical plan, scored exactly like
+   * {@link HealthInsightResult#planAlignmentIndex()} for a profile with that plan, without
+   * building a profile. Used by plan simulations that score many plans per request.
+   *
+   * @param goal the profile's goal
+   * @param currentWeight current weight in kilograms
+   * @param targetChangeKg planned target weight in kilograms
+   * @param durationWeeks plan duration, greater than 0
+   * @param trainingFrequencyPerWeek weekly training sessions
+   * @param strategy plan strategy
+   * @return plan alignment index between 0 and 100
+   */
+  public double planAlignmentIndex(
+      FitnessGoal goal,
+      double currentWeight,
+      double targetChangeKg,
+      int durationWeeks,
+      int trainingFrequencyPerWeek,
+      PlanStrategy strategy) {
+    double delta = resolvePlanDelta(goal, currentWeight, targetChangeKg);
+    return planAlignment(goal, currentWeight, delta, durationWeeks, trainingFrequencyPerWeek, strategy);
+  }
+
+  /**
+   * Overall score of a hypothetical plan, matching {@link HealthInsightResult#overallScore()} for
+   * a profile with that plan.
+   *
+   * @param bmi the profile's unrounded BMI
+   * @param goal the profile's goal
+   * @param trainingFrequencyPerWeek weekly training sessions
+   * @param strategy plan strategy
+   * @param planAlignmentIndex result of {@link #planAlignmentIndex} for the same plan
+   * @return overall score between 0 and 100
+   */
+  public double overallScore(
+      double bmi, FitnessGoal goal, int trainingFrequencyPerWeek, PlanStrategy strategy, double planAlignmentIndex) {
+    return overallScore(healthIndex(bmi, goal, trainingFrequencyPerWeek, strategy), planAlignmentIndex);
+  }
+
+  private CohortSnapshot buildCohortSnapshot(List<PersonMetrics> cohort, double personScore) {
     List<Double> cohortScores = new ArrayList<>();
-    for (PersonSimple peer : personRepository.findAll()) {
+    for (PersonMetrics peer : cohort) {
       Double bmi = safeBmi(peer);
       if (bmi == null) {
         continue;
@@ -173,55 +209,48 @@ public class HealthInsightService {
     return new CohortSnapshot(percentile, null);
   }
 
-  private Double safeBmi(PersonSimple person) {
+  private Double safeBmi(PersonMetrics person) {
     try {
-      return personService.calculateBMI(person.getWeight(), person.getHeight());
+      return personService.calculateBMI(person.weight(), person.height());
     } catch (ResponseStatusException ex) {
       return null;
     }
   }
 
-  private double calculateHealthIndex(PersonSimple person, double bmi) {
-    double bmiScore;
-    if (bmi < BMI_UNDERWEIGHT) {
-      bmiScore = BMI_SCORE_UNDERWEIGHT_VALUE;
-    } else if (bmi < BMI_NORMAL) {
-      bmiScore = BMI_SCORE_NORMAL_VALUE;
-    } else if (bmi < BMI_OVERWEIGHT) {
-      bmiScore = BMI_SCORE_OVERWEIGHT_VALUE;
-    } else {
-      bmiScore = BMI_SCORE_OBESE_VALUE;
-    }
-
-    int frequency = person.getTrainingFrequencyPerWeek() != null
-        ? Math.max(person.getTrainingFrequencyPerWeek(), 0)
-        : 0;
-    double trainingScore = Math.min(TRAINING_SCORE_MAX, frequency * TRAINING_SCORE_STEP);
-
-    double strategyScore;
-    PlanStrategy strategy = person.getPlanStrategy();
-    if (strategy == null) {
-      strategyScore = STRATEGY_SCORE_NONE;
-    } else {
-      strategyScore = switch (strategy) {
-        case BOTH -> STRATEGY_SCORE_BOTH;
-        case WORKOUT -> person.getGoal() == FitnessGoal.BULK ? STRATEGY_SCORE_MATCH : STRATEGY_SCORE_MISMATCH;
-        case DIET -> person.getGoal() == FitnessGoal.CUT ? STRATEGY_SCORE_MATCH : STRATEGY_SCORE_MISMATCH;
-      };
-    }
+  private double calculateHealthIndex(PersonMetrics person, double bmi) {
+    return healthIndex(bmi, person.goal(), person.trainingFrequencyPerWeek(), person.planStrategy());
+  }
 
+  private double healthIndex(double bmi, FitnessGoal goal, Integer trainingFrequency, PlanStrategy strategy) {
+    double bmiScore = HealthScoreTables.bmiScore(bmi);
+    double trainingScore = HealthScoreTables.trainingScore(trainingFrequency);
+    double strategyScore = HealthScoreTables.strategyScore(goal, strategy);
     return roundToOne(clamp(bmiScore + trainingScore + strategyScore, 0, MAX_OVERALL_SCORE));
   }
 
-  private double calculatePlanAlignmentIndex(PersonSimple person) {
+  private double overallScore(double healthIndex, double planAlignmentIndex) {
+    return roundToOne(clamp(healthIndex * HEALTH_WEIGHT + planAlignmentIndex * PLAN_WEIGHT, 0, MAX_OVERALL_SCORE));
+  }
+
+  private double calculatePlanAlignmentIndex(PersonMetrics person) {
     Double delta = resolvePlanDelta(person);
-    Double currentWeight = person.getWeight();
-    Integer duration = person.getTargetDurationWeeks();
-    FitnessGoal goal = person.getGoal();
+    Double currentWeight = person.weight();
+    Integer duration = person.targetDurationWeeks();
+    FitnessGoal goal = person.goal();
     if (delta == null || currentWeight == null || duration == null || duration <= 0 || goal == null) {
       return 0.0;
     }
+    return planAlignment(
+        goal, currentWeight, delta, duration, person.trainingFrequencyPerWeek(), person.planStrategy());
+  }
 
+  private double planAlignment(
+      FitnessGoal goal,
+      double currentWeight,
+      double delta,
+      int duration,
+      Integer trainingFrequency,
+      PlanStrategy strategy) {
     if (goal == FitnessGoal.CUT && delta >= 0) {
       return 0.0;
     }
@@ -236,29 +265,29 @@ public class HealthInsightService {
     double weeklyPenalty = Math.max(0, weeklyChange - weeklyTolerance) * WEEKLY_PENALTY_FACTOR;
     double relativePenalty = Math.max(0, relativeChange - RELATIVE_CHANGE_FREE_THRESHOLD) * RELATIVE_PENALTY_FACTOR;
     double score = 100.0 - weeklyPenalty - relativePenalty;
-    score += trainingFrequencyAdjustment(person);
-    score += strategyAdjustment(person);
+    score += HealthScoreTables.frequencyAdjustment(goal, trainingFrequency);
+    score += HealthScoreTables.strategyAdjustment(goal, strategy);
     return roundToOne(clamp(score, 0, MAX_OVERALL_SCORE));
   }
 
   private String buildRecommendation(
-      PersonSimple person,
+      PersonMetrics person,
       double bmi,
       String bmiCategory,
       Double planAlignmentIndex,
       double overallScore) {
 
-    FitnessGoal goal = person.getGoal();
+    FitnessGoal goal = person.goal();
     double weeklyChange = calculateWeeklyChange(person);
-    int training = person.getTrainingFrequencyPerWeek() != null
-        ? Math.max(person.getTrainingFrequencyPerWeek(), 0)
+    int training = person.trainingFrequencyPerWeek() != null
+        ? Math.max(person.trainingFrequencyPerWeek(), 0)
         : 0;
     String formattedBmi = String.format(Locale.US, "%.1f", bmi);
 
     // Check for plan alignment = 0 first (unrealistic plan)
     if (planAlignmentIndex != null && planAlignmentIndex == 0.0) {
       Double delta = resolvePlanDelta(person);
-      Integer duration = person.getTargetDurationWeeks();
+      Integer duration = person.targetDurationWeeks();
       
       // Check for specific issues that cause plan alignment to be 0
       if (delta == null || duration == null || duration <= 0) {
@@ -321,78 +350,15 @@ public class HealthInsightService {
     return "Stay consistent with the plan and review progress every few weeks.";
   }
 
-  private double calculateWeeklyChange(PersonSimple person) {
+  private double calculateWeeklyChange(PersonMetrics person) {
     Double delta = resolvePlanDelta(person);
-    Integer duration = person.getTargetDurationWeeks();
+    Integer duration = person.targetDurationWeeks();
     if (delta == null || duration == null || duration <= 0) {
       return Double.NaN;
     }
     return Math.abs(delta) / duration;
   }
 
-  private double trainingFrequencyAdjustment(PersonSimple person) {
-    Integer rawFrequency = person.getTrainingFrequencyPerWeek();
-    FitnessGoal goal = person.getGoal();
-    if (goal == null) {
-      return 0.0;
-    }
-    if (rawFrequency == null) {
-      return TRAINING_PENALTY_MISSING;
-    }
-    int frequency = Math.max(rawFrequency, 0);
-    if (goal == FitnessGoal.BULK) {
-      if (frequency >= 5) {
-        return TRAINING_BONUS_HIGH;
-      }
-      if (frequency >= 3) {
-        return TRAINING_BONUS_MEDIUM;
-      }
-      if (frequency >= 2) {
-        return TRAINING_BONUS_LIGHT;
-      }
-      return TRAINING_PENALTY_LOW;
-    }
-    if (goal == FitnessGoal.CUT) {
-      if (frequency >= 4) {
-        return TRAINING_BONUS_HIGH;
-      }
-      if (frequency >= 2) {
-        return TRAINING_BONUS_MEDIUM;
-      }
-      if (frequency >= 1) {
-        return TRAINING_BONUS_LIGHT;
-      }
-      return TRAINING_PENALTY_LOW;
-    }
-    return 0.0;
-  }
-
-  private double strategyAdjustment(PersonSimple person) {
-    PlanStrategy strategy = person.getPlanStrategy();
-    FitnessGoal goal = person.getGoal();
-    if (goal == null) {
-      return 0.0;
-    }
-    if (strategy == null) {
-      return STRATEGY_PENALTY_MISSING;
-    }
-    if (goal == FitnessGoal.BULK) {
-      return switch (strategy) {
-        case BOTH -> STRATEGY_BONUS_MATCH;
-        case WORKOUT -> STRATEGY_BONUS_SUPPORT;
-        case DIET -> STRATEGY_PENALTY_MISMATCH;
-      };
-    }
-    if (goal == FitnessGoal.CUT) {
-      return switch (strategy) {
-        case BOTH -> STRATEGY_BONUS_MATCH;
-        case DIET -> STRATEGY_BONUS_SUPPORT;
-        case WORKOUT -> STRATEGY_PENALTY_MISMATCH;
-      };
-    }
-    return 0.0;
-  }
-
   private double roundToOne(double value) {
     return Math.round(value * ROUNDING_FACTOR) / ROUNDING_FACTOR;
   }
@@ -405,37 +371,31 @@ public class HealthInsightService {
     if (bmi == null || Double.isNaN(bmi)) {
       return "Unknown";
     }
-    if (bmi < BMI_UNDERWEIGHT) {
-      return "Underweight";
-    }
-    if (bmi < BMI_NORMAL) {
-      return "Normal weight";
-    }
-    if (bmi < BMI_OVERWEIGHT) {
-      return "Overweight";
-    }
-    return "Obese";
+    return BMI_CATEGORY_LABELS[HealthScoreTables.bmiCategory(bmi)];
   }
 
   private String formatRate(double weeklyChange) {
     return String.format(Locale.US, "%.2f", weeklyChange);
   }
 
-  private boolean hasPlanInputs(PersonSimple person) {
+  private boolean hasPlanInputs(PersonMetrics person) {
     return resolvePlanDelta(person) != null
-        && person.getGoal() != null
-        && person.getTargetDurationWeeks() != null
-        && person.getTargetDurationWeeks() > 0;
+        && person.goal() != null
+        && person.targetDurationWeeks() != null
+        && person.targetDurationWeeks() > 0;
   }
 
-  private Double resolvePlanDelta(PersonSimple person) {
-    Double current = person.getWeight();
-    Double rawInput = person.getTargetChangeKg();
-    FitnessGoal goal = person.getGoal();
+  private Double resolvePlanDelta(PersonMetrics person) {
+    Double current = person.weight();
+    Double rawInput = person.targetChangeKg();
+    FitnessGoal goal = person.goal();
     if (current == null || rawInput == null || goal == null) {
       return null;
     }
+    return resolvePlanDelta(goal, current, rawInput);
+  }
 
+  private double resolvePlanDelta(FitnessGoal goal, double current, double rawInput) {
     if (Math.abs(rawInput - current) <= TARGET_WEIGHT_PROXIMITY_KG) {
       return rawInput - current;
     }
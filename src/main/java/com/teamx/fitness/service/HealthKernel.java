@@ -0,0 +1,47 @@
+package com.teamx.fitness.service;
+
+/**
+ * Column kernels behind {@link BatchHealthCalculator}. Implementations must produce bit-identical
+ * values and bitmaps; they differ only in how the loop is executed.
+ *
+ * <p>Output arrays are sized by the caller, and bitmaps start cleared. Invalid rows get
+ * {@code NaN}.</p>
+ */
+interface HealthKernel {
+
+  /**
+   * BMI per row; valid when weight and height are positive and plausible.
+   *
+   * @param weight weights in kilograms
+   * @param height heights in centimeters
+   * @param out BMI per row
+   * @param valid validity bitmap to fill
+   * @param length number of rows
+   */
+  void bmi(double[] weight, double[] height, double[] out, long[] valid, int length);
+
+  /**
+   * Harris-Benedict BMR per row; valid when weight and height are as for BMI and age is not
+   * negative.
+   *
+   * @param body weight, height, age and sex columns
+   * @param out BMR per row
+   * @param valid validity bitmap to fill
+   * @param length number of rows
+   */
+  void bmr(BodyColumns body, double[] out, long[] valid, int length);
+
+  /**
+   * Daily calorie needs (TDEE) per row; valid when the BMR row is valid and the training
+   * frequency is not negative.
+   *
+   * @param bmr BMR per row
+   * @param bmrValid validity bitmap of {@code bmr}
+   * @param weeklyTrainingFreq training sessions per week
+   * @param out calorie needs per row
+   * @param valid validity bitmap to fill
+   * @param length number of rows
+   */
+  void dailyCalories(
+      double[] bmr, long[] bmrValid, int[] weeklyTrainingFreq, double[] out, long[] valid, int length);
+}
@@ -0,0 +1,232 @@
+package com.teamx.fitness.service;
+
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PlanStrategy;
+
+/**
+ * Health index and plan alignment contributions of {@link HealthInsightService}, precomputed
+ * into small lookup tables when the class is initialised.
+ *
+ * <p>Every input of these contributions comes from a small discrete domain: the BMI category,
+ * the weekly training frequency (capped at {@link #FREQUENCY_CAP}, above which no score
+ * changes), the {@link PlanStrategy} and the {@link FitnessGoal}. Tables are indexed by enum
+ * ordinal plus one, with slot {@code 0} holding the value for a missing input, so scoring a
+ * profile in a cohort loop is a few array loads instead of branch chains.</p>
+ */
+final class HealthScoreTables {
+
+  /** BMI threshold below which a user is deemed underweight. */
+  static final double BMI_UNDERWEIGHT = 18.5;
+  /** BMI threshold marking the start of the normal weight range. */
+  static final double BMI_NORMAL = 25.0;
+  /** BMI threshold separating overweight from obese categories. */
+  static final double BMI_OVERWEIGHT = 30.0;
+
+  /** BMI category index of underweight profiles. */
+  static final int UNDERWEIGHT = 0;
+  /** BMI category index of profiles in the normal range. */
+  static final int NORMAL = 1;
+  /** BMI category index of overweight profiles. */
+  static final int OVERWEIGHT = 2;
+  /** BMI category index of obese profiles. */
+  static final int OBESE = 3;
+
+  /** Baseline score used when BMI is categorised as underweight. */
+  static final double BMI_SCORE_UNDERWEIGHT_VALUE = 45.0;
+  /** Baseline score used when BMI falls in the normal range. */
+  static final double BMI_SCORE_NORMAL_VALUE = 70.0;
+  /** Baseline score used when BMI indicates overweight. */
+  static final double BMI_SCORE_OVERWEIGHT_VALUE = 55.0;
+  /** Baseline score used when BMI indicates obesity. */
+  static final double BMI_SCORE_OBESE_VALUE = 35.0;
+
+  /** Maximum number of bonus points granted for training frequency. */
+  static final double TRAINING_SCORE_MAX = 20.0;
+  /** Points awarded per weekly training session. */
+  static final double TRAINING_SCORE_STEP = 4.0;
+  /** Bonus when no plan strategy is specified. */
+  static final double STRATEGY_SCORE_NONE = 5.0;
+  /** Bonus when both diet and workout strategies are combined. */
+  static final double STRATEGY_SCORE_BOTH = 10.0;
+  /** Bonus when the plan strategy matches the active goal. */
+  static final double STRATEGY_SCORE_MATCH = 8.0;
+  /** Bonus when the plan strategy mismatches the goal. */
+  static final double STRATEGY_SCORE_MISMATCH = 5.0;
+
+  /** Bonus when training frequency is excellent for the active goal. */
+  static final double TRAINING_BONUS_HIGH = 8.0;
+  /** Bonus when training frequency is solid for the active goal. */
+  static final double TRAINING_BONUS_MEDIUM = 4.0;
+  /** Neutral bonus for acceptable training frequency. */
+  static final double TRAINING_BONUS_LIGHT = 2.0;
+  /** Penalty when training commitment is very low. */
+  static final double TRAINING_PENALTY_LOW = -6.0;
+  /** Penalty when training info is not provided. */
+  static final double TRAINING_PENALTY_MISSING = -4.0;
+  /** Bonus when plan strategy perfectly complements the goal. */
+  static final double STRATEGY_BONUS_MATCH = 6.0;
+  /** Bonus when plan strategy moderately supports the goal. */
+  static final double STRATEGY_BONUS_SUPPORT = 3.0;
+  /** Penalty when plan strategy contradicts the goal. */
+  static final double STRATEGY_PENALTY_MISMATCH = -4.0;
+  /** Penalty when no plan strategy is specified. */
+  static final double STRATEGY_PENALTY_MISSING = -5.0;
+
+  /** Weekly sessions earning the high, medium and light training bonus while bulking. */
+  private static final int[] BULK_SESSIONS = {5, 3, 2};
+  /** Weekly sessions earning the high, medium and light training bonus while cutting. */
+  private static final int[] CUT_SESSIONS = {4, 2, 1};
+
+  /** Training frequency from which no contribution changes any more. */
+  static final int FREQUENCY_CAP = Math.max(
+      (int) Math.ceil(TRAINING_SCORE_MAX / TRAINING_SCORE_STEP),
+      Math.max(BULK_SESSIONS[0], CUT_SESSIONS[0]));
+
+  /** Goal slots: missing goal, then one per {@link FitnessGoal} ordinal. */
+  private static final int GOAL_SLOTS = FitnessGoal.values().length + 1;
+  /** Strategy slots: missing strategy, then one per {@link PlanStrategy} ordinal. */
+  private static final int STRATEGY_SLOTS = PlanStrategy.values().length + 1;
+  /** Frequency slots: missing frequency, then {@code 0} to {@link #FREQUENCY_CAP}. */
+  private static final int FREQUENCY_SLOTS = FREQUENCY_CAP + 2;
+
+  /** Health index BMI score by BMI category. */
+  private static final double[] BMI_SCORES = {
+      BMI_SCORE_UNDERWEIGHT_VALUE, BMI_SCORE_NORMAL_VALUE, BMI_SCORE_OVERWEIGHT_VALUE, BMI_SCORE_OBESE_VALUE};
+  /** Health index training score by capped frequency. */
+  private static final double[] TRAINING_SCORES = new double[FREQUENCY_CAP + 1];
+  /** Health index strategy score by goal slot and strategy slot. */
+  private static final double[] STRATEGY_SCORES = new double[GOAL_SLOTS * STRATEGY_SLOTS];
+  /** Plan alignment training adjustment by goal slot and frequency slot. */
+  private static final double[] FREQUENCY_ADJUSTMENTS = new double[GOAL_SLOTS * FREQUENCY_SLOTS];
+  /** Plan alignment strategy adjustment by goal slot and strategy slot. */
+  private static final double[] STRATEGY_ADJUSTMENTS = new double[GOAL_SLOTS * STRATEGY_SLOTS];
+
+  static {
+    for (int frequency = 0; frequency <= FREQUENCY_CAP; frequency++) {
+      TRAINING_SCORES[frequency] = Math.min(TRAINING_SCORE_MAX, frequency * TRAINING_SCORE_STEP);
+    }
+    for (int goalSlot = 0; goalSlot < GOAL_SLOTS; goalSlot++) {
+      FitnessGoal goal = goalSlot == 0 ? null : FitnessGoal.values()[goalSlot - 1];
+      PlanStrategy supporting = supportingStrategy(goal);
+      for (int strategySlot = 0; strategySlot < STRATEGY_SLOTS; strategySlot++) {
+        PlanStrategy strategy = strategySlot == 0 ? null : PlanStrategy.values()[strategySlot - 1];
+        int index = goalSlot * STRATEGY_SLOTS + strategySlot;
+        if (strategy == null) {
+          STRATEGY_SCORES[index] = STRATEGY_SCORE_NONE;
+          STRATEGY_ADJUSTMENTS[index] = goal == null ? 0.0 : STRATEGY_PENALTY_MISSING;
+        } else if (strategy == PlanStrategy.BOTH) {
+          STRATEGY_SCORES[index] = STRATEGY_SCORE_BOTH;
+          STRATEGY_ADJUSTMENTS[index] = goal == null ? 0.0 : STRATEGY_BONUS_MATCH;
+        } else if (strategy == supporting) {
+          STRATEGY_SCORES[index] = STRATEGY_SCORE_MATCH;
+          STRATEGY_ADJUSTMENTS[index] = STRATEGY_BONUS_SUPPORT;
+        } else {
+          STRATEGY_SCORES[index] = STRATEGY_SCORE_MISMATCH;
+          STRATEGY_ADJUSTMENTS[index] = goal == null ? 0.0 : STRATEGY_PENALTY_MISMATCH;
+        }
+      }
+      if (goal != null) {
+        int[] sessions = goal == FitnessGoal.BULK ? BULK_SESSIONS : CUT_SESSIONS;
+        FREQUENCY_ADJUSTMENTS[goalSlot * FREQUENCY_SLOTS] = TRAINING_PENALTY_MISSING;
+        for (int frequency = 0; frequency <= FREQUENCY_CAP; frequency++) {
+          FREQUENCY_ADJUSTMENTS[goalSlot * FREQUENCY_SLOTS + frequency + 1] = frequency >= sessions[0]
+              ? TRAINING_BONUS_HIGH
+              : frequency >= sessions[1] ? TRAINING_BONUS_MEDIUM
+              : frequency >= sessions[2] ? TRAINING_BONUS_LIGHT
+              : TRAINING_PENALTY_LOW;
+        }
+      }
+    }
+  }
+
+  private HealthScoreTables() {
+  }
+
+  /**
+   * BMI category index, computed without branches. {@code NaN} falls into {@link #OBESE}, as it
+   * fails every threshold comparison.
+   *
+   * @param bmi unrounded BMI
+   * @return {@link #UNDERWEIGHT}, {@link #NORMAL}, {@link #OVERWEIGHT} or {@link #OBESE}
+   */
+  static int bmiCategory(double bmi) {
+    return OBESE - lessThan(bmi, BMI_OVERWEIGHT) - lessThan(bmi, BMI_NORMAL) - lessThan(bmi, BMI_UNDERWEIGHT);
+  }
+
+  /**
+   * Health index contribution of the BMI.
+   *
+   * @param bmi unrounded BMI
+   * @return the score of the BMI category
+   */
+  static double bmiScore(double bmi) {
+    return BMI_SCORES[bmiCategory(bmi)];
+  }
+
+  /**
+   * Health index contribution of the training frequency.
+   *
+   * @param frequency weekly sessions, or {@code null} when unset
+   * @return points for the frequency, up to {@link #TRAINING_SCORE_MAX}
+   */
+  static double trainingScore(Integer frequency) {
+    return TRAINING_SCORES[frequency == null ? 0 : cappedFrequency(frequency)];
+  }
+
+  /**
+   * Health index contribution of the plan strategy.
+   *
+   * @param goal active goal, or {@code null}
+   * @param strategy plan strategy, or {@code null}
+   * @return points for the strategy
+   */
+  static double strategyScore(FitnessGoal goal, PlanStrategy strategy) {
+    return STRATEGY_SCORES[slot(goal) * STRATEGY_SLOTS + slot(strategy)];
+  }
+
+  /**
+   * Plan alignment adjustment for the training frequency.
+   *
+   * @param goal active goal, or {@code null}
+   * @param frequency weekly sessions, or {@code null} when unset
+   * @return bonus or penalty; {@code 0} without a goal
+   */
+  static double frequencyAdjustment(FitnessGoal goal, Integer frequency) {
+    int frequencySlot = frequency == null ? 0 : cappedFrequency(frequency) + 1;
+    return FREQUENCY_ADJUSTMENTS[slot(goal) * FREQUENCY_SLOTS + frequencySlot];
+  }
+
+  /**
+   * Plan alignment adjustment for the plan strategy.
+   *
+   * @param goal active goal, or {@code null}
+   * @param strategy plan strategy, or {@code null}
+   * @return bonus or penalty; {@code 0} without a goal
+   */
+  static double strategyAdjustment(FitnessGoal goal, PlanStrategy strategy) {
+    return STRATEGY_ADJUSTMENTS[slot(goal) * STRATEGY_SLOTS + slot(strategy)];
+  }
+
+  private static int lessThan(double value, double threshold) {
+    return value < threshold ? 1 : 0;
+  }
+
+  private static int cappedFrequency(int frequency) {
+    return Math.min(Math.max(frequency, 0), FREQUENCY_CAP);
+  }
+
+  private static int slot(Enum<?> value) {
+    return value == null ? 0 : value.ordinal() + 1;
+  }
+
+  /** Single strategy that supports the goal; the other one works against it. */
+  private static PlanStrategy supportingStrategy(FitnessGoal goal) {
+    if (goal == null) {
+      return null;
+    }
+    return switch (goal) {
+      case BULK -> PlanStrategy.WORKOUT;
+      case CUT -> PlanStrategy.DIET;
+    };
+  }
+}
@@ -0,0 +1,66 @@
+package com.teamx.fitness.service;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.PersonMetrics;
+import com.teamx.fitness.model.PersonSimple;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Input of {@link HealthInsightService}: the profile, its BMI and, when the result carries a
+ * cohort percentile, the cohort fingerprint the result is memoized under.
+ *
+ * <p>Create with {@link #withoutCohort} or {@link #againstCohort}. A request against the cohort
+ * is answered from the cohort loaded by the service unless the caller attaches one it loaded
+ * itself with {@link #withCohort}, as the reactive endpoints do.</p>
+ *
+ * @param person persisted profile
+ * @param bmi the profile's unrounded BMI
+ * @param cohortStamp fingerprint of the cohort, read once per request; {@code null} without cohort
+ * @param cohort metric projections of all profiles, or {@code null} while not loaded
+ */
+public record InsightRequest(
+    PersonSimple person, double bmi, CohortStamp cohortStamp, List<PersonMetrics> cohort) {
+
+  /**
+   * Request for scores without cohort percentile or cohort warning.
+   *
+   * @param person persisted profile
+   * @param bmi the profile's unrounded BMI
+   * @return the request
+   */
+  public static InsightRequest withoutCohort(PersonSimple person, double bmi) {
+    return new InsightRequest(person, bmi, null, null);
+  }
+
+  /**
+   * Request for scores ranked against the cohort identified by {@code cohortStamp}.
+   *
+   * @param person persisted profile
+   * @param bmi the profile's unrounded BMI
+   * @param cohortStamp cohort fingerprint, read before the cohort is loaded
+   * @return the request
+   */
+  public static InsightRequest againstCohort(PersonSimple person, double bmi, CohortStamp cohortStamp) {
+    return new InsightRequest(person, bmi, Objects.requireNonNull(cohortStamp, "cohortStamp"), null);
+  }
+
+  /**
+   * The same request with the cohort already loaded by the caller.
+   *
+   * @param loadedCohort metric projections of all profiles
+   * @return the request
+   */
+  public InsightRequest withCohort(List<PersonMetrics> loadedCohort) {
+    return new InsightRequest(person, bmi, cohortStamp, Objects.requireNonNull(loadedCohort, "cohort"));
+  }
+
+  /**
+   * Whether the result carries a cohort percentile.
+   *
+   * @return {@code true} for requests created with {@link #againstCohort}
+   */
+  public boolean ranksAgainstCohort() {
+    return cohortStamp != null;
+  }
+}
@@ -13,55 +13,55 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class PersonService {
     /** Male BMR base constant (Harris-Benedict). */
-    private static final double MALE_BMR_BASE = 88.362;
+    static final double MALE_BMR_BASE = 88.362;
 
     /** Male BMR weight factor (Harris-Benedict). */
-    private static final double MALE_BMR_WEIGHT = 13.397;
+    static final double MALE_BMR_WEIGHT = 13.397;
 
     /** Male BMR height factor (Harris-Benedict). */
-    private static final double MALE_BMR_HEIGHT = 4.799;
+    static final double MALE_BMR_HEIGHT = 4.799;
 
     /** Male BMR age factor (Harris-Benedict). */
-    private static final double MALE_BMR_AGE = 5.677;
+    static final double MALE_BMR_AGE = 5.677;
 
     /** Female BMR base constant (Harris-Benedict). */
-    private static final double FEMALE_BMR_BASE = 447.593;
+    static final double FEMALE_BMR_BASE = 447.593;
 
     /** Female BMR weight factor (Harris-Benedict). */
-    private static final double FEMALE_BMR_WEIGHT = 9.247;
+    static final double FEMALE_BMR_WEIGHT = 9.247;
 
     /** Female BMR height factor (Harris-Benedict). */
-    private static final double FEMALE_BMR_HEIGHT = 3.098;
+    static final double FEMALE_BMR_HEIGHT = 3.098;
 
     /** Female BMR age factor (Harris-Benedict). */
-    private static final double FEMALE_BMR_AGE = 4.330;
+    static final double FEMALE_BMR_AGE = 4.330;
 
     /** Activity factor for sedentary (0 training days). */
-    private static final double ACTIVITY_SEDENTARY = 1.2;
+    static final double ACTIVITY_SEDENTARY = 1.2;
 
     /** Activity factor for light activity (1-2 training days). */
-    private static final double ACTIVITY_LIGHT = 1.375;
+    static final double ACTIVITY_LIGHT = 1.375;
 
     /** Activity factor for moderate activity (3-4 training days). */
-    private static final double ACTIVITY_MODERATE = 1.55;
+    static final double ACTIVITY_MODERATE = 1.55;
 
     /** Activity factor for very active (5-6 training days). */
-    private static final double ACTIVITY_VERY = 1.725;
+    static final double ACTIVITY_VERY = 1.725;
 
     /** Activity factor for extra active (7+ training days). */
-    private static final double ACTIVITY_EXTRA = 1.9;
+    static final double ACTIVITY_EXTRA = 1.9;
 
     /** Maximum training days for moderate activity. */
-    private static final int MAX_MODERATE_TRAINING = 4;
+    static final int MAX_MODERATE_TRAINING = 4;
 
     /** Maximum training days for very active activity. */
-    private static final int MAX_VERY_ACTIVE_TRAINING = 6;
+    static final int MAX_VERY_ACTIVE_TRAINING = 6;
 
     /** Maximum plausible human weight (kg) to guard against invalid inputs. */
-    private static final double MAX_PLAUSIBLE_WEIGHT_KG = 635.0; // heaviest recorded ~635kg
+    static final double MAX_PLAUSIBLE_WEIGHT_KG = 635.0; // heaviest recorded ~635kg
 
     /** Maximum plausible human height (cm) to guard against invalid inputs. */
-    private static final double MAX_PLAUSIBLE_HEIGHT_CM = 272.0; // tallest recorded ~272cm
+    static final double MAX_PLAUSIBLE_HEIGHT_CM = 272.0; // tallest recorded ~272cm
 
     /**
      * Calculate BMI (Body Mass Index).
@@ -0,0 +1,87 @@
+package com.teamx.fitness.service;
+
+/**
+ * Plain loop implementation of {@link HealthKernel}, using the formulas and operation order of
+ * {@link PersonService}. Also finishes the tail rows of {@link VectorHealthKernel}.
+ */
+final class ScalarHealthKernel implements HealthKernel {
+
+  @Override
+  public void bmi(double[] weight, double[] height, double[] out, long[] valid, int length) {
+    bmi(weight, height, out, valid, 0, length);
+  }
+
+  @Override
+  public void bmr(BodyColumns body, double[] out, long[] valid, int length) {
+    bmr(body, out, valid, 0, length);
+  }
+
+  @Override
+  public void dailyCalories(
+      double[] bmr, long[] bmrValid, int[] weeklyTrainingFreq, double[] out, long[] valid, int length) {
+    dailyCalories(bmr, bmrValid, weeklyTrainingFreq, out, valid, 0, length);
+  }
+
+  static void bmi(double[] weight, double[] height, double[] out, long[] valid, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (plausible(weight[i], height[i])) {
+        double heightInMeters = height[i] / 100.0;
+        out[i] = weight[i] / (heightInMeters * heightInMeters);
+        valid[i >>> 6] |= 1L << i;
+      } else {
+        out[i] = Double.NaN;
+      }
+    }
+  }
+
+  static void bmr(BodyColumns body, double[] out, long[] valid, int from, int to) {
+    double[] weight = body.weight();
+    double[] height = body.height();
+    int[] age = body.age();
+    boolean[] male = body.male();
+    for (int i = from; i < to; i++) {
+      if (plausible(weight[i], height[i]) && age[i] >= 0) {
+        out[i] = male[i]
+            ? PersonService.MALE_BMR_BASE + (PersonService.MALE_BMR_WEIGHT * weight[i])
+                + (PersonService.MALE_BMR_HEIGHT * height[i]) - (PersonService.MALE_BMR_AGE * age[i])
+            : PersonService.FEMALE_BMR_BASE + (PersonService.FEMALE_BMR_WEIGHT * weight[i])
+                + (PersonService.FEMALE_BMR_HEIGHT * height[i]) - (PersonService.FEMALE_BMR_AGE * age[i]);
+        valid[i >>> 6] |= 1L << i;
+      } else {
+        out[i] = Double.NaN;
+      }
+    }
+  }
+
+  static void dailyCalories(
+      double[] bmr, long[] bmrValid, int[] weeklyTrainingFreq, double[] out, long[] valid, int from, int to) {
+    for (int i = from; i < to; i++) {
+      int freq = weeklyTrainingFreq[i];
+      if ((bmrValid[i >>> 6] & (1L << i)) != 0 && freq >= 0) {
+        out[i] = bmr[i] * activityFactor(freq);
+        valid[i >>> 6] |= 1L << i;
+      } else {
+        out[i] = Double.NaN;
+      }
+    }
+  }
+
+  static double activityFactor(int weeklyTrainingFreq) {
+    if (weeklyTrainingFreq == 0) {
+      return PersonService.ACTIVITY_SEDENTARY;
+    } else if (weeklyTrainingFreq <= 2) {
+      return PersonService.ACTIVITY_LIGHT;
+    } else if (weeklyTrainingFreq <= PersonService.MAX_MODERATE_TRAINING) {
+      return PersonService.ACTIVITY_MODERATE;
+    } else if (weeklyTrainingFreq <= PersonService.MAX_VERY_ACTIVE_TRAINING) {
+      return PersonService.ACTIVITY_VERY;
+    }
+    return PersonService.ACTIVITY_EXTRA;
+  }
+
+  private static boolean plausible(double weight, double height) {
+    // Written so that NaN fails every comparison.
+    return weight > 0 && weight <= PersonService.MAX_PLAUSIBLE_WEIGHT_KG
+        && height > 0 && height <= PersonService.MAX_PLAUSIBLE_HEIGHT_CM;
+  }
+}
@@ -0,0 +1,105 @@
+package com.teamx.fitness.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link HealthKernel} on the JDK Vector API ({@code jdk.incubator.vector}), processing as many
+ * rows per instruction as the platform's preferred vector width holds. Only loaded when the
+ * module is present (see {@link BatchHealthCalculator}); rows past the last full vector go
+ * through {@link ScalarHealthKernel}.
+ *
+ * <p>Lane arithmetic performs the same IEEE operations in the same order as the scalar kernel,
+ * so results are bit-identical. Integer columns are widened to doubles up front so that all
+ * comparisons produce double masks without lane casts. Validity is computed as a lane mask and OR-ed into the bitmap
+ * word; vectors start at multiples of the lane count, so a mask never straddles two words.</p>
+ */
+final class VectorHealthKernel implements HealthKernel {
+
+  /** Double lanes per vector. */
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+  /** Int lanes matching {@link #DOUBLES} one to one, for ages and training frequencies. */
+  private static final VectorSpecies<Integer> INTS =
+      VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE));
+
+  @Override
+  public void bmi(double[] weight, double[] height, double[] out, long[] valid, int length) {
+    int bound = DOUBLES.loopBound(length);
+    for (int i = 0; i < bound; i += DOUBLES.length()) {
+      DoubleVector w = DoubleVector.fromArray(DOUBLES, weight, i);
+      DoubleVector h = DoubleVector.fromArray(DOUBLES, height, i);
+      VectorMask<Double> ok = plausible(w, h);
+      DoubleVector meters = h.div(100.0);
+      w.div(meters.mul(meters)).blend(Double.NaN, ok.not()).intoArray(out, i);
+      valid[i >>> 6] |= ok.toLong() << i;
+    }
+    ScalarHealthKernel.bmi(weight, height, out, valid, bound, length);
+  }
+
+  @Override
+  public void bmr(BodyColumns body, double[] out, long[] valid, int length) {
+    double[] weight = body.weight();
+    double[] height = body.height();
+    int[] age = body.age();
+    boolean[] male = body.male();
+    int bound = DOUBLES.loopBound(length);
+    for (int i = 0; i < bound; i += DOUBLES.length()) {
+      DoubleVector w = DoubleVector.fromArray(DOUBLES, weight, i);
+      DoubleVector h = DoubleVector.fromArray(DOUBLES, height, i);
+      DoubleVector a = (DoubleVector) IntVector.fromArray(INTS, age, i)
+          .convertShape(VectorOperators.I2D, DOUBLES, 0);
+      VectorMask<Double> ok = plausible(w, h).and(a.compare(VectorOperators.GE, 0.0));
+      VectorMask<Double> isMale = VectorMask.fromArray(DOUBLES, male, i);
+
+      DoubleVector maleBmr = DoubleVector.broadcast(DOUBLES, PersonService.MALE_BMR_BASE)
+          .add(w.mul(PersonService.MALE_BMR_WEIGHT))
+          .add(h.mul(PersonService.MALE_BMR_HEIGHT))
+          .sub(a.mul(PersonService.MALE_BMR_AGE));
+      DoubleVector femaleBmr = DoubleVector.broadcast(DOUBLES, PersonService.FEMALE_BMR_BASE)
+          .add(w.mul(PersonService.FEMALE_BMR_WEIGHT))
+          .add(h.mul(PersonService.FEMALE_BMR_HEIGHT))
+          .sub(a.mul(PersonService.FEMALE_BMR_AGE));
+      femaleBmr.blend(maleBmr, isMale).blend(Double.NaN, ok.not()).intoArray(out, i);
+      valid[i >>> 6] |= ok.toLong() << i;
+    }
+    ScalarHealthKernel.bmr(body, out, valid, bound, length);
+  }
+
+  @Override
+  public void dailyCalories(
+      double[] bmr, long[] bmrValid, int[] weeklyTrainingFreq, double[] out, long[] valid, int length) {
+    int bound = DOUBLES.loopBound(length);
+    long laneBits = DOUBLES.length() == Long.SIZE ? -1L : (1L << DOUBLES.length()) - 1;
+    for (int i = 0; i < bound; i += DOUBLES.length()) {
+      DoubleVector freq = (DoubleVector) IntVector.fromArray(INTS, weeklyTrainingFreq, i)
+          .convertShape(VectorOperators.I2D, DOUBLES, 0);
+      VectorMask<Double> ok = freq.compare(VectorOperators.GE, 0.0)
+          .and(VectorMask.fromLong(DOUBLES, (bmrValid[i >>> 6] >>> i) & laneBits));
+
+      // Same thresholds as ScalarHealthKernel#activityFactor, applied from the top band down.
+      DoubleVector factor = DoubleVector.broadcast(DOUBLES, PersonService.ACTIVITY_EXTRA)
+          .blend(PersonService.ACTIVITY_VERY,
+              freq.compare(VectorOperators.LE, PersonService.MAX_VERY_ACTIVE_TRAINING))
+          .blend(PersonService.ACTIVITY_MODERATE,
+              freq.compare(VectorOperators.LE, PersonService.MAX_MODERATE_TRAINING))
+          .blend(PersonService.ACTIVITY_LIGHT, freq.compare(VectorOperators.LE, 2.0))
+          .blend(PersonService.ACTIVITY_SEDENTARY, freq.compare(VectorOperators.EQ, 0.0));
+      DoubleVector.fromArray(DOUBLES, bmr, i).mul(factor).blend(Double.NaN, ok.not()).intoArray(out, i);
+      valid[i >>> 6] |= ok.toLong() << i;
+    }
+    ScalarHealthKernel.dailyCalories(bmr, bmrValid, weeklyTrainingFreq, out, valid, bound, length);
+  }
+
+  private static VectorMask<Double> plausible(DoubleVector w, DoubleVector h) {
+    // Ordered comparisons are false for NaN, so missing values are invalid.
+    return w.compare(VectorOperators.GT, 0.0)
+        .and(w.compare(VectorOperators.LE, PersonService.MAX_PLAUSIBLE_WEIGHT_KG))
+        .and(h.compare(VectorOperators.GT, 0.0))
+        .and(h.compare(VectorOperators.LE, PersonService.MAX_PLAUSIBLE_HEIGHT_CM));
+  }
+}
@@ -0,0 +1,31 @@
+-- Core tables as previously generated by hibernate ddl-auto.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS persons_simple (
+    id                          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                        VARCHAR(255)     NOT NULL,
+    weight                      DOUBLE PRECISION NOT NULL,
+    height                      DOUBLE PRECISION NOT NULL,
+    birth_date                  DATE             NOT NULL,
+    gender                      VARCHAR(8)       NOT NULL,
+    goal                        VARCHAR(16)      NOT NULL,
+    target_change_kg            DOUBLE PRECISION,
+    target_duration_weeks       INTEGER,
+    training_frequency_per_week INTEGER,
+    plan_strategy               VARCHAR(16),
+    client_id                   VARCHAR(96)      NOT NULL,
+    CONSTRAINT uk_persons_simple_client_id UNIQUE (client_id),
+    CONSTRAINT ck_persons_simple_gender CHECK (gender IN ('MALE', 'FEMALE')),
+    CONSTRAINT ck_persons_simple_goal CHECK (goal IN ('CUT', 'BULK')),
+    CONSTRAINT ck_persons_simple_plan_strategy
+        CHECK (plan_strategy IS NULL OR plan_strategy IN ('WORKOUT', 'DIET', 'BOTH'))
+);
+
+CREATE TABLE IF NOT EXISTS researchers (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name      VARCHAR(255) NOT NULL,
+    email     VARCHAR(255) NOT NULL,
+    client_id VARCHAR(96)  NOT NULL,
+    CONSTRAINT uk_researchers_email UNIQUE (email),
+    CONSTRAINT uk_researchers_client_id UNIQUE (client_id)
+);
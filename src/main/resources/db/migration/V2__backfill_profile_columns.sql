@@ -0,0 +1,11 @@
+-- Replaces the ad-hoc database/init scripts (002_add_gender_column, 003_add_goal_plan_columns)
+-- for volumes created before the gender and goal-plan columns existed. No-op on fresh schemas.
+
+ALTER TABLE persons_simple ADD COLUMN IF NOT EXISTS gender VARCHAR(8);
+UPDATE persons_simple SET gender = 'MALE' WHERE gender IS NULL;
+ALTER TABLE persons_simple ALTER COLUMN gender SET NOT NULL;
+
+ALTER TABLE persons_simple ADD COLUMN IF NOT EXISTS target_change_kg DOUBLE PRECISION;
+ALTER TABLE persons_simple ADD COLUMN IF NOT EXISTS target_duration_weeks INTEGER;
+ALTER TABLE persons_simple ADD COLUMN IF NOT EXISTS training_frequency_per_week INTEGER;
+ALTER TABLE persons_simple ADD COLUMN IF NOT EXISTS plan_strategy VARCHAR(16);
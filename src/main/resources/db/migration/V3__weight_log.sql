@@ -0,0 +1,49 @@
+-- Append-only weight/measurement history, range-partitioned by calendar month (UTC).
+-- There is no default partition: every row belongs to a monthly partition, which range reads
+-- can prune and retention can detach. This migration creates the current and next month;
+-- WeightLogPartitionMaintainer creates the rest of the retention window before the app serves
+-- requests and keeps months ahead daily.
+
+CREATE SEQUENCE IF NOT EXISTS weight_log_id_seq AS BIGINT;
+
+CREATE TABLE IF NOT EXISTS weight_log (
+    id               BIGINT           NOT NULL DEFAULT nextval('weight_log_id_seq'),
+    person_id        BIGINT           NOT NULL,
+    recorded_at      TIMESTAMPTZ      NOT NULL,
+    weight_kg        DOUBLE PRECISION NOT NULL,
+    body_fat_percent DOUBLE PRECISION,
+    -- The partition key must be part of every unique constraint on a partitioned table.
+    CONSTRAINT pk_weight_log PRIMARY KEY (id, recorded_at),
+    CONSTRAINT fk_weight_log_person
+        FOREIGN KEY (person_id) REFERENCES persons_simple (id) ON DELETE CASCADE,
+    CONSTRAINT ck_weight_log_weight CHECK (weight_kg > 0),
+    CONSTRAINT ck_weight_log_body_fat
+        CHECK (body_fat_percent IS NULL OR (body_fat_percent > 0 AND body_fat_percent < 100))
+) PARTITION BY RANGE (recorded_at);
+
+ALTER SEQUENCE weight_log_id_seq OWNED BY weight_log.id;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT (date_trunc('month', now() AT TIME ZONE 'UTC') + step * INTERVAL '1 month')::date
+        FROM generate_series(0, 1) AS step
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF weight_log FOR VALUES FROM (%L) TO (%L)',
+            'weight_log_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            month_start || ' 00:00:00+00',
+            (month_start + INTERVAL '1 month')::date || ' 00:00:00+00');
+    END LOOP;
+END $$;
+
+-- Rows arrive roughly in time order, so a BRIN index stays tiny and still lets
+-- cross-user scans (retention, research) skip whole block ranges.
+CREATE INDEX IF NOT EXISTS idx_weight_log_recorded_at_brin
+    ON weight_log USING brin (recorded_at);
+
+-- Single-user range reads: partition pruning picks the months, this index picks the user.
+CREATE INDEX IF NOT EXISTS idx_weight_log_person_recorded_at
+    ON weight_log (person_id, recorded_at);
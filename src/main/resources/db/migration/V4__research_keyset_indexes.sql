@@ -0,0 +1,7 @@
+-- Keyset pagination for GET /api/research/profiles: WHERE id > :cursor [AND goal = ?]
+-- [AND gender = ?] ORDER BY id LIMIT n. Each filter combination gets an index whose trailing
+-- column is id, so a page is a short range scan no matter how deep the cursor is.
+-- Unfiltered pages use the primary key.
+CREATE INDEX IF NOT EXISTS idx_persons_simple_goal_id ON persons_simple (goal, id);
+CREATE INDEX IF NOT EXISTS idx_persons_simple_gender_id ON persons_simple (gender, id);
+CREATE INDEX IF NOT EXISTS idx_persons_simple_goal_gender_id ON persons_simple (goal, gender, id);
@@ -0,0 +1,5 @@
+-- Row version for persons_simple: JPA optimistic locking, and the validator behind the ETags
+-- of the computed profile endpoints (/bmi, /calories, /recommendation). Every write, including
+-- targeted PATCH updates, increments it.
+ALTER TABLE persons_simple
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
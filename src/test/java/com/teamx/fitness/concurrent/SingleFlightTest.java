@@ -0,0 +1,197 @@
+package com.teamx.fitness.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+  /** Flight name used as the metric tag. */
+  private static final String FLIGHT = "test";
+  /** Key shared by the coalesced calls. */
+  private static final String KEY = "all";
+  /** Upper bound on any wait in these tests (seconds). */
+  private static final long TIMEOUT_SECONDS = 5;
+
+  /** Registry the flight publishes its metrics to. */
+  private SimpleMeterRegistry meterRegistry;
+
+  /** Flight under test. */
+  private SingleFlight<String, Object> flight;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    flight = new SingleFlight<>(FLIGHT, meterRegistry);
+  }
+
+  private double calls(String role) {
+    return meterRegistry.get("fitness.singleflight.calls")
+        .tag("flight", FLIGHT).tag("role", role).counter().count();
+  }
+
+  private void awaitFollowers(int followers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (calls("follower") < followers && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(followers, calls("follower"));
+  }
+
+  @Test
+  @DisplayName("concurrent calls for one key share a single computation")
+  void sharesInFlightComputation() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger computations = new AtomicInteger();
+    Object result = new Object();
+
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> flight.execute(KEY, () -> {
+      computations.incrementAndGet();
+      await(release);
+      return result;
+    }));
+    while (calls("leader") < 1) {
+      Thread.sleep(1);
+    }
+    CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+        () -> flight.execute(KEY, () -> {
+          computations.incrementAndGet();
+          return new Object();
+        }));
+    awaitFollowers(1);
+    release.countDown();
+
+    assertSame(result, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertSame(result, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertEquals(1, computations.get());
+    assertEquals(0.0, meterRegistry.get("fitness.singleflight.inflight").gauge().value());
+  }
+
+  @Test
+  @DisplayName("a finished computation is not reused by later calls")
+  void doesNotCacheResults() {
+    AtomicInteger computations = new AtomicInteger();
+
+    flight.execute(KEY, computations::incrementAndGet);
+    flight.execute(KEY, computations::incrementAndGet);
+
+    assertEquals(2, computations.get());
+    assertEquals(2.0, calls("leader"));
+    assertEquals(0.0, calls("follower"));
+  }
+
+  @Test
+  @DisplayName("every waiting caller receives the leader's exception")
+  void propagatesFailureToFollowers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    ResponseStatusException failure = new ResponseStatusException(HttpStatus.BAD_REQUEST, "no data");
+
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> flight.execute(KEY, () -> {
+      await(release);
+      throw failure;
+    }));
+    while (calls("leader") < 1) {
+      Thread.sleep(1);
+    }
+    CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+        () -> flight.execute(KEY, Object::new));
+    awaitFollowers(1);
+    release.countDown();
+
+    ExecutionException leaderError =
+        assertThrows(ExecutionException.class, () -> leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    ExecutionException followerError =
+        assertThrows(ExecutionException.class, () -> follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertSame(failure, leaderError.getCause());
+    assertSame(failure, followerError.getCause());
+  }
+
+  @Test
+  @DisplayName("a follower takes over when the leader's request is cancelled")
+  void followerRecomputesAfterLeaderCancellation() throws Exception {
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    Object result = new Object();
+    Thread leader = new Thread(() -> {
+      try {
+        flight.execute(KEY, () -> {
+          leaderStarted.countDown();
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          throw new IllegalStateException("query aborted");
+        });
+      } catch (IllegalStateException expected) {
+        // The cancelled request fails; only its followers matter here.
+      }
+    });
+    leader.start();
+    assertTrue(leaderStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+    CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+        () -> flight.execute(KEY, () -> result));
+    awaitFollowers(1);
+    leader.interrupt();
+
+    assertSame(result, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertEquals(2.0, calls("leader"));
+  }
+
+  @Test
+  @DisplayName("an interrupted follower stops waiting without disturbing the leader")
+  void interruptedFollowerLeavesLeaderRunning() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Object result = new Object();
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> flight.execute(KEY, () -> {
+      await(release);
+      return result;
+    }));
+    while (calls("leader") < 1) {
+      Thread.sleep(1);
+    }
+
+    CompletableFuture<Throwable> followerOutcome = new CompletableFuture<>();
+    Thread follower = new Thread(() -> {
+      try {
+        flight.execute(KEY, Object::new);
+        followerOutcome.complete(null);
+      } catch (RuntimeException ex) {
+        followerOutcome.complete(Thread.currentThread().isInterrupted() ? ex : null);
+      }
+    });
+    follower.start();
+    awaitFollowers(1);
+    follower.interrupt();
+
+    assertTrue(followerOutcome.get(TIMEOUT_SECONDS, TimeUnit.SECONDS) instanceof CancellationException);
+    release.countDown();
+    assertSame(result, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for {@link ApiDocsController}, which serves the build-time OpenAPI document.
+ */
+@DisplayName("ApiDocsController")
+class ApiDocsControllerTest {
+
+  /** Path the document is served at in these tests. */
+  private static final String DOCUMENT_PATH = "/api-docs";
+
+  @Test
+  @DisplayName("serves the generated document")
+  void servesDocument() {
+    Resource document = new ByteArrayResource("{\"openapi\":\"3.0.1\"}".getBytes(StandardCharsets.UTF_8));
+    ApiDocsController controller = new ApiDocsController(document, DOCUMENT_PATH);
+
+    assertSame(document, controller.apiDocs().getBody());
+  }
+
+  @Test
+  @DisplayName("answers 404 when the document was not generated")
+  void missingDocument() {
+    ApiDocsController controller =
+        new ApiDocsController(new ClassPathResource("openapi/missing.json"), DOCUMENT_PATH);
+
+    ResponseStatusException error = assertThrows(ResponseStatusException.class, controller::apiDocs);
+    assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Swagger UI page loads the webjar assets and the document")
+  void swaggerUiPage() {
+    String page = ApiDocsController.swaggerUiPage("5.10.3", DOCUMENT_PATH);
+
+    assertTrue(page.contains("/webjars/swagger-ui/5.10.3/swagger-ui-bundle.js"));
+    assertTrue(page.contains("url: '/api-docs'"));
+    assertNull(ApiDocsController.swaggerUiPage(null, DOCUMENT_PATH));
+  }
+}
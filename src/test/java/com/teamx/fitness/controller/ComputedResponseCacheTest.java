@@ -0,0 +1,95 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ComputedResponseCache}.
+ */
+@DisplayName("ComputedResponseCache")
+class ComputedResponseCacheTest {
+
+  /** Bound used by the tests. */
+  private static final int MAX_ENTRIES = 2;
+  /** Client used by most tests. */
+  private static final String CLIENT_ID = "mobile-cache";
+  /** ETag of the first profile version. */
+  private static final String ETAG_V1 = "1-1-f1";
+  /** ETag after the profile changed. */
+  private static final String ETAG_V2 = "1-2-f1";
+
+  /** Registry the cache publishes its metrics to. */
+  private SimpleMeterRegistry meterRegistry;
+
+  /** Cache under test. */
+  private ComputedResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new ComputedResponseCache(meterRegistry, MAX_ENTRIES);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.get("fitness.computed.cache.requests").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("reuses a body while the ETag matches and recomputes when it changes")
+  void recomputesOnlyWhenETagChanges() {
+    AtomicInteger computations = new AtomicInteger();
+
+    Object first = cache.get(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V1, () -> computations.incrementAndGet());
+    Object repeat = cache.get(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V1, () -> computations.incrementAndGet());
+    Object changed = cache.get(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V2, () -> computations.incrementAndGet());
+
+    assertSame(first, repeat);
+    assertEquals(2, changed);
+    assertEquals(2, computations.get());
+    assertEquals(1.0, lookups("hit"));
+    assertEquals(2.0, lookups("miss"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  @DisplayName("keeps endpoints of one client apart")
+  void separatesEndpoints() {
+    cache.store(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V1, "bmi");
+
+    assertNull(cache.lookup(ComputedResponseCache.CALORIES, CLIENT_ID, ETAG_V1));
+    assertEquals("bmi", cache.lookup(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V1));
+  }
+
+  @Test
+  @DisplayName("drops the least recently used entry beyond the bound")
+  void evictsLeastRecentlyUsed() {
+    cache.store(ComputedResponseCache.BMI, "mobile-a", ETAG_V1, "a");
+    cache.store(ComputedResponseCache.BMI, "mobile-b", ETAG_V1, "b");
+    cache.lookup(ComputedResponseCache.BMI, "mobile-a", ETAG_V1);
+    cache.store(ComputedResponseCache.BMI, "mobile-c", ETAG_V1, "c");
+
+    assertEquals(MAX_ENTRIES, cache.size());
+    assertEquals("a", cache.lookup(ComputedResponseCache.BMI, "mobile-a", ETAG_V1));
+    assertNull(cache.lookup(ComputedResponseCache.BMI, "mobile-b", ETAG_V1));
+  }
+
+  @Test
+  @DisplayName("does not cache failures or bodies without an ETag")
+  void skipsFailuresAndUntaggedBodies() {
+    assertThrows(IllegalStateException.class, () -> cache.get(ComputedResponseCache.BMI, CLIENT_ID, ETAG_V1,
+        () -> {
+          throw new IllegalStateException("incomplete profile");
+        }));
+    cache.get(ComputedResponseCache.CALORIES, CLIENT_ID, null, () -> "untagged");
+
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,99 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.DashboardResponse;
+import com.teamx.fitness.controller.dto.ResearchProfilePageResponse;
+import com.teamx.fitness.controller.dto.ResearchProfileResponse;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FieldSelection}: parsing and the JSON filters it installs.
+ */
+@DisplayName("FieldSelection")
+class FieldSelectionTest {
+
+  /** Weight used in the fixtures (kg). */
+  private static final double WEIGHT_KG = 80.0;
+  /** Height used in the fixtures (cm). */
+  private static final double HEIGHT_CM = 180.0;
+  /** BMI used in the fixtures. */
+  private static final double BMI = 24.7;
+
+  /** Mapper with the application's default filters. */
+  private final ObjectMapper mapper = new ObjectMapper().setFilterProvider(FieldSelection.allFields());
+
+  /** Sample BMI body. */
+  private final BmiResponse bmi = new BmiResponse("mobile-id1", WEIGHT_KG, HEIGHT_CM, BMI, "Normal weight");
+
+  private JsonNode write(Object body, String fields) throws Exception {
+    return mapper.readTree(mapper.writer(FieldSelection.parse(fields).filters()).writeValueAsString(body));
+  }
+
+  @Test
+  @DisplayName("absent, blank and empty parameters select everything")
+  void absentParameterSelectsAll() {
+    assertTrue(FieldSelection.parse(null).isAll());
+    assertTrue(FieldSelection.parse(" ").isAll());
+    assertTrue(FieldSelection.parse(",,").isAll());
+    assertTrue(FieldSelection.parse(null).includes("anything"));
+  }
+
+  @Test
+  @DisplayName("names are trimmed and matched exactly")
+  void parsesCommaSeparatedNames() {
+    FieldSelection selection = FieldSelection.parse(" bmi , category");
+
+    assertFalse(selection.isAll());
+    assertTrue(selection.includes("bmi"));
+    assertTrue(selection.includes("category"));
+    assertFalse(selection.includes("weight"));
+    assertTrue(selection.includesAny("weight", "category"));
+    assertFalse(selection.includesAny("weight", "height"));
+  }
+
+  @Test
+  @DisplayName("only the selected properties are written")
+  void writesSelectedProperties() throws Exception {
+    JsonNode json = write(bmi, "bmi,category,unknown");
+
+    assertEquals(2, json.size());
+    assertEquals(BMI, json.get("bmi").asDouble());
+    assertEquals("Normal weight", json.get("category").asText());
+  }
+
+  @Test
+  @DisplayName("without a selection every property is written")
+  void writesEverythingByDefault() throws Exception {
+    assertEquals(5, write(bmi, null).size());
+  }
+
+  @Test
+  @DisplayName("nested bodies inside a selected section keep all their properties")
+  void keepsNestedBodiesWhole() throws Exception {
+    JsonNode json = write(new DashboardResponse(null, bmi, null, null), "bmi");
+
+    assertEquals(1, json.size());
+    assertEquals(5, json.get("bmi").size());
+  }
+
+  @Test
+  @DisplayName("each item of a research page is trimmed while the page envelope is kept")
+  void trimsListItems() throws Exception {
+    ResearchProfileResponse item =
+        new ResearchProfileResponse("26-35", null, null, 80L, 180L, BMI, null, null, null);
+
+    JsonNode json = write(new ResearchProfilePageResponse(List.of(item, item), "cursor"), "bmi");
+
+    assertEquals("cursor", json.get("nextCursor").asText());
+    assertEquals(1, json.get("items").get(1).size());
+    assertEquals(BMI, json.get("items").get(0).get("bmi").asDouble());
+  }
+}
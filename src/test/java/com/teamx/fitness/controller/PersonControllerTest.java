@@ -8,16 +8,29 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.CaloriesResponse;
+import com.teamx.fitness.controller.dto.DashboardResponse;
 import com.teamx.fitness.controller.dto.GoalPlanRequest;
 import com.teamx.fitness.controller.dto.PersonCreateRequest;
 import com.teamx.fitness.controller.dto.PersonCreatedResponse;
+import com.teamx.fitness.controller.dto.PersonPatchRequest;
 import com.teamx.fitness.controller.dto.PersonProfileResponse;
+import com.teamx.fitness.controller.dto.PlanScenarioResponse;
+import com.teamx.fitness.controller.dto.PlanSimulationRequest;
+import com.teamx.fitness.controller.dto.PlanSimulationResponse;
+import com.teamx.fitness.controller.dto.RecommendationResponse;
+import com.teamx.fitness.model.CohortStamp;
 import com.teamx.fitness.model.FitnessGoal;
 import com.teamx.fitness.model.Gender;
 import com.teamx.fitness.model.PersonSimple;
@@ -26,9 +39,12 @@ import com.teamx.fitness.repository.PersonRepository;
 import com.teamx.fitness.security.ClientContext;
 import com.teamx.fitness.service.HealthInsightResult;
 import com.teamx.fitness.service.HealthInsightService;
+import com.teamx.fitness.service.InsightRequest;
 import com.teamx.fitness.service.PersonService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -42,7 +58,10 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
@@ -128,6 +147,14 @@ class PersonControllerTest {
   private static final int TRAINING_FREQ_FOURTEEN = 14;
   /** Default target duration for plans (weeks). */
   private static final int TRAINING_DURATION_WEEKS = 6;
+  /** Lightest target weight in the plan simulation test (kg). */
+  private static final double SIMULATED_TARGET_MIN_KG = 75.0;
+  /** Heaviest target weight in the plan simulation test (kg). */
+  private static final double SIMULATED_TARGET_MAX_KG = 76.0;
+  /** Plan alignment index returned by the mocked scoring service. */
+  private static final double ALIGNMENT_SCORE = 80.0;
+  /** Overall score returned by the mocked scoring service. */
+  private static final double OVERALL_SCORE = 72.5;
   /** Extended duration used in update tests (weeks). */
   private static final int TRAINING_DURATION_EXTENDED = 10;
   /** Persisted plan duration when the user has a plan (weeks). */
@@ -180,6 +207,14 @@ class PersonControllerTest {
   private static final double INSIGHT_OVERALL_SCORE = 56.0;
   /** Percentile returned by mocked health insight service. */
   private static final double INSIGHT_PERCENTILE = 67.4;
+  /** Bound of the computed-response cache used by the tests. */
+  private static final int COMPUTED_CACHE_ENTRIES = 16;
+  /** Primary key of persisted sample profiles. */
+  private static final long PERSISTED_ID = 7L;
+  /** Version of persisted sample profiles. */
+  private static final long PERSISTED_VERSION = 3L;
+  /** Cohort fingerprint returned by the mocked repository. */
+  private static final CohortStamp COHORT = new CohortStamp(12L, 40L, 57L);
 
   /** Mocked BMI/calorie service. */
   @Mock private PersonService personService;
@@ -190,6 +225,10 @@ class PersonControllerTest {
   /** Mocked insight service powering /recommendation. */
   @Mock private HealthInsightService healthInsightService;
 
+  /** Real computed-response cache, so repeat views can be observed. */
+  @Spy private ComputedResponseCache computedResponseCache =
+      new ComputedResponseCache(new SimpleMeterRegistry(), COMPUTED_CACHE_ENTRIES);
+
   /** Controller instance under test. */
   @InjectMocks private PersonController personController;
 
@@ -213,16 +252,16 @@ class PersonControllerTest {
     when(personService.calculateBMI(storedPerson.getWeight(), storedPerson.getHeight()))
         .thenReturn(bmiValue);
 
-    ResponseEntity<Map<String, Object>> response = personController.calculateBMI();
+    ResponseEntity<BmiResponse> response = personController.calculateBMI();
 
     assertEquals(HttpStatus.OK, response.getStatusCode(), description);
-    Map<String, Object> body = response.getBody();
+    BmiResponse body = response.getBody();
     assertNotNull(body, description);
-    assertEquals(storedPerson.getClientId(), body.get("clientId"));
-    assertEquals(storedPerson.getWeight(), body.get("weight"));
-    assertEquals(storedPerson.getHeight(), body.get("height"));
-    assertEquals(bmiValue, body.get("bmi"));
-    assertEquals(expectedCategory, body.get("category"));
+    assertEquals(storedPerson.getClientId(), body.clientId());
+    assertEquals(storedPerson.getWeight(), body.weight());
+    assertEquals(storedPerson.getHeight(), body.height());
+    assertEquals(bmiValue, body.bmi());
+    assertEquals(expectedCategory, body.category());
   }
 
   private static Stream<Arguments> bmiScenarios() {
@@ -279,6 +318,130 @@ class PersonControllerTest {
     assertThrows(ResponseStatusException.class, () -> personController.calculateBMI());
   }
 
+  @Test
+  @DisplayName("calculateBMI tags persisted profiles with an ETag and reuses the body until the version changes")
+  void calculateBMIReusesBodyPerVersion() {
+    PersonSimple stored = basePerson("mobile-etag");
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personService.calculateBMI(stored.getWeight(), stored.getHeight())).thenReturn(BMI_NORMAL);
+
+    ResponseEntity<BmiResponse> first = personController.calculateBMI();
+    ResponseEntity<BmiResponse> repeat = personController.calculateBMI();
+
+    assertEquals("\"7-3-f" + PersonEndpointSupport.FORMULA_VERSION + "\"", first.getHeaders().getETag());
+    assertEquals(first.getHeaders().getETag(), repeat.getHeaders().getETag());
+    assertTrue(first.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+    assertEquals(first.getBody(), repeat.getBody());
+    verify(personService, times(1)).calculateBMI(stored.getWeight(), stored.getHeight());
+
+    stored.setVersion(PERSISTED_VERSION + 1);
+    ResponseEntity<BmiResponse> updated = personController.calculateBMI();
+
+    assertFalse(first.getHeaders().getETag().equals(updated.getHeaders().getETag()));
+    verify(personService, times(2)).calculateBMI(stored.getWeight(), stored.getHeight());
+  }
+
+  @Test
+  @DisplayName("provideRecommendation ETag also changes with the cohort")
+  void provideRecommendationETagCoversCohort() {
+    PersonSimple stored = basePerson("mobile-reco-etag");
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personRepository.findCohortStamp())
+        .thenReturn(COHORT, COHORT, new CohortStamp(COHORT.profiles(), COHORT.maxId(), COHORT.versionSum() + 1));
+    stubInsights(stored, sampleInsight("Stay the course."));
+
+    String first = personController.provideRecommendation(null).getHeaders().getETag();
+    String repeat = personController.provideRecommendation(null).getHeaders().getETag();
+    String afterCohortChange = personController.provideRecommendation(null).getHeaders().getETag();
+
+    assertEquals(first, repeat);
+    assertFalse(first.equals(afterCohortChange));
+    verify(healthInsightService, times(2)).buildInsights(any(InsightRequest.class));
+  }
+
+  @Test
+  @DisplayName("provideRecommendation with fields skips the cohort and the plan texts")
+  void provideRecommendationComputesOnlySelectedFields() {
+    PersonSimple stored = basePerson("mobile-reco-fields");
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    stubInsights(stored, sampleInsight("Stay the course."));
+
+    ResponseEntity<RecommendationResponse> response =
+        personController.provideRecommendation("bmi,bmiCategory");
+
+    assertEquals(INSIGHT_BMI_CATEGORY, response.getBody().bmiCategory());
+    assertNull(response.getBody().dietPlan());
+    assertEquals(PersonEndpointSupport.computedETag(stored),
+        response.getHeaders().getETag().replace("\"", ""));
+    verify(personRepository, never()).findCohortStamp();
+    verify(healthInsightService, never()).buildInsights(argThat(InsightRequest::ranksAgainstCohort));
+    assertEquals(0, computedResponseCache.size());
+  }
+
+  @Test
+  @DisplayName("dashboard loads the profile once and computes every part from one BMI")
+  void dashboardSharesOneProfileLoad() {
+    PersonSimple stored = basePerson("mobile-dashboard");
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personRepository.findCohortStamp()).thenReturn(COHORT);
+    when(personService.calculateBMI(stored.getWeight(), stored.getHeight())).thenReturn(BMI_NORMAL);
+    when(personService.calculateAge(stored.getBirthDate())).thenReturn(AGE_THIRTY);
+    when(personService.calculateBMR(stored.getWeight(), stored.getHeight(), AGE_THIRTY, true))
+        .thenReturn(BMR_SAMPLE);
+    when(personService.calculateDailyCalorieNeeds(BMR_SAMPLE, stored.getTrainingFrequencyPerWeek()))
+        .thenReturn(MAINTENANCE_CALORIES);
+    when(healthInsightService.buildInsights(InsightRequest.againstCohort(stored, BMI_NORMAL, COHORT)))
+        .thenReturn(sampleInsight("Stay the course."));
+
+    ResponseEntity<DashboardResponse> first = personController.dashboard(null);
+    ResponseEntity<DashboardResponse> repeat = personController.dashboard(null);
+
+    DashboardResponse body = first.getBody();
+    assertNotNull(body);
+    assertEquals(stored.getClientId(), body.profile().getClientId());
+    assertEquals(BMI_NORMAL, body.bmi().bmi());
+    assertEquals(MAINTENANCE_CALORIES, body.calories().maintenanceCalories());
+    assertEquals("Stay the course.", body.recommendation().message());
+    assertEquals(PersonEndpointSupport.computedETag(stored, COHORT) + "-a" + AGE_THIRTY,
+        first.getHeaders().getETag().replace("\"", ""));
+    assertEquals(body, repeat.getBody());
+    verify(personRepository, times(2)).findByClientId(stored.getClientId());
+    verify(personService, times(1)).calculateBMI(stored.getWeight(), stored.getHeight());
+    verify(healthInsightService, times(1))
+        .buildInsights(InsightRequest.againstCohort(stored, BMI_NORMAL, COHORT));
+  }
+
+  @Test
+  @DisplayName("dashboard omits calorie targets and recommendation until the plan is configured")
+  void dashboardOmitsPlanPartsWhenPlanIncomplete() {
+    PersonSimple stored = basePerson("mobile-dashboard-partial");
+    stored.setTrainingFrequencyPerWeek(null);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personService.calculateBMI(stored.getWeight(), stored.getHeight())).thenReturn(BMI_NORMAL);
+
+    ResponseEntity<DashboardResponse> response = personController.dashboard(null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(BMI_NORMAL, response.getBody().bmi().bmi());
+    assertNull(response.getBody().calories());
+    assertNull(response.getBody().recommendation());
+    verify(personRepository, never()).findAllMetrics();
+    verify(personRepository, never()).findCohortStamp();
+  }
+
   @Test
   @DisplayName("createPerson rejects birthDate equal to today")
   void createPersonRejectsBirthDateToday() {
@@ -433,6 +596,53 @@ class PersonControllerTest {
     assertThrows(ResponseStatusException.class, () -> personController.configureGoalPlan(request));
   }
 
+  @Test
+  @DisplayName("simulateGoalPlans scores every combination without saving")
+  void simulateGoalPlansScoresWithoutSaving() {
+    PersonSimple stored = basePerson("mobile-plan-simulate");
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personService.calculateBMI(WEIGHT_BASE_KG, HEIGHT_TALL_CM)).thenReturn(BMI_RESPONSE);
+    when(personService.calculateAge(DOB_1990_JAN)).thenReturn(AGE_THIRTY);
+    when(personService.calculateBMR(WEIGHT_BASE_KG, HEIGHT_TALL_CM, AGE_THIRTY, true)).thenReturn(BMR_STANDARD);
+    when(personService.calculateDailyCalorieNeeds(BMR_STANDARD, TRAINING_FREQ_THREE))
+        .thenReturn(MAINTENANCE_CALORIES_SEDENTARY);
+    when(personService.calculateDailyCalorieNeeds(BMR_STANDARD, TRAINING_FREQ_FOUR))
+        .thenReturn(MAINTENANCE_CALORIES);
+    when(healthInsightService.planAlignmentIndex(eq(FitnessGoal.CUT), eq(WEIGHT_BASE_KG), anyDouble(),
+        eq(TRAINING_DURATION_WEEKS), anyInt(), eq(PlanStrategy.BOTH))).thenReturn(ALIGNMENT_SCORE);
+    when(healthInsightService.overallScore(eq(BMI_RESPONSE), eq(FitnessGoal.CUT), anyInt(),
+        eq(PlanStrategy.BOTH), eq(ALIGNMENT_SCORE))).thenReturn(OVERALL_SCORE);
+
+    PlanSimulationRequest request = new PlanSimulationRequest();
+    request.setTargetChangeKg(
+        new PlanSimulationRequest.DecimalRange(SIMULATED_TARGET_MIN_KG, SIMULATED_TARGET_MAX_KG, null));
+    request.setDurationWeeks(
+        new PlanSimulationRequest.WholeRange(TRAINING_DURATION_WEEKS, TRAINING_DURATION_WEEKS, null));
+    request.setTrainingFrequencyPerWeek(
+        new PlanSimulationRequest.WholeRange(TRAINING_FREQ_THREE, TRAINING_FREQ_FOUR, null));
+    request.setPlanStrategies(List.of(PlanStrategy.BOTH));
+
+    ResponseEntity<PlanSimulationResponse> response = personController.simulateGoalPlans(request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    PlanSimulationResponse body = response.getBody();
+    assertNotNull(body);
+    assertEquals(BMR_STANDARD, body.bmr());
+    assertEquals(4, body.scenarios().size());
+    PlanScenarioResponse first = body.scenarios().get(0);
+    assertEquals(SIMULATED_TARGET_MIN_KG, first.targetChangeKg());
+    assertEquals(TRAINING_FREQ_THREE, first.trainingFrequencyPerWeek());
+    assertEquals(ALIGNMENT_SCORE, first.planAlignmentIndex());
+    assertEquals(OVERALL_SCORE, first.overallScore());
+    assertEquals(MAINTENANCE_CALORIES_SEDENTARY, first.maintenanceCalories());
+    assertTrue(first.calorieAdjustmentPerDay() < 0);
+    assertEquals(first.maintenanceCalories() + first.calorieAdjustmentPerDay(), first.recommendedDailyCalories());
+    assertEquals(MAINTENANCE_CALORIES, body.scenarios().get(1).maintenanceCalories());
+    verify(personRepository, never()).save(any(PersonSimple.class));
+    assertEquals(TARGET_CHANGE_PLAN_KG, stored.getTargetChangeKg());
+  }
+
   @Test
   @DisplayName("updatePerson trims name and persists new metrics")
   void updatePersonTrimsAndUpdatesMetrics() {
@@ -529,12 +739,12 @@ class PersonControllerTest {
     when(personService.calculateDailyCalorieNeeds(BMR_SAMPLE, stored.getTrainingFrequencyPerWeek()))
         .thenReturn(MAINTENANCE_CALORIES);
 
-    ResponseEntity<Map<String, Object>> response = personController.calculateDailyCalories();
+    ResponseEntity<CaloriesResponse> response = personController.calculateDailyCalories(null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
-    Map<String, Object> body = response.getBody();
-    assertEquals(FitnessGoal.CUT, body.get("goal"));
-    assertEquals(MAINTENANCE_CALORIES, body.get("maintenanceCalories"));
+    CaloriesResponse body = response.getBody();
+    assertEquals(FitnessGoal.CUT, body.goal());
+    assertEquals(MAINTENANCE_CALORIES, body.maintenanceCalories());
   }
 
   @Test
@@ -551,16 +761,39 @@ class PersonControllerTest {
     when(personService.calculateDailyCalorieNeeds(BMR_SAMPLE, stored.getTrainingFrequencyPerWeek()))
         .thenReturn(MAINTENANCE_CALORIES);
 
-    ResponseEntity<Map<String, Object>> response = personController.calculateDailyCalories();
+    ResponseEntity<CaloriesResponse> response = personController.calculateDailyCalories(null);
 
-    Map<String, Object> body = response.getBody();
+    CaloriesResponse body = response.getBody();
     double deltaKg = stored.getTargetChangeKg() - stored.getWeight();
     double adjustment = Math.abs(
         deltaKg * CALORIES_PER_KG
             / stored.getTargetDurationWeeks()
             / DAYS_PER_WEEK);
-    assertEquals(-adjustment, (Double) body.get("calorieAdjustmentPerDay"));
-    assertTrue((Double) body.get("recommendedDailyCalories") < MAINTENANCE_CALORIES);
+    assertEquals(-adjustment, body.calorieAdjustmentPerDay());
+    assertTrue(body.recommendedDailyCalories() < MAINTENANCE_CALORIES);
+  }
+
+  @Test
+  @DisplayName("calculateDailyCalories ETag and cached body change on a birthday without a profile write")
+  void calculateDailyCaloriesETagCoversAge() {
+    PersonSimple stored = basePerson("mobile-calories-birthday");
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    ClientContext.setClientId(stored.getClientId());
+    when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
+    when(personService.calculateAge(stored.getBirthDate())).thenReturn(AGE_THIRTY, AGE_THIRTY, AGE_THIRTY + 1);
+    when(personService.calculateBMR(eq(stored.getWeight()), eq(stored.getHeight()), anyInt(), eq(true)))
+        .thenReturn(BMR_SAMPLE);
+    when(personService.calculateDailyCalorieNeeds(BMR_SAMPLE, stored.getTrainingFrequencyPerWeek()))
+        .thenReturn(MAINTENANCE_CALORIES);
+
+    String before = personController.calculateDailyCalories(null).getHeaders().getETag();
+    String after = personController.calculateDailyCalories(null).getHeaders().getETag();
+
+    assertEquals("\"7-3-f" + PersonEndpointSupport.FORMULA_VERSION + "-a" + AGE_THIRTY + "\"", before);
+    assertFalse(before.equals(after));
+    verify(personService, times(1)).calculateBMR(stored.getWeight(), stored.getHeight(), AGE_THIRTY, true);
+    verify(personService, times(1)).calculateBMR(stored.getWeight(), stored.getHeight(), AGE_THIRTY + 1, true);
   }
 
   @Test
@@ -602,18 +835,18 @@ class PersonControllerTest {
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
     when(personService.calculateAge(stored.getBirthDate())).thenReturn(null);
-    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories());
+    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories(null));
 
     when(personService.calculateAge(stored.getBirthDate())).thenReturn(AGE_THIRTY);
     when(personService.calculateBMR(stored.getWeight(), stored.getHeight(), AGE_THIRTY, true))
         .thenReturn(null);
-    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories());
+    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories(null));
 
     when(personService.calculateBMR(stored.getWeight(), stored.getHeight(), AGE_THIRTY, true))
         .thenReturn(BMR_FALLBACK);
     when(personService.calculateDailyCalorieNeeds(BMR_FALLBACK, stored.getTrainingFrequencyPerWeek()))
         .thenReturn(null);
-    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories());
+    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories(null));
   }
 
   @Test
@@ -622,20 +855,19 @@ class PersonControllerTest {
     PersonSimple stored = basePerson("mobile-reco");
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Stay the course."));
+    stubInsights(stored, sampleInsight("Stay the course."));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
+    RecommendationResponse body = response.getBody();
     assertNotNull(body);
-    assertEquals("Stay the course.", body.get("message"));
-    assertEquals(INSIGHT_BMI_VALUE, body.get("bmi"));
-    assertEquals(INSIGHT_BMI_CATEGORY, body.get("bmiCategory"));
-    assertEquals(INSIGHT_HEALTH_INDEX, body.get("healthIndex"));
-    assertEquals(INSIGHT_PLAN_SCORE, body.get("planAlignmentIndex"));
-    assertEquals(INSIGHT_OVERALL_SCORE, body.get("overallScore"));
-    assertEquals(INSIGHT_PERCENTILE, body.get("percentile"));
+    assertEquals("Stay the course.", body.message());
+    assertEquals(INSIGHT_BMI_VALUE, body.bmi());
+    assertEquals(INSIGHT_BMI_CATEGORY, body.bmiCategory());
+    assertEquals(INSIGHT_HEALTH_INDEX, body.healthIndex());
+    assertEquals(INSIGHT_PLAN_SCORE, body.planAlignmentIndex());
+    assertEquals(INSIGHT_OVERALL_SCORE, body.overallScore());
+    assertEquals(INSIGHT_PERCENTILE, body.percentile());
   }
 
   @Test
@@ -644,8 +876,7 @@ class PersonControllerTest {
     PersonSimple stored = basePerson("mobile-reco-noplan");
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(new HealthInsightResult(
+    stubInsights(stored, new HealthInsightResult(
             INSIGHT_BMI_VALUE,
             INSIGHT_BMI_CATEGORY,
             INSIGHT_HEALTH_INDEX,
@@ -655,12 +886,12 @@ class PersonControllerTest {
             null,
             "Plan pending"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
+    RecommendationResponse body = response.getBody();
     assertNotNull(body);
-    assertNull(body.get("planAlignmentIndex"), "planAlignmentIndex should be null when insight omits it");
-    assertEquals(INSIGHT_HEALTH_INDEX, body.get("overallScore"), "Overall score should fall back to health index");
+    assertNull(body.planAlignmentIndex(), "planAlignmentIndex should be null when insight omits it");
+    assertEquals(INSIGHT_HEALTH_INDEX, body.overallScore(), "Overall score should fall back to health index");
   }
 
   @Test
@@ -669,13 +900,12 @@ class PersonControllerTest {
     PersonSimple stored = basePerson("mobile-reco-warning");
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Need more data", "Cohort too small"));
+    stubInsights(stored, sampleInsight("Need more data", "Cohort too small"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    assertEquals("Cohort too small", body.get("cohortWarning"));
+    RecommendationResponse body = response.getBody();
+    assertEquals("Cohort too small", body.cohortWarning());
   }
 
   @Test
@@ -690,7 +920,7 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
@@ -705,12 +935,11 @@ class PersonControllerTest {
     stored.setTrainingFrequencyPerWeek(0);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Workout message"));
+    stubInsights(stored, sampleInsight("Workout message"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    String workoutPlan = (String) response.getBody().get("workoutPlan");
+    String workoutPlan = response.getBody().workoutPlan();
     assertTrue(workoutPlan.contains("Schedule 1 total-body"), "Workout plan should clamp to minimum frequency");
   }
 
@@ -721,14 +950,13 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Diet focus message"));
+    stubInsights(stored, sampleInsight("Diet focus message"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    assertNotNull(body.get("dietPlan"));
-    assertEquals("Diet focus message", body.get("message"));
+    RecommendationResponse body = response.getBody();
+    assertNotNull(body.dietPlan());
+    assertEquals("Diet focus message", body.message());
   }
 
   @Test
@@ -739,14 +967,13 @@ class PersonControllerTest {
     stored.setTrainingFrequencyPerWeek(TRAINING_FREQ_FIVE);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Workout focus message"));
+    stubInsights(stored, sampleInsight("Workout focus message"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    assertNotNull(body.get("workoutPlan"));
-    assertEquals("Workout focus message", body.get("message"));
+    RecommendationResponse body = response.getBody();
+    assertNotNull(body.workoutPlan());
+    assertEquals("Workout focus message", body.message());
   }
 
   @Test
@@ -761,7 +988,7 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
@@ -803,7 +1030,12 @@ class PersonControllerTest {
   private void expectCalorieFailure(PersonSimple stored) {
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories());
+    assertThrows(ResponseStatusException.class, () -> personController.calculateDailyCalories(null));
+  }
+
+  private void stubInsights(PersonSimple stored, HealthInsightResult insight) {
+    lenient().when(personService.calculateBMI(stored.getWeight(), stored.getHeight())).thenReturn(BMI_NORMAL);
+    when(healthInsightService.buildInsights(any(InsightRequest.class))).thenReturn(insight);
   }
 
   private HealthInsightResult sampleInsight(String message) {
@@ -985,8 +1217,7 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(new HealthInsightResult(
+    stubInsights(stored, new HealthInsightResult(
             INSIGHT_BMI_VALUE,
             INSIGHT_BMI_CATEGORY,
             INSIGHT_HEALTH_INDEX,
@@ -996,10 +1227,10 @@ class PersonControllerTest {
             null,
             "Test message"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("Cannot provide a diet plan") || dietPlan.contains("Plan Alignment = 0"));
   }
 
@@ -1010,13 +1241,12 @@ class PersonControllerTest {
     stored.setGoal(null);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("balanced meal plan"));
   }
 
@@ -1031,13 +1261,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("capped at maximum safe deficit") || dietPlan.contains("1500"));
   }
 
@@ -1052,13 +1281,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("kcal deficit per day"));
     assertFalse(dietPlan.contains("capped"));
   }
@@ -1074,13 +1302,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("capped at maximum safe surplus") || dietPlan.contains("1000"));
   }
 
@@ -1095,13 +1322,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("kcal surplus daily"));
     assertFalse(dietPlan.contains("capped"));
   }
@@ -1119,7 +1345,7 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
@@ -1331,7 +1557,7 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
@@ -1348,13 +1574,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     // Should use default adjustment when duration is 0
     assertNotNull(dietPlan);
   }
@@ -1366,8 +1591,7 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.WORKOUT);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(new HealthInsightResult(
+    stubInsights(stored, new HealthInsightResult(
             INSIGHT_BMI_VALUE,
             INSIGHT_BMI_CATEGORY,
             INSIGHT_HEALTH_INDEX,
@@ -1377,10 +1601,10 @@ class PersonControllerTest {
             null,
             "Test message"));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String workoutPlan = (String) body.get("workoutPlan");
+    RecommendationResponse body = response.getBody();
+    String workoutPlan = body.workoutPlan();
     assertTrue(workoutPlan.contains("Cannot provide a workout plan") || workoutPlan.contains("Plan Alignment = 0"));
   }
 
@@ -1397,7 +1621,7 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
@@ -1412,13 +1636,12 @@ class PersonControllerTest {
     stored.setTrainingFrequencyPerWeek(4);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String workoutPlan = (String) body.get("workoutPlan");
+    RecommendationResponse body = response.getBody();
+    String workoutPlan = body.workoutPlan();
     assertTrue(workoutPlan.contains("strength and cardio") || workoutPlan.contains("fat loss"));
   }
 
@@ -1431,13 +1654,12 @@ class PersonControllerTest {
     stored.setTrainingFrequencyPerWeek(4);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String workoutPlan = (String) body.get("workoutPlan");
+    RecommendationResponse body = response.getBody();
+    String workoutPlan = body.workoutPlan();
     assertTrue(workoutPlan.contains("strength-focused") || workoutPlan.contains("progressive overload"));
   }
 
@@ -1551,13 +1773,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("kcal deficit per day"));
   }
 
@@ -1575,13 +1796,12 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.DIET);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    String dietPlan = (String) body.get("dietPlan");
+    RecommendationResponse body = response.getBody();
+    String dietPlan = body.dietPlan();
     assertTrue(dietPlan.contains("kcal surplus daily"));
   }
 
@@ -1593,14 +1813,13 @@ class PersonControllerTest {
     stored.setPlanStrategy(PlanStrategy.BOTH);
     ClientContext.setClientId(stored.getClientId());
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
-    when(healthInsightService.buildInsights(stored))
-        .thenReturn(sampleInsight("Test message", null));
+    stubInsights(stored, sampleInsight("Test message", null));
 
-    ResponseEntity<Map<String, Object>> response = personController.provideRecommendation();
+    ResponseEntity<RecommendationResponse> response = personController.provideRecommendation(null);
 
-    Map<String, Object> body = response.getBody();
-    assertNotNull(body.get("dietPlan"));
-    assertNotNull(body.get("workoutPlan"));
+    RecommendationResponse body = response.getBody();
+    assertNotNull(body.dietPlan());
+    assertNotNull(body.workoutPlan());
   }
 
   @Test
@@ -1615,12 +1834,97 @@ class PersonControllerTest {
     when(personRepository.findByClientId(stored.getClientId())).thenReturn(Optional.of(stored));
 
     ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-        () -> personController.provideRecommendation());
+        () -> personController.provideRecommendation(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     assertTrue(exception.getMessage().contains("All goal plan fields must be configured"));
   }
 
+  @Test
+  @DisplayName("patchPerson writes only the supplied fields without loading the profile")
+  @SuppressWarnings("unchecked")
+  void patchPersonUpdatesOnlySuppliedFields() {
+    ClientContext.setClientId("mobile-patch");
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_UPDATED_KG);
+    patch.setName("  Renamed  ");
+    when(personRepository.patchByClientId(anyString(), any())).thenReturn(1);
+
+    ResponseEntity<Void> response = personController.patchPerson(patch);
+
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    ArgumentCaptor<Map<String, Object>> changes = ArgumentCaptor.forClass(Map.class);
+    verify(personRepository).patchByClientId(eq("mobile-patch"), changes.capture());
+    assertEquals(Map.of("name", "Renamed", "weight", WEIGHT_UPDATED_KG), changes.getValue());
+    verify(personRepository, never()).findByClientId(anyString());
+    verify(personRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("patchPerson rejects an empty document")
+  void patchPersonRejectsEmptyDocument() {
+    ClientContext.setClientId("mobile-patch-empty");
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> personController.patchPerson(new PersonPatchRequest()));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verify(personRepository, never()).patchByClientId(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("patchPerson returns 404 when no profile matches the client")
+  void patchPersonReturnsNotFoundForMissingProfile() {
+    ClientContext.setClientId("mobile-patch-missing");
+    when(personRepository.patchByClientId(anyString(), any())).thenReturn(0);
+    when(personRepository.findByClientId("mobile-patch-missing")).thenReturn(Optional.empty());
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setTrainingFrequencyPerWeek(TRAINING_FREQ_THREE);
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> personController.patchPerson(patch));
+
+    assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("patchPerson explains a target weight the update rejected for the stored goal")
+  void patchPersonRejectsUnsafeTargetForStoredGoal() {
+    ClientContext.setClientId("mobile-patch-unsafe");
+    when(personRepository.patchByClientId(anyString(), any())).thenReturn(0);
+    when(personRepository.findByClientId("mobile-patch-unsafe"))
+        .thenReturn(Optional.of(patchableStored("mobile-patch-unsafe")));
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setTargetChangeKg(25.0); // Target weight 25kg (< 30kg minimum) for the stored CUT goal
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> personController.patchPerson(patch));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    assertTrue(exception.getMessage().contains("below the minimum healthy weight"));
+  }
+
+  @Test
+  @DisplayName("patchPerson reports a concurrent change when a rejected patch is valid on reload")
+  void patchPersonConflictsWhenProfileChanged() {
+    ClientContext.setClientId("mobile-patch-race");
+    when(personRepository.patchByClientId(anyString(), any())).thenReturn(0);
+    when(personRepository.findByClientId("mobile-patch-race"))
+        .thenReturn(Optional.of(patchableStored("mobile-patch-race")));
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_UPDATED_KG);
+
+    assertThrows(OptimisticLockingFailureException.class, () -> personController.patchPerson(patch));
+  }
+
+  private PersonSimple patchableStored(String clientId) {
+    PersonSimple stored = basePerson(clientId);
+    stored.setTargetChangeKg(stored.getWeight() - TARGET_CHANGE_PLAN_KG);
+    stored.setId(PERSISTED_ID);
+    stored.setVersion(PERSISTED_VERSION);
+    return stored;
+  }
+
   private PersonSimple basePerson(String clientId) {
     PersonSimple person = new PersonSimple();
     person.setName("Tester");
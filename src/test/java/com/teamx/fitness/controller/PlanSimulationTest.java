@@ -0,0 +1,159 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.teamx.fitness.controller.dto.CaloriesResponse;
+import com.teamx.fitness.controller.dto.PlanScenarioResponse;
+import com.teamx.fitness.controller.dto.PlanSimulationRequest;
+import com.teamx.fitness.controller.dto.PlanSimulationResponse;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.service.HealthInsightResult;
+import com.teamx.fitness.service.HealthInsightService;
+import com.teamx.fitness.service.InsightRequest;
+import com.teamx.fitness.service.PersonService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for {@link PlanSimulation}, checking every simulated plan against the scores and
+ * calorie targets the profile would get with that plan stored.
+ */
+@DisplayName("PlanSimulation")
+class PlanSimulationTest {
+
+  /** Current weight of the test profile. */
+  private static final double WEIGHT_KG = 90.0;
+  /** Stored plan duration, which the simulation must leave untouched. */
+  private static final int STORED_DURATION_WEEKS = 12;
+
+  /** Real calculators, so simulated values can be compared with the stored-plan endpoints. */
+  private PersonService personService;
+
+  /** Scoring service without cohort access. */
+  private HealthInsightService healthInsightService;
+
+  /** Profile the plans are simulated for. */
+  private PersonSimple person;
+
+  @BeforeEach
+  void setUp() {
+    personService = new PersonService();
+    healthInsightService = new HealthInsightService(personService, null, 1);
+    person = new PersonSimple();
+    person.setId(1L);
+    person.setVersion(3L);
+    person.setWeight(WEIGHT_KG);
+    person.setHeight(178.0);
+    person.setBirthDate(LocalDate.of(1994, 5, 20));
+    person.setGender(Gender.MALE);
+    person.setGoal(FitnessGoal.CUT);
+    person.setTargetChangeKg(85.0);
+    person.setTargetDurationWeeks(STORED_DURATION_WEEKS);
+    person.setTrainingFrequencyPerWeek(3);
+    person.setPlanStrategy(PlanStrategy.DIET);
+  }
+
+  private static PlanSimulationRequest request(
+      double minTarget, double maxTarget, double targetStep, int maxDuration, int maxFrequency) {
+    PlanSimulationRequest request = new PlanSimulationRequest();
+    request.setTargetChangeKg(new PlanSimulationRequest.DecimalRange(minTarget, maxTarget, targetStep));
+    request.setDurationWeeks(new PlanSimulationRequest.WholeRange(4, maxDuration, 4));
+    request.setTrainingFrequencyPerWeek(new PlanSimulationRequest.WholeRange(1, maxFrequency, null));
+    return request;
+  }
+
+  private PersonSimple withPlan(PlanScenarioResponse scenario) {
+    PersonSimple planned = new PersonSimple();
+    planned.setWeight(person.getWeight());
+    planned.setHeight(person.getHeight());
+    planned.setBirthDate(person.getBirthDate());
+    planned.setGender(person.getGender());
+    planned.setGoal(person.getGoal());
+    planned.setTargetChangeKg(scenario.targetChangeKg());
+    planned.setTargetDurationWeeks(scenario.durationWeeks());
+    planned.setTrainingFrequencyPerWeek(scenario.trainingFrequencyPerWeek());
+    planned.setPlanStrategy(scenario.planStrategy());
+    return planned;
+  }
+
+  @Test
+  @DisplayName("scores every combination like the stored-plan recommendation and calories")
+  void matchesStoredPlanResults() {
+    PlanSimulationResponse response = PlanSimulation.simulate(
+        person, request(80.0, 88.5, 0.5, 24, 6), personService, healthInsightService);
+
+    List<PlanScenarioResponse> scenarios = response.scenarios();
+    assertEquals(18 * 6 * 6 * PlanStrategy.values().length, scenarios.size());
+    assertEquals(FitnessGoal.CUT, response.goal());
+    for (PlanScenarioResponse scenario : scenarios) {
+      PersonSimple planned = withPlan(scenario);
+      HealthInsightResult insights = healthInsightService.buildInsights(InsightRequest.withoutCohort(
+          planned, personService.calculateBMI(planned.getWeight(), planned.getHeight())));
+      CaloriesResponse calories = PersonEndpointSupport.caloriesBody(planned, personService);
+      String label = scenario.toString();
+      assertEquals(insights.planAlignmentIndex(), scenario.planAlignmentIndex(), label);
+      assertEquals(insights.overallScore(), scenario.overallScore(), label);
+      assertEquals(calories.bmr(), response.bmr(), label);
+      assertEquals(calories.maintenanceCalories(), scenario.maintenanceCalories(), label);
+      assertEquals(calories.calorieAdjustmentPerDay(), scenario.calorieAdjustmentPerDay(), label);
+      assertEquals(calories.recommendedDailyCalories(), scenario.recommendedDailyCalories(), label);
+    }
+  }
+
+  @Test
+  @DisplayName("orders plans by target, duration, frequency and strategy and leaves the profile alone")
+  void ordersScenariosWithoutChangingProfile() {
+    PlanSimulationRequest request = request(84.0, 85.0, 1.0, 8, 2);
+    request.setPlanStrategies(List.of(PlanStrategy.BOTH, PlanStrategy.DIET, PlanStrategy.BOTH));
+
+    List<PlanScenarioResponse> scenarios =
+        PlanSimulation.simulate(person, request, personService, healthInsightService).scenarios();
+
+    assertEquals(16, scenarios.size());
+    PlanScenarioResponse first = scenarios.get(0);
+    assertEquals(84.0, first.targetChangeKg());
+    assertEquals(4, first.durationWeeks());
+    assertEquals(1, first.trainingFrequencyPerWeek());
+    assertEquals(PlanStrategy.BOTH, first.planStrategy());
+    assertEquals(PlanStrategy.DIET, scenarios.get(1).planStrategy());
+    assertEquals(2, scenarios.get(2).trainingFrequencyPerWeek());
+    assertEquals(8, scenarios.get(4).durationWeeks());
+    assertEquals(85.0, scenarios.get(15).targetChangeKg());
+    assertEquals(85.0, person.getTargetChangeKg());
+    assertEquals(STORED_DURATION_WEEKS, person.getTargetDurationWeeks());
+    assertEquals(PlanStrategy.DIET, person.getPlanStrategy());
+  }
+
+  @Test
+  @DisplayName("rejects grids beyond the combination limit")
+  void rejectsOversizedGrid() {
+    PlanSimulationRequest request = request(60.0, 89.0, 0.001, 52, 14);
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> PlanSimulation.simulate(person, request, personService, healthInsightService));
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("rejects inverted ranges and unsafe target weights")
+  void rejectsInvalidRanges() {
+    ResponseStatusException inverted = assertThrows(ResponseStatusException.class,
+        () -> PlanSimulation.simulate(
+            person, request(88.0, 84.0, 1.0, 8, 2), personService, healthInsightService));
+    assertEquals(HttpStatus.BAD_REQUEST, inverted.getStatusCode());
+
+    ResponseStatusException unsafe = assertThrows(ResponseStatusException.class,
+        () -> PlanSimulation.simulate(
+            person, request(30.0, 85.0, 5.0, 8, 2), personService, healthInsightService));
+    assertEquals(HttpStatus.BAD_REQUEST, unsafe.getStatusCode());
+  }
+}
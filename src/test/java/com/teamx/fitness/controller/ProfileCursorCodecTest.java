@@ -0,0 +1,56 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for {@link ProfileCursorCodec}.
+ */
+@DisplayName("ProfileCursorCodec")
+class ProfileCursorCodecTest {
+
+  /** Fixed 128-bit test key. */
+  private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZg==";
+
+  /** Profile id used in the cursors. */
+  private static final long PROFILE_ID = 42L;
+
+  @Test
+  @DisplayName("round-trips ids without exposing them")
+  void roundTripsOpaqueCursor() {
+    ProfileCursorCodec codec = new ProfileCursorCodec(KEY);
+
+    String cursor = codec.encode(PROFILE_ID);
+
+    assertEquals(PROFILE_ID, codec.decode(cursor));
+    String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.ISO_8859_1);
+    assertFalse(decoded.contains(String.valueOf(PROFILE_ID)));
+    assertFalse(cursor.equals(codec.encode(PROFILE_ID + 1)));
+  }
+
+  @Test
+  @DisplayName("rejects altered, forged and foreign cursors")
+  void rejectsCursorsNotIssuedWithKey() {
+    ProfileCursorCodec codec = new ProfileCursorCodec(KEY);
+    String cursor = codec.encode(PROFILE_ID);
+    char last = cursor.charAt(cursor.length() - 1);
+    String altered = cursor.substring(0, cursor.length() - 1) + (last == 'A' ? 'B' : 'A');
+    String legacy = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("p1:42".getBytes(StandardCharsets.US_ASCII));
+    String foreign = new ProfileCursorCodec("").encode(PROFILE_ID);
+
+    for (String invalid : new String[] {altered, legacy, foreign, "not a cursor"}) {
+      ResponseStatusException ex =
+          assertThrows(ResponseStatusException.class, () -> codec.decode(invalid));
+      assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+  }
+}
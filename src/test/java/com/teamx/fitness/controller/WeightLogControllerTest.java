@@ -0,0 +1,234 @@
+package com.teamx.fitness.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.teamx.fitness.controller.dto.WeightLogAppendRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryResponse;
+import com.teamx.fitness.model.WeightLogEntry;
+import com.teamx.fitness.repository.PersonRepository;
+import com.teamx.fitness.repository.WeightLogRepository;
+import com.teamx.fitness.security.ClientContext;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for {@link WeightLogController} with mocked repositories.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WeightLogController")
+class WeightLogControllerTest {
+
+  /** Client identifier used by the tests. */
+  private static final String CLIENT_ID = "mobile-weightlog";
+  /** Primary key of the profile owned by {@link #CLIENT_ID}. */
+  private static final long PERSON_ID = 42L;
+  /** First sample weight (kg). */
+  private static final double WEIGHT_FIRST_KG = 80.4;
+  /** Second sample weight (kg). */
+  private static final double WEIGHT_SECOND_KG = 80.1;
+  /** Sample body fat percentage. */
+  private static final double BODY_FAT_PERCENT = 21.5;
+  /** Limit above the accepted maximum. */
+  private static final int LIMIT_TOO_LARGE = 5001;
+  /** Default look-back window of range queries (days). */
+  private static final long DEFAULT_RANGE_DAYS = 90;
+  /** Retention period the controller accepts appends for (days). */
+  private static final int RETENTION_DAYS = 365;
+  /** Age of the back-dated sample entry (days). */
+  private static final long BACK_DATED_DAYS = 3;
+
+  /** Mocked profile lookup. */
+  @Mock private PersonRepository personRepository;
+
+  /** Mocked weight log storage. */
+  @Mock private WeightLogRepository weightLogRepository;
+
+  /** Controller under test. */
+  private WeightLogController weightLogController;
+
+  @BeforeEach
+  void setUp() {
+    weightLogController = new WeightLogController(personRepository, weightLogRepository, RETENTION_DAYS);
+  }
+
+  @AfterEach
+  void clearContext() {
+    ClientContext.clear();
+  }
+
+  @Test
+  @DisplayName("appendEntries writes the whole batch in one call and stamps missing times")
+  @SuppressWarnings("unchecked")
+  void appendEntriesWritesSingleBatch() {
+    ClientContext.setClientId(CLIENT_ID);
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.of(PERSON_ID));
+    when(weightLogRepository.appendBatch(eq(PERSON_ID), any())).thenReturn(2);
+
+    Instant measured = Instant.now().minus(Duration.ofDays(BACK_DATED_DAYS)).truncatedTo(ChronoUnit.SECONDS);
+    WeightLogAppendRequest request = new WeightLogAppendRequest();
+    request.setEntries(List.of(
+        entry(measured, WEIGHT_FIRST_KG, BODY_FAT_PERCENT),
+        entry(null, WEIGHT_SECOND_KG, null)));
+
+    Instant before = Instant.now();
+    ResponseEntity<Map<String, Object>> response = weightLogController.appendEntries(request);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    assertEquals(2, response.getBody().get("appended"));
+
+    ArgumentCaptor<List<WeightLogEntry>> batch = ArgumentCaptor.forClass(List.class);
+    verify(weightLogRepository).appendBatch(eq(PERSON_ID), batch.capture());
+    List<WeightLogEntry> written = batch.getValue();
+    assertEquals(2, written.size());
+    assertEquals(measured, written.get(0).getRecordedAt());
+    assertEquals(BODY_FAT_PERCENT, written.get(0).getBodyFatPercent());
+    assertFalse(written.get(1).getRecordedAt().isBefore(before));
+    assertNull(written.get(1).getBodyFatPercent());
+  }
+
+  @Test
+  @DisplayName("appendEntries rejects entries older than the retention period")
+  void appendEntriesRejectsExpiredEntries() {
+    ClientContext.setClientId(CLIENT_ID);
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.of(PERSON_ID));
+    WeightLogAppendRequest request = new WeightLogAppendRequest();
+    request.setEntries(List.of(
+        entry(null, WEIGHT_FIRST_KG, null),
+        entry(Instant.now().minus(Duration.ofDays(RETENTION_DAYS + 1)), WEIGHT_SECOND_KG, null)));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> weightLogController.appendEntries(request));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verify(weightLogRepository, never()).appendBatch(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("appendEntries returns 503 when the entry's month has no partition")
+  void appendEntriesMissingPartitionIsUnavailable() {
+    ClientContext.setClientId(CLIENT_ID);
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.of(PERSON_ID));
+    when(weightLogRepository.appendBatch(eq(PERSON_ID), any())).thenThrow(
+        new DataIntegrityViolationException("batch insert failed", new SQLException(
+            "ERROR: no partition of relation \"weight_log\" found for row", "23514")));
+    WeightLogAppendRequest request = new WeightLogAppendRequest();
+    request.setEntries(List.of(entry(null, WEIGHT_FIRST_KG, null)));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> weightLogController.appendEntries(request));
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("appendEntries returns 404 when the client has no profile")
+  void appendEntriesRequiresProfile() {
+    ClientContext.setClientId(CLIENT_ID);
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.empty());
+    WeightLogAppendRequest request = new WeightLogAppendRequest();
+    request.setEntries(List.of(entry(null, WEIGHT_FIRST_KG, null)));
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> weightLogController.appendEntries(request));
+
+    assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    verify(weightLogRepository, never()).appendBatch(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("getEntries queries the requested half-open range")
+  void getEntriesQueriesRange() {
+    ClientContext.setClientId(CLIENT_ID);
+    Instant from = Instant.parse("2025-01-01T00:00:00Z");
+    Instant to = Instant.parse("2025-02-01T00:00:00Z");
+    Instant measured = Instant.parse("2025-01-15T06:00:00Z");
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.of(PERSON_ID));
+    when(weightLogRepository.findRange(eq(PERSON_ID), eq(from), eq(to), any(Pageable.class)))
+        .thenReturn(List.of(new WeightLogEntry(PERSON_ID, measured, WEIGHT_FIRST_KG, null)));
+
+    ResponseEntity<List<WeightLogEntryResponse>> response =
+        weightLogController.getEntries(from, to, null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody().size());
+    assertEquals(measured, response.getBody().get(0).getRecordedAt());
+    assertEquals(WEIGHT_FIRST_KG, response.getBody().get(0).getWeightKg());
+  }
+
+  @Test
+  @DisplayName("getEntries defaults to a 90 day window ending at the supplied upper bound")
+  void getEntriesDefaultsLowerBound() {
+    ClientContext.setClientId(CLIENT_ID);
+    Instant to = Instant.parse("2025-06-01T00:00:00Z");
+    when(personRepository.findIdByClientId(CLIENT_ID)).thenReturn(Optional.of(PERSON_ID));
+    when(weightLogRepository.findRange(eq(PERSON_ID), any(), eq(to), any(Pageable.class)))
+        .thenReturn(List.of());
+
+    weightLogController.getEntries(null, to, null);
+
+    verify(weightLogRepository).findRange(
+        eq(PERSON_ID), eq(to.minus(Duration.ofDays(DEFAULT_RANGE_DAYS))), eq(to),
+        any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("getEntries rejects an inverted range before touching the database")
+  void getEntriesRejectsInvertedRange() {
+    ClientContext.setClientId(CLIENT_ID);
+    Instant from = Instant.parse("2025-02-01T00:00:00Z");
+    Instant to = Instant.parse("2025-01-01T00:00:00Z");
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> weightLogController.getEntries(from, to, null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verify(personRepository, never()).findIdByClientId(any());
+  }
+
+  @Test
+  @DisplayName("getEntries rejects limits above the maximum")
+  void getEntriesRejectsLargeLimit() {
+    ClientContext.setClientId(CLIENT_ID);
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> weightLogController.getEntries(null, null, LIMIT_TOO_LARGE));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+  }
+
+  private static WeightLogEntryRequest entry(Instant recordedAt, double weightKg, Double bodyFat) {
+    WeightLogEntryRequest entry = new WeightLogEntryRequest();
+    entry.setRecordedAt(recordedAt);
+    entry.setWeightKg(weightKg);
+    entry.setBodyFatPercent(bodyFat);
+    return entry;
+  }
+}
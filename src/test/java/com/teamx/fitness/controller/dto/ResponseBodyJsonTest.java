@@ -0,0 +1,112 @@
+package com.teamx.fitness.controller.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamx.fitness.config.JacksonConfig;
+import com.teamx.fitness.controller.FieldSelection;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pins the JSON shape of the typed response bodies to the map-based format they replaced,
+ * serialized the way the application does (with the Blackbird module).
+ */
+@DisplayName("Typed response bodies keep their JSON shape")
+class ResponseBodyJsonTest {
+
+  /** Sample size used in the fixtures. */
+  private static final int SAMPLE_SIZE = 4;
+  /** Per-goal profile count used in the fixtures. */
+  private static final int SEGMENT_SIZE = 2;
+  /** BMI used in the fixtures. */
+  private static final double BMI = 23.5;
+
+  /** Mapper configured like the application's. */
+  private final ObjectMapper mapper =
+      new ObjectMapper().registerModule(new JacksonConfig().blackbirdModule())
+          .setFilterProvider(FieldSelection.allFields());
+
+  private JsonNode toJson(Object body) throws Exception {
+    return mapper.readTree(mapper.writeValueAsString(body));
+  }
+
+  @Test
+  @DisplayName("profile bodies leave the row version to the ETag")
+  void profileOmitsVersion() throws Exception {
+    PersonSimple person = new PersonSimple(
+        "Sample", 72.5, 175.0, null, Gender.MALE, FitnessGoal.CUT, "mobile-json");
+    person.setVersion(3L);
+
+    JsonNode json = toJson(person);
+
+    assertEquals("mobile-json", json.get("clientId").asText());
+    assertFalse(json.has("version"));
+  }
+
+  @Test
+  @DisplayName("gender counts sit next to percentage")
+  void demographicsFlattensGenderCounts() throws Exception {
+    DemographicsResponse body = new DemographicsResponse(
+        SAMPLE_SIZE,
+        new DemographicsResponse.AgeDistribution(32.5, Map.of("26-35", 4L)),
+        new DemographicsResponse.GenderDistribution(
+            Map.of("MALE", 2L, "FEMALE", 2L), Map.of("MALE", 50.0, "FEMALE", 50.0)),
+        new DemographicsResponse.PhysicalCharacteristics(
+            72.5, 175.0, new DemographicsResponse.Range(65.0, 80.0),
+            new DemographicsResponse.Range(160.0, 190.0)));
+
+    JsonNode json = toJson(body);
+
+    assertEquals(SAMPLE_SIZE, json.get("sampleSize").asInt());
+    JsonNode gender = json.get("genderDistribution");
+    assertEquals(2, gender.get("MALE").asInt());
+    assertEquals(50.0, gender.get("percentage").get("FEMALE").asDouble());
+    assertFalse(gender.has("counts"));
+    assertEquals(80.0, json.get("physicalCharacteristics").get("weightRange").get("max").asDouble());
+  }
+
+  @Test
+  @DisplayName("goal segments use the goal names and omit unset plan metrics")
+  void populationHealthKeysAndOmissions() throws Exception {
+    PopulationHealthResponse.GoalSegment segment = new PopulationHealthResponse.GoalSegment(
+        SEGMENT_SIZE,
+        new PopulationHealthResponse.HealthMetrics(BMI, Map.of("normal", 2L)),
+        new PopulationHealthResponse.PlanMetrics(5.0, null, null, null));
+
+    JsonNode json = toJson(new PopulationHealthResponse(
+        SAMPLE_SIZE, new PopulationHealthResponse.GoalSegments(segment, segment)));
+
+    JsonNode cut = json.get("goalSegments").get("CUT");
+    assertTrue(json.get("goalSegments").has("BULK"));
+    assertEquals(SEGMENT_SIZE, cut.get("count").asInt());
+    assertEquals(BMI, cut.get("healthMetrics").get("averageBMI").asDouble());
+    assertEquals(1, cut.get("planMetrics").size());
+  }
+
+  @Test
+  @DisplayName("recommendation writes nulls for scores but omits absent warnings and plans")
+  void recommendationOmitsOptionalText() throws Exception {
+    RecommendationResponse body = new RecommendationResponse(
+        FitnessGoal.CUT, "Stay the course.", BMI, "Normal weight", 80.0, null, 80.0, null,
+        null, null, PlanStrategy.DIET, 65.0, 12, 3, "Eat well", null);
+
+    JsonNode json = toJson(body);
+
+    assertEquals("CUT", json.get("goal").asText());
+    assertTrue(json.has("percentile") && json.get("percentile").isNull());
+    assertTrue(json.has("planAlignmentIndex"));
+    assertFalse(json.has("cohortWarning"));
+    assertFalse(json.has("planAlignmentWarning"));
+    assertFalse(json.has("workoutPlan"));
+    assertEquals("Eat well", json.get("dietPlan").asText());
+  }
+}
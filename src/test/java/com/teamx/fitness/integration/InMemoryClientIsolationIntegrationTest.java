@@ -0,0 +1,270 @@
+package com.teamx.fitness.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.teamx.fitness.controller.PersonController;
+import com.teamx.fitness.controller.dto.PersonCreateRequest;
+import com.teamx.fitness.controller.dto.PersonCreatedResponse;
+import com.teamx.fitness.controller.dto.PersonProfileResponse;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.repository.PersonRepository;
+import com.teamx.fitness.security.ClientContext;
+import java.time.LocalDate;
+import java.time.Month;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Runs the client isolation scenarios of {@link ClientIsolationIntegrationTest} against the
+ * application context of the {@code memory} profile, so {@link PersonController} reads and writes
+ * the in-memory repositories instead of mocks.
+ */
+@SpringBootTest
+@ActiveProfiles("memory")
+@DisplayName("Client isolation safeguards (memory profile)")
+class InMemoryClientIsolationIntegrationTest {
+
+  /** Primary mock client identifier. */
+  private static final String MOBILE_CLIENT_1 = "mobile-app1";
+  /** Secondary mock client identifier. */
+  private static final String MOBILE_CLIENT_2 = "mobile-app2";
+  /** Baseline persisted weight used for default profiles (kg). */
+  private static final double WEIGHT_BASE_KG = 70.0;
+  /** Baseline persisted height used for default profiles (cm). */
+  private static final double HEIGHT_BASE_CM = 170.0;
+  /** Weight for the Alice sample profile (kg). */
+  private static final double WEIGHT_ALICE_KG = 65.0;
+  /** Weight for the Bob sample profile (kg). */
+  private static final double WEIGHT_BOB_KG = 80.0;
+  /** Updated weight for Carol after edits (kg). */
+  private static final double WEIGHT_CAROL_UPDATED_KG = 72.0;
+  /** Weight for the Dana sample profile (kg). */
+  private static final double WEIGHT_DANA_KG = 68.0;
+  /** Height for the Carol sample profile (cm). */
+  private static final double HEIGHT_CAROL_CM = 172.0;
+  /** Height for the Bob sample profile (cm). */
+  private static final double HEIGHT_BOB_CM = 180.0;
+  /** Height for the Dana sample profile (cm). */
+  private static final double HEIGHT_DANA_CM = 168.0;
+  /** Year constant for 1990. */
+  private static final int YEAR_1990 = 1990;
+  /** Year constant for 1991. */
+  private static final int YEAR_1991 = 1991;
+  /** Year constant for 1992. */
+  private static final int YEAR_1992 = 1992;
+  /** Year constant for 1995. */
+  private static final int YEAR_1995 = 1995;
+  /** First day of month constant. */
+  private static final int DAY_ONE = 1;
+  /** Tenth day of month constant. */
+  private static final int DAY_TEN = 10;
+  /** Fifteenth day of month constant. */
+  private static final int DAY_FIFTEEN = 15;
+  /** Twentieth day of month constant. */
+  private static final int DAY_TWENTY = 20;
+  /** Default DOB used for persisted profiles. */
+  private static final LocalDate DOB_DEFAULT =
+      LocalDate.of(YEAR_1990, Month.JANUARY, DAY_ONE);
+  /** Alice sample DOB. */
+  private static final LocalDate DOB_ALICE =
+      LocalDate.of(YEAR_1990, Month.MAY, DAY_FIFTEEN);
+  /** Bob sample DOB. */
+  private static final LocalDate DOB_BOB =
+      LocalDate.of(YEAR_1995, Month.MARCH, DAY_TWENTY);
+  /** Carol sample DOB. */
+  private static final LocalDate DOB_CAROL =
+      LocalDate.of(YEAR_1992, Month.JULY, DAY_TEN);
+  /** Dana sample DOB. */
+  private static final LocalDate DOB_DANA =
+      LocalDate.of(YEAR_1991, Month.JANUARY, DAY_ONE);
+
+  /** In-memory profile storage. */
+  @Autowired private PersonRepository personRepository;
+
+  /** Controller instance under test. */
+  @Autowired private PersonController personController;
+
+  @BeforeEach
+  void clearStorage() {
+    personRepository.deleteAll();
+  }
+
+  @AfterEach
+  void clearContext() {
+    ClientContext.clear();
+  }
+
+  /**
+   * Valid scenario: the owning client retrieves their record successfully.
+   */
+  @Test
+  @DisplayName("Current client can fetch their persisted profile")
+  void getProfileAllowsCurrentClient() {
+    PersonSimple stored = buildPerson("Alice", Gender.FEMALE, FitnessGoal.CUT, MOBILE_CLIENT_1);
+    stored.setWeight(WEIGHT_ALICE_KG);
+    stored.setHeight(HEIGHT_BASE_CM);
+    stored.setBirthDate(DOB_ALICE);
+
+    personRepository.save(stored);
+    ClientContext.setClientId(MOBILE_CLIENT_1);
+
+    ResponseEntity<PersonProfileResponse> response =
+        personController.getProfile();
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(MOBILE_CLIENT_1, response.getBody().getClientId());
+    assertEquals(Gender.FEMALE, response.getBody().getGender());
+  }
+
+  /**
+   * Invalid scenario: a different client receives a 401 when attempting to access another client's
+   * record due to authentication failure.
+   */
+  @Test
+  @DisplayName("Profile lookup returns 404 for unknown client")
+  void getProfileReturnsNotFoundForUnknownClient() {
+    personRepository.save(buildPerson("Alice", Gender.FEMALE, FitnessGoal.CUT, MOBILE_CLIENT_1));
+    ClientContext.setClientId(MOBILE_CLIENT_2);
+
+    assertThrows(ResponseStatusException.class, () -> personController.getProfile());
+  }
+
+  /**
+   * Valid scenario: created records are automatically tagged with the active client.
+   */
+  @Test
+  @DisplayName("Create person assigns current client ID")
+  void createPersonAssignsClientId() {
+    PersonCreateRequest request = new PersonCreateRequest();
+    request.setName("Bob");
+    request.setWeight(WEIGHT_BOB_KG);
+    request.setHeight(HEIGHT_BOB_CM);
+    request.setBirthDate(DOB_BOB);
+    request.setGoal(FitnessGoal.BULK);
+    request.setGender(Gender.MALE);
+
+    ResponseEntity<PersonCreatedResponse> response = personController.createPerson(request);
+
+    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    String clientId = response.getBody().getClientId();
+    assertTrue(clientId.startsWith(ClientContext.MOBILE_PREFIX));
+    assertEquals("Bob", personRepository.findByClientId(clientId).orElseThrow().getName());
+  }
+
+  /**
+   * Valid update scenario demonstrating owner access to modify their record.
+   */
+  @Test
+  @DisplayName("Update respects client ownership")
+  void updatePersonRespectsOwnership() {
+    ClientContext.setClientId(MOBILE_CLIENT_1);
+    PersonSimple existing = buildPerson("Carol", Gender.FEMALE, FitnessGoal.CUT, MOBILE_CLIENT_1);
+    existing.setWeight(WEIGHT_BASE_KG);
+    existing.setHeight(HEIGHT_CAROL_CM);
+    existing.setBirthDate(DOB_CAROL);
+    personRepository.save(existing);
+
+    PersonSimple update = new PersonSimple();
+    update.setName("Carol Updated");
+    update.setWeight(WEIGHT_CAROL_UPDATED_KG);
+    update.setHeight(HEIGHT_CAROL_CM);
+    update.setBirthDate(existing.getBirthDate());
+    update.setGoal(FitnessGoal.CUT);
+    update.setGender(Gender.FEMALE);
+    update.setPlanStrategy(existing.getPlanStrategy());
+
+    ResponseEntity<PersonSimple> response = personController.updatePerson(update);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("Carol Updated", ((PersonSimple) response.getBody()).getName());
+    PersonSimple stored = personRepository.findByClientId(MOBILE_CLIENT_1).orElseThrow();
+    assertEquals("Carol Updated", stored.getName());
+    assertEquals(WEIGHT_CAROL_UPDATED_KG, stored.getWeight());
+  }
+
+  /**
+   * Invalid update scenario: non-owners receive a 401 due to authentication failure.
+   */
+  @Test
+  @DisplayName("Update returns 404 when profile missing")
+  void updatePersonRejectsOtherClient() {
+    personRepository.save(buildPerson("Carol", Gender.FEMALE, FitnessGoal.CUT, MOBILE_CLIENT_1));
+    ClientContext.setClientId(MOBILE_CLIENT_2);
+
+    PersonSimple updateAttempt = new PersonSimple();
+    updateAttempt.setName("Carol Updated");
+    updateAttempt.setWeight(WEIGHT_CAROL_UPDATED_KG);
+    updateAttempt.setHeight(HEIGHT_CAROL_CM);
+    updateAttempt.setBirthDate(DOB_CAROL);
+    updateAttempt.setGoal(FitnessGoal.CUT);
+    updateAttempt.setGender(Gender.FEMALE);
+
+    assertThrows(
+        ResponseStatusException.class, () -> personController.updatePerson(updateAttempt));
+    assertEquals("Carol", personRepository.findByClientId(MOBILE_CLIENT_1).orElseThrow().getName());
+    assertTrue(personRepository.findByClientId(MOBILE_CLIENT_2).isEmpty());
+  }
+
+  /**
+   * Valid deletion scenario confirming owner access and context cleanup.
+   */
+  @Test
+  @DisplayName("Delete removes record for owner and clears context")
+  void deletePersonAllowsOwnerAndClearsContext() {
+    ClientContext.setClientId(MOBILE_CLIENT_1);
+    PersonSimple existing = buildPerson("Dana", Gender.FEMALE, FitnessGoal.BULK, MOBILE_CLIENT_1);
+    existing.setWeight(WEIGHT_DANA_KG);
+    existing.setHeight(HEIGHT_DANA_CM);
+    existing.setBirthDate(DOB_DANA);
+    personRepository.save(existing);
+
+    ResponseEntity<?> response = personController.deletePerson();
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertTrue(personRepository.findByClientId(MOBILE_CLIENT_1).isEmpty());
+
+    ClientContext.clear();
+    assertFalse(ClientContext.isMobileClient(ClientContext.getClientId()));
+  }
+
+  /**
+   * Invalid deletion scenario: other clients cannot remove records they do not own.
+   */
+  @Test
+  @DisplayName("Delete returns 404 when profile missing")
+  void deletePersonRejectsOtherClient() {
+    personRepository.save(buildPerson("Dana", Gender.FEMALE, FitnessGoal.BULK, MOBILE_CLIENT_1));
+    ClientContext.setClientId(MOBILE_CLIENT_2);
+
+    ResponseEntity<?> response = personController.deletePerson();
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertTrue(personRepository.findByClientId(MOBILE_CLIENT_1).isPresent());
+  }
+
+  private PersonSimple buildPerson(String name, Gender gender, FitnessGoal goal, String clientId) {
+    PersonSimple person = new PersonSimple();
+    person.setName(name);
+    person.setGender(gender);
+    person.setGoal(goal);
+    person.setClientId(clientId);
+    person.setWeight(WEIGHT_BASE_KG);
+    person.setHeight(HEIGHT_BASE_CM);
+    person.setBirthDate(DOB_DEFAULT);
+    person.setPlanStrategy(PlanStrategy.BOTH);
+    return person;
+  }
+}
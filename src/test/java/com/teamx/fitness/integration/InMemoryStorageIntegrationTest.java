@@ -0,0 +1,174 @@
+package com.teamx.fitness.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.teamx.fitness.controller.PersonController;
+import com.teamx.fitness.controller.ResearchController;
+import com.teamx.fitness.controller.WeightLogController;
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.DemographicsResponse;
+import com.teamx.fitness.controller.dto.GoalPlanRequest;
+import com.teamx.fitness.controller.dto.PersonCreateRequest;
+import com.teamx.fitness.controller.dto.PersonPatchRequest;
+import com.teamx.fitness.controller.dto.PopulationHealthResponse;
+import com.teamx.fitness.controller.dto.RecommendationResponse;
+import com.teamx.fitness.controller.dto.WeightLogAppendRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryRequest;
+import com.teamx.fitness.controller.dto.WeightLogEntryResponse;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.repository.memory.InMemoryPersonRepository;
+import com.teamx.fitness.security.ClientContext;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the controller flows end to end in the application context of the {@code memory}
+ * profile, so the controllers, services and in-memory repositories are wired by Spring exactly
+ * as they are when the service runs without PostgreSQL.
+ */
+@SpringBootTest
+@ActiveProfiles("memory")
+@DisplayName("In-memory storage engine")
+class InMemoryStorageIntegrationTest {
+
+  /** Starting weight for sample profiles (kg). */
+  private static final double WEIGHT_BASE_KG = 82.0;
+  /** Weight written through PATCH (kg). */
+  private static final double WEIGHT_PATCHED_KG = 80.5;
+  /** Height for sample profiles (cm). */
+  private static final double HEIGHT_BASE_CM = 178.0;
+  /** Target weight for the configured plan (kg). */
+  private static final double TARGET_WEIGHT_KG = 76.0;
+  /** Plan duration (weeks). */
+  private static final int DURATION_WEEKS = 12;
+  /** Weekly training sessions. */
+  private static final int TRAINING_FREQ = 4;
+  /** Profiles created for research aggregates. */
+  private static final int COHORT_SIZE = 4;
+
+  /** Shared person storage. */
+  @Autowired private InMemoryPersonRepository personRepository;
+  /** Personal endpoints wired to the in-memory engine. */
+  @Autowired private PersonController personController;
+  /** Research endpoints wired to the in-memory engine. */
+  @Autowired private ResearchController researchController;
+  /** Weight log endpoints wired to the in-memory engine. */
+  @Autowired private WeightLogController weightLogController;
+
+  @BeforeEach
+  void setUp() {
+    // The context is shared between test classes; deletes cascade to the weight log.
+    personRepository.deleteAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ClientContext.clear();
+  }
+
+  @Test
+  @DisplayName("profile lifecycle: create, plan, patch, recommend, delete")
+  void profileLifecycle() {
+    String clientId = createPerson(FitnessGoal.CUT, Gender.FEMALE);
+    ClientContext.setClientId(clientId);
+
+    GoalPlanRequest plan = new GoalPlanRequest();
+    plan.setTargetChangeKg(TARGET_WEIGHT_KG);
+    plan.setDurationWeeks(DURATION_WEEKS);
+    plan.setTrainingFrequencyPerWeek(TRAINING_FREQ);
+    plan.setPlanStrategy(PlanStrategy.BOTH);
+    assertEquals(HttpStatus.OK, personController.configureGoalPlan(plan).getStatusCode());
+
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_PATCHED_KG);
+    assertEquals(HttpStatus.NO_CONTENT, personController.patchPerson(patch).getStatusCode());
+    assertEquals(WEIGHT_PATCHED_KG, personController.getProfile().getBody().getWeight());
+
+    ResponseEntity<RecommendationResponse> recommendation = personController.provideRecommendation(null);
+    assertEquals(HttpStatus.OK, recommendation.getStatusCode());
+    assertNotNull(recommendation.getBody());
+    assertNotNull(recommendation.getBody().bmi());
+
+    assertEquals(HttpStatus.OK, personController.deletePerson().getStatusCode());
+    assertEquals(HttpStatus.NOT_FOUND, personController.deletePerson().getStatusCode());
+  }
+
+  @Test
+  @DisplayName("computed bodies are reused until a write bumps the profile version")
+  void computedBodiesFollowProfileVersion() {
+    ClientContext.setClientId(createPerson(FitnessGoal.BULK, Gender.MALE));
+
+    ResponseEntity<BmiResponse> first = personController.calculateBMI();
+    ResponseEntity<BmiResponse> repeat = personController.calculateBMI();
+    assertNotNull(first.getHeaders().getETag());
+    assertEquals(first.getHeaders().getETag(), repeat.getHeaders().getETag());
+    assertSame(first.getBody(), repeat.getBody());
+
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_PATCHED_KG);
+    personController.patchPerson(patch);
+
+    ResponseEntity<BmiResponse> patched = personController.calculateBMI();
+    assertNotEquals(first.getHeaders().getETag(), patched.getHeaders().getETag());
+    assertEquals(WEIGHT_PATCHED_KG, patched.getBody().weight());
+  }
+
+  @Test
+  @DisplayName("weight log appends and range reads")
+  void weightLogFlow() {
+    ClientContext.setClientId(createPerson(FitnessGoal.BULK, Gender.MALE));
+    WeightLogEntryRequest entry = new WeightLogEntryRequest();
+    entry.setWeightKg(WEIGHT_BASE_KG);
+    WeightLogAppendRequest request = new WeightLogAppendRequest();
+    request.setEntries(List.of(entry));
+
+    assertEquals(HttpStatus.CREATED, weightLogController.appendEntries(request).getStatusCode());
+
+    List<WeightLogEntryResponse> entries = weightLogController.getEntries(null, null, null).getBody();
+    assertEquals(1, entries.size());
+    assertEquals(WEIGHT_BASE_KG, entries.get(0).getWeightKg());
+  }
+
+  @Test
+  @DisplayName("research aggregates read the in-memory cohort")
+  void researchAggregates() {
+    for (int i = 0; i < COHORT_SIZE; i++) {
+      createPerson(i % 2 == 0 ? FitnessGoal.CUT : FitnessGoal.BULK,
+          i < 2 ? Gender.MALE : Gender.FEMALE);
+    }
+    ClientContext.setClientId("research-memory");
+
+    DemographicsResponse demographics = researchController.demographics(null).getBody();
+    PopulationHealthResponse population = researchController.populationHealth(null).getBody();
+
+    assertEquals(COHORT_SIZE, demographics.sampleSize());
+    assertEquals(COHORT_SIZE, population.totalProfiles());
+    assertNotNull(population.goalSegments().cut());
+  }
+
+  private String createPerson(FitnessGoal goal, Gender gender) {
+    ClientContext.clear();
+    PersonCreateRequest request = new PersonCreateRequest();
+    request.setName("Memory User");
+    request.setWeight(WEIGHT_BASE_KG);
+    request.setHeight(HEIGHT_BASE_CM);
+    request.setBirthDate(LocalDate.of(1990, 5, 20));
+    request.setGoal(goal);
+    request.setGender(gender);
+    return personController.createPerson(request).getBody().getClientId();
+  }
+}
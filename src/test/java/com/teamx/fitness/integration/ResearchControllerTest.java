@@ -2,26 +2,38 @@ package com.teamx.fitness.integration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.teamx.fitness.controller.ProfileCursorCodec;
 import com.teamx.fitness.controller.ResearchController;
+import com.teamx.fitness.controller.dto.DemographicsResponse;
+import com.teamx.fitness.controller.dto.PopulationHealthResponse;
+import com.teamx.fitness.controller.dto.ResearchProfilePageResponse;
+import com.teamx.fitness.controller.dto.ResearchProfileResponse;
 import com.teamx.fitness.controller.dto.ResearcherCreateRequest;
 import com.teamx.fitness.controller.dto.ResearcherCreatedResponse;
 import com.teamx.fitness.model.FitnessGoal;
 import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
 import com.teamx.fitness.model.PersonSimple;
 import com.teamx.fitness.model.Researcher;
 import com.teamx.fitness.repository.PersonRepository;
 import com.teamx.fitness.repository.ResearcherRepository;
 import com.teamx.fitness.security.ClientContext;
+import com.teamx.fitness.service.BatchHealthCalculator;
 import com.teamx.fitness.service.PersonService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -122,6 +134,10 @@ class ResearchControllerTest {
   private static final int DEFAULT_SAMPLE_SIZE = 4;
   /** Minimum cohort size required for analytics. */
   private static final int MIN_SAMPLE_SIZE = 4;
+  /** Page size used by the profile listing tests. */
+  private static final int PAGE_SIZE = 2;
+  /** Rows fetched for a default-sized page (50 plus one look-ahead row). */
+  private static final int DEFAULT_PAGE_FETCH = 51;
 
   /** Mocked person repository. */
   @Mock private PersonRepository personRepository;
@@ -134,7 +150,9 @@ class ResearchControllerTest {
 
   @BeforeEach
   void setup() {
-    controller = new ResearchController(personRepository, new PersonService(), researcherRepository);
+    controller = new ResearchController(
+        personRepository, new PersonService(), researcherRepository, new BatchHealthCalculator(),
+        new ProfileCursorCodec(""), new SimpleMeterRegistry());
   }
 
   @AfterEach
@@ -146,17 +164,18 @@ class ResearchControllerTest {
   @DisplayName("demographics throws 403 for mobile clients")
   void demographicsBlocksMobile() {
     ClientContext.setClientId("mobile-app1");
-    assertThrows(ResponseStatusException.class, () -> controller.demographics());
+    assertThrows(ResponseStatusException.class, () -> controller.demographics(null));
   }
 
   @Test
   @DisplayName("demographics throws when not enough data")
   void demographicsInsufficientData() {
     ClientContext.setClientId("research-tool1");
-    when(personRepository.findAll()).thenReturn(List.of());
+    when(personRepository.findAllMetrics())
+        .thenReturn(List.of());
 
     ResponseStatusException ex =
-        assertThrows(ResponseStatusException.class, () -> controller.demographics());
+        assertThrows(ResponseStatusException.class, () -> controller.demographics(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
   }
@@ -165,26 +184,39 @@ class ResearchControllerTest {
   @DisplayName("population health splits metrics across goals")
   void populationHealthAggregates() {
     ClientContext.setClientId("research-tool2");
-    when(personRepository.findAll()).thenReturn(samplePeople());
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(samplePeople()));
 
-    ResponseEntity<Map<String, Object>> response = controller.populationHealth();
+    ResponseEntity<PopulationHealthResponse> response = controller.populationHealth(null);
 
     assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
-    Map<String, Object> goalSegments = (Map<String, Object>) response.getBody().get("goalSegments");
-    Map<String, Object> cut = (Map<String, Object>) goalSegments.get("CUT");
-    Map<String, Object> bulk = (Map<String, Object>) goalSegments.get("BULK");
-    assertEquals(2, cut.get("count"));
-    assertEquals(2, bulk.get("count"));
+    PopulationHealthResponse.GoalSegments goalSegments = response.getBody().goalSegments();
+    assertEquals(2, goalSegments.cut().count());
+    assertEquals(2, goalSegments.bulk().count());
+  }
+
+  @Test
+  @DisplayName("population health with only totalProfiles counts without loading profiles")
+  void populationHealthTotalOnlyCounts() {
+    ClientContext.setClientId("research-tool2");
+    when(personRepository.count()).thenReturn((long) DEFAULT_SAMPLE_SIZE);
+
+    PopulationHealthResponse body = controller.populationHealth("totalProfiles").getBody();
+
+    assertEquals(DEFAULT_SAMPLE_SIZE, body.totalProfiles());
+    assertNull(body.goalSegments());
+    verify(personRepository, never()).findAllMetrics();
   }
 
   @Test
   @DisplayName("population health requires both goals")
   void populationHealthNeedsBothGoals() {
     ClientContext.setClientId("research-tool3");
-    when(personRepository.findAll()).thenReturn(List.of(buildPerson(FitnessGoal.CUT)));
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(List.of(buildPerson(FitnessGoal.CUT))));
 
     ResponseStatusException ex =
-        assertThrows(ResponseStatusException.class, () -> controller.populationHealth());
+        assertThrows(ResponseStatusException.class, () -> controller.populationHealth(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
   }
@@ -243,27 +275,58 @@ class ResearchControllerTest {
   @DisplayName("demographics enforces minimum sample size")
   void demographicsRequiresMinimumSample() {
     ClientContext.setClientId("research-tool4");
-    when(personRepository.findAll()).thenReturn(List.of(buildPerson(FitnessGoal.CUT)));
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(List.of(buildPerson(FitnessGoal.CUT))));
 
-    assertThrows(ResponseStatusException.class, () -> controller.demographics());
+    assertThrows(ResponseStatusException.class, () -> controller.demographics(null));
   }
 
   @Test
   @DisplayName("demographics returns summary when data available")
   void demographicsReturnsSummary() {
     ClientContext.setClientId("research-tool5");
-    when(personRepository.findAll()).thenReturn(samplePeople());
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(samplePeople()));
 
-    ResponseEntity<Map<String, Object>> response = controller.demographics();
+    ResponseEntity<DemographicsResponse> response = controller.demographics(null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
-    Map<String, Object> body = response.getBody();
+    DemographicsResponse body = response.getBody();
     assertNotNull(body);
     // New structure: sampleSize is at top level, not in cohortSummary
-    assertEquals(DEFAULT_SAMPLE_SIZE, body.get("sampleSize"));
-    assertNotNull(body.get("ageDistribution"));
-    assertNotNull(body.get("genderDistribution"));
-    assertNotNull(body.get("physicalCharacteristics"));
+    assertEquals(DEFAULT_SAMPLE_SIZE, body.sampleSize());
+    assertNotNull(body.ageDistribution());
+    assertNotNull(body.genderDistribution());
+    assertNotNull(body.physicalCharacteristics());
+  }
+
+  @Test
+  @DisplayName("demographics computes only the selected sections")
+  void demographicsComputesSelectedSections() {
+    ClientContext.setClientId("research-tool5");
+    List<PersonSimple> withoutWeights = new java.util.ArrayList<>(samplePeople());
+    withoutWeights.forEach(person -> person.setWeight(null));
+    when(personRepository.findAllMetrics()).thenReturn(metricsOf(withoutWeights));
+
+    DemographicsResponse body = controller.demographics("sampleSize,genderDistribution").getBody();
+
+    assertEquals(DEFAULT_SAMPLE_SIZE, body.sampleSize());
+    assertNotNull(body.genderDistribution());
+    assertNull(body.ageDistribution());
+    assertNull(body.physicalCharacteristics());
+  }
+
+  @Test
+  @DisplayName("demographics with only sampleSize counts without loading profiles")
+  void demographicsSampleSizeOnlyCounts() {
+    ClientContext.setClientId("research-tool5");
+    when(personRepository.count()).thenReturn((long) DEFAULT_SAMPLE_SIZE);
+
+    DemographicsResponse body = controller.demographics("sampleSize").getBody();
+
+    assertEquals(DEFAULT_SAMPLE_SIZE, body.sampleSize());
+    assertNull(body.genderDistribution());
+    verify(personRepository, never()).findAllMetrics();
   }
 
   @Test
@@ -272,9 +335,10 @@ class ResearchControllerTest {
     ClientContext.setClientId("research-tool6");
     List<PersonSimple> incomplete = new java.util.ArrayList<>(samplePeople());
     incomplete.forEach(person -> person.setWeight(null));
-    when(personRepository.findAll()).thenReturn(incomplete);
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(incomplete));
 
-    assertThrows(ResponseStatusException.class, () -> controller.demographics());
+    assertThrows(ResponseStatusException.class, () -> controller.demographics(null));
   }
 
   @Test
@@ -283,10 +347,11 @@ class ResearchControllerTest {
     ClientContext.setClientId("research-tool7");
     PersonSimple person = buildPerson(FitnessGoal.CUT);
     person.setWeight(null);
-    when(personRepository.findAll()).thenReturn(List.of(person, person, person));
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(List.of(person, person, person)));
 
     ResponseStatusException ex =
-        assertThrows(ResponseStatusException.class, () -> controller.populationHealth());
+        assertThrows(ResponseStatusException.class, () -> controller.populationHealth(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
   }
@@ -317,10 +382,11 @@ class ResearchControllerTest {
             WEIGHT_SUPPLEMENTAL_MALE_KG,
             HEIGHT_SUPPLEMENTAL_MALE_CM,
             DOB_FEMALE_SECOND);
-    when(personRepository.findAll()).thenReturn(List.of(cut, cut2, bulk, bulk2));
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(List.of(cut, cut2, bulk, bulk2)));
 
     ResponseStatusException ex =
-        assertThrows(ResponseStatusException.class, () -> controller.populationHealth());
+        assertThrows(ResponseStatusException.class, () -> controller.populationHealth(null));
 
     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
   }
@@ -331,9 +397,10 @@ class ResearchControllerTest {
     ClientContext.setClientId("research-tool9");
     List<PersonSimple> incomplete = new java.util.ArrayList<>(samplePeople());
     incomplete.forEach(person -> person.setBirthDate(null));
-    when(personRepository.findAll()).thenReturn(incomplete);
+    when(personRepository.findAllMetrics())
+        .thenReturn(metricsOf(incomplete));
 
-    assertThrows(ResponseStatusException.class, () -> controller.demographics());
+    assertThrows(ResponseStatusException.class, () -> controller.demographics(null));
   }
 
   @Test
@@ -358,6 +425,72 @@ class ResearchControllerTest {
     assertTrue(Double.isNaN(infResult));
   }
 
+  @Test
+  @DisplayName("profiles returns a cursor while more rows exist and none on the last page")
+  void profilesPagesWithKeysetCursor() {
+    ClientContext.setClientId("research-pager");
+    List<PersonMetrics> rows = metricsOf(withIds(samplePeople()));
+    when(personRepository.findProfilePage(0L, null, null, PAGE_SIZE + 1))
+        .thenReturn(rows.subList(0, PAGE_SIZE + 1));
+
+    ResearchProfilePageResponse first = controller.profiles(null, null, null, PAGE_SIZE).getBody();
+
+    assertEquals(PAGE_SIZE, first.getItems().size());
+    assertNotNull(first.getNextCursor());
+
+    when(personRepository.findProfilePage((long) PAGE_SIZE, null, null, PAGE_SIZE + 1))
+        .thenReturn(rows.subList(PAGE_SIZE, rows.size()));
+
+    ResearchProfilePageResponse second =
+        controller.profiles(first.getNextCursor(), null, null, PAGE_SIZE).getBody();
+
+    assertEquals(rows.size() - PAGE_SIZE, second.getItems().size());
+    assertNull(second.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("profiles passes filters to the repository and de-identifies rows")
+  void profilesFiltersAndDeIdentifies() {
+    ClientContext.setClientId("research-filter");
+    List<PersonMetrics> cutFemales = metricsOf(withIds(List.of(buildPerson(
+        "P9", FitnessGoal.CUT, Gender.FEMALE, WEIGHT_CUT_FEMALE_KG, HEIGHT_CUT_FEMALE_CM,
+        DOB_FEMALE_ALT))));
+    when(personRepository.findProfilePage(0L, FitnessGoal.CUT, Gender.FEMALE, DEFAULT_PAGE_FETCH))
+        .thenReturn(cutFemales);
+
+    ResearchProfilePageResponse page =
+        controller.profiles(null, FitnessGoal.CUT, Gender.FEMALE, null).getBody();
+
+    ResearchProfileResponse item = page.getItems().get(0);
+    assertEquals(Math.round(WEIGHT_CUT_FEMALE_KG), item.getWeightKg());
+    assertEquals(Gender.FEMALE, item.getGender());
+    assertNotNull(item.getAgeBand());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("profiles rejects malformed cursors before querying")
+  void profilesRejectsMalformedCursor() {
+    ClientContext.setClientId("research-cursor");
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> controller.profiles("not-a-cursor", null, null, null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    verify(personRepository, never()).findProfilePage(anyLong(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("profiles throws 403 for mobile clients")
+  void profilesBlocksMobile() {
+    ClientContext.setClientId("mobile-app1");
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> controller.profiles(null, null, null, null));
+
+    assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+  }
+
   private List<PersonSimple> samplePeople() {
     return List.of(
         buildPerson(
@@ -406,4 +539,16 @@ class ResearchControllerTest {
     person.setClientId("mobile-" + name);
     return person;
   }
+
+  private List<PersonMetrics> metricsOf(List<PersonSimple> people) {
+    return people.stream().map(PersonMetrics::from).toList();
+  }
+
+  private List<PersonSimple> withIds(List<PersonSimple> people) {
+    long id = 1;
+    for (PersonSimple person : people) {
+      person.setId(id++);
+    }
+    return people;
+  }
 }
@@ -0,0 +1,73 @@
+package com.teamx.fitness.logging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AccessLogEncoder} output, parsed back with Jackson.
+ */
+@DisplayName("AccessLogEncoder")
+class AccessLogEncoderTest {
+
+  /** HTTP 200 status code. */
+  private static final int STATUS_OK = 200;
+  /** Duration used in the samples. */
+  private static final long DURATION_MS = 1234567L;
+  /** Value exercising quotes, backslashes, control characters and non-ASCII text. */
+  private static final String AWKWARD = "a\"b\\c\nd\te\u0001fég€😀";
+
+  /** JSON mapper used to parse encoded lines. */
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private Map<String, Object> parse(String line) throws Exception {
+    return mapper.readValue(line, new TypeReference<Map<String, Object>>() { });
+  }
+
+  @Test
+  @DisplayName("escapes every string field into valid JSON")
+  void escapesStrings() throws Exception {
+    AccessLogEncoder encoder = new AccessLogEncoder();
+    String line = encoder.encode(new AccessLogEntry(
+        AWKWARD, "GET", "/api/" + AWKWARD, STATUS_OK, DURATION_MS, "127.0.0.1", AWKWARD, AWKWARD));
+
+    Map<String, Object> json = parse(line);
+    Assertions.assertEquals(AWKWARD, json.get("clientId"));
+    Assertions.assertEquals("/api/" + AWKWARD, json.get("path"));
+    Assertions.assertEquals(AWKWARD, json.get("ua"));
+    Assertions.assertEquals(AWKWARD, json.get("error"));
+    Assertions.assertEquals(STATUS_OK, json.get("status"));
+    Assertions.assertEquals(DURATION_MS, ((Number) json.get("durationMs")).longValue());
+    Assertions.assertFalse(line.contains("\n"), "Line must stay single-line");
+  }
+
+  @Test
+  @DisplayName("writes nulls, negative durations and omits a missing error")
+  void nullsAndNegatives() throws Exception {
+    AccessLogEncoder encoder = new AccessLogEncoder();
+    Map<String, Object> json = parse(encoder.encode(
+        new AccessLogEntry(null, "POST", "/api/persons", STATUS_OK, -1L, null, null, null)));
+
+    Assertions.assertTrue(json.containsKey("clientId"));
+    Assertions.assertNull(json.get("clientId"));
+    Assertions.assertNull(json.get("ua"));
+    Assertions.assertEquals(-1, json.get("durationMs"));
+    Assertions.assertFalse(json.containsKey("error"));
+  }
+
+  @Test
+  @DisplayName("reuses its buffer without leaking the previous line")
+  void reusesBuffer() throws Exception {
+    AccessLogEncoder encoder = new AccessLogEncoder();
+    String longPath = "/api/" + "x".repeat(4096);
+    encoder.encode(new AccessLogEntry("c1", "GET", longPath, STATUS_OK, 1L, null, null, null));
+
+    Map<String, Object> json = parse(
+        encoder.encode(new AccessLogEntry("c2", "GET", "/a", STATUS_OK, 2L, null, null, null)));
+    Assertions.assertEquals("c2", json.get("clientId"));
+    Assertions.assertEquals("/a", json.get("path"));
+  }
+}
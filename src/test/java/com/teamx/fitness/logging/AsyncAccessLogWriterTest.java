@@ -0,0 +1,94 @@
+package com.teamx.fitness.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link AsyncAccessLogWriter}. The writer thread is not started, so the buffer only
+ * empties through {@link AsyncAccessLogWriter#destroy()}.
+ */
+@DisplayName("AsyncAccessLogWriter")
+class AsyncAccessLogWriterTest {
+
+  /** Logger name the writer outputs to. */
+  private static final String LOGGER_NAME = "API_LOG";
+  /** Buffer capacity used by the tests. */
+  private static final int CAPACITY = 2;
+  /** HTTP 200 status code. */
+  private static final int STATUS_OK = 200;
+
+  /** Registry the writer publishes its metrics to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Captures lines written to {@link #LOGGER_NAME}. */
+  private ListAppender<ILoggingEvent> appender;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    appender = new ListAppender<>();
+    appender.start();
+    ((Logger) LoggerFactory.getLogger(LOGGER_NAME)).addAppender(appender);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ((Logger) LoggerFactory.getLogger(LOGGER_NAME)).detachAppender(appender);
+  }
+
+  private static AccessLogEntry entry(String path) {
+    return new AccessLogEntry("mobile-id1", "GET", path, STATUS_OK, 1L, null, null, null);
+  }
+
+  @Test
+  @DisplayName("drops and counts entries once the buffer is full")
+  void dropsWhenFull() throws Exception {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+        CAPACITY, AsyncAccessLogWriter.OverflowPolicy.DROP, meterRegistry, false);
+
+    writer.submit(entry("/a"));
+    writer.submit(entry("/b"));
+    writer.submit(entry("/c"));
+
+    Assertions.assertEquals(1L, writer.droppedCount());
+    Assertions.assertEquals(1.0,
+        meterRegistry.get("api.access.log.dropped").functionCounter().count());
+    Assertions.assertEquals(2.0, meterRegistry.get("api.access.log.buffered").gauge().value());
+    writer.destroy();
+  }
+
+  @Test
+  @DisplayName("flushes buffered entries in order on shutdown")
+  void flushesOnDestroy() throws Exception {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+        CAPACITY, AsyncAccessLogWriter.OverflowPolicy.DROP, meterRegistry, false);
+    writer.submit(entry("/a"));
+    writer.submit(entry("/b"));
+
+    writer.destroy();
+
+    Assertions.assertEquals(2, appender.list.size());
+    Assertions.assertTrue(appender.list.get(0).getFormattedMessage().contains("\"path\":\"/a\""));
+    Assertions.assertTrue(appender.list.get(1).getFormattedMessage().contains("\"path\":\"/b\""));
+  }
+
+  @Test
+  @DisplayName("counts entries submitted after shutdown as dropped")
+  void dropsAfterDestroy() throws Exception {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+        CAPACITY, AsyncAccessLogWriter.OverflowPolicy.BLOCK, meterRegistry, false);
+    writer.destroy();
+
+    writer.submit(entry("/late"));
+
+    Assertions.assertEquals(1L, writer.droppedCount());
+    Assertions.assertTrue(appender.list.isEmpty());
+  }
+}
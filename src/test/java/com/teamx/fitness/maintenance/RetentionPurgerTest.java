@@ -0,0 +1,160 @@
+package com.teamx.fitness.maintenance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Unit tests for {@link RetentionPurger} against a mocked {@link JdbcTemplate}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetentionPurger")
+class RetentionPurgerTest {
+
+  /** Retention period passed to the purger (days). */
+  private static final int RETENTION_DAYS = 365;
+  /** Rows per batch used by the tests. */
+  private static final int BATCH_SIZE = 2;
+  /** Batch cap used by the tests. */
+  private static final int MAX_BATCHES = 3;
+  /** Fixed cutoff so partition expiry is deterministic. */
+  private static final OffsetDateTime CUTOFF = OffsetDateTime.of(2025, 3, 10, 0, 0, 0, 0, ZoneOffset.UTC);
+  /** Attached partition entirely before {@link #CUTOFF}. */
+  private static final String EXPIRED_PARTITION = "weight_log_y2025m02";
+  /** Expired partition whose concurrent detach was interrupted by an earlier run. */
+  private static final String PENDING_PARTITION = "weight_log_y2025m01";
+  /** Expired partition already detached but not dropped by an earlier run. */
+  private static final String DETACHED_PARTITION = "weight_log_y2024m12";
+  /** Partition containing {@link #CUTOFF}. */
+  private static final String CURRENT_PARTITION = "weight_log_y2025m03";
+  /** Expired weight log rows reported by the count query. */
+  private static final long EXPIRED_LOG_ROWS = 120L;
+
+  /** Mocked JDBC access. */
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  /** Registry the purger publishes its progress metrics to. */
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    when(jdbcTemplate.query(eq(RetentionPurger.LIST_PARTITIONS_SQL), any(RowMapper.class)))
+        .thenReturn(List.of(
+            new RetentionPurger.Partition(DETACHED_PARTITION, false, false),
+            new RetentionPurger.Partition(PENDING_PARTITION, true, true),
+            new RetentionPurger.Partition(EXPIRED_PARTITION, true, false),
+            new RetentionPurger.Partition(CURRENT_PARTITION, true, false)));
+    when(jdbcTemplate.queryForObject(eq(RetentionPurger.COUNT_EXPIRED_WEIGHT_LOG_SQL), eq(Long.class), any()))
+        .thenReturn(EXPIRED_LOG_ROWS);
+  }
+
+  private RetentionPurger purger(boolean dryRun) {
+    return new RetentionPurger(jdbcTemplate, meterRegistry, RETENTION_DAYS, BATCH_SIZE, 0L,
+        MAX_BATCHES, dryRun);
+  }
+
+  private double pending() {
+    return meterRegistry.get("fitness.retention.pending").tag("table", "weight_log").gauge().value();
+  }
+
+  private double deleted() {
+    return meterRegistry.get("fitness.retention.deleted").tag("table", "weight_log").counter().count();
+  }
+
+  @Test
+  @DisplayName("dry run only counts candidates and publishes them as pending")
+  void dryRunCountsWithoutDeleting() {
+    RetentionPurger.RetentionReport report = purger(true).purgeOnce(CUTOFF);
+
+    assertTrue(report.dryRun());
+    assertEquals(EXPIRED_LOG_ROWS, report.weightLogRows());
+    assertEquals(3, report.partitions());
+    assertEquals(EXPIRED_LOG_ROWS, pending());
+    verify(jdbcTemplate, never()).execute(anyString());
+    verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+  }
+
+  @Test
+  @DisplayName("detaches expired partitions concurrently before dropping them and never touches profiles")
+  void detachesConcurrentlyThenDrops() {
+    when(jdbcTemplate.update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE)))
+        .thenReturn(2, 1);
+
+    RetentionPurger.RetentionReport report = purger(false).purgeOnce(CUTOFF);
+
+    assertFalse(report.dryRun());
+    assertEquals(3L, report.weightLogRows());
+    assertEquals(3, report.partitions());
+    InOrder order = inOrder(jdbcTemplate);
+    order.verify(jdbcTemplate)
+        .execute("ALTER TABLE weight_log DETACH PARTITION " + EXPIRED_PARTITION + " CONCURRENTLY");
+    order.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + EXPIRED_PARTITION);
+    verify(jdbcTemplate).execute("ALTER TABLE weight_log DETACH PARTITION " + PENDING_PARTITION + " FINALIZE");
+    verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + PENDING_PARTITION);
+    verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + DETACHED_PARTITION);
+    verify(jdbcTemplate, never()).execute(contains(CURRENT_PARTITION));
+    verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION " + DETACHED_PARTITION));
+    verify(jdbcTemplate, never()).update(contains("persons_simple"), any(Object[].class));
+    verify(jdbcTemplate, times(2)).update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE));
+    assertEquals(3.0, deleted());
+    assertEquals(EXPIRED_LOG_ROWS - 3, pending());
+    assertEquals(3.0, meterRegistry.get("fitness.retention.partitions.dropped").counter().count());
+  }
+
+  @Test
+  @DisplayName("keeps a partition it cannot detach and still deletes its rows in batches")
+  void failedDetachLeavesPartition() {
+    lenient().doThrow(new DataAccessResourceFailureException("lock timeout")).when(jdbcTemplate)
+        .execute("ALTER TABLE weight_log DETACH PARTITION " + EXPIRED_PARTITION + " CONCURRENTLY");
+    when(jdbcTemplate.update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE)))
+        .thenReturn(0);
+
+    RetentionPurger.RetentionReport report = purger(false).purgeOnce(CUTOFF);
+
+    assertEquals(2, report.partitions());
+    verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS " + EXPIRED_PARTITION);
+    verify(jdbcTemplate).update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE));
+  }
+
+  @Test
+  @DisplayName("stops after the configured number of batches per run")
+  void stopsAtBatchCap() {
+    when(jdbcTemplate.update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE)))
+        .thenReturn(BATCH_SIZE);
+
+    RetentionPurger.RetentionReport report = purger(false).purgeOnce(CUTOFF);
+
+    assertEquals((long) BATCH_SIZE * MAX_BATCHES, report.weightLogRows());
+    verify(jdbcTemplate, times(MAX_BATCHES))
+        .update(eq(RetentionPurger.DELETE_EXPIRED_WEIGHT_LOG_SQL), any(), eq(BATCH_SIZE));
+    assertEquals(EXPIRED_LOG_ROWS - BATCH_SIZE * MAX_BATCHES, pending());
+  }
+}
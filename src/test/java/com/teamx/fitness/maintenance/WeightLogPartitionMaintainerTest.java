@@ -0,0 +1,83 @@
+package com.teamx.fitness.maintenance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Unit tests for {@link WeightLogPartitionMaintainer} against a mocked {@link JdbcTemplate}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WeightLogPartitionMaintainer")
+class WeightLogPartitionMaintainerTest {
+
+  /** Retention period used by the tests (days); reaches back into January from {@link #TODAY}. */
+  private static final int RETENTION_DAYS = 60;
+  /** Fixed run date. */
+  private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+  /** Mocked JDBC access. */
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private List<String> statements(int expected) {
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, times(expected)).execute(sql.capture());
+    return sql.getAllValues();
+  }
+
+  @Test
+  @DisplayName("creates every month from the retention cutoff through the months ahead")
+  void createsRetentionWindowAndMonthsAhead() {
+    new WeightLogPartitionMaintainer(jdbcTemplate, RETENTION_DAYS, 2).ensurePartitions(TODAY);
+
+    List<String> sql = statements(5);
+    assertTrue(sql.get(0).contains("weight_log_y2025m01 PARTITION OF weight_log"));
+    assertTrue(sql.get(0).contains("FROM ('2025-01-01 00:00:00+00') TO ('2025-02-01 00:00:00+00')"));
+    assertTrue(sql.get(2).contains("weight_log_y2025m03"));
+    assertTrue(sql.get(4).contains("weight_log_y2025m05"));
+  }
+
+  @Test
+  @DisplayName("always keeps the next month ready and carries on after a failed month")
+  void keepsNextMonthAndSurvivesFailures() {
+    lenient().doThrow(new DataAccessResourceFailureException("down"))
+        .when(jdbcTemplate).execute(contains("weight_log_y2025m02"));
+
+    List<YearMonth> failed =
+        new WeightLogPartitionMaintainer(jdbcTemplate, RETENTION_DAYS, 0).ensurePartitions(TODAY);
+
+    List<String> sql = statements(4);
+    assertTrue(sql.get(3).contains("weight_log_y2025m04"));
+    assertEquals(List.of(YearMonth.of(2025, 2)), failed);
+  }
+
+  @Test
+  @DisplayName("fails startup when a partition cannot be created")
+  void startupFailsOnFailedPartition() {
+    lenient().doThrow(new DataAccessResourceFailureException("down"))
+        .when(jdbcTemplate).execute(anyString());
+
+    WeightLogPartitionMaintainer maintainer =
+        new WeightLogPartitionMaintainer(jdbcTemplate, RETENTION_DAYS, 1);
+
+    assertThrows(IllegalStateException.class, maintainer::afterSingletonsInstantiated);
+  }
+}
@@ -0,0 +1,102 @@
+package com.teamx.fitness.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tests for {@link ApiMetricsInterceptor} against a {@link SimpleMeterRegistry}.
+ */
+@DisplayName("ApiMetricsInterceptor")
+class ApiMetricsInterceptorTest {
+
+  /** HTTP 200 status code. */
+  private static final int STATUS_OK = 200;
+  /** HTTP 400 status code. */
+  private static final int STATUS_BAD_REQUEST = 400;
+  /** Route template of the profile endpoint. */
+  private static final String PROFILE_ROUTE = "/api/persons/me";
+
+  /** Registry the interceptor publishes to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Interceptor under test. */
+  private ApiMetricsInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor = new ApiMetricsInterceptor(meterRegistry);
+  }
+
+  private void handle(MockHttpServletRequest request, int status, Exception ex) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, new Object());
+    response.setStatus(status);
+    interceptor.afterCompletion(request, response, new Object(), ex);
+  }
+
+  @Test
+  @DisplayName("tags by method, route template, status and client class")
+  void tagsMatchedRoute() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", PROFILE_ROUTE);
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PROFILE_ROUTE);
+    request.addHeader("X-Client-ID", "mobile-id1");
+
+    handle(request, STATUS_OK, null);
+    handle(request, STATUS_OK, null);
+
+    Timer timer = meterRegistry.get(ApiMetricsInterceptor.TIMER_NAME)
+        .tag("method", "GET")
+        .tag("route", PROFILE_ROUTE)
+        .tag("status", "200")
+        .tag("clientClass", "mobile")
+        .timer();
+    Assertions.assertEquals(2, timer.count());
+  }
+
+  @Test
+  @DisplayName("uses a fixed route tag when no handler matched")
+  void unmatchedRouteDoesNotUseRawPath() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persons/12345");
+    request.addHeader("X-Client-ID", "research-lab");
+
+    handle(request, STATUS_BAD_REQUEST, null);
+
+    Timer timer = meterRegistry.get(ApiMetricsInterceptor.TIMER_NAME)
+        .tag("route", ApiMetricsInterceptor.UNMATCHED_ROUTE)
+        .tag("clientClass", "research")
+        .tag("status", "400")
+        .timer();
+    Assertions.assertEquals(1, timer.count());
+  }
+
+  @Test
+  @DisplayName("reports an escaped exception as 500 without a client class")
+  void escapedExceptionIsServerError() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/persons");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/persons");
+
+    handle(request, STATUS_OK, new IllegalStateException("boom"));
+
+    Timer timer = meterRegistry.get(ApiMetricsInterceptor.TIMER_NAME)
+        .tag("status", "500")
+        .tag("clientClass", "none")
+        .timer();
+    Assertions.assertEquals(1, timer.count());
+  }
+
+  @Test
+  @DisplayName("records nothing when preHandle did not run")
+  void missingStartTimeIsIgnored() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", PROFILE_ROUTE);
+    interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+    Assertions.assertTrue(meterRegistry.find(ApiMetricsInterceptor.TIMER_NAME).timers().isEmpty());
+  }
+}
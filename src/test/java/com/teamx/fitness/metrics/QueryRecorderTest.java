@@ -0,0 +1,80 @@
+package com.teamx.fitness.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link QueryRecorder}: query shapes, per-shape timers and slow query counting.
+ */
+@DisplayName("QueryRecorder")
+class QueryRecorderTest {
+
+  /** Slow query threshold in these tests (ms). */
+  private static final long THRESHOLD_MS = 100;
+  /** Shape bound in these tests. */
+  private static final int MAX_SHAPES = 2;
+  /** Execution time below the threshold. */
+  private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS / 10);
+  /** Execution time above the threshold. */
+  private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS * 3);
+
+  /** Registry the recorder publishes to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Recorder under test. */
+  private QueryRecorder recorder;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    recorder = new QueryRecorder(meterRegistry, THRESHOLD_MS, 0.0, MAX_SHAPES);
+  }
+
+  private long count(String shape) {
+    return meterRegistry.get(QueryRecorder.TIMER_NAME).tag("shape", shape).timer().count();
+  }
+
+  @Test
+  @DisplayName("replaces literals, collapses placeholder lists and whitespace")
+  void normalizesShapes() {
+    assertEquals("select p1_0.id from persons_simple p1_0 where p1_0.client_id=? and p1_0.id in (?)",
+        QueryRecorder.shape(
+            "select p1_0.id from persons_simple p1_0\n  where p1_0.client_id=? and p1_0.id in (?, ?,?)"));
+    assertEquals("delete from weight_log where id = ? and note = ? and weight > ?",
+        QueryRecorder.shape("delete from weight_log where id = 42 and note = 'it''s' and weight > 80.5"));
+  }
+
+  @Test
+  @DisplayName("statements differing only in literals share one timer")
+  void sharesTimerPerShape() {
+    recorder.record("select * from persons_simple where id = 1", FAST_NANOS);
+    recorder.record("select * from persons_simple where id = 2", FAST_NANOS);
+
+    assertEquals(2, count("select * from persons_simple where id = ?"));
+  }
+
+  @Test
+  @DisplayName("counts statements slower than the threshold")
+  void countsSlowStatements() {
+    recorder.record("select 1", FAST_NANOS);
+    recorder.record("select 1", SLOW_NANOS);
+
+    assertEquals(1.0, meterRegistry.get(QueryRecorder.SLOW_COUNTER_NAME).counter().count());
+  }
+
+  @Test
+  @DisplayName("records shapes beyond the bound under a shared series")
+  void boundsShapeSeries() {
+    recorder.record("select a from t", FAST_NANOS);
+    recorder.record("select b from t", FAST_NANOS);
+    recorder.record("select c from t", FAST_NANOS);
+    recorder.record(null, FAST_NANOS);
+
+    assertEquals(2, count(QueryRecorder.OTHER_SHAPE));
+    assertEquals(1, count("select a from t"));
+  }
+}
@@ -0,0 +1,111 @@
+package com.teamx.fitness.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link QueryTimingDataSource}: statements are timed and otherwise delegated.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryTimingDataSource")
+class QueryTimingDataSourceTest {
+
+  /** Prepared statement used in the tests. */
+  private static final String PREPARED_SQL = "select * from persons_simple where client_id = ?";
+
+  /** Real data source. */
+  @Mock
+  private DataSource target;
+
+  /** Real connection. */
+  @Mock
+  private Connection connection;
+
+  /** Real prepared statement. */
+  @Mock
+  private PreparedStatement preparedStatement;
+
+  /** Real plain statement. */
+  @Mock
+  private Statement statement;
+
+  /** Result returned by the real statement. */
+  @Mock
+  private ResultSet resultSet;
+
+  /** Registry the recorder publishes to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Data source under test. */
+  private QueryTimingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    meterRegistry = new SimpleMeterRegistry();
+    dataSource = new QueryTimingDataSource(target, new QueryRecorder(meterRegistry, 1000, 0.0, 10));
+    when(target.getConnection()).thenReturn(connection);
+  }
+
+  private long count(String shape) {
+    return meterRegistry.get(QueryRecorder.TIMER_NAME).tag("shape", shape).timer().count();
+  }
+
+  @Test
+  @DisplayName("times prepared statements under the SQL they were prepared with")
+  void timesPreparedStatements() throws SQLException {
+    when(connection.prepareStatement(PREPARED_SQL)).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+
+    try (Connection wrapped = dataSource.getConnection();
+        PreparedStatement prepared = wrapped.prepareStatement(PREPARED_SQL)) {
+      prepared.setString(1, "mobile-id1");
+      assertSame(resultSet, prepared.executeQuery());
+    }
+
+    verify(preparedStatement).setString(1, "mobile-id1");
+    verify(connection).close();
+    assertEquals(1, count(PREPARED_SQL));
+  }
+
+  @Test
+  @DisplayName("times plain statements under their normalized SQL")
+  void timesPlainStatements() throws SQLException {
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeUpdate("delete from weight_log where id = 7")).thenReturn(1);
+
+    try (Connection wrapped = dataSource.getConnection()) {
+      assertEquals(1, wrapped.createStatement().executeUpdate("delete from weight_log where id = 7"));
+    }
+
+    assertEquals(1, count("delete from weight_log where id = ?"));
+  }
+
+  @Test
+  @DisplayName("rethrows driver exceptions unchanged and still records the timing")
+  void rethrowsDriverExceptions() throws SQLException {
+    SQLException failure = new SQLException("boom");
+    when(connection.prepareStatement(PREPARED_SQL)).thenReturn(preparedStatement);
+    when(preparedStatement.execute()).thenThrow(failure);
+
+    PreparedStatement prepared = dataSource.getConnection().prepareStatement(PREPARED_SQL);
+
+    assertSame(failure, assertThrows(SQLException.class, prepared::execute));
+    assertEquals(1, count(PREPARED_SQL));
+  }
+}
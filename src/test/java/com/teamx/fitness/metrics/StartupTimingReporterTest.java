@@ -0,0 +1,41 @@
+package com.teamx.fitness.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Unit tests for the startup step ranking of {@link StartupTimingReporter}.
+ */
+@DisplayName("StartupTimingReporter")
+class StartupTimingReporterTest {
+
+  /**
+   * Time spent inside the nested step (ms), far above the few statements the outer step runs on
+   * its own, so a scheduling pause on a busy build machine cannot reorder the two.
+   */
+  private static final long NESTED_MS = 500;
+
+  @Test
+  @DisplayName("ranks steps by self time and labels bean instantiation with the bean name")
+  void ranksBySelfTime() throws InterruptedException {
+    BufferingApplicationStartup startup = new BufferingApplicationStartup(16);
+    StartupStep refresh = startup.start("spring.context.refresh");
+    StartupStep bean = startup.start("spring.beans.instantiate").tag("beanName", "entityManagerFactory");
+    Thread.sleep(NESTED_MS);
+    bean.end();
+    refresh.end();
+
+    List<StartupTimingReporter.StepTime> steps =
+        StartupTimingReporter.slowestSteps(startup.getBufferedTimeline().getEvents(), 1);
+
+    assertEquals(1, steps.size());
+    assertEquals("spring.beans.instantiate[entityManagerFactory]", steps.get(0).name());
+    assertTrue(steps.get(0).selfTime().toMillis() >= NESTED_MS);
+  }
+}
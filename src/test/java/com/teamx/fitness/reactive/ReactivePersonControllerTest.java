@@ -0,0 +1,342 @@
+package com.teamx.fitness.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.teamx.fitness.controller.ComputedResponseCache;
+import com.teamx.fitness.controller.PersonEndpointSupport;
+import com.teamx.fitness.controller.dto.BmiResponse;
+import com.teamx.fitness.controller.dto.DashboardResponse;
+import com.teamx.fitness.controller.dto.GoalPlanRequest;
+import com.teamx.fitness.controller.dto.PersonPatchRequest;
+import com.teamx.fitness.controller.dto.PersonProfileResponse;
+import com.teamx.fitness.controller.dto.PlanSimulationRequest;
+import com.teamx.fitness.controller.dto.PlanSimulationResponse;
+import com.teamx.fitness.controller.dto.RecommendationResponse;
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.PlanStrategy;
+import com.teamx.fitness.security.ReactiveClientContext;
+import com.teamx.fitness.service.HealthInsightResult;
+import com.teamx.fitness.service.HealthInsightService;
+import com.teamx.fitness.service.PersonService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link ReactivePersonController} with a mocked {@link ReactivePersonStore}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactivePersonController")
+class ReactivePersonControllerTest {
+
+  /** Client identifier bound into the Reactor context. */
+  private static final String CLIENT_ID = "mobile-reactive";
+  /** Stored weight (kg). */
+  private static final double WEIGHT_KG = 80.0;
+  /** Stored height (cm). */
+  private static final double HEIGHT_CM = 180.0;
+  /** Stored target weight (kg). */
+  private static final double TARGET_WEIGHT_KG = 75.0;
+  /** Stored plan duration (weeks). */
+  private static final int DURATION_WEEKS = 10;
+  /** Stored training frequency (sessions per week). */
+  private static final int TRAINING_FREQUENCY = 4;
+  /** Insight returned by the mocked service. */
+  private static final HealthInsightResult INSIGHT = new HealthInsightResult(
+      24.7, "Normal weight", 90.0, 80.0, 86.0, null, "Need at least 10 profiles", "Keep going");
+  /** Bound of the computed-response cache used by the tests. */
+  private static final int COMPUTED_CACHE_ENTRIES = 16;
+  /** Version of the stored profile in the ETag tests. */
+  private static final long STORED_VERSION = 2L;
+  /** Plan alignment index returned by the mocked service. */
+  private static final double ALIGNMENT_SCORE = 78.0;
+  /** Overall score returned by the mocked service. */
+  private static final double OVERALL_SCORE = 83.0;
+  /** Cohort fingerprint returned by the mocked store. */
+  private static final CohortStamp COHORT = new CohortStamp(12L, 40L, 57L);
+
+  /** Mocked reactive storage. */
+  @Mock
+  private ReactivePersonStore store;
+
+  /** Mocked insight service. */
+  @Mock
+  private HealthInsightService healthInsightService;
+
+  /** Controller under test. */
+  private ReactivePersonController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new ReactivePersonController(store, new PersonService(), healthInsightService,
+        new ComputedResponseCache(new SimpleMeterRegistry(), COMPUTED_CACHE_ENTRIES));
+  }
+
+  private static PersonSimple storedPerson() {
+    PersonSimple person = new PersonSimple();
+    person.setId(1L);
+    person.setClientId(CLIENT_ID);
+    person.setName("Reactive Tester");
+    person.setWeight(WEIGHT_KG);
+    person.setHeight(HEIGHT_CM);
+    person.setBirthDate(LocalDate.of(1995, 5, 20));
+    person.setGender(Gender.MALE);
+    person.setGoal(FitnessGoal.CUT);
+    person.setTargetChangeKg(TARGET_WEIGHT_KG);
+    person.setTargetDurationWeeks(DURATION_WEEKS);
+    person.setTrainingFrequencyPerWeek(TRAINING_FREQUENCY);
+    person.setPlanStrategy(PlanStrategy.BOTH);
+    return person;
+  }
+
+  private static <T> T withClient(Mono<T> mono) {
+    return mono.contextWrite(ReactiveClientContext.withClientId(CLIENT_ID)).block();
+  }
+
+  @Test
+  @DisplayName("GET /me reads the client id from the Reactor context")
+  void getProfileUsesContextClientId() {
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(storedPerson()));
+
+    ResponseEntity<PersonProfileResponse> response = withClient(controller.getProfile());
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(CLIENT_ID, response.getBody().getClientId());
+  }
+
+  @Test
+  @DisplayName("GET /me without a bound client id is a 400")
+  void getProfileWithoutClientIdIsBadRequest() {
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> controller.getProfile().block());
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    verifyNoInteractions(store);
+  }
+
+  @Test
+  @DisplayName("GET /bmi returns 404 when the client has no profile")
+  void bmiForMissingProfileIsNotFound() {
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.empty());
+
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> withClient(controller.calculateBMI()));
+
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("GET /bmi computes the same body as the servlet endpoint")
+  void bmiUsesStoredMetrics() {
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(storedPerson()));
+
+    BmiResponse body = withClient(controller.calculateBMI()).getBody();
+
+    assertEquals(CLIENT_ID, body.clientId());
+    assertEquals("Normal weight", body.category());
+  }
+
+  @Test
+  @DisplayName("GET /recommendation scores against the cohort loaded from the store")
+  void recommendationUsesStoredCohort() {
+    PersonSimple person = storedPerson();
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(store.findCohortStamp()).thenReturn(Mono.just(COHORT));
+    when(store.findAllMetrics()).thenReturn(Flux.empty());
+    when(healthInsightService.buildInsights(argThat(r -> COHORT.equals(r.cohortStamp()) && r.cohort().isEmpty())))
+        .thenReturn(INSIGHT);
+
+    RecommendationResponse body = withClient(controller.provideRecommendation(null)).getBody();
+
+    assertEquals("Keep going", body.message());
+    assertEquals(INSIGHT.cohortWarning(), body.cohortWarning());
+  }
+
+  @Test
+  @DisplayName("GET /recommendation sends an ETag and reuses the body while profile and cohort are unchanged")
+  void recommendationIsCachedPerETag() {
+    PersonSimple person = storedPerson();
+    person.setVersion(STORED_VERSION);
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(store.findCohortStamp()).thenReturn(Mono.just(COHORT));
+    when(store.findAllMetrics()).thenReturn(Flux.empty());
+    when(healthInsightService.buildInsights(argThat(r -> COHORT.equals(r.cohortStamp()) && r.cohort().isEmpty())))
+        .thenReturn(INSIGHT);
+
+    ResponseEntity<RecommendationResponse> first = withClient(controller.provideRecommendation(null));
+    ResponseEntity<RecommendationResponse> repeat = withClient(controller.provideRecommendation(null));
+
+    assertEquals("\"1-2-f" + PersonEndpointSupport.FORMULA_VERSION + "-c" + COHORT.token() + "\"",
+        first.getHeaders().getETag());
+    assertEquals(first.getHeaders().getETag(), repeat.getHeaders().getETag());
+    assertEquals(first.getBody(), repeat.getBody());
+    // One fingerprint per request serves both the ETag and the insights.
+    verify(store, times(2)).findCohortStamp();
+    verify(store, times(1)).findAllMetrics();
+  }
+
+  @Test
+  @DisplayName("GET /recommendation reuses memoized insights without loading the cohort")
+  void recommendationReusesMemoizedInsights() {
+    PersonSimple person = storedPerson();
+    person.setVersion(STORED_VERSION);
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(store.findCohortStamp()).thenReturn(Mono.just(COHORT));
+    when(healthInsightService.cachedInsights(argThat(r -> COHORT.equals(r.cohortStamp())))).thenReturn(INSIGHT);
+
+    RecommendationResponse body = withClient(controller.provideRecommendation("message,percentile")).getBody();
+
+    assertEquals("Keep going", body.message());
+    verify(store, never()).findAllMetrics();
+  }
+
+  @Test
+  @DisplayName("GET /recommendation?fields without the percentile never reads the cohort")
+  void recommendationFieldsSkipCohort() {
+    PersonSimple person = storedPerson();
+    person.setVersion(STORED_VERSION);
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(healthInsightService.buildInsights(argThat(r -> !r.ranksAgainstCohort()))).thenReturn(INSIGHT);
+
+    ResponseEntity<RecommendationResponse> response =
+        withClient(controller.provideRecommendation("message,overallScore"));
+
+    assertEquals("Keep going", response.getBody().message());
+    assertEquals("\"1-2-f" + PersonEndpointSupport.FORMULA_VERSION + "\"", response.getHeaders().getETag());
+    verify(store, never()).findCohortStamp();
+    verify(store, never()).findAllMetrics();
+  }
+
+  @Test
+  @DisplayName("GET /dashboard combines every part from one profile load and caches it per ETag")
+  void dashboardCombinesPartsFromOneLoad() {
+    PersonSimple person = storedPerson();
+    person.setVersion(STORED_VERSION);
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(store.findCohortStamp()).thenReturn(Mono.just(COHORT));
+    when(store.findAllMetrics()).thenReturn(Flux.empty());
+    when(healthInsightService.buildInsights(argThat(r -> COHORT.equals(r.cohortStamp()) && r.cohort().isEmpty())))
+        .thenReturn(INSIGHT);
+
+    ResponseEntity<DashboardResponse> first = withClient(controller.dashboard(null));
+    ResponseEntity<DashboardResponse> repeat = withClient(controller.dashboard(null));
+
+    DashboardResponse body = first.getBody();
+    assertEquals(CLIENT_ID, body.profile().getClientId());
+    assertEquals("Normal weight", body.bmi().category());
+    assertEquals(TARGET_WEIGHT_KG, body.calories().targetChangeKg());
+    assertEquals("Keep going", body.recommendation().message());
+    assertEquals(first.getHeaders().getETag(), repeat.getHeaders().getETag());
+    assertEquals(body, repeat.getBody());
+    verify(store, times(2)).findCohortStamp();
+    verify(store, times(1)).findAllMetrics();
+  }
+
+  @Test
+  @DisplayName("POST /plan/simulate scores every plan without touching the store")
+  void simulatePlansDoesNotSave() {
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(storedPerson()));
+    when(healthInsightService.planAlignmentIndex(eq(FitnessGoal.CUT), eq(WEIGHT_KG), anyDouble(),
+        eq(DURATION_WEEKS), eq(TRAINING_FREQUENCY), any(PlanStrategy.class))).thenReturn(ALIGNMENT_SCORE);
+    when(healthInsightService.overallScore(anyDouble(), eq(FitnessGoal.CUT), anyInt(),
+        any(PlanStrategy.class), eq(ALIGNMENT_SCORE))).thenReturn(OVERALL_SCORE);
+    PlanSimulationRequest request = new PlanSimulationRequest();
+    request.setTargetChangeKg(new PlanSimulationRequest.DecimalRange(TARGET_WEIGHT_KG - 1, TARGET_WEIGHT_KG, null));
+    request.setDurationWeeks(new PlanSimulationRequest.WholeRange(DURATION_WEEKS, DURATION_WEEKS, null));
+    request.setTrainingFrequencyPerWeek(
+        new PlanSimulationRequest.WholeRange(TRAINING_FREQUENCY, TRAINING_FREQUENCY, null));
+
+    PlanSimulationResponse body = withClient(controller.simulateGoalPlans(request)).getBody();
+
+    assertEquals(2 * PlanStrategy.values().length, body.scenarios().size());
+    assertEquals(OVERALL_SCORE, body.scenarios().get(0).overallScore());
+    verify(store, never()).update(any(PersonSimple.class));
+  }
+
+  @Test
+  @DisplayName("POST /plan passes a lost version race on as an optimistic locking failure (409)")
+  void planUpdateOnStaleVersionConflicts() {
+    PersonSimple person = storedPerson();
+    person.setVersion(STORED_VERSION);
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(person));
+    when(store.update(person)).thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+    GoalPlanRequest request = new GoalPlanRequest();
+    request.setTargetChangeKg(TARGET_WEIGHT_KG);
+    request.setDurationWeeks(DURATION_WEEKS);
+    request.setTrainingFrequencyPerWeek(TRAINING_FREQUENCY);
+    request.setPlanStrategy(PlanStrategy.BOTH);
+
+    assertThrows(OptimisticLockingFailureException.class,
+        () -> withClient(controller.configureGoalPlan(request)));
+  }
+
+  @Test
+  @DisplayName("PATCH /me writes the supplied fields in one statement without loading the profile")
+  void patchWritesWithoutLoading() {
+    when(store.patchByClientId(eq(CLIENT_ID), anyMap())).thenReturn(Mono.just(1L));
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_KG);
+
+    ResponseEntity<Void> response = withClient(controller.patchPerson(patch));
+
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(store).patchByClientId(CLIENT_ID, Map.of("weight", WEIGHT_KG));
+    verify(store, never()).findByClientId(anyString());
+  }
+
+  @Test
+  @DisplayName("PATCH /me explains a target weight the update rejected for the stored goal")
+  void patchRejectsUnsafeTarget() {
+    when(store.patchByClientId(eq(CLIENT_ID), anyMap())).thenReturn(Mono.just(0L));
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.just(storedPerson()));
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setTargetChangeKg(25.0); // Target weight 25kg (< 30kg minimum)
+
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> withClient(controller.patchPerson(patch)));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("PATCH /me returns 404 when no profile matches the client")
+  void patchMissingProfileIsNotFound() {
+    PersonPatchRequest patch = new PersonPatchRequest();
+    patch.setWeight(WEIGHT_KG);
+    when(store.patchByClientId(eq(CLIENT_ID), anyMap())).thenReturn(Mono.just(0L));
+    when(store.findByClientId(CLIENT_ID)).thenReturn(Mono.empty());
+
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> withClient(controller.patchPerson(patch)));
+
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+  }
+}
@@ -0,0 +1,263 @@
+package com.teamx.fitness.repository.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonSimple;
+import com.teamx.fitness.model.WeightLogEntry;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Unit tests for the in-memory storage engine.
+ */
+@DisplayName("InMemoryPersonRepository")
+class InMemoryPersonRepositoryTest {
+
+  /** Baseline profile weight (kg). */
+  private static final double WEIGHT_BASE_KG = 80.0;
+  /** Updated profile weight (kg). */
+  private static final double WEIGHT_UPDATED_KG = 78.5;
+  /** Baseline profile height (cm). */
+  private static final double HEIGHT_BASE_CM = 180.0;
+  /** Sample birth date. */
+  private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 1, 1);
+
+  /** Repository under test. */
+  private InMemoryPersonRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryPersonRepository();
+  }
+
+  @Test
+  @DisplayName("save assigns ids and findByClientId returns an isolated copy")
+  void saveAssignsIdAndReadsReturnCopies() {
+    PersonSimple saved = repository.save(person("mobile-a", FitnessGoal.CUT));
+
+    assertNotNull(saved.getId());
+    PersonSimple read = repository.findByClientId("mobile-a").orElseThrow();
+    read.setWeight(WEIGHT_UPDATED_KG);
+
+    assertEquals(WEIGHT_BASE_KG, repository.findByClientId("mobile-a").orElseThrow().getWeight());
+    assertEquals(saved.getId(), repository.findIdByClientId("mobile-a").orElseThrow());
+    assertEquals(1, repository.countByClientId("mobile-a"));
+  }
+
+  @Test
+  @DisplayName("save rejects a second profile with the same client id")
+  void saveRejectsDuplicateClientId() {
+    repository.save(person("mobile-dup", FitnessGoal.CUT));
+
+    assertThrows(DataIntegrityViolationException.class,
+        () -> repository.save(person("mobile-dup", FitnessGoal.BULK)));
+  }
+
+  @Test
+  @DisplayName("patchByClientId updates fields and keeps the goal index in sync")
+  void patchUpdatesFieldsAndIndexes() {
+    PersonSimple saved = repository.save(person("mobile-p", FitnessGoal.CUT));
+
+    int updated = repository.patchByClientId("mobile-p",
+        Map.of("weight", WEIGHT_UPDATED_KG, "goal", FitnessGoal.BULK));
+
+    assertEquals(1, updated);
+    assertEquals(WEIGHT_UPDATED_KG, repository.findById(saved.getId()).orElseThrow().getWeight());
+    assertTrue(repository.idsWithGoal(FitnessGoal.BULK).contains(saved.getId()));
+    assertTrue(repository.idsWithGoal(FitnessGoal.CUT).isEmpty());
+    assertEquals(0, repository.patchByClientId("mobile-missing", Map.of("weight", 1.0)));
+  }
+
+  @Test
+  @DisplayName("patchByClientId leaves the profile untouched when the target would be unsafe")
+  void patchRejectsUnsafeTarget() {
+    PersonSimple stored = person("mobile-unsafe", FitnessGoal.CUT);
+    stored.setTargetChangeKg(WEIGHT_UPDATED_KG);
+    repository.save(stored);
+
+    assertEquals(0, repository.patchByClientId("mobile-unsafe", Map.of("targetChangeKg", 25.0)));
+    assertEquals(0, repository.patchByClientId("mobile-unsafe", Map.of("height", 400.0)));
+    assertEquals(1, repository.patchByClientId("mobile-unsafe", Map.of("goal", FitnessGoal.BULK)));
+    assertEquals(WEIGHT_UPDATED_KG, repository.findByClientId("mobile-unsafe").orElseThrow().getTargetChangeKg());
+  }
+
+  @Test
+  @DisplayName("every write increments the version and changes the cohort stamp")
+  void writesIncrementVersion() {
+    PersonSimple saved = repository.save(person("mobile-v", FitnessGoal.CUT));
+    assertEquals(0L, saved.getVersion());
+    CohortStamp initial = repository.findCohortStamp();
+
+    saved.setWeight(WEIGHT_UPDATED_KG);
+    repository.save(saved);
+    assertEquals(1L, repository.findByClientId("mobile-v").orElseThrow().getVersion());
+
+    repository.patchByClientId("mobile-v", Map.of("weight", WEIGHT_BASE_KG));
+    assertEquals(2L, repository.findByClientId("mobile-v").orElseThrow().getVersion());
+
+    CohortStamp afterWrites = repository.findCohortStamp();
+    assertEquals(new CohortStamp(1, saved.getId(), 2), afterWrites);
+    assertNotEquals(initial.token(), afterWrites.token());
+  }
+
+  @Test
+  @DisplayName("save rejects a copy whose version is no longer the stored one")
+  void saveRejectsStaleVersion() {
+    PersonSimple saved = repository.save(person("mobile-stale", FitnessGoal.CUT));
+    PersonSimple stale = repository.findByClientId("mobile-stale").orElseThrow();
+    repository.patchByClientId("mobile-stale", Map.of("weight", WEIGHT_UPDATED_KG));
+
+    stale.setWeight(WEIGHT_BASE_KG);
+    assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+    assertEquals(WEIGHT_UPDATED_KG, repository.findById(saved.getId()).orElseThrow().getWeight());
+  }
+
+  @Test
+  @DisplayName("save moves only the index entries whose key changed")
+  void saveMovesChangedKeys() {
+    PersonSimple saved = repository.save(person("mobile-k", FitnessGoal.CUT));
+
+    saved.setGender(Gender.FEMALE);
+    saved.setClientId("mobile-k2");
+    repository.save(saved);
+
+    assertTrue(repository.findByClientId("mobile-k").isEmpty());
+    assertEquals(saved.getId(), repository.findIdByClientId("mobile-k2").orElseThrow());
+    assertTrue(repository.idsWithGoal(FitnessGoal.CUT).contains(saved.getId()));
+    assertTrue(repository.idsWithGender(Gender.FEMALE).contains(saved.getId()));
+    assertTrue(repository.idsWithGender(Gender.MALE).isEmpty());
+  }
+
+  @Test
+  @DisplayName("findAll sorts and pages over the stored profiles")
+  void findAllSortsAndPages() {
+    repository.save(person("mobile-b", FitnessGoal.CUT));
+    PersonSimple heavy = person("mobile-a", FitnessGoal.BULK);
+    heavy.setWeight(WEIGHT_BASE_KG + 1);
+    repository.save(heavy);
+    repository.save(person("mobile-c", FitnessGoal.CUT));
+
+    List<PersonSimple> sorted = repository.findAll(Sort.by("weight").descending().and(Sort.by("clientId")));
+    Page<PersonSimple> page = repository.findAll(PageRequest.of(1, 2, Sort.by("clientId")));
+
+    assertEquals(List.of("mobile-a", "mobile-b", "mobile-c"),
+        sorted.stream().map(PersonSimple::getClientId).toList());
+    assertEquals(3, page.getTotalElements());
+    assertEquals(2, page.getTotalPages());
+    assertEquals(List.of("mobile-c"), page.getContent().stream().map(PersonSimple::getClientId).toList());
+  }
+
+  @Test
+  @DisplayName("query by example matches the probe's non-null fields")
+  void queryByExample() {
+    repository.save(person("mobile-e1", FitnessGoal.CUT));
+    repository.save(person("mobile-e2", FitnessGoal.CUT));
+    repository.save(person("mobile-e3", FitnessGoal.BULK));
+    PersonSimple probe = new PersonSimple();
+    probe.setGoal(FitnessGoal.CUT);
+    PersonSimple namePrefix = new PersonSimple();
+    namePrefix.setName("user MOBILE-E");
+
+    Example<PersonSimple> cut = Example.of(probe);
+    Example<PersonSimple> byName = Example.of(namePrefix,
+        ExampleMatcher.matching().withIgnoreCase().withStringMatcher(ExampleMatcher.StringMatcher.STARTING));
+
+    assertEquals(2, repository.count(cut));
+    assertEquals(3, repository.findAll(byName).size());
+    assertEquals("mobile-e2", repository.findAll(cut, Sort.by("clientId").descending()).get(0).getClientId());
+    assertThrows(IncorrectResultSizeDataAccessException.class, () -> repository.findOne(cut));
+    probe.setClientId("mobile-none");
+    assertTrue(repository.findOne(Example.of(probe)).isEmpty());
+    assertEquals(List.of("mobile-e3"), repository.findBy(byName,
+        query -> query.sortBy(Sort.by("clientId").descending()).limit(1).all())
+        .stream().map(PersonSimple::getClientId).toList());
+  }
+
+  @Test
+  @DisplayName("delete removes indexes and cascades to the weight log")
+  void deleteCascadesToWeightLog() {
+    InMemoryWeightLogRepository weightLog = new InMemoryWeightLogRepository(repository);
+    PersonSimple saved = repository.save(person("mobile-d", FitnessGoal.CUT));
+    weightLog.appendBatch(saved.getId(),
+        List.of(new WeightLogEntry(saved.getId(), Instant.now(), WEIGHT_BASE_KG, null)));
+
+    repository.delete(saved);
+
+    assertTrue(repository.findByClientId("mobile-d").isEmpty());
+    assertTrue(repository.idsWithGender(Gender.MALE).isEmpty());
+    assertEquals(0, weightLog.count());
+  }
+
+  @Test
+  @DisplayName("weight log range reads are half-open and time ordered")
+  void weightLogRangeIsHalfOpen() {
+    InMemoryWeightLogRepository weightLog = new InMemoryWeightLogRepository(repository);
+    Instant jan = Instant.parse("2025-01-15T00:00:00Z");
+    Instant feb = Instant.parse("2025-02-01T00:00:00Z");
+    weightLog.appendBatch(1L, List.of(
+        new WeightLogEntry(1L, feb, WEIGHT_UPDATED_KG, null),
+        new WeightLogEntry(1L, jan, WEIGHT_BASE_KG, null)));
+
+    List<WeightLogEntry> range = weightLog.findRange(
+        1L, Instant.parse("2025-01-01T00:00:00Z"), feb, PageRequest.of(0, 10));
+
+    assertEquals(1, range.size());
+    assertEquals(jan, range.get(0).getRecordedAt());
+  }
+
+  @Test
+  @DisplayName("snapshot written at shutdown is restored on the next start")
+  void snapshotRoundTrip(@TempDir Path directory) {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    String file = directory.resolve("snapshot.json").toString();
+    PersonSimple saved = repository.save(person("mobile-s", FitnessGoal.BULK));
+    repository.patchByClientId("mobile-s", Map.of("weight", WEIGHT_UPDATED_KG));
+    InMemoryWeightLogRepository weightLog = new InMemoryWeightLogRepository(repository);
+    weightLog.appendBatch(saved.getId(),
+        List.of(new WeightLogEntry(saved.getId(), Instant.now(), WEIGHT_BASE_KG, null)));
+    new InMemorySnapshotStore(repository, new InMemoryResearcherRepository(), weightLog,
+        mapper, file).save();
+
+    InMemoryPersonRepository restored = new InMemoryPersonRepository();
+    InMemoryWeightLogRepository restoredLog = new InMemoryWeightLogRepository(restored);
+    new InMemorySnapshotStore(restored, new InMemoryResearcherRepository(), restoredLog,
+        mapper, file).load();
+
+    PersonSimple reloaded = restored.findByClientId("mobile-s").orElseThrow();
+    assertEquals(saved.getId(), reloaded.getId());
+    assertEquals(FitnessGoal.BULK, reloaded.getGoal());
+    assertEquals(1L, reloaded.getVersion());
+    assertEquals(1, restoredLog.count());
+    assertTrue(restored.save(person("mobile-next", FitnessGoal.CUT)).getId() > saved.getId());
+  }
+
+  private static PersonSimple person(String clientId, FitnessGoal goal) {
+    return new PersonSimple(
+        "User " + clientId, WEIGHT_BASE_KG, HEIGHT_BASE_CM, BIRTH_DATE, Gender.MALE, goal, clientId);
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -48,4 +49,24 @@ class ClientContextTest {
     assertTrue(ClientContext.isResearchClient("research-analyst"));
     assertFalse(ClientContext.isResearchClient("mobile-tester"));
   }
+
+  @Test
+  @DisplayName("wrap carries the client id to another thread and unbinds it afterwards")
+  void wrapPropagatesClientId() throws InterruptedException {
+    AtomicReference<String> seen = new AtomicReference<>();
+    AtomicReference<String> after = new AtomicReference<>("unset");
+    ClientContext.setClientId("mobile-async");
+    Runnable wrapped = ClientContext.wrap(() -> seen.set(ClientContext.getClientId()));
+
+    Thread worker = new Thread(() -> {
+      wrapped.run();
+      after.set(ClientContext.getClientId());
+    });
+    worker.start();
+    worker.join();
+
+    assertEquals("mobile-async", seen.get());
+    assertNull(after.get());
+    assertEquals("mobile-async", ClientContext.getClientId());
+  }
 }
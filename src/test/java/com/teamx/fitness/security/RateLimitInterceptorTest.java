@@ -0,0 +1,154 @@
+package com.teamx.fitness.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Exercises {@link RateLimitInterceptor} bucket limits, rejection responses and eviction.
+ */
+@DisplayName("RateLimitInterceptor")
+class RateLimitInterceptorTest {
+
+  /** Per-minute limit for mobile clients in these tests. */
+  private static final int MOBILE_LIMIT = 5;
+  /** Per-minute limit for research clients in these tests. */
+  private static final int RESEARCH_LIMIT = 2;
+  /** Bucket bound in these tests. */
+  private static final int MAX_CLIENTS = 3;
+  /** HTTP 429 status returned for rejected requests. */
+  private static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+  /** Registry the interceptor publishes to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Interceptor under test. */
+  private RateLimitInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor = new RateLimitInterceptor(meterRegistry, true, MOBILE_LIMIT, RESEARCH_LIMIT, MAX_CLIENTS);
+  }
+
+  @AfterEach
+  void clearContext() {
+    ClientContext.clear();
+  }
+
+  private boolean call(String clientId, MockHttpServletResponse response) throws Exception {
+    if (clientId != null) {
+      ClientContext.setClientId(clientId);
+    } else {
+      ClientContext.clear();
+    }
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/persons/me");
+    request.setRemoteAddr("203.0.113.7");
+    return interceptor.preHandle(request, response, new Object());
+  }
+
+  private boolean call(String clientId) throws Exception {
+    return call(clientId, new MockHttpServletResponse());
+  }
+
+  @Test
+  @DisplayName("allows a minute's burst and then answers 429 with Retry-After")
+  void rejectsBeyondBurst() throws Exception {
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      assertTrue(call("mobile-id1"), "request " + i + " should pass");
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(call("mobile-id1", response));
+    assertEquals(STATUS_TOO_MANY_REQUESTS, response.getStatus());
+    assertEquals(RateLimitInterceptor.TOO_MANY_REQUESTS_BODY, response.getContentAsString());
+    String retryAfter = response.getHeader("Retry-After");
+    assertNotNull(retryAfter);
+    long seconds = Long.parseLong(retryAfter);
+    assertTrue(seconds >= 1 && seconds <= TimeUnit.MINUTES.toSeconds(1) / MOBILE_LIMIT);
+    assertEquals(1.0, meterRegistry.get("fitness.ratelimit.rejected")
+        .tag("clientClass", "mobile").counter().count());
+  }
+
+  @Test
+  @DisplayName("keeps separate buckets per client and applies the research limit")
+  void separateBucketsAndLimits() throws Exception {
+    assertTrue(call("research-lab"));
+    assertTrue(call("research-lab"));
+    assertFalse(call("research-lab"));
+
+    assertTrue(call("mobile-id2"));
+    assertEquals(1.0, meterRegistry.get("fitness.ratelimit.rejected")
+        .tag("clientClass", "research").counter().count());
+  }
+
+  @Test
+  @DisplayName("limits anonymous requests by remote address")
+  void anonymousRequestsUseRemoteAddress() throws Exception {
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      assertTrue(call(null));
+    }
+    assertFalse(call(null));
+  }
+
+  @Test
+  @DisplayName("does nothing when disabled")
+  void disabledAllowsEverything() throws Exception {
+    interceptor = new RateLimitInterceptor(meterRegistry, false, 1, 1, MAX_CLIENTS);
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      assertTrue(call("mobile-id1"));
+    }
+  }
+
+  @Test
+  @DisplayName("evicts refilled buckets periodically")
+  void evictsRefilledBuckets() throws Exception {
+    for (int i = 0; i < MAX_CLIENTS; i++) {
+      assertTrue(call("mobile-id" + i));
+    }
+    assertEquals(MAX_CLIENTS, interceptor.trackedClients());
+
+    interceptor.evictIdle(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+    assertEquals(0, interceptor.trackedClients());
+    assertEquals((double) MAX_CLIENTS,
+        meterRegistry.get("fitness.ratelimit.evicted").counter().count());
+  }
+
+  @Test
+  @DisplayName("keeps tracked buckets when full and limits new clients by a shared overflow bucket")
+  void boundedMapSharesOverflowBucket() throws Exception {
+    // mobile-busy has used its whole burst; the others one request each.
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      assertTrue(call("mobile-busy"));
+    }
+    for (int i = 1; i < MAX_CLIENTS; i++) {
+      assertTrue(call("mobile-id" + i));
+    }
+    assertEquals(MAX_CLIENTS, interceptor.trackedClients());
+
+    // Fresh client IDs neither evict anyone nor get a burst each: they share one allowance.
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      assertTrue(call("mobile-extra" + i), "request " + i + " should pass");
+    }
+    assertFalse(call("mobile-extra-next"));
+    assertEquals(MAX_CLIENTS, interceptor.trackedClients());
+    assertEquals((double) MOBILE_LIMIT + 1,
+        meterRegistry.get("fitness.ratelimit.overflow").counter().count());
+    assertFalse(call("mobile-busy"));
+    assertTrue(call("mobile-id1"));
+
+    // Once a sweep frees space, new clients get buckets of their own again.
+    interceptor.evictIdle(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+    assertTrue(call("mobile-extra-next"));
+    assertEquals(1, interceptor.trackedClients());
+  }
+}
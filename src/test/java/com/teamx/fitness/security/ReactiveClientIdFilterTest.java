@@ -0,0 +1,85 @@
+package com.teamx.fitness.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Unit tests for {@link ReactiveClientIdFilter}.
+ */
+@DisplayName("ReactiveClientIdFilter")
+class ReactiveClientIdFilterTest {
+
+  /** Valid mobile client identifier. */
+  private static final String CLIENT_ID = "mobile-reactive";
+
+  /** Filter under test. */
+  private final ReactiveClientIdFilter filter = new ReactiveClientIdFilter();
+
+  @Test
+  @DisplayName("binds a valid client id into the Reactor context of the chain")
+  void bindsClientIdIntoContext() {
+    AtomicReference<String> seen = new AtomicReference<>();
+    WebFilterChain chain = exchange -> ReactiveClientContext.clientId().doOnNext(seen::set).then();
+    MockServerWebExchange exchange = MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/persons/me").header(ClientIdInterceptor.CLIENT_ID_HEADER, CLIENT_ID));
+
+    filter.filter(exchange, chain).block();
+
+    assertEquals(CLIENT_ID, seen.get());
+  }
+
+  @Test
+  @DisplayName("rejects a missing header with the servlet interceptor's 400 body")
+  void rejectsMissingHeader() {
+    AtomicBoolean called = new AtomicBoolean();
+    WebFilterChain chain = exchange -> {
+      called.set(true);
+      return exchange.getResponse().setComplete();
+    };
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/persons/bmi"));
+
+    filter.filter(exchange, chain).block();
+
+    assertFalse(called.get());
+    assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+    assertEquals(ClientIdInterceptor.MISSING_CLIENT_ID_BODY, exchange.getResponse().getBodyAsString().block());
+  }
+
+  @Test
+  @DisplayName("rejects a client id without a known prefix")
+  void rejectsInvalidPrefix() {
+    WebFilterChain chain = exchange -> exchange.getResponse().setComplete();
+    MockServerWebExchange exchange = MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/persons/me").header(ClientIdInterceptor.CLIENT_ID_HEADER, "desktop-1"));
+
+    filter.filter(exchange, chain).block();
+
+    assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+    assertEquals(ClientIdInterceptor.INVALID_CLIENT_ID_BODY, exchange.getResponse().getBodyAsString().block());
+  }
+
+  @Test
+  @DisplayName("lets open registration through without a header")
+  void allowsRegistrationWithoutHeader() {
+    AtomicBoolean called = new AtomicBoolean();
+    WebFilterChain chain = exchange -> {
+      called.set(true);
+      return exchange.getResponse().setComplete();
+    };
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/persons"));
+
+    filter.filter(exchange, chain).block();
+
+    assertTrue(called.get());
+  }
+}
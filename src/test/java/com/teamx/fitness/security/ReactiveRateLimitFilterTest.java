@@ -0,0 +1,83 @@
+package com.teamx.fitness.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Unit tests for {@link ReactiveRateLimitFilter}.
+ */
+@DisplayName("ReactiveRateLimitFilter")
+class ReactiveRateLimitFilterTest {
+
+  /** Per-minute limit for mobile clients in these tests. */
+  private static final int MOBILE_LIMIT = 2;
+  /** Per-minute limit for research clients in these tests. */
+  private static final int RESEARCH_LIMIT = 1;
+  /** Bucket bound in these tests. */
+  private static final int MAX_CLIENTS = 10;
+
+  /** Filter under test, over its own buckets. */
+  private final ReactiveRateLimitFilter filter = new ReactiveRateLimitFilter(
+      new RateLimitInterceptor(new SimpleMeterRegistry(), true, MOBILE_LIMIT, RESEARCH_LIMIT, MAX_CLIENTS));
+
+  private MockServerWebExchange call(MockServerHttpRequest.BaseBuilder<?> request, AtomicBoolean called) {
+    WebFilterChain chain = exchange -> {
+      called.set(true);
+      return exchange.getResponse().setComplete();
+    };
+    MockServerWebExchange exchange = MockServerWebExchange.from(
+        request.remoteAddress(new InetSocketAddress("203.0.113.7", 443)));
+    filter.filter(exchange, chain).block();
+    return exchange;
+  }
+
+  @Test
+  @DisplayName("answers 429 with Retry-After and the servlet body once the burst is used")
+  void rejectsBeyondBurst() {
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      AtomicBoolean called = new AtomicBoolean();
+      call(MockServerHttpRequest.get("/api/persons/me").header(ClientIdInterceptor.CLIENT_ID_HEADER, "mobile-r1"),
+          called);
+      assertTrue(called.get(), "request " + i + " should pass");
+    }
+    AtomicBoolean called = new AtomicBoolean();
+
+    MockServerWebExchange exchange = call(
+        MockServerHttpRequest.get("/api/persons/me").header(ClientIdInterceptor.CLIENT_ID_HEADER, "mobile-r1"),
+        called);
+
+    assertFalse(called.get());
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+    assertNotNull(exchange.getResponse().getHeaders().getFirst("Retry-After"));
+    assertEquals(RateLimitInterceptor.TOO_MANY_REQUESTS_BODY, exchange.getResponse().getBodyAsString().block());
+  }
+
+  @Test
+  @DisplayName("limits open registration by remote address and leaves other paths alone")
+  void registrationByAddressAndNonApiPaths() {
+    for (int i = 0; i < MOBILE_LIMIT; i++) {
+      AtomicBoolean called = new AtomicBoolean();
+      call(MockServerHttpRequest.post("/api/persons"), called);
+      assertTrue(called.get());
+    }
+    AtomicBoolean rejected = new AtomicBoolean();
+    call(MockServerHttpRequest.post("/api/persons"), rejected);
+    assertFalse(rejected.get());
+
+    AtomicBoolean health = new AtomicBoolean();
+    call(MockServerHttpRequest.get("/health"), health);
+    assertTrue(health.get());
+  }
+}
@@ -0,0 +1,130 @@
+package com.teamx.fitness.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Exercises {@link ResearchConcurrencyLimiter} admission, rejection and limit adjustment.
+ */
+@DisplayName("ResearchConcurrencyLimiter")
+class ResearchConcurrencyLimiterTest {
+
+  /** Starting limit in these tests. */
+  private static final int INITIAL_LIMIT = 4;
+  /** Lowest limit in these tests. */
+  private static final int MIN_LIMIT = 1;
+  /** Highest limit in these tests. */
+  private static final int MAX_LIMIT = 5;
+  /** Mobile latency target in these tests (ms). */
+  private static final long TARGET_MS = 100;
+  /** HTTP 429 status returned for rejected requests. */
+  private static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+  /** Registry the limiter publishes to. */
+  private SimpleMeterRegistry meterRegistry;
+  /** Limiter under test. */
+  private ResearchConcurrencyLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    limiter = new ResearchConcurrencyLimiter(
+        meterRegistry, true, INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, 0.5, TARGET_MS);
+  }
+
+  private MockHttpServletRequest research() {
+    return new MockHttpServletRequest("GET", "/api/research/demographics");
+  }
+
+  private void recordMobile(int fast, int slow) {
+    for (int i = 0; i < fast; i++) {
+      limiter.recordMobileLatency(TimeUnit.MILLISECONDS.toNanos(TARGET_MS / 2));
+    }
+    for (int i = 0; i < slow; i++) {
+      limiter.recordMobileLatency(TimeUnit.MILLISECONDS.toNanos(TARGET_MS * 2));
+    }
+  }
+
+  @Test
+  @DisplayName("admits research requests up to the limit and answers 429 beyond it")
+  void rejectsBeyondLimit() throws Exception {
+    MockHttpServletRequest[] admitted = new MockHttpServletRequest[INITIAL_LIMIT];
+    for (int i = 0; i < INITIAL_LIMIT; i++) {
+      admitted[i] = research();
+      assertTrue(limiter.preHandle(admitted[i], new MockHttpServletResponse(), new Object()));
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(limiter.preHandle(research(), response, new Object()));
+    assertEquals(STATUS_TOO_MANY_REQUESTS, response.getStatus());
+    assertEquals("1", response.getHeader("Retry-After"));
+    assertEquals(ResearchConcurrencyLimiter.OVERLOADED_BODY, response.getContentAsString());
+    assertEquals(1.0, meterRegistry.get("fitness.research.limiter.rejected").counter().count());
+
+    limiter.afterCompletion(admitted[0], new MockHttpServletResponse(), new Object(), null);
+    assertEquals(INITIAL_LIMIT - 1, limiter.inFlight());
+    assertTrue(limiter.preHandle(research(), new MockHttpServletResponse(), new Object()));
+  }
+
+  @Test
+  @DisplayName("never limits mobile requests")
+  void mobileRequestsPass() throws Exception {
+    for (int i = 0; i < INITIAL_LIMIT * 2; i++) {
+      assertTrue(limiter.preHandle(
+          new MockHttpServletRequest("GET", "/api/persons/me"), new MockHttpServletResponse(), new Object()));
+    }
+    assertEquals(0, limiter.inFlight());
+  }
+
+  @Test
+  @DisplayName("halves the limit when more than one percent of mobile requests are slow")
+  void backsOffOnSlowMobileRequests() {
+    recordMobile(98, 2);
+    limiter.adjustLimit();
+    assertEquals(INITIAL_LIMIT / 2, limiter.limit());
+
+    recordMobile(0, 1);
+    limiter.adjustLimit();
+    recordMobile(0, 1);
+    limiter.adjustLimit();
+    assertEquals(MIN_LIMIT, limiter.limit());
+    assertEquals(2.0, meterRegistry.get("fitness.research.limiter.backoffs").counter().count());
+  }
+
+  @Test
+  @DisplayName("grows the limit by one per window while research demand saturates it")
+  void growsWhileSaturated() throws Exception {
+    recordMobile(100, 1);
+    limiter.adjustLimit();
+    assertEquals(INITIAL_LIMIT, limiter.limit(), "unsaturated windows keep the limit");
+
+    for (int window = 0; window < 3; window++) {
+      for (int i = 0; i <= limiter.limit(); i++) {
+        limiter.preHandle(research(), new MockHttpServletResponse(), new Object());
+      }
+      limiter.adjustLimit();
+    }
+    assertEquals(MAX_LIMIT, limiter.limit());
+    assertEquals((double) MAX_LIMIT, meterRegistry.get("fitness.research.limiter.limit").gauge().value());
+  }
+
+  @Test
+  @DisplayName("admits everything when disabled")
+  void disabledAdmitsAll() throws Exception {
+    limiter = new ResearchConcurrencyLimiter(
+        new SimpleMeterRegistry(), false, MIN_LIMIT, MIN_LIMIT, MIN_LIMIT, 0.5, TARGET_MS);
+
+    assertTrue(limiter.preHandle(research(), new MockHttpServletResponse(), new Object()));
+    assertTrue(limiter.preHandle(research(), new MockHttpServletResponse(), new Object()));
+    assertFalse(limiter.snapshot().enabled());
+  }
+}
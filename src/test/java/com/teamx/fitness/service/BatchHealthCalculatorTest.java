@@ -0,0 +1,140 @@
+package com.teamx.fitness.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BatchHealthCalculator}: agreement with {@link PersonService}, the validity
+ * bitmap, and equivalence of the scalar and Vector API kernels on 1M-row columns.
+ */
+@DisplayName("BatchHealthCalculator")
+class BatchHealthCalculatorTest {
+
+  /** Rows in the large columns; not a multiple of any vector width, so the tail is exercised. */
+  private static final int LARGE_ROWS = 1_000_003;
+  /** Seed for the generated columns. */
+  private static final long SEED = 4156L;
+
+  /** Weights in kg, including missing, non-positive and implausible values. */
+  private static double[] weights;
+  /** Heights in cm, including non-positive and implausible values. */
+  private static double[] heights;
+  /** Ages in years, including negative (missing) values. */
+  private static int[] ages;
+  /** Weekly training sessions, including negative (missing) values. */
+  private static int[] frequencies;
+  /** BMR equation per row. */
+  private static boolean[] male;
+
+  /** Single-value reference implementation. */
+  private final PersonService personService = new PersonService();
+
+  /** Calculator forced onto the scalar kernel. */
+  private final BatchHealthCalculator scalar = new BatchHealthCalculator(false);
+
+  @BeforeAll
+  static void generateColumns() {
+    Random random = new Random(SEED);
+    weights = new double[LARGE_ROWS];
+    heights = new double[LARGE_ROWS];
+    ages = new int[LARGE_ROWS];
+    frequencies = new int[LARGE_ROWS];
+    male = new boolean[LARGE_ROWS];
+    for (int i = 0; i < LARGE_ROWS; i++) {
+      weights[i] = random.nextInt(50) == 0 ? Double.NaN : random.nextDouble() * 700 - 20;
+      heights[i] = random.nextDouble() * 300 - 10;
+      ages[i] = random.nextInt(100) - 5;
+      frequencies[i] = random.nextInt(12) - 2;
+      male[i] = random.nextBoolean();
+    }
+  }
+
+  @Test
+  @DisplayName("marks invalid rows in the bitmap instead of throwing")
+  void marksInvalidRows() {
+    double[] weight = {70.0, Double.NaN, 0.0, 80.0, 700.0};
+    double[] height = {175.0, 175.0, 175.0, 300.0, 175.0};
+
+    BatchResult bmi = scalar.bmi(weight, height);
+
+    assertTrue(bmi.isValid(0));
+    assertEquals(personService.calculateBMI(70.0, 175.0), bmi.values()[0]);
+    for (int row = 1; row < weight.length; row++) {
+      assertFalse(bmi.isValid(row), "row " + row);
+      assertTrue(Double.isNaN(bmi.values()[row]), "row " + row);
+    }
+    assertEquals(1, bmi.validCount());
+  }
+
+  @Test
+  @DisplayName("propagates BMR validity into daily calories and rejects negative inputs")
+  void propagatesValidity() {
+    BatchResult bmr = scalar.bmr(
+        new double[] {70.0, 70.0, 70.0}, new double[] {175.0, 175.0, 175.0},
+        new int[] {30, -1, 30}, new boolean[] {true, true, false});
+    BatchResult calories = scalar.dailyCalories(bmr, new int[] {3, 3, -1});
+
+    assertTrue(bmr.isValid(0));
+    assertFalse(bmr.isValid(1));
+    assertTrue(bmr.isValid(2));
+    assertEquals(personService.calculateBMR(70.0, 175.0, 30, true), bmr.values()[0]);
+    assertEquals(personService.calculateDailyCalorieNeeds(bmr.values()[0], 3), calories.values()[0]);
+    assertEquals(1, calories.validCount());
+  }
+
+  @Test
+  @DisplayName("matches PersonService on every valid row of a 1M-row column")
+  void matchesPersonService() {
+    BatchResult bmi = scalar.bmi(weights, heights);
+    BatchResult bmr = scalar.bmr(weights, heights, ages, male);
+    BatchResult calories = scalar.dailyCalories(bmr, frequencies);
+
+    for (int i = 0; i < LARGE_ROWS; i++) {
+      if (bmi.isValid(i)) {
+        assertEquals(personService.calculateBMI(weights[i], heights[i]), bmi.values()[i], "row " + i);
+      }
+      if (bmr.isValid(i)) {
+        Double expected = personService.calculateBMR(weights[i], heights[i], ages[i], male[i]);
+        assertEquals(expected, bmr.values()[i], "row " + i);
+        if (calories.isValid(i)) {
+          assertEquals(personService.calculateDailyCalorieNeeds(expected, frequencies[i]),
+              calories.values()[i], "row " + i);
+        }
+      }
+    }
+    assertTrue(calories.validCount() > 0);
+  }
+
+  @Test
+  @DisplayName("Vector API kernel is bit-identical to the scalar kernel on a 1M-row column")
+  void vectorKernelMatchesScalar() {
+    assumeTrue(BatchHealthCalculator.vectorAvailable(), "run with --add-modules jdk.incubator.vector");
+    BatchHealthCalculator vector = new BatchHealthCalculator(true);
+
+    BatchResult scalarBmr = scalar.bmr(weights, heights, ages, male);
+    BatchResult vectorBmr = vector.bmr(weights, heights, ages, male);
+    assertResultsEqual(scalar.bmi(weights, heights), vector.bmi(weights, heights));
+    assertResultsEqual(scalarBmr, vectorBmr);
+    assertResultsEqual(scalar.dailyCalories(scalarBmr, frequencies), vector.dailyCalories(vectorBmr, frequencies));
+  }
+
+  @Test
+  @DisplayName("rejects columns of different lengths")
+  void rejectsMismatchedColumns() {
+    assertThrows(IllegalArgumentException.class, () -> scalar.bmi(new double[2], new double[3]));
+  }
+
+  private static void assertResultsEqual(BatchResult expected, BatchResult actual) {
+    assertArrayEquals(expected.valid(), actual.valid());
+    assertArrayEquals(expected.values(), actual.values());
+  }
+}
@@ -0,0 +1,98 @@
+package com.teamx.fitness.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.teamx.fitness.model.CohortStamp;
+import com.teamx.fitness.model.PersonSimple;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HealthInsightCache}.
+ */
+@DisplayName("HealthInsightCache")
+class HealthInsightCacheTest {
+
+  /** Bound used by the tests. */
+  private static final int MAX_ENTRIES = 2;
+  /** Cohort fingerprint the results are first computed for. */
+  private static final CohortStamp COHORT = new CohortStamp(10L, 20L, 30L);
+  /** Fingerprint after another profile changed. */
+  private static final CohortStamp CHANGED_COHORT = new CohortStamp(10L, 20L, 31L);
+  /** Result stored by the tests. */
+  private static final HealthInsightResult RESULT = new HealthInsightResult(
+      24.7, "Normal weight", 90.0, 80.0, 86.0, 55.0, null, "Keep going");
+
+  /** Registry the cache publishes its metrics to. */
+  private SimpleMeterRegistry meterRegistry;
+
+  /** Cache under test. */
+  private HealthInsightCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new HealthInsightCache(meterRegistry, MAX_ENTRIES);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.get("fitness.insight.cache.requests").tag("result", result).counter().count();
+  }
+
+  private static PersonSimple person(long id, long version) {
+    PersonSimple person = new PersonSimple();
+    person.setId(id);
+    person.setVersion(version);
+    return person;
+  }
+
+  @Test
+  @DisplayName("returns the result only for the profile version and cohort it was computed for")
+  void matchesVersionAndCohort() {
+    cache.store(person(1L, 1L), COHORT, RESULT);
+
+    assertSame(RESULT, cache.lookup(person(1L, 1L), COHORT));
+    assertNull(cache.lookup(person(1L, 2L), COHORT));
+    assertNull(cache.lookup(person(1L, 1L), CHANGED_COHORT));
+    assertNull(cache.lookup(person(2L, 1L), COHORT));
+    assertEquals(1.0, lookups("hit"));
+    assertEquals(3.0, lookups("miss"));
+  }
+
+  @Test
+  @DisplayName("keeps results with and without cohort apart")
+  void separatesCohortVariants() {
+    cache.store(person(1L, 1L), null, RESULT);
+
+    assertNull(cache.lookup(person(1L, 1L), COHORT));
+    assertSame(RESULT, cache.lookup(person(1L, 1L), null));
+  }
+
+  @Test
+  @DisplayName("never caches profiles that have not been persisted")
+  void skipsUnsavedProfiles() {
+    cache.store(new PersonSimple(), COHORT, RESULT);
+
+    assertNull(cache.lookup(new PersonSimple(), COHORT));
+    assertEquals(0, cache.size());
+    assertEquals(0.0, lookups("miss"));
+  }
+
+  @Test
+  @DisplayName("drops the least recently used entry beyond the bound")
+  void evictsLeastRecentlyUsed() {
+    cache.store(person(1L, 1L), COHORT, RESULT);
+    cache.store(person(2L, 1L), COHORT, RESULT);
+    cache.lookup(person(1L, 1L), COHORT);
+    cache.store(person(3L, 1L), COHORT, RESULT);
+
+    assertEquals(MAX_ENTRIES, cache.size());
+    assertSame(RESULT, cache.lookup(person(1L, 1L), COHORT));
+    assertNull(cache.lookup(person(2L, 1L), COHORT));
+    assertEquals(MAX_ENTRIES, meterRegistry.get("fitness.insight.cache.size").gauge().value());
+  }
+}
@@ -3,17 +3,23 @@ package com.teamx.fitness.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.teamx.fitness.model.CohortStamp;
 import com.teamx.fitness.model.FitnessGoal;
 import com.teamx.fitness.model.Gender;
+import com.teamx.fitness.model.PersonMetrics;
 import com.teamx.fitness.model.PersonSimple;
 import com.teamx.fitness.model.PlanStrategy;
 import com.teamx.fitness.repository.PersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +34,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @DisplayName("HealthInsightService")
 class HealthInsightServiceTest {
 
+  /** Profile id of persisted test profiles. */
+  private static final long PERSON_ID = 7L;
+  /** Bound of the insight cache in the memoization test. */
+  private static final int INSIGHT_CACHE_ENTRIES = 4;
+  /** Cohort fingerprint the test requests are ranked under. */
+  private static final CohortStamp COHORT = new CohortStamp(1L, PERSON_ID, 1L);
+
   /** Mocked persistence layer feeding cohort data. */
   @Mock
   private PersonRepository personRepository;
@@ -52,9 +65,9 @@ class HealthInsightServiceTest {
     PersonSimple peerC = templatePerson("clientC");
     updateMetrics(peerC, 82.0, 180.0);
     applyPlan(peerC, FitnessGoal.BULK, PlanStrategy.WORKOUT, 2.0, 10, 5);
-    when(personRepository.findAll()).thenReturn(List.of(main, peerB, peerC));
+    mockCohort(main, peerB, peerC);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertNotNull(result.percentile(), "Percentile should be available when cohort >= threshold");
     assertNull(result.cohortWarning(), "Cohort warning should be absent when data is sufficient");
@@ -71,9 +84,9 @@ class HealthInsightServiceTest {
     PersonSimple peer = templatePerson("client-peer");
     updateMetrics(peer, 79.0, 170.0);
     applyPlan(peer, FitnessGoal.BULK, PlanStrategy.WORKOUT, 2.0, 12, 4);
-    when(personRepository.findAll()).thenReturn(List.of(main, peer));
+    mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertNull(result.percentile(), "Percentile should be null when there are not enough peers");
     assertNotNull(result.cohortWarning(), "Cohort warning should explain the missing percentile");
@@ -91,7 +104,7 @@ class HealthInsightServiceTest {
     applyPlan(support, FitnessGoal.CUT, PlanStrategy.BOTH, 4.0, 8, 4);
     mockCohort(main, support);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.recommendation().contains("obese"),
@@ -113,7 +126,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.CUT, PlanStrategy.BOTH, 3.0, 8, 5);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.overallScore() >= 70.0,
@@ -142,7 +155,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, null, PlanStrategy.WORKOUT, 1.0, 52, 1);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.overallScore() < 50.0,
@@ -161,7 +174,7 @@ class HealthInsightServiceTest {
     PersonSimple peer = templatePerson("client-peer-no-plan");
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertNull(result.planAlignmentIndex(), "Plan alignment index should be null when there is no plan");
     assertEquals(
@@ -180,7 +193,7 @@ class HealthInsightServiceTest {
     PersonSimple peer = templatePerson("peer-impossible");
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertEquals(0.0, result.planAlignmentIndex(), "Impossible targets should yield zero alignment");
   }
@@ -195,7 +208,7 @@ class HealthInsightServiceTest {
     PersonSimple peer = templatePerson("peer-contradict");
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertEquals(
         0.0,
@@ -215,8 +228,8 @@ class HealthInsightServiceTest {
     applyPlan(inconsistent, FitnessGoal.BULK, PlanStrategy.DIET, 4.0, 8, 0);
     mockCohort(committed, inconsistent);
 
-    HealthInsightResult committedResult = healthInsightService.buildInsights(committed);
-    HealthInsightResult inconsistentResult = healthInsightService.buildInsights(inconsistent);
+    HealthInsightResult committedResult = insights(committed);
+    HealthInsightResult inconsistentResult = insights(inconsistent);
 
     assertTrue(
         committedResult.planAlignmentIndex() > inconsistentResult.planAlignmentIndex(),
@@ -238,7 +251,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.CUT, PlanStrategy.BOTH, 4.0, 10, 3);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(result.recommendation().contains("very aggressive"), "Aggressive cutting should be flagged");
   }
@@ -255,7 +268,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.BULK, PlanStrategy.WORKOUT, 4.0, 20, 4);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.recommendation().contains("Lean bulk focus looks good"),
@@ -273,7 +286,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.BULK, PlanStrategy.WORKOUT, 3.0, 12, 3);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.recommendation().contains("underweight"),
@@ -294,7 +307,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.BULK, PlanStrategy.BOTH, 6.0, 12, 4);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.recommendation().contains("may add unnecessary fat"),
@@ -313,7 +326,7 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.CUT, PlanStrategy.BOTH, 2.0, 16, 3);
     mockCohort(main, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertTrue(
         result.recommendation().contains("Stay consistent")
@@ -338,11 +351,54 @@ class HealthInsightServiceTest {
     applyPlan(peer, FitnessGoal.CUT, PlanStrategy.WORKOUT, 2.0, 12, 3);
     mockCohort(main, invalidPeer, peer);
 
-    HealthInsightResult result = healthInsightService.buildInsights(main);
+    HealthInsightResult result = insights(main);
 
     assertNotNull(result.percentile(), "Valid peers should still yield percentiles despite erroneous entries");
   }
 
+  @Test
+  @DisplayName("buildInsights without a cohort skips the percentile but keeps the scores")
+  void buildInsightsWithoutCohortSkipsPercentile() {
+    PersonSimple main = templatePerson("client-no-cohort");
+    applyPlan(main, FitnessGoal.CUT, PlanStrategy.DIET, 76.0, 8, 3);
+    double bmi = new PersonService().calculateBMI(main.getWeight(), main.getHeight());
+
+    HealthInsightResult withoutCohort =
+        healthInsightService.buildInsights(InsightRequest.withoutCohort(main, bmi));
+    HealthInsightResult withCohort = healthInsightService.buildInsights(
+        InsightRequest.againstCohort(main, bmi, COHORT).withCohort(Arrays.asList(PersonMetrics.from(main))));
+
+    assertNull(withoutCohort.percentile());
+    assertNull(withoutCohort.cohortWarning());
+    assertEquals(withCohort.overallScore(), withoutCohort.overallScore());
+    assertEquals(withCohort.recommendation(), withoutCohort.recommendation());
+    verify(personRepository, never()).findAllMetrics();
+  }
+
+  @Test
+  @DisplayName("memoized insights stay valid only for the profile version and cohort they were built for")
+  void buildInsightsMemoizesPerProfileAndCohort() {
+    healthInsightService = new HealthInsightService(new PersonService(), personRepository, 1,
+        new HealthInsightCache(new SimpleMeterRegistry(), INSIGHT_CACHE_ENTRIES));
+    PersonSimple main = templatePerson("client-memo");
+    main.setId(PERSON_ID);
+    main.setVersion(1L);
+    double bmi = new PersonService().calculateBMI(main.getWeight(), main.getHeight());
+    InsightRequest request = InsightRequest.againstCohort(main, bmi, COHORT);
+    mockCohort(main);
+
+    assertNull(healthInsightService.cachedInsights(request));
+    HealthInsightResult built = healthInsightService.buildInsights(request);
+
+    assertSame(built, healthInsightService.cachedInsights(request));
+    assertNull(healthInsightService.cachedInsights(
+        InsightRequest.againstCohort(main, bmi, new CohortStamp(2L, PERSON_ID + 1, 2L))));
+    assertNull(healthInsightService.cachedInsights(InsightRequest.withoutCohort(main, bmi)));
+    main.setVersion(2L);
+    assertNull(healthInsightService.cachedInsights(request));
+    verify(personRepository, times(1)).findAllMetrics();
+  }
+
   private PersonSimple templatePerson(String clientId) {
     PersonSimple person = new PersonSimple();
     person.setClientId(clientId);
@@ -382,7 +438,13 @@ class HealthInsightServiceTest {
     person.setTrainingFrequencyPerWeek(trainingPerWeek);
   }
 
+  private HealthInsightResult insights(PersonSimple person) {
+    double bmi = new PersonService().calculateBMI(person.getWeight(), person.getHeight());
+    return healthInsightService.buildInsights(InsightRequest.againstCohort(person, bmi, COHORT));
+  }
+
   private void mockCohort(PersonSimple... people) {
-    when(personRepository.findAll()).thenReturn(Arrays.asList(people));
+    when(personRepository.findAllMetrics())
+        .thenReturn(Arrays.stream(people).map(PersonMetrics::from).toList());
   }
 }
@@ -0,0 +1,170 @@
+package com.teamx.fitness.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.teamx.fitness.model.FitnessGoal;
+import com.teamx.fitness.model.PlanStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Equivalence tests for {@link HealthScoreTables} against the branch chains
+ * {@link HealthInsightService} used before the tables, over every input combination.
+ */
+@DisplayName("HealthScoreTables")
+class HealthScoreTablesTest {
+
+  /** Frequencies checked beyond the cap, where every contribution must stay saturated. */
+  private static final int FREQUENCY_MARGIN = 3;
+
+  /** BMIs around every threshold plus non-finite values. */
+  private static final double[] BMIS = {
+      Double.NEGATIVE_INFINITY, -1.0, 0.0, 12.0, Math.nextDown(18.5), 18.5, Math.nextUp(18.5), 22.0,
+      Math.nextDown(25.0), 25.0, 27.5, Math.nextDown(30.0), 30.0, 45.0, Double.POSITIVE_INFINITY, Double.NaN};
+
+  /** Every goal, including a missing one. */
+  private static final List<FitnessGoal> GOALS = withNull(FitnessGoal.values());
+
+  /** Every strategy, including a missing one. */
+  private static final List<PlanStrategy> STRATEGIES = withNull(PlanStrategy.values());
+
+  /** Missing, negative, zero and positive frequencies up to past the cap. */
+  private static final List<Integer> FREQUENCIES = frequencies();
+
+  @Test
+  @DisplayName("BMI scores match the threshold chain, including NaN")
+  void bmiScoresMatch() {
+    for (double bmi : BMIS) {
+      assertEquals(referenceBmiScore(bmi), HealthScoreTables.bmiScore(bmi), "bmi=" + bmi);
+    }
+  }
+
+  @Test
+  @DisplayName("BMI categories follow the thresholds")
+  void bmiCategoriesFollowThresholds() {
+    assertEquals(HealthScoreTables.UNDERWEIGHT, HealthScoreTables.bmiCategory(Math.nextDown(18.5)));
+    assertEquals(HealthScoreTables.NORMAL, HealthScoreTables.bmiCategory(18.5));
+    assertEquals(HealthScoreTables.OVERWEIGHT, HealthScoreTables.bmiCategory(25.0));
+    assertEquals(HealthScoreTables.OBESE, HealthScoreTables.bmiCategory(30.0));
+  }
+
+  @Test
+  @DisplayName("training scores match for every frequency")
+  void trainingScoresMatch() {
+    for (Integer frequency : FREQUENCIES) {
+      assertEquals(referenceTrainingScore(frequency), HealthScoreTables.trainingScore(frequency),
+          "frequency=" + frequency);
+    }
+  }
+
+  @Test
+  @DisplayName("strategy scores and adjustments match for every goal and strategy")
+  void strategyContributionsMatch() {
+    for (FitnessGoal goal : GOALS) {
+      for (PlanStrategy strategy : STRATEGIES) {
+        String label = goal + "/" + strategy;
+        assertEquals(referenceStrategyScore(goal, strategy),
+            HealthScoreTables.strategyScore(goal, strategy), label);
+        assertEquals(referenceStrategyAdjustment(goal, strategy),
+            HealthScoreTables.strategyAdjustment(goal, strategy), label);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("frequency adjustments match for every goal and frequency")
+  void frequencyAdjustmentsMatch() {
+    for (FitnessGoal goal : GOALS) {
+      for (Integer frequency : FREQUENCIES) {
+        assertEquals(referenceFrequencyAdjustment(goal, frequency),
+            HealthScoreTables.frequencyAdjustment(goal, frequency), goal + "/" + frequency);
+      }
+    }
+  }
+
+  private static <T> List<T> withNull(T[] values) {
+    List<T> all = new ArrayList<>(Arrays.asList(values));
+    all.add(null);
+    return all;
+  }
+
+  private static List<Integer> frequencies() {
+    List<Integer> all = new ArrayList<>(Arrays.asList(null, Integer.MIN_VALUE, -1, Integer.MAX_VALUE));
+    for (int frequency = 0; frequency <= HealthScoreTables.FREQUENCY_CAP + FREQUENCY_MARGIN; frequency++) {
+      all.add(frequency);
+    }
+    return all;
+  }
+
+  private static double referenceBmiScore(double bmi) {
+    if (bmi < 18.5) {
+      return 45.0;
+    } else if (bmi < 25.0) {
+      return 70.0;
+    } else if (bmi < 30.0) {
+      return 55.0;
+    }
+    return 35.0;
+  }
+
+  private static double referenceTrainingScore(Integer rawFrequency) {
+    int frequency = rawFrequency != null ? Math.max(rawFrequency, 0) : 0;
+    return Math.min(20.0, frequency * 4.0);
+  }
+
+  private static double referenceStrategyScore(FitnessGoal goal, PlanStrategy strategy) {
+    if (strategy == null) {
+      return 5.0;
+    }
+    return switch (strategy) {
+      case BOTH -> 10.0;
+      case WORKOUT -> goal == FitnessGoal.BULK ? 8.0 : 5.0;
+      case DIET -> goal == FitnessGoal.CUT ? 8.0 : 5.0;
+    };
+  }
+
+  private static double referenceFrequencyAdjustment(FitnessGoal goal, Integer rawFrequency) {
+    if (goal == null) {
+      return 0.0;
+    }
+    if (rawFrequency == null) {
+      return -4.0;
+    }
+    int frequency = Math.max(rawFrequency, 0);
+    int[] sessions = goal == FitnessGoal.BULK ? new int[] {5, 3, 2} : new int[] {4, 2, 1};
+    if (frequency >= sessions[0]) {
+      return 8.0;
+    }
+    if (frequency >= sessions[1]) {
+      return 4.0;
+    }
+    if (frequency >= sessions[2]) {
+      return 2.0;
+    }
+    return -6.0;
+  }
+
+  private static double referenceStrategyAdjustment(FitnessGoal goal, PlanStrategy strategy) {
+    if (goal == null) {
+      return 0.0;
+    }
+    if (strategy == null) {
+      return -5.0;
+    }
+    if (goal == FitnessGoal.BULK) {
+      return switch (strategy) {
+        case BOTH -> 6.0;
+        case WORKOUT -> 3.0;
+        case DIET -> -4.0;
+      };
+    }
+    return switch (strategy) {
+      case BOTH -> 6.0;
+      case DIET -> 3.0;
+      case WORKOUT -> -4.0;
+    };
+  }
+}